@@ -20,7 +20,7 @@ import { Button, Input, Card, Badge } from '@/components/ui'
 import { CreateReconciliationWizard, ReconciliationDetailsModal } from '@/components/reconciliation'
 import type { ReconciliationStatus } from '@/types'
 import { cn } from '@/lib/utils'
-import { useReconciliations, useDeleteReconciliation, useStartReconciliation, useBulkDeleteReconciliations } from '@/services/hooks'
+import { useReconciliations, useDeleteReconciliation, useStartReconciliation, useBulkDeleteReconciliations, usePurgeJob } from '@/services/hooks'
 import type { Reconciliation as ApiReconciliation } from '@/services/types'
 import type { KnowledgeDomain } from '@/services/types'
 import { useAppStore } from '@/store'
@@ -91,6 +91,11 @@ const ReconciliationsPage = () => {
   })
   const deleteReconciliation = useDeleteReconciliation()
   const bulkDeleteReconciliations = useBulkDeleteReconciliations()
+  const [purgeJobId, setPurgeJobId] = useState<number | null>(null)
+  const { data: purgeJobResponse, isError: purgeJobError } = usePurgeJob(purgeJobId)
+  const purgeJob = purgeJobResponse?.data
+  const purgeRunning = purgeJobId !== null && !purgeJobError
+    && purgeJob?.status !== 'COMPLETED' && purgeJob?.status !== 'FAILED'
   const startReconciliation = useStartReconciliation()
 
   // Handle both paginated and non-paginated responses
@@ -167,10 +172,8 @@ const ReconciliationsPage = () => {
     if (confirm(`Delete ${selectedIds.size} selected reconciliation(s)?`)) {
       bulkDeleteReconciliations.mutate(Array.from(selectedIds), {
         onSuccess: (response) => {
-          const result = response.data
-          if (result.failedCount > 0) {
-            alert(`Deleted ${result.successCount} items. ${result.failedCount} failed.`)
-          }
+          // The delete runs in the background; usePurgeJob polls it until it is done
+          setPurgeJobId(response.data.jobId)
           setSelectedIds(new Set())
         },
         onError: () => {
@@ -180,6 +183,16 @@ const ReconciliationsPage = () => {
     }
   }
 
+  // Polling stops at the final status, so the job data settles and this reports it once
+  useEffect(() => {
+    if (!purgeJob || purgeJob.jobId !== purgeJobId) return
+    if (purgeJob.status === 'FAILED') {
+      alert(`Bulk delete stopped after ${purgeJob.successCount} of ${purgeJob.totalRequested} items.`)
+    } else if (purgeJob.status === 'COMPLETED' && purgeJob.failedCount > 0) {
+      alert(`Deleted ${purgeJob.successCount} items. ${purgeJob.failedCount} failed.`)
+    }
+  }, [purgeJob, purgeJobId])
+
   const allSelected = paginatedReconciliations.length > 0 &&
     paginatedReconciliations.every((r: ApiReconciliation) => selectedIds.has(r.id))
   const someSelected = paginatedReconciliations.some((r: ApiReconciliation) => selectedIds.has(r.id)) && !allSelected
@@ -289,6 +302,14 @@ const ReconciliationsPage = () => {
             </p>
           </div>
           <div className="flex items-center gap-2">
+            {purgeRunning && (
+              <span className="flex items-center gap-2 mr-4 text-sm text-muted-foreground">
+                <Loader2 className="h-4 w-4 animate-spin" />
+                {purgeJob
+                  ? `Deleting ${purgeJob.successCount + purgeJob.failedCount} of ${purgeJob.totalRequested}...`
+                  : 'Deleting...'}
+              </span>
+            )}
             {selectedIds.size > 0 && (
               <div className="flex items-center gap-2 mr-4">
                 <span className="text-sm text-muted-foreground">{selectedIds.size} selected</span>
@@ -296,7 +317,7 @@ const ReconciliationsPage = () => {
                   variant="destructive"
                   size="sm"
                   onClick={handleBulkDelete}
-                  disabled={bulkDeleteReconciliations.isPending}
+                  disabled={bulkDeleteReconciliations.isPending || purgeRunning}
                 >
                   <Trash2 className="mr-2 h-4 w-4" />
                   {bulkDeleteReconciliations.isPending ? 'Deleting...' : 'Delete Selected'}
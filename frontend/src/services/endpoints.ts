@@ -5,6 +5,7 @@ import type {
   DashboardMetrics,
   Reconciliation,
   ReconciliationException,
+  ReconciliationPurgeJob,
   PaginatedResponse,
   ExceptionQueryParams,
   ExceptionRunSummary,
@@ -92,13 +93,8 @@ export const reconciliationsApi = {
   start: (id: number) => post<Reconciliation>(`/reconciliations/${id}/start`),
   cancel: (id: number) => post<Reconciliation>(`/reconciliations/${id}/cancel`),
   delete: (id: number) => del<void>(`/reconciliations/${id}`),
-  bulkDelete: (ids: number[]) =>
-    del<{
-      totalRequested: number
-      successCount: number
-      failedCount: number
-      errors?: string[]
-    }>('/reconciliations/bulk', ids),
+  bulkDelete: (ids: number[]) => del<ReconciliationPurgeJob>('/reconciliations/bulk', ids),
+  getPurgeJob: (jobId: number) => get<ReconciliationPurgeJob>(`/reconciliations/purge-jobs/${jobId}`),
 }
 
 // ============================================
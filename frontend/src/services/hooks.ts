@@ -1,4 +1,5 @@
 // React Query hooks for API data fetching
+import { useEffect } from 'react'
 import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query'
 import {
   dashboardApi,
@@ -11,6 +12,7 @@ import {
   healthApi,
   knowledgeApi,
 } from './endpoints'
+import { ApiError } from './api'
 import type {
   CreateReconciliationRequest,
   CreateRuleSetRequest,
@@ -37,6 +39,7 @@ export const queryKeys = {
   filePreview: (id: number) => ['files', id, 'preview'] as const,
   reconciliations: ['reconciliations'] as const,
   reconciliation: (id: number) => ['reconciliations', id] as const,
+  purgeJob: (jobId: number | null) => ['purgeJobs', jobId] as const,
   exceptions: (filters?: object) => ['exceptions', filters] as const,
   exceptionRunSummaries: (filters?: object) => ['exceptions', 'run-summaries', filters] as const,
   exception: (id: number) => ['exceptions', id] as const,
@@ -93,6 +96,11 @@ export function useFilePreview(id: number, limit?: number) {
     queryKey: queryKeys.filePreview(id),
     queryFn: () => filesApi.getPreview(id, limit),
     enabled: !!id,
+    // 503 means the preview index is still being built; keep retrying until it is ready
+    retry: (failureCount, error) =>
+      error instanceof ApiError && error.status === 503 ? failureCount < 20 : failureCount < 1,
+    retryDelay: (failureCount, error) =>
+      error instanceof ApiError && error.status === 503 ? 5000 : Math.min(1000 * 2 ** failureCount, 30000),
   })
 }
 
@@ -200,14 +208,32 @@ export function useDeleteReconciliation() {
 }
 
 export function useBulkDeleteReconciliations() {
-  const queryClient = useQueryClient()
+  // Returns a queued purge job; the list is refreshed by usePurgeJob once it finished
   return useMutation({
     mutationFn: (ids: number[]) => reconciliationsApi.bulkDelete(ids),
-    onSuccess: () => {
-      queryClient.invalidateQueries({ queryKey: queryKeys.reconciliations })
-      queryClient.invalidateQueries({ queryKey: queryKeys.dashboard })
+  })
+}
+
+export function usePurgeJob(jobId: number | null) {
+  const queryClient = useQueryClient()
+  const purgeJob = useQuery({
+    queryKey: queryKeys.purgeJob(jobId),
+    queryFn: () => reconciliationsApi.getPurgeJob(jobId as number),
+    enabled: jobId !== null,
+    refetchInterval: (query) => {
+      // Poll every 2s until the background purge is done
+      const status = query.state.data?.data?.status
+      return status === 'COMPLETED' || status === 'FAILED' ? false : 2000
     },
   })
+  const status = purgeJob.data?.data?.status
+  useEffect(() => {
+    if (status === 'COMPLETED' || status === 'FAILED') {
+      queryClient.invalidateQueries({ queryKey: queryKeys.reconciliations })
+      queryClient.invalidateQueries({ queryKey: queryKeys.dashboard })
+    }
+  }, [status, queryClient])
+  return purgeJob
 }
 
 // ============================================
@@ -145,6 +145,23 @@ export interface AutoResolveExceptionsResponse {
   skippedReasonCounts?: Record<string, number>
 }
 
+// Background bulk delete from ReconciliationPurgeJobResponse
+export type PurgeJobStatus = 'PENDING' | 'RUNNING' | 'COMPLETED' | 'FAILED'
+
+export interface ReconciliationPurgeJob {
+  jobId: number
+  status: PurgeJobStatus
+  totalRequested: number
+  successCount: number
+  failedCount: number
+  errors: string[]
+  deletedExceptions: number
+  currentReconciliationId: number | null
+  startedAt: string | null
+  completedAt: string | null
+  createdAt: string
+}
+
 // Uploaded file from UploadedFileResponse
 export interface UploadedFile {
   id: number
@@ -2,12 +2,20 @@ package com.amit.smartreconciliation.controller;
 
 import com.amit.smartreconciliation.dto.response.ApiResponse;
 import com.amit.smartreconciliation.dto.response.DashboardMetricsResponse;
+import com.amit.smartreconciliation.dto.response.DashboardTrendPointResponse;
+import com.amit.smartreconciliation.enums.KnowledgeDomain;
+import com.amit.smartreconciliation.enums.TrendGranularity;
 import com.amit.smartreconciliation.service.DashboardService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/dashboard")
 public class DashboardController {
@@ -23,4 +31,14 @@ public class DashboardController {
         DashboardMetricsResponse response = dashboardService.getMetrics();
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+
+    @GetMapping("/trends")
+    public ResponseEntity<ApiResponse<List<DashboardTrendPointResponse>>> getTrends(
+            @RequestParam(defaultValue = "DAY") TrendGranularity granularity,
+            @RequestParam(required = false) KnowledgeDomain domain,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        List<DashboardTrendPointResponse> response = dashboardService.getTrend(granularity, domain, from, to);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
 }
@@ -5,21 +5,28 @@ import com.amit.smartreconciliation.dto.request.BulkExceptionRequest;
 import com.amit.smartreconciliation.dto.request.ExceptionUpdateRequest;
 import com.amit.smartreconciliation.dto.response.AutoResolveExceptionsResponse;
 import com.amit.smartreconciliation.dto.response.ApiResponse;
+import com.amit.smartreconciliation.dto.response.CursorPage;
 import com.amit.smartreconciliation.dto.response.ExceptionRunSummaryResponse;
 import com.amit.smartreconciliation.dto.response.ReconciliationExceptionResponse;
 import com.amit.smartreconciliation.enums.ExceptionSeverity;
 import com.amit.smartreconciliation.enums.ExceptionStatus;
 import com.amit.smartreconciliation.enums.ExceptionType;
+import com.amit.smartreconciliation.enums.ExportFormat;
+import com.amit.smartreconciliation.service.ExceptionExportService;
 import com.amit.smartreconciliation.service.ExceptionService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -28,9 +35,12 @@ import java.util.List;
 public class ExceptionController {
 
     private final ExceptionService exceptionService;
+    private final ExceptionExportService exceptionExportService;
 
-    public ExceptionController(ExceptionService exceptionService) {
+    public ExceptionController(ExceptionService exceptionService,
+                               ExceptionExportService exceptionExportService) {
         this.exceptionService = exceptionService;
+        this.exceptionExportService = exceptionExportService;
     }
 
     @GetMapping
@@ -60,6 +70,45 @@ public class ExceptionController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<ReconciliationExceptionResponse>>> scrollExceptions(
+            @RequestParam(required = false) Long reconciliationId,
+            @RequestParam(required = false) ExceptionType type,
+            @RequestParam(required = false) ExceptionSeverity severity,
+            @RequestParam(required = false) ExceptionStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        CursorPage<ReconciliationExceptionResponse> response = exceptionService.scroll(
+                reconciliationId, type, severity, status, fromDate, toDate,
+                sortBy, sortDir, cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    /**
+     * Streams every exception of a reconciliation straight into the response body. Access is
+     * checked before the first byte is written, so refusals are still ordinary JSON errors.
+     */
+    @GetMapping("/export")
+    public void exportExceptions(
+            @RequestParam Long reconciliationId,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+
+        String filename = exceptionExportService.prepare(reconciliationId, format, gzip);
+        response.setContentType(exceptionExportService.isGzipped(format, gzip)
+                ? "application/gzip" : format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+        exceptionExportService.export(reconciliationId, format, gzip, response.getOutputStream());
+    }
+
     @GetMapping("/runs")
     public ResponseEntity<ApiResponse<List<ExceptionRunSummaryResponse>>> getRunSummaries(
             @RequestParam(required = false) ExceptionType type,
@@ -79,6 +128,12 @@ public class ExceptionController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/{id}/fields")
+    public ResponseEntity<ApiResponse<List<ReconciliationExceptionResponse>>> getFieldView(@PathVariable Long id) {
+        List<ReconciliationExceptionResponse> response = exceptionService.getFieldView(id);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<ReconciliationExceptionResponse>> update(
             @PathVariable Long id,
@@ -1,10 +1,16 @@
 package com.amit.smartreconciliation.controller;
 
+import com.amit.smartreconciliation.dto.request.ChunkedUploadInitRequest;
+import com.amit.smartreconciliation.dto.request.SheetSelectionRequest;
 import com.amit.smartreconciliation.dto.response.ApiResponse;
 import com.amit.smartreconciliation.dto.response.FilePreviewResponse;
 import com.amit.smartreconciliation.dto.response.SchemaResponse;
+import com.amit.smartreconciliation.dto.response.UploadSessionResponse;
 import com.amit.smartreconciliation.dto.response.UploadedFileResponse;
+import com.amit.smartreconciliation.service.ChunkedUploadService;
 import com.amit.smartreconciliation.service.FileUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -12,7 +18,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
@@ -20,20 +27,19 @@ import java.util.List;
 public class FileController {
 
     private final FileUploadService fileUploadService;
+    private final ChunkedUploadService chunkedUploadService;
 
-    public FileController(FileUploadService fileUploadService) {
+    public FileController(FileUploadService fileUploadService,
+                          ChunkedUploadService chunkedUploadService) {
         this.fileUploadService = fileUploadService;
+        this.chunkedUploadService = chunkedUploadService;
     }
 
     @PreAuthorize("hasAnyRole('ADMIN','ANALYST','FINANCE','IT_ADMIN','OPERATIONS','COMPLIANCE')")
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<ApiResponse<List<UploadedFileResponse>>> uploadFiles(
             @RequestParam("files") MultipartFile[] files) {
-        List<UploadedFileResponse> responses = new ArrayList<>();
-        for (MultipartFile file : files) {
-            UploadedFileResponse response = fileUploadService.uploadFile(file);
-            responses.add(response);
-        }
+        List<UploadedFileResponse> responses = fileUploadService.uploadFiles(Arrays.asList(files));
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Files uploaded successfully", responses));
     }
@@ -47,6 +53,58 @@ public class FileController {
                 .body(ApiResponse.success("File uploaded successfully", response));
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN','ANALYST','FINANCE','IT_ADMIN','OPERATIONS','COMPLIANCE')")
+    @PostMapping(value = "/upload/stream", consumes = {"!" + MediaType.MULTIPART_FORM_DATA_VALUE,
+            "!" + MediaType.APPLICATION_FORM_URLENCODED_VALUE})
+    public ResponseEntity<ApiResponse<UploadedFileResponse>> uploadStream(
+            @RequestParam("filename") String filename,
+            HttpServletRequest request) throws IOException {
+        UploadedFileResponse response = fileUploadService.uploadStream(
+                filename, request.getContentType(), request.getContentLengthLong(), request.getInputStream());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("File uploaded successfully", response));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','ANALYST','FINANCE','IT_ADMIN','OPERATIONS','COMPLIANCE')")
+    @PostMapping("/uploads")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> initChunkedUpload(
+            @Valid @RequestBody ChunkedUploadInitRequest request) {
+        UploadSessionResponse response = chunkedUploadService.initUpload(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Upload started", response));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','ANALYST','FINANCE','IT_ADMIN','OPERATIONS','COMPLIANCE')")
+    @PutMapping(value = "/uploads/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> uploadChunk(
+            @PathVariable String uploadId,
+            @PathVariable int index,
+            HttpServletRequest request) throws IOException {
+        UploadSessionResponse response = chunkedUploadService.putChunk(uploadId, index, request.getInputStream());
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','ANALYST','FINANCE','IT_ADMIN','OPERATIONS','COMPLIANCE')")
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> getChunkedUpload(@PathVariable String uploadId) {
+        UploadSessionResponse response = chunkedUploadService.getStatus(uploadId);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','ANALYST','FINANCE','IT_ADMIN','OPERATIONS','COMPLIANCE')")
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> completeChunkedUpload(@PathVariable String uploadId) {
+        UploadSessionResponse response = chunkedUploadService.completeUpload(uploadId);
+        return ResponseEntity.ok(ApiResponse.success("Upload completed", response));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','ANALYST','FINANCE','IT_ADMIN','OPERATIONS','COMPLIANCE')")
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<ApiResponse<Void>> abortChunkedUpload(@PathVariable String uploadId) {
+        chunkedUploadService.abortUpload(uploadId);
+        return ResponseEntity.ok(ApiResponse.success("Upload aborted", null));
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN','ANALYST','FINANCE','IT_ADMIN','OPERATIONS','COMPLIANCE')")
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<UploadedFileResponse>> getById(@PathVariable Long id) {
@@ -65,8 +123,9 @@ public class FileController {
     @GetMapping("/{id}/preview")
     public ResponseEntity<ApiResponse<FilePreviewResponse>> getPreview(
             @PathVariable Long id,
+            @RequestParam(defaultValue = "0") long offset,
             @RequestParam(defaultValue = "100") int rows) {
-        FilePreviewResponse response = fileUploadService.getPreview(id, rows);
+        FilePreviewResponse response = fileUploadService.getPreview(id, offset, rows);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -77,6 +136,16 @@ public class FileController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN','ANALYST','FINANCE','IT_ADMIN','OPERATIONS','COMPLIANCE')")
+    @PostMapping("/{id}/sheets")
+    public ResponseEntity<ApiResponse<List<UploadedFileResponse>>> selectSheets(
+            @PathVariable Long id,
+            @Valid @RequestBody SheetSelectionRequest request) {
+        List<UploadedFileResponse> responses = fileUploadService.selectSheets(id, request.getSheets(), request.getMode());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Sheet selection created", responses));
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN','ANALYST')")
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> delete(@PathVariable Long id) {
@@ -3,13 +3,16 @@ package com.amit.smartreconciliation.controller;
 import com.amit.smartreconciliation.dto.request.ReconciliationRequest;
 import com.amit.smartreconciliation.dto.request.ReconciliationDomainDetectionRequest;
 import com.amit.smartreconciliation.dto.response.ApiResponse;
+import com.amit.smartreconciliation.dto.response.CursorPage;
 import com.amit.smartreconciliation.dto.response.DomainDetectionResponse;
 import com.amit.smartreconciliation.dto.response.ReconciliationExceptionResponse;
+import com.amit.smartreconciliation.dto.response.ReconciliationPurgeJobResponse;
 import com.amit.smartreconciliation.dto.response.ReconciliationResponse;
 import com.amit.smartreconciliation.enums.ExceptionSeverity;
 import com.amit.smartreconciliation.enums.ExceptionStatus;
 import com.amit.smartreconciliation.enums.ExceptionType;
 import com.amit.smartreconciliation.service.ExceptionService;
+import com.amit.smartreconciliation.service.ReconciliationPurgeService;
 import com.amit.smartreconciliation.service.ReconciliationService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
@@ -23,7 +26,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/reconciliations")
@@ -31,11 +33,14 @@ public class ReconciliationController {
 
     private final ReconciliationService reconciliationService;
     private final ExceptionService exceptionService;
+    private final ReconciliationPurgeService purgeService;
 
     public ReconciliationController(ReconciliationService reconciliationService,
-                                    ExceptionService exceptionService) {
+                                    ExceptionService exceptionService,
+                                    ReconciliationPurgeService purgeService) {
         this.reconciliationService = reconciliationService;
         this.exceptionService = exceptionService;
+        this.purgeService = purgeService;
     }
 
     @PreAuthorize("hasAnyRole('ADMIN','ANALYST','FINANCE','IT_ADMIN','OPERATIONS','COMPLIANCE')")
@@ -96,6 +101,16 @@ public class ReconciliationController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN','ANALYST','FINANCE','IT_ADMIN','OPERATIONS','COMPLIANCE')")
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<ReconciliationResponse>>> scroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<ReconciliationResponse> response = reconciliationService.scroll(cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN','ANALYST','FINANCE','IT_ADMIN','OPERATIONS','COMPLIANCE')")
     @GetMapping("/{id}/status")
     public ResponseEntity<ApiResponse<ReconciliationResponse>> getStatus(@PathVariable Long id) {
@@ -125,6 +140,22 @@ public class ReconciliationController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN','ANALYST','FINANCE','IT_ADMIN','OPERATIONS','COMPLIANCE')")
+    @GetMapping("/{id}/exceptions/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<ReconciliationExceptionResponse>>> scrollExceptions(
+            @PathVariable Long id,
+            @RequestParam(required = false) ExceptionType type,
+            @RequestParam(required = false) ExceptionSeverity severity,
+            @RequestParam(required = false) ExceptionStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        // Rows of one run are listed in id order, which the per-run indexes already provide
+        CursorPage<ReconciliationExceptionResponse> response = exceptionService.scroll(
+                id, type, severity, status, null, null, "id", "asc", cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN','ANALYST','FINANCE','IT_ADMIN','OPERATIONS','COMPLIANCE')")
     @PostMapping("/{id}/start")
     public ResponseEntity<ApiResponse<ReconciliationResponse>> start(@PathVariable Long id) {
@@ -148,8 +179,16 @@ public class ReconciliationController {
 
     @PreAuthorize("hasAnyRole('ADMIN','ANALYST')")
     @DeleteMapping("/bulk")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> bulkDelete(@RequestBody List<Long> ids) {
-        Map<String, Object> result = reconciliationService.deleteAll(ids);
-        return ResponseEntity.ok(ApiResponse.success("Bulk delete completed", result));
+    public ResponseEntity<ApiResponse<ReconciliationPurgeJobResponse>> bulkDelete(@RequestBody List<Long> ids) {
+        ReconciliationPurgeJobResponse result = reconciliationService.deleteAll(ids);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Bulk delete started", result));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','ANALYST')")
+    @GetMapping("/purge-jobs/{jobId}")
+    public ResponseEntity<ApiResponse<ReconciliationPurgeJobResponse>> getPurgeJob(@PathVariable Long jobId) {
+        ReconciliationPurgeJobResponse response = purgeService.getJob(jobId);
+        return ResponseEntity.ok(ApiResponse.success(response));
     }
 }
@@ -0,0 +1,32 @@
+package com.amit.smartreconciliation.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+public class ChunkedUploadInitRequest {
+    @NotBlank(message = "Filename is required")
+    private String filename;
+    private String contentType;
+    @NotNull(message = "Total size is required")
+    @Positive(message = "Total size must be positive")
+    private Long totalSize;
+    @Positive(message = "Chunk size must be positive")
+    private Integer chunkSize;
+    @Pattern(regexp = "^[0-9a-fA-F]{64}$", message = "SHA-256 must be 64 hex characters")
+    private String sha256;
+
+    public ChunkedUploadInitRequest() {}
+
+    public String getFilename() { return filename; }
+    public void setFilename(String filename) { this.filename = filename; }
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+    public Long getTotalSize() { return totalSize; }
+    public void setTotalSize(Long totalSize) { this.totalSize = totalSize; }
+    public Integer getChunkSize() { return chunkSize; }
+    public void setChunkSize(Integer chunkSize) { this.chunkSize = chunkSize; }
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+}
@@ -0,0 +1,18 @@
+package com.amit.smartreconciliation.dto.request;
+
+import com.amit.smartreconciliation.enums.SheetMode;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class SheetSelectionRequest {
+    @NotEmpty(message = "At least one sheet is required")
+    private List<String> sheets;
+    private SheetMode mode = SheetMode.COMBINED;
+
+    public SheetSelectionRequest() {}
+
+    public List<String> getSheets() { return sheets; }
+    public void setSheets(List<String> sheets) { this.sheets = sheets; }
+    public SheetMode getMode() { return mode; }
+    public void setMode(SheetMode mode) { this.mode = mode; }
+}
@@ -0,0 +1,40 @@
+package com.amit.smartreconciliation.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is passed back unchanged to fetch
+ * the following page and is null on the last one. {@code estimatedTotal} is only filled when the
+ * caller asks for it.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+    private Long estimatedTotal;
+
+    public CursorPage() {}
+
+    public CursorPage(List<T> content, int size, String nextCursor, Long estimatedTotal) {
+        this.content = content;
+        this.size = size;
+        this.hasMore = nextCursor != null;
+        this.nextCursor = nextCursor;
+        this.estimatedTotal = estimatedTotal;
+    }
+
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    public Long getEstimatedTotal() { return estimatedTotal; }
+    public void setEstimatedTotal(Long estimatedTotal) { this.estimatedTotal = estimatedTotal; }
+}
@@ -0,0 +1,54 @@
+package com.amit.smartreconciliation.dto.response;
+
+import java.time.LocalDateTime;
+
+public class DashboardTrendPointResponse {
+    private LocalDateTime bucketStart;
+    private Long runsCompleted;
+    private Long runsFailed;
+    private Long sourceRecords;
+    private Long matchedRecords;
+    private Double matchRate;
+    private Long exceptionsOpened;
+    private Long exceptionsResolved;
+    private Double meanResolutionSeconds;
+
+    public DashboardTrendPointResponse() {}
+
+    public DashboardTrendPointResponse(LocalDateTime bucketStart, long runsCompleted, long runsFailed,
+                                       long sourceRecords, long matchedRecords, long exceptionsOpened,
+                                       long exceptionsResolved, double resolutionSeconds) {
+        this.bucketStart = bucketStart;
+        this.runsCompleted = runsCompleted;
+        this.runsFailed = runsFailed;
+        this.sourceRecords = sourceRecords;
+        this.matchedRecords = matchedRecords;
+        this.matchRate = sourceRecords > 0 ? matchedRecords * 100.0 / sourceRecords : null;
+        this.exceptionsOpened = exceptionsOpened;
+        this.exceptionsResolved = exceptionsResolved;
+        this.meanResolutionSeconds = exceptionsResolved > 0 ? resolutionSeconds / exceptionsResolved : null;
+    }
+
+    public static DashboardTrendPointResponse empty(LocalDateTime bucketStart) {
+        return new DashboardTrendPointResponse(bucketStart, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+    public Long getRunsCompleted() { return runsCompleted; }
+    public void setRunsCompleted(Long runsCompleted) { this.runsCompleted = runsCompleted; }
+    public Long getRunsFailed() { return runsFailed; }
+    public void setRunsFailed(Long runsFailed) { this.runsFailed = runsFailed; }
+    public Long getSourceRecords() { return sourceRecords; }
+    public void setSourceRecords(Long sourceRecords) { this.sourceRecords = sourceRecords; }
+    public Long getMatchedRecords() { return matchedRecords; }
+    public void setMatchedRecords(Long matchedRecords) { this.matchedRecords = matchedRecords; }
+    public Double getMatchRate() { return matchRate; }
+    public void setMatchRate(Double matchRate) { this.matchRate = matchRate; }
+    public Long getExceptionsOpened() { return exceptionsOpened; }
+    public void setExceptionsOpened(Long exceptionsOpened) { this.exceptionsOpened = exceptionsOpened; }
+    public Long getExceptionsResolved() { return exceptionsResolved; }
+    public void setExceptionsResolved(Long exceptionsResolved) { this.exceptionsResolved = exceptionsResolved; }
+    public Double getMeanResolutionSeconds() { return meanResolutionSeconds; }
+    public void setMeanResolutionSeconds(Double meanResolutionSeconds) { this.meanResolutionSeconds = meanResolutionSeconds; }
+}
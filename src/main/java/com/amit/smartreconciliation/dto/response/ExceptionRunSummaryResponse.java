@@ -17,6 +17,20 @@ public class ExceptionRunSummaryResponse {
 
     public ExceptionRunSummaryResponse() {}
 
+    public ExceptionRunSummaryResponse(Long reconciliationId, String reconciliationName, KnowledgeDomain domain,
+                                       LocalDateTime createdAt, Long openCount, Long inReviewCount,
+                                       Long criticalOpenCount, Long aiActionableCount, Long totalInScope) {
+        this.reconciliationId = reconciliationId;
+        this.reconciliationName = reconciliationName;
+        this.domain = domain;
+        this.createdAt = createdAt;
+        this.openCount = openCount;
+        this.inReviewCount = inReviewCount;
+        this.criticalOpenCount = criticalOpenCount;
+        this.aiActionableCount = aiActionableCount;
+        this.totalInScope = totalInScope;
+    }
+
     public Long getReconciliationId() { return reconciliationId; }
     public void setReconciliationId(Long reconciliationId) { this.reconciliationId = reconciliationId; }
     public String getReconciliationName() { return reconciliationName; }
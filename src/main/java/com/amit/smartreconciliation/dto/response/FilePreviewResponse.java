@@ -7,8 +7,10 @@ public class FilePreviewResponse {
     private String filename;
     private List<String> headers;
     private List<List<Object>> rows;
+    private Long offset;
     private Integer totalRows;
     private Integer previewRows;
+    private Long previewableRows;
 
     public FilePreviewResponse() {}
 
@@ -20,10 +22,14 @@ public class FilePreviewResponse {
     public void setHeaders(List<String> headers) { this.headers = headers; }
     public List<List<Object>> getRows() { return rows; }
     public void setRows(List<List<Object>> rows) { this.rows = rows; }
+    public Long getOffset() { return offset; }
+    public void setOffset(Long offset) { this.offset = offset; }
     public Integer getTotalRows() { return totalRows; }
     public void setTotalRows(Integer totalRows) { this.totalRows = totalRows; }
     public Integer getPreviewRows() { return previewRows; }
     public void setPreviewRows(Integer previewRows) { this.previewRows = previewRows; }
+    public Long getPreviewableRows() { return previewableRows; }
+    public void setPreviewableRows(Long previewableRows) { this.previewableRows = previewableRows; }
 
     public static Builder builder() { return new Builder(); }
 
@@ -33,8 +39,10 @@ public class FilePreviewResponse {
         public Builder filename(String v) { r.filename = v; return this; }
         public Builder headers(List<String> v) { r.headers = v; return this; }
         public Builder rows(List<List<Object>> v) { r.rows = v; return this; }
+        public Builder offset(Long v) { r.offset = v; return this; }
         public Builder totalRows(Integer v) { r.totalRows = v; return this; }
         public Builder previewRows(Integer v) { r.previewRows = v; return this; }
+        public Builder previewableRows(Long v) { r.previewableRows = v; return this; }
         public FilePreviewResponse build() { return r; }
     }
 }
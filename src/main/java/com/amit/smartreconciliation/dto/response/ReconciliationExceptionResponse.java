@@ -1,11 +1,14 @@
 package com.amit.smartreconciliation.dto.response;
 
+import com.amit.smartreconciliation.entity.FieldDiff;
 import com.amit.smartreconciliation.entity.ReconciliationException;
 import com.amit.smartreconciliation.enums.ExceptionSeverity;
 import com.amit.smartreconciliation.enums.ExceptionStatus;
 import com.amit.smartreconciliation.enums.ExceptionType;
 import com.amit.smartreconciliation.enums.KnowledgeDomain;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 public class ReconciliationExceptionResponse {
@@ -20,6 +23,9 @@ public class ReconciliationExceptionResponse {
     private String targetValue;
     private Map<String, Object> sourceData;
     private Map<String, Object> targetData;
+    private Integer sourceRow;
+    private Integer targetRow;
+    private List<FieldDiff> fieldDiffs;
     private String aiSuggestion;
     private String resolution;
     private String resolvedBy;
@@ -47,6 +53,9 @@ public class ReconciliationExceptionResponse {
         r.targetValue = entity.getTargetValue();
         r.sourceData = entity.getSourceData();
         r.targetData = entity.getTargetData();
+        r.sourceRow = entity.getSourceRow();
+        r.targetRow = entity.getTargetRow();
+        r.fieldDiffs = entity.getFieldDiffs();
         r.aiSuggestion = entity.getAiSuggestion();
         r.resolution = entity.getResolution();
         r.resolvedBy = entity.getResolvedBy();
@@ -61,6 +70,48 @@ public class ReconciliationExceptionResponse {
         return r;
     }
 
+    /**
+     * Maps an exception whose rows live in the reconciliation's row store; the given rows are
+     * used where the exception has no copy of its own.
+     */
+    public static ReconciliationExceptionResponse fromEntity(ReconciliationException entity,
+                                                             Map<String, Object> sourceRowData,
+                                                             Map<String, Object> targetRowData) {
+        ReconciliationExceptionResponse r = fromEntity(entity);
+        if (r.sourceData == null) {
+            r.sourceData = sourceRowData;
+        }
+        if (r.targetData == null) {
+            r.targetData = targetRowData;
+        }
+        return r;
+    }
+
+    /**
+     * The per-field view of an exception: one response per differing field, each carrying that
+     * field's name, values and severity. A pair-level exception is split into its field diffs;
+     * any other exception is returned as it is.
+     */
+    public static List<ReconciliationExceptionResponse> fieldView(ReconciliationException entity,
+                                                                  Map<String, Object> sourceRowData,
+                                                                  Map<String, Object> targetRowData) {
+        if (entity.getFieldDiffs() == null || entity.getFieldDiffs().isEmpty()) {
+            return List.of(fromEntity(entity, sourceRowData, targetRowData));
+        }
+        List<ReconciliationExceptionResponse> view = new ArrayList<>(entity.getFieldDiffs().size());
+        for (FieldDiff diff : entity.getFieldDiffs()) {
+            ReconciliationExceptionResponse r = fromEntity(entity, sourceRowData, targetRowData);
+            r.fieldName = diff.field();
+            r.sourceValue = diff.sourceValue();
+            r.targetValue = diff.targetValue();
+            r.severity = diff.severity();
+            r.description = String.format("Value mismatch for field %s", diff.field());
+            r.fieldDiffs = null;
+            view.add(r);
+        }
+        return view;
+    }
+
     public Long getId() { return id; }
     public ExceptionType getType() { return type; }
     public ExceptionSeverity getSeverity() { return severity; }
@@ -72,6 +123,9 @@ public class ReconciliationExceptionResponse {
     public String getTargetValue() { return targetValue; }
     public Map<String, Object> getSourceData() { return sourceData; }
     public Map<String, Object> getTargetData() { return targetData; }
+    public Integer getSourceRow() { return sourceRow; }
+    public Integer getTargetRow() { return targetRow; }
+    public List<FieldDiff> getFieldDiffs() { return fieldDiffs; }
     public String getAiSuggestion() { return aiSuggestion; }
     public String getResolution() { return resolution; }
     public String getResolvedBy() { return resolvedBy; }
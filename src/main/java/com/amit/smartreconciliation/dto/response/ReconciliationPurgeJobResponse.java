@@ -0,0 +1,52 @@
+package com.amit.smartreconciliation.dto.response;
+
+import com.amit.smartreconciliation.entity.ReconciliationPurgeJob;
+import com.amit.smartreconciliation.enums.PurgeJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ReconciliationPurgeJobResponse {
+    private Long jobId;
+    private PurgeJobStatus status;
+    // Named as the bulk delete reported them when it ran inside the request
+    private int totalRequested;
+    private int successCount;
+    private int failedCount;
+    private List<String> errors;
+    private long deletedExceptions;
+    private Long currentReconciliationId;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime createdAt;
+
+    public ReconciliationPurgeJobResponse() {}
+
+    public static ReconciliationPurgeJobResponse fromEntity(ReconciliationPurgeJob entity) {
+        ReconciliationPurgeJobResponse r = new ReconciliationPurgeJobResponse();
+        r.jobId = entity.getId();
+        r.status = entity.getStatus();
+        r.totalRequested = entity.getTotalReconciliations();
+        r.successCount = entity.getDeletedReconciliations();
+        r.failedCount = entity.getFailedReconciliations();
+        r.errors = entity.getErrors() != null ? List.copyOf(entity.getErrors()) : List.of();
+        r.deletedExceptions = entity.getDeletedExceptions();
+        r.currentReconciliationId = entity.getCurrentReconciliationId();
+        r.startedAt = entity.getStartedAt();
+        r.completedAt = entity.getCompletedAt();
+        r.createdAt = entity.getCreatedAt();
+        return r;
+    }
+
+    public Long getJobId() { return jobId; }
+    public PurgeJobStatus getStatus() { return status; }
+    public int getTotalRequested() { return totalRequested; }
+    public int getSuccessCount() { return successCount; }
+    public int getFailedCount() { return failedCount; }
+    public List<String> getErrors() { return errors; }
+    public long getDeletedExceptions() { return deletedExceptions; }
+    public Long getCurrentReconciliationId() { return currentReconciliationId; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
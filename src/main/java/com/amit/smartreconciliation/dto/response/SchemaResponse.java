@@ -1,6 +1,7 @@
 package com.amit.smartreconciliation.dto.response;
 
 import java.util.List;
+import java.util.Map;
 
 public class SchemaResponse {
     private Long fileId;
@@ -36,6 +37,10 @@ public class SchemaResponse {
         private Integer nullCount;
         private Integer uniqueCount;
         private List<String> sampleValues;
+        private Map<String, Integer> typeCounts;
+        private String minValue;
+        private String maxValue;
+        private Double typeConfidence;
 
         public ColumnSchema() {}
 
@@ -49,6 +54,14 @@ public class SchemaResponse {
         public void setUniqueCount(Integer uniqueCount) { this.uniqueCount = uniqueCount; }
         public List<String> getSampleValues() { return sampleValues; }
         public void setSampleValues(List<String> sampleValues) { this.sampleValues = sampleValues; }
+        public Map<String, Integer> getTypeCounts() { return typeCounts; }
+        public void setTypeCounts(Map<String, Integer> typeCounts) { this.typeCounts = typeCounts; }
+        public String getMinValue() { return minValue; }
+        public void setMinValue(String minValue) { this.minValue = minValue; }
+        public String getMaxValue() { return maxValue; }
+        public void setMaxValue(String maxValue) { this.maxValue = maxValue; }
+        public Double getTypeConfidence() { return typeConfidence; }
+        public void setTypeConfidence(Double typeConfidence) { this.typeConfidence = typeConfidence; }
 
         public static Builder builder() { return new Builder(); }
 
@@ -59,6 +72,10 @@ public class SchemaResponse {
             public Builder nullCount(Integer v) { c.nullCount = v; return this; }
             public Builder uniqueCount(Integer v) { c.uniqueCount = v; return this; }
             public Builder sampleValues(List<String> v) { c.sampleValues = v; return this; }
+            public Builder typeCounts(Map<String, Integer> v) { c.typeCounts = v; return this; }
+            public Builder minValue(String v) { c.minValue = v; return this; }
+            public Builder maxValue(String v) { c.maxValue = v; return this; }
+            public Builder typeConfidence(Double v) { c.typeConfidence = v; return this; }
             public ColumnSchema build() { return c; }
         }
     }
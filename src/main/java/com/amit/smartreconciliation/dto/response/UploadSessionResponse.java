@@ -0,0 +1,64 @@
+package com.amit.smartreconciliation.dto.response;
+
+import com.amit.smartreconciliation.entity.UploadSession;
+import com.amit.smartreconciliation.enums.UploadSessionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class UploadSessionResponse {
+    private String uploadId;
+    private String originalFilename;
+    private Long totalSize;
+    private Integer chunkSize;
+    private Integer totalChunks;
+    private int receivedChunkCount;
+    private List<Integer> missingChunks;
+    private UploadSessionStatus status;
+    private String sha256;
+    private Long fileId;
+    private String errorMessage;
+    private LocalDateTime expiresAt;
+
+    public UploadSessionResponse() {}
+
+    public static UploadSessionResponse fromEntity(UploadSession entity) {
+        UploadSessionResponse r = new UploadSessionResponse();
+        r.uploadId = entity.getUploadId();
+        r.originalFilename = entity.getOriginalFilename();
+        r.totalSize = entity.getTotalSize();
+        r.chunkSize = entity.getChunkSize();
+        r.totalChunks = entity.getTotalChunks();
+        Set<Integer> received = entity.getReceivedChunks() != null
+                ? new HashSet<>(entity.getReceivedChunks()) : Set.of();
+        r.receivedChunkCount = received.size();
+        r.missingChunks = new ArrayList<>();
+        for (int i = 0; i < entity.getTotalChunks(); i++) {
+            if (!received.contains(i)) {
+                r.missingChunks.add(i);
+            }
+        }
+        r.status = entity.getStatus();
+        r.sha256 = entity.getSha256();
+        r.fileId = entity.getUploadedFile() != null ? entity.getUploadedFile().getId() : null;
+        r.errorMessage = entity.getErrorMessage();
+        r.expiresAt = entity.getExpiresAt();
+        return r;
+    }
+
+    public String getUploadId() { return uploadId; }
+    public String getOriginalFilename() { return originalFilename; }
+    public Long getTotalSize() { return totalSize; }
+    public Integer getChunkSize() { return chunkSize; }
+    public Integer getTotalChunks() { return totalChunks; }
+    public int getReceivedChunkCount() { return receivedChunkCount; }
+    public List<Integer> getMissingChunks() { return missingChunks; }
+    public UploadSessionStatus getStatus() { return status; }
+    public String getSha256() { return sha256; }
+    public Long getFileId() { return fileId; }
+    public String getErrorMessage() { return errorMessage; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+}
@@ -11,10 +11,13 @@ public class UploadedFileResponse {
     private String originalFilename;
     private String contentType;
     private Long fileSize;
+    private String contentHash;
     private FileStatus status;
     private List<Map<String, Object>> detectedSchema;
     private Integer rowCount;
     private Integer columnCount;
+    private List<Map<String, Object>> sheets;
+    private List<String> selectedSheets;
     private String processingError;
     private boolean missing;
     private LocalDateTime createdAt;
@@ -23,21 +26,20 @@ public class UploadedFileResponse {
     public UploadedFileResponse() {}
 
     public static UploadedFileResponse fromEntity(UploadedFile entity) {
-        return fromEntity(entity, false);
-    }
-
-    public static UploadedFileResponse fromEntity(UploadedFile entity, boolean missing) {
         UploadedFileResponse r = new UploadedFileResponse();
         r.id = entity.getId();
         r.originalFilename = entity.getOriginalFilename();
         r.contentType = entity.getContentType();
         r.fileSize = entity.getFileSize();
+        r.contentHash = entity.getContentHash();
         r.status = entity.getStatus();
         r.detectedSchema = entity.getDetectedSchema();
         r.rowCount = entity.getRowCount();
         r.columnCount = entity.getColumnCount();
+        r.sheets = entity.getSheets();
+        r.selectedSheets = entity.getSelectedSheets();
         r.processingError = entity.getProcessingError();
-        r.missing = missing;
+        r.missing = entity.isMissing();
         r.createdAt = entity.getCreatedAt();
         r.updatedAt = entity.getUpdatedAt();
         return r;
@@ -47,10 +49,13 @@ public class UploadedFileResponse {
     public String getOriginalFilename() { return originalFilename; }
     public String getContentType() { return contentType; }
     public Long getFileSize() { return fileSize; }
+    public String getContentHash() { return contentHash; }
     public FileStatus getStatus() { return status; }
     public List<Map<String, Object>> getDetectedSchema() { return detectedSchema; }
     public Integer getRowCount() { return rowCount; }
     public Integer getColumnCount() { return columnCount; }
+    public List<Map<String, Object>> getSheets() { return sheets; }
+    public List<String> getSelectedSheets() { return selectedSheets; }
     public String getProcessingError() { return processingError; }
     public boolean isMissing() { return missing; }
     public LocalDateTime getCreatedAt() { return createdAt; }
@@ -1,8 +1,11 @@
 package com.amit.smartreconciliation.dto.response.tool;
 
 import com.amit.smartreconciliation.entity.UploadedFile;
+import com.amit.smartreconciliation.enums.FileStatus;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.time.LocalDateTime;
+
 /**
  * File summary for list operations.
  */
@@ -28,6 +31,15 @@ public record FileSummaryResponse(
     @JsonProperty("created_at")
     String createdAt
 ) {
+    /**
+     * Constructor expression target of {@code UploadedFileRepository.findSummaries}.
+     */
+    public FileSummaryResponse(Long id, String originalFilename, Long fileSize, Integer rowCount,
+                               Integer columnCount, FileStatus status, LocalDateTime createdAt) {
+        this(id, originalFilename, fileSize, rowCount, columnCount, status.name(),
+                createdAt != null ? createdAt.toString() : null);
+    }
+
     public static FileSummaryResponse fromEntity(UploadedFile file) {
         return new FileSummaryResponse(
             file.getId(),
@@ -1,8 +1,11 @@
 package com.amit.smartreconciliation.dto.response.tool;
 
 import com.amit.smartreconciliation.entity.Reconciliation;
+import com.amit.smartreconciliation.enums.ReconciliationStatus;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.time.LocalDateTime;
+
 /**
  * Lightweight reconciliation summary for list operations.
  */
@@ -25,6 +28,14 @@ public record ReconciliationSummaryResponse(
     @JsonProperty("created_at")
     String createdAt
 ) {
+    /**
+     * Constructor expression target of {@code ReconciliationRepository.findSummaries}.
+     */
+    public ReconciliationSummaryResponse(Long id, String name, ReconciliationStatus status, Double matchRate,
+                                         Integer exceptionCount, LocalDateTime createdAt) {
+        this(id, name, status.name(), matchRate, exceptionCount, createdAt != null ? createdAt.toString() : null);
+    }
+
     public static ReconciliationSummaryResponse fromEntity(Reconciliation reconciliation) {
         return new ReconciliationSummaryResponse(
             reconciliation.getId(),
@@ -0,0 +1,8 @@
+package com.amit.smartreconciliation.entity;
+
+import com.amit.smartreconciliation.enums.ExceptionSeverity;
+
+/**
+ * One mismatching field of a record pair, as stored in {@code ReconciliationException.fieldDiffs}.
+ */
+public record FieldDiff(String field, String sourceValue, String targetValue, ExceptionSeverity severity) {}
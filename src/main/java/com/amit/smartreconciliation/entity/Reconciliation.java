@@ -15,8 +15,15 @@ import java.util.Map;
 
 @Entity
 @Table(name = "reconciliations")
+@NamedEntityGraph(name = Reconciliation.RESPONSE_GRAPH, attributeNodes = {
+        @NamedAttributeNode("sourceFile"),
+        @NamedAttributeNode("targetFile"),
+        @NamedAttributeNode("ruleSet")})
 public class Reconciliation {
 
+    // The associations ReconciliationResponse reads, fetched with the rows instead of one query each
+    public static final String RESPONSE_GRAPH = "Reconciliation.response";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
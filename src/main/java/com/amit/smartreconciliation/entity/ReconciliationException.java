@@ -11,6 +11,7 @@ import org.hibernate.annotations.Type;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Entity
@@ -18,7 +19,8 @@ import java.util.Map;
 public class ReconciliationException {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reconciliation_exceptions_seq")
+    @SequenceGenerator(name = "reconciliation_exceptions_seq", sequenceName = "reconciliation_exceptions_seq", allocationSize = 100)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -48,14 +50,27 @@ public class ReconciliationException {
     @Column(columnDefinition = "TEXT")
     private String targetValue;
 
+    // Full rows, only stored when the exception does not reference the row store; written once
     @Type(JsonType.class)
-    @Column(columnDefinition = "jsonb")
+    @Column(columnDefinition = "jsonb", updatable = false)
     private Map<String, Object> sourceData;
 
     @Type(JsonType.class)
-    @Column(columnDefinition = "jsonb")
+    @Column(columnDefinition = "jsonb", updatable = false)
     private Map<String, Object> targetData;
 
+    // Ordinals of the rows in the reconciliation's row store (see ReconciliationRowStore)
+    @Column(updatable = false)
+    private Integer sourceRow;
+
+    @Column(updatable = false)
+    private Integer targetRow;
+
+    // Every mismatching field of a pair-level exception; null for one-field exceptions
+    @Type(JsonType.class)
+    @Column(columnDefinition = "jsonb", updatable = false)
+    private List<FieldDiff> fieldDiffs;
+
     @Column(columnDefinition = "TEXT")
     private String aiSuggestion;
 
@@ -72,8 +87,9 @@ public class ReconciliationException {
     @JoinColumn(name = "reconciliation_id", nullable = false)
     private Reconciliation reconciliation;
 
+    // Partition key of the table, so it is never changed after insert
     @CreationTimestamp
-    @Column(updatable = false)
+    @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
@@ -115,6 +131,15 @@ public class ReconciliationException {
     public Map<String, Object> getTargetData() { return targetData; }
     public void setTargetData(Map<String, Object> targetData) { this.targetData = targetData; }
 
+    public Integer getSourceRow() { return sourceRow; }
+    public void setSourceRow(Integer sourceRow) { this.sourceRow = sourceRow; }
+
+    public Integer getTargetRow() { return targetRow; }
+    public void setTargetRow(Integer targetRow) { this.targetRow = targetRow; }
+
+    public List<FieldDiff> getFieldDiffs() { return fieldDiffs; }
+    public void setFieldDiffs(List<FieldDiff> fieldDiffs) { this.fieldDiffs = fieldDiffs; }
+
     public String getAiSuggestion() { return aiSuggestion; }
     public void setAiSuggestion(String aiSuggestion) { this.aiSuggestion = aiSuggestion; }
 
@@ -156,6 +181,7 @@ public class ReconciliationException {
         public Builder targetValue(String v) { e.targetValue = v; return this; }
         public Builder sourceData(Map<String, Object> v) { e.sourceData = v; return this; }
         public Builder targetData(Map<String, Object> v) { e.targetData = v; return this; }
+        public Builder fieldDiffs(List<FieldDiff> v) { e.fieldDiffs = v; return this; }
         public Builder reconciliation(Reconciliation v) { e.reconciliation = v; return this; }
         public ReconciliationException build() { return e; }
     }
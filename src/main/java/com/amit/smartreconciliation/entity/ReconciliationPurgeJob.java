@@ -0,0 +1,114 @@
+package com.amit.smartreconciliation.entity;
+
+import com.amit.smartreconciliation.enums.PurgeJobStatus;
+import io.hypersistence.utils.hibernate.type.json.JsonType;
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Type;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "reconciliation_purge_jobs")
+public class ReconciliationPurgeJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "organization_id", nullable = false)
+    private Organization organization;
+
+    // Processed in list order; a resumed job skips the first deleted + failed entries
+    @Type(JsonType.class)
+    @Column(columnDefinition = "jsonb", nullable = false)
+    private List<Long> reconciliationIds = new ArrayList<>();
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PurgeJobStatus status = PurgeJobStatus.PENDING;
+
+    @Column(nullable = false)
+    private Integer totalReconciliations = 0;
+
+    @Column(nullable = false)
+    private Integer deletedReconciliations = 0;
+
+    @Column(nullable = false)
+    private Integer failedReconciliations = 0;
+
+    @Column(nullable = false)
+    private Long deletedExceptions = 0L;
+
+    private Long currentReconciliationId;
+
+    @Type(JsonType.class)
+    @Column(columnDefinition = "jsonb", nullable = false)
+    private List<String> errors = new ArrayList<>();
+
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public ReconciliationPurgeJob() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Organization getOrganization() { return organization; }
+    public void setOrganization(Organization organization) { this.organization = organization; }
+
+    public List<Long> getReconciliationIds() { return reconciliationIds; }
+    public void setReconciliationIds(List<Long> reconciliationIds) { this.reconciliationIds = reconciliationIds; }
+
+    public PurgeJobStatus getStatus() { return status; }
+    public void setStatus(PurgeJobStatus status) { this.status = status; }
+
+    public Integer getTotalReconciliations() { return totalReconciliations; }
+    public void setTotalReconciliations(Integer totalReconciliations) { this.totalReconciliations = totalReconciliations; }
+
+    public Integer getDeletedReconciliations() { return deletedReconciliations; }
+    public void setDeletedReconciliations(Integer deletedReconciliations) { this.deletedReconciliations = deletedReconciliations; }
+
+    public Integer getFailedReconciliations() { return failedReconciliations; }
+    public void setFailedReconciliations(Integer failedReconciliations) { this.failedReconciliations = failedReconciliations; }
+
+    public Long getDeletedExceptions() { return deletedExceptions; }
+    public void setDeletedExceptions(Long deletedExceptions) { this.deletedExceptions = deletedExceptions; }
+
+    public Long getCurrentReconciliationId() { return currentReconciliationId; }
+    public void setCurrentReconciliationId(Long currentReconciliationId) { this.currentReconciliationId = currentReconciliationId; }
+
+    public List<String> getErrors() { return errors; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public static Builder builder() { return new Builder(); }
+
+    public static class Builder {
+        private final ReconciliationPurgeJob j = new ReconciliationPurgeJob();
+        public Builder organization(Organization v) { j.organization = v; return this; }
+        public Builder reconciliationIds(List<Long> v) { j.reconciliationIds = v; j.totalReconciliations = v.size(); return this; }
+        public Builder status(PurgeJobStatus v) { j.status = v; return this; }
+        public ReconciliationPurgeJob build() { return j; }
+    }
+}
@@ -21,7 +21,8 @@ import java.util.Map;
 public class ReconciliationRun {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reconciliation_runs_seq")
+    @SequenceGenerator(name = "reconciliation_runs_seq", sequenceName = "reconciliation_runs_seq", allocationSize = 100)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
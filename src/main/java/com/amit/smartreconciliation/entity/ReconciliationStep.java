@@ -22,7 +22,8 @@ import java.util.Map;
 public class ReconciliationStep {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reconciliation_steps_seq")
+    @SequenceGenerator(name = "reconciliation_steps_seq", sequenceName = "reconciliation_steps_seq", allocationSize = 100)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class ReconciliationStepRun {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reconciliation_step_runs_seq")
+    @SequenceGenerator(name = "reconciliation_step_runs_seq", sequenceName = "reconciliation_step_runs_seq", allocationSize = 100)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,155 @@
+package com.amit.smartreconciliation.entity;
+
+import com.amit.smartreconciliation.enums.UploadSessionStatus;
+import io.hypersistence.utils.hibernate.type.json.JsonType;
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Type;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "upload_sessions")
+public class UploadSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String uploadId;
+
+    @Column(nullable = false)
+    private String originalFilename;
+
+    @Column(nullable = false)
+    private String contentType;
+
+    @Column(nullable = false)
+    private Long totalSize;
+
+    @Column(nullable = false)
+    private Integer chunkSize;
+
+    @Column(nullable = false)
+    private Integer totalChunks;
+
+    @Type(JsonType.class)
+    @Column(columnDefinition = "jsonb", nullable = false)
+    private List<Integer> receivedChunks = new ArrayList<>();
+
+    @Column(nullable = false)
+    private String storedFilename;
+
+    @Column(nullable = false, length = 1024)
+    private String partPath;
+
+    @Column(length = 64)
+    private String expectedSha256;
+
+    @Column(length = 64)
+    private String sha256;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UploadSessionStatus status = UploadSessionStatus.ACTIVE;
+
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "uploaded_file_id")
+    private UploadedFile uploadedFile;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "organization_id", nullable = false)
+    private Organization organization;
+
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public UploadSession() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getUploadId() { return uploadId; }
+    public void setUploadId(String uploadId) { this.uploadId = uploadId; }
+
+    public String getOriginalFilename() { return originalFilename; }
+    public void setOriginalFilename(String originalFilename) { this.originalFilename = originalFilename; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public Long getTotalSize() { return totalSize; }
+    public void setTotalSize(Long totalSize) { this.totalSize = totalSize; }
+
+    public Integer getChunkSize() { return chunkSize; }
+    public void setChunkSize(Integer chunkSize) { this.chunkSize = chunkSize; }
+
+    public Integer getTotalChunks() { return totalChunks; }
+    public void setTotalChunks(Integer totalChunks) { this.totalChunks = totalChunks; }
+
+    public List<Integer> getReceivedChunks() { return receivedChunks; }
+    public void setReceivedChunks(List<Integer> receivedChunks) { this.receivedChunks = receivedChunks; }
+
+    public String getStoredFilename() { return storedFilename; }
+    public void setStoredFilename(String storedFilename) { this.storedFilename = storedFilename; }
+
+    public String getPartPath() { return partPath; }
+    public void setPartPath(String partPath) { this.partPath = partPath; }
+
+    public String getExpectedSha256() { return expectedSha256; }
+    public void setExpectedSha256(String expectedSha256) { this.expectedSha256 = expectedSha256; }
+
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+
+    public UploadSessionStatus getStatus() { return status; }
+    public void setStatus(UploadSessionStatus status) { this.status = status; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public UploadedFile getUploadedFile() { return uploadedFile; }
+    public void setUploadedFile(UploadedFile uploadedFile) { this.uploadedFile = uploadedFile; }
+
+    public Organization getOrganization() { return organization; }
+    public void setOrganization(Organization organization) { this.organization = organization; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public static Builder builder() { return new Builder(); }
+
+    public static class Builder {
+        private final UploadSession s = new UploadSession();
+        public Builder uploadId(String v) { s.uploadId = v; return this; }
+        public Builder originalFilename(String v) { s.originalFilename = v; return this; }
+        public Builder contentType(String v) { s.contentType = v; return this; }
+        public Builder totalSize(Long v) { s.totalSize = v; return this; }
+        public Builder chunkSize(Integer v) { s.chunkSize = v; return this; }
+        public Builder totalChunks(Integer v) { s.totalChunks = v; return this; }
+        public Builder storedFilename(String v) { s.storedFilename = v; return this; }
+        public Builder partPath(String v) { s.partPath = v; return this; }
+        public Builder expectedSha256(String v) { s.expectedSha256 = v; return this; }
+        public Builder status(UploadSessionStatus v) { s.status = v; return this; }
+        public Builder organization(Organization v) { s.organization = v; return this; }
+        public Builder expiresAt(LocalDateTime v) { s.expiresAt = v; return this; }
+        public UploadSession build() { return s; }
+    }
+}
@@ -8,7 +8,6 @@ import org.hibernate.annotations.Type;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -34,6 +33,9 @@ public class UploadedFile {
 
     private String filePath;
 
+    @Column(length = 64)
+    private String contentHash;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private FileStatus status = FileStatus.UPLOADING;
@@ -58,7 +60,14 @@ public class UploadedFile {
 
     @Type(JsonType.class)
     @Column(columnDefinition = "jsonb")
-    private List<List<Object>> previewData = new ArrayList<>();
+    private List<Map<String, Object>> sheets;
+
+    @Type(JsonType.class)
+    @Column(columnDefinition = "jsonb")
+    private List<String> selectedSheets;
+
+    @Column(nullable = false)
+    private boolean missing;
 
     @CreationTimestamp
     @Column(updatable = false)
@@ -88,6 +97,9 @@ public class UploadedFile {
     public String getFilePath() { return filePath; }
     public void setFilePath(String filePath) { this.filePath = filePath; }
 
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
     public FileStatus getStatus() { return status; }
     public void setStatus(FileStatus status) { this.status = status; }
 
@@ -109,8 +121,14 @@ public class UploadedFile {
     public Organization getOrganization() { return organization; }
     public void setOrganization(Organization organization) { this.organization = organization; }
 
-    public List<List<Object>> getPreviewData() { return previewData; }
-    public void setPreviewData(List<List<Object>> previewData) { this.previewData = previewData; }
+    public List<Map<String, Object>> getSheets() { return sheets; }
+    public void setSheets(List<Map<String, Object>> sheets) { this.sheets = sheets; }
+
+    public List<String> getSelectedSheets() { return selectedSheets; }
+    public void setSelectedSheets(List<String> selectedSheets) { this.selectedSheets = selectedSheets; }
+
+    public boolean isMissing() { return missing; }
+    public void setMissing(boolean missing) { this.missing = missing; }
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
@@ -124,8 +142,11 @@ public class UploadedFile {
         public Builder contentType(String v) { f.contentType = v; return this; }
         public Builder fileSize(Long v) { f.fileSize = v; return this; }
         public Builder filePath(String v) { f.filePath = v; return this; }
+        public Builder contentHash(String v) { f.contentHash = v; return this; }
         public Builder status(FileStatus v) { f.status = v; return this; }
         public Builder organization(Organization v) { f.organization = v; return this; }
+        public Builder sheets(List<Map<String, Object>> v) { f.sheets = v; return this; }
+        public Builder selectedSheets(List<String> v) { f.selectedSheets = v; return this; }
         public UploadedFile build() { return f; }
     }
 }
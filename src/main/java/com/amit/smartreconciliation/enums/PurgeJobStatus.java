@@ -0,0 +1,8 @@
+package com.amit.smartreconciliation.enums;
+
+public enum PurgeJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
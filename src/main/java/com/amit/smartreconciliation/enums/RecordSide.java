@@ -0,0 +1,6 @@
+package com.amit.smartreconciliation.enums;
+
+public enum RecordSide {
+    SOURCE,
+    TARGET
+}
@@ -0,0 +1,16 @@
+package com.amit.smartreconciliation.enums;
+
+import java.time.temporal.ChronoUnit;
+
+public enum TrendGranularity {
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    TrendGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public ChronoUnit getUnit() { return unit; }
+}
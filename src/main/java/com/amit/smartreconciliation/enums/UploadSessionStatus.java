@@ -0,0 +1,9 @@
+package com.amit.smartreconciliation.enums;
+
+public enum UploadSessionStatus {
+    ACTIVE,
+    COMPLETING,
+    COMPLETED,
+    ABORTED,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.amit.smartreconciliation.event;
+
+import com.amit.smartreconciliation.enums.ExceptionStatus;
+
+/**
+ * Published when exceptions move to a new status. {@code organizationId} is null when the change
+ * was made outside an organization context.
+ */
+public record ExceptionsTransitionedEvent(Long organizationId, ExceptionStatus status, int count) {}
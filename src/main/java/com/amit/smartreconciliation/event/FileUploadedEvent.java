@@ -0,0 +1,6 @@
+package com.amit.smartreconciliation.event;
+
+/**
+ * Published when an uploaded file has been stored and handed to the ingest pipeline.
+ */
+public record FileUploadedEvent(Long fileId, Long organizationId) {}
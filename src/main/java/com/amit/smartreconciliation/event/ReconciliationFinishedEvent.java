@@ -0,0 +1,8 @@
+package com.amit.smartreconciliation.event;
+
+import com.amit.smartreconciliation.enums.ReconciliationStatus;
+
+/**
+ * Published when a reconciliation run ends, either {@code COMPLETED} or {@code FAILED}.
+ */
+public record ReconciliationFinishedEvent(Long reconciliationId, Long organizationId, ReconciliationStatus status) {}
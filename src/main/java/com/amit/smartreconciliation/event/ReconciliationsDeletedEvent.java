@@ -0,0 +1,8 @@
+package com.amit.smartreconciliation.event;
+
+import java.util.List;
+
+/**
+ * Published when reconciliations have been deleted, together with their exceptions.
+ */
+public record ReconciliationsDeletedEvent(Long organizationId, List<Long> reconciliationIds) {}
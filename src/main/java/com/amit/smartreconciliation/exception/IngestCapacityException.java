@@ -0,0 +1,7 @@
+package com.amit.smartreconciliation.exception;
+
+public class IngestCapacityException extends RuntimeException {
+    public IngestCapacityException(String message) {
+        super(message);
+    }
+}
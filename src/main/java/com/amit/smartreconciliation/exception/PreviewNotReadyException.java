@@ -0,0 +1,7 @@
+package com.amit.smartreconciliation.exception;
+
+public class PreviewNotReadyException extends RuntimeException {
+    public PreviewNotReadyException(String message) {
+        super(message);
+    }
+}
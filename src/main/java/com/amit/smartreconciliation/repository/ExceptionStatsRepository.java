@@ -0,0 +1,132 @@
+package com.amit.smartreconciliation.repository;
+
+import com.amit.smartreconciliation.entity.ReconciliationException;
+import com.amit.smartreconciliation.enums.ExceptionSeverity;
+import com.amit.smartreconciliation.enums.ExceptionStatus;
+import com.amit.smartreconciliation.enums.ExceptionType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and maintains the {@code exception_stats} rollup: the number of exceptions per
+ * reconciliation, type, severity and status. Every write adds deltas with an upsert, so callers
+ * must run it in the same transaction as the exception rows they change.
+ */
+@Repository
+public class ExceptionStatsRepository {
+
+    private static final String KEY = "reconciliation_id, type, severity, status";
+
+    public record StatCount(ExceptionType type, ExceptionSeverity severity, ExceptionStatus status, long count) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExceptionStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Wraps a query returning {@code reconciliation_id, type, severity, status, delta} rows in an
+     * upsert that adds the deltas to the rollup. Usable as a data-modifying CTE, which lets a
+     * set-based UPDATE keep the rollup current in the same statement.
+     */
+    static String applyDeltasSql(String deltaQuery) {
+        return "INSERT INTO exception_stats (" + KEY + ", exception_count, updated_at) "
+                + "SELECT " + KEY + ", sum(delta), now() FROM (" + deltaQuery + ") deltas "
+                + "GROUP BY " + KEY + " HAVING sum(delta) <> 0 "
+                + "ON CONFLICT (" + KEY + ") DO UPDATE SET "
+                + "exception_count = exception_stats.exception_count + EXCLUDED.exception_count, "
+                + "updated_at = EXCLUDED.updated_at";
+    }
+
+    /**
+     * Counts newly inserted exceptions of one reconciliation.
+     */
+    public void addAll(Long reconciliationId, Collection<ReconciliationException> exceptions) {
+        Map<List<String>, Long> deltas = new LinkedHashMap<>();
+        for (ReconciliationException e : exceptions) {
+            deltas.merge(List.of(e.getType().name(), e.getSeverity().name(), e.getStatus().name()), 1L, Long::sum);
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        StringBuilder values = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        for (Map.Entry<List<String>, Long> delta : deltas.entrySet()) {
+            if (!values.isEmpty()) {
+                values.append(" UNION ALL ");
+            }
+            values.append("SELECT CAST(? AS BIGINT) AS reconciliation_id, CAST(? AS VARCHAR) AS type, "
+                    + "CAST(? AS VARCHAR) AS severity, CAST(? AS VARCHAR) AS status, CAST(? AS BIGINT) AS delta");
+            args.add(reconciliationId);
+            args.addAll(delta.getKey());
+            args.add(delta.getValue());
+        }
+        jdbcTemplate.update(applyDeltasSql(values.toString()), args.toArray());
+    }
+
+    /**
+     * Moves one exception from one status bucket to another.
+     */
+    public void move(Long reconciliationId, ExceptionType type, ExceptionSeverity severity,
+                     ExceptionStatus from, ExceptionStatus to) {
+        if (from == to) {
+            return;
+        }
+        String bucket = "SELECT CAST(? AS BIGINT) AS reconciliation_id, CAST(? AS VARCHAR) AS type, "
+                + "CAST(? AS VARCHAR) AS severity, CAST(? AS VARCHAR) AS status, CAST(? AS BIGINT) AS delta";
+        jdbcTemplate.update(applyDeltasSql(bucket + " UNION ALL " + bucket),
+                reconciliationId, type.name(), severity.name(), from.name(), -1L,
+                reconciliationId, type.name(), severity.name(), to.name(), 1L);
+    }
+
+    public void deleteByReconciliationId(Long reconciliationId) {
+        jdbcTemplate.update("DELETE FROM exception_stats WHERE reconciliation_id = ?", reconciliationId);
+    }
+
+    /**
+     * Recounts one reconciliation from its exception rows, for when rows went away outside the
+     * maintained paths (for example a dropped partition).
+     */
+    public void rebuild(Long reconciliationId) {
+        deleteByReconciliationId(reconciliationId);
+        jdbcTemplate.update("INSERT INTO exception_stats (" + KEY + ", exception_count) "
+                + "SELECT " + KEY + ", count(*) FROM reconciliation_exceptions WHERE reconciliation_id = ? "
+                + "GROUP BY " + KEY, reconciliationId);
+    }
+
+    public Map<ExceptionStatus, Long> countByStatus(Long reconciliationId) {
+        Map<ExceptionStatus, Long> counts = new EnumMap<>(ExceptionStatus.class);
+        for (ExceptionStatus status : ExceptionStatus.values()) {
+            counts.put(status, 0L);
+        }
+        jdbcTemplate.query("SELECT status, sum(exception_count) FROM exception_stats "
+                        + "WHERE reconciliation_id = ? GROUP BY status",
+                (RowCallbackHandler) rs -> counts.put(ExceptionStatus.valueOf(rs.getString(1)), rs.getLong(2)),
+                reconciliationId);
+        return counts;
+    }
+
+    /**
+     * Rollup totals across all reconciliations of an organization.
+     */
+    public List<StatCount> findByOrganizationId(Long organizationId) {
+        return jdbcTemplate.query("SELECT s.type, s.severity, s.status, sum(s.exception_count) "
+                        + "FROM exception_stats s JOIN reconciliations r ON r.id = s.reconciliation_id "
+                        + "WHERE r.organization_id = ? GROUP BY s.type, s.severity, s.status",
+                (rs, rowNum) -> new StatCount(
+                        ExceptionType.valueOf(rs.getString(1)),
+                        ExceptionSeverity.valueOf(rs.getString(2)),
+                        ExceptionStatus.valueOf(rs.getString(3)),
+                        rs.getLong(4)),
+                organizationId);
+    }
+}
@@ -0,0 +1,190 @@
+package com.amit.smartreconciliation.repository;
+
+import com.amit.smartreconciliation.entity.ReconciliationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes the exceptions of a reconciliation run with multi-row INSERTs instead of one
+ * {@code save} per row. IDENTITY ids disable Hibernate's JDBC batching, so a run with 500k
+ * exceptions used to cost 500k round trips inside a single transaction.
+ *
+ * Rows go out in chunks of {@code app.reconciliation.exception-chunk-size}, one statement per
+ * chunk, each committed in its own transaction so a large run never holds one huge transaction
+ * open. Ids are reserved from the entity's pooled sequence before the insert, one {@code nextval}
+ * per block of {@value #ID_ALLOCATION_SIZE} ids exactly like Hibernate's pooled-lo optimizer, and
+ * are only handed back on the entities the caller asks for. Each chunk adds its rows to the
+ * {@code exception_stats} and {@code trend_rollups} rollups in the same transaction.
+ *
+ * Exceptions that reference a row in the {@link ReconciliationRowStore} are written without their
+ * {@code sourceData}/{@code targetData} copies; only the field values and the ordinals are stored.
+ */
+@Repository
+public class ReconciliationExceptionBulkWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliationExceptionBulkWriter.class);
+
+    private static final String TABLE = "reconciliation_exceptions";
+    // Must match the @SequenceGenerator of ReconciliationException
+    private static final String ID_SEQUENCE = "reconciliation_exceptions_seq";
+    private static final int ID_ALLOCATION_SIZE = 100;
+    private static final String[] COLUMNS = {
+            "type", "severity", "status", "domain", "description", "field_name", "source_value",
+            "target_value", "source_data", "target_data", "source_row", "target_row", "field_diffs",
+            "ai_suggestion", "reconciliation_id", "created_at", "updated_at"};
+    private static final int[] COLUMN_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.INTEGER,
+            Types.VARCHAR, Types.VARCHAR, Types.BIGINT, Types.TIMESTAMP, Types.TIMESTAMP};
+    private static final Set<String> JSON_COLUMNS = Set.of("source_data", "target_data", "field_diffs");
+    // PostgreSQL accepts at most 32767 bind parameters per statement
+    private static final int MAX_PARAMETERS = 32767;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final ObjectMapper objectMapper;
+    private final ExceptionStatsRepository statsRepository;
+    private final TrendRollupRepository trendRepository;
+
+    @Value("${app.reconciliation.exception-chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    public ReconciliationExceptionBulkWriter(JdbcTemplate jdbcTemplate,
+                                             PlatformTransactionManager transactionManager,
+                                             ObjectMapper objectMapper,
+                                             ExceptionStatsRepository statsRepository,
+                                             TrendRollupRepository trendRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.statsRepository = statsRepository;
+        this.trendRepository = trendRepository;
+    }
+
+    /**
+     * Inserts the exceptions of one reconciliation and returns the number of rows written. The
+     * first {@code assignIdsTo} exceptions get their id set, so they can be updated through JPA
+     * afterwards.
+     */
+    public int write(Long reconciliationId, List<ReconciliationException> exceptions, int assignIdsTo) {
+        int rowsPerChunk = Math.max(1, Math.min(chunkSize, MAX_PARAMETERS / (COLUMNS.length + 1)));
+        int written = 0;
+        for (int from = 0; from < exceptions.size(); from += rowsPerChunk) {
+            List<ReconciliationException> chunk = exceptions.subList(from, Math.min(from + rowsPerChunk, exceptions.size()));
+            int idsWanted = Math.max(0, Math.min(assignIdsTo - from, chunk.size()));
+            Integer rows = chunkTransaction.execute(status -> insertChunk(reconciliationId, chunk, idsWanted));
+            written += rows != null ? rows : 0;
+        }
+        log.debug("Wrote {} exception(s) for reconciliation {}", written, reconciliationId);
+        return written;
+    }
+
+    /**
+     * Removes the rows of an earlier, failed attempt of the same reconciliation. Chunks are
+     * committed as they are written, so a run that fails part way leaves them behind.
+     */
+    public int deleteByReconciliationId(Long reconciliationId) {
+        Integer deleted = chunkTransaction.execute(status -> {
+            statsRepository.deleteByReconciliationId(reconciliationId);
+            trendRepository.removeExceptions(reconciliationId);
+            return jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE reconciliation_id = ?", reconciliationId);
+        });
+        return deleted != null ? deleted : 0;
+    }
+
+    private int insertChunk(Long reconciliationId, List<ReconciliationException> chunk, int idsWanted) {
+        List<Long> ids = reserveIds(chunk.size());
+        LocalDateTime createdAt = LocalDateTime.now();
+        Timestamp now = Timestamp.valueOf(createdAt);
+        Object[] args = new Object[chunk.size() * (COLUMNS.length + 1)];
+        int[] argTypes = new int[args.length];
+
+        int p = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            ReconciliationException e = chunk.get(i);
+            argTypes[p] = Types.BIGINT;
+            args[p++] = ids.get(i);
+            Object[] values = {
+                    name(e.getType()), name(e.getSeverity()), name(e.getStatus()), name(e.getDomain()),
+                    e.getDescription(), e.getFieldName(), e.getSourceValue(), e.getTargetValue(),
+                    e.getSourceRow() != null ? null : toJson(e.getSourceData()),
+                    e.getTargetRow() != null ? null : toJson(e.getTargetData()),
+                    e.getSourceRow(), e.getTargetRow(), toJson(e.getFieldDiffs()), e.getAiSuggestion(),
+                    reconciliationId, now, now};
+            for (int c = 0; c < values.length; c++) {
+                argTypes[p] = COLUMN_TYPES[c];
+                args[p++] = values[c];
+            }
+        }
+
+        int rows = jdbcTemplate.update(insertSql(chunk.size()), args, argTypes);
+        statsRepository.addAll(reconciliationId, chunk);
+        trendRepository.addOpened(reconciliationId, chunk.size(), createdAt);
+        for (int i = 0; i < idsWanted; i++) {
+            chunk.get(i).setId(ids.get(i));
+        }
+        return rows;
+    }
+
+    private List<Long> reserveIds(int count) {
+        int blocks = (count + ID_ALLOCATION_SIZE - 1) / ID_ALLOCATION_SIZE;
+        List<Long> blockStarts = jdbcTemplate.queryForList(
+                "SELECT nextval('" + ID_SEQUENCE + "') FROM generate_series(1, ?)", Long.class, blocks);
+        List<Long> ids = new ArrayList<>(count);
+        for (Long start : blockStarts) {
+            for (int i = 0; i < ID_ALLOCATION_SIZE && ids.size() < count; i++) {
+                ids.add(start + i);
+            }
+        }
+        return ids;
+    }
+
+    private static String insertSql(int rowCount) {
+        StringBuilder row = new StringBuilder("(?");
+        for (String column : COLUMNS) {
+            row.append(", ").append(JSON_COLUMNS.contains(column) ? "CAST(? AS jsonb)" : "?");
+        }
+        row.append(')');
+
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(TABLE)
+                .append(" (id, ").append(String.join(", ", COLUMNS)).append(") VALUES ");
+        for (int r = 0; r < rowCount; r++) {
+            if (r > 0) {
+                sql.append(", ");
+            }
+            sql.append(row);
+        }
+        return sql.toString();
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private String toJson(Object data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize exception data: " + e.getMessage(), e);
+        }
+    }
+}
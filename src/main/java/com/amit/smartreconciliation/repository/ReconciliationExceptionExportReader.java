@@ -0,0 +1,109 @@
+package com.amit.smartreconciliation.repository;
+
+import com.amit.smartreconciliation.enums.RecordSide;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Reads every exception of a reconciliation through a server-side cursor for exports. The driver
+ * only fetches {@code app.export.fetch-size} rows at a time when autocommit is off, so the query
+ * runs in a read-only transaction and each row is handed to the caller and dropped before the
+ * next one is read. No entities are built. Rows kept in the {@link ReconciliationRowStore} are
+ * rebuilt as JSON objects by the query itself.
+ */
+@Repository
+public class ReconciliationExceptionExportReader {
+
+    public static final List<String> COLUMNS = List.of(
+            "id", "type", "severity", "status", "domain", "fieldName", "sourceValue", "targetValue",
+            "description", "aiSuggestion", "resolution", "resolvedBy", "resolvedAt", "createdAt",
+            "sourceData", "targetData", "fieldDiffs");
+    // Positions in COLUMNS of values that are JSON documents rather than text
+    public static final int SOURCE_DATA = 14;
+    public static final int TARGET_DATA = 15;
+    public static final int FIELD_DIFFS = 16;
+
+    private static final String SQL = "SELECT e.id, e.type, e.severity, e.status, e.domain, e.field_name, "
+            + "e.source_value, e.target_value, e.description, e.ai_suggestion, e.resolution, e.resolved_by, "
+            + "e.resolved_at, e.created_at, "
+            + "CAST(" + ReconciliationRowStore.rowJsonSql("e", RecordSide.SOURCE) + " AS TEXT), "
+            + "CAST(" + ReconciliationRowStore.rowJsonSql("e", RecordSide.TARGET) + " AS TEXT), "
+            + "CAST(e.field_diffs AS TEXT) "
+            + "FROM reconciliation_exceptions e WHERE e.reconciliation_id = ? ORDER BY e.id";
+    private static final int RESOLVED_AT = 12;
+    private static final int CREATED_AT = 13;
+
+    @FunctionalInterface
+    public interface RowHandler {
+        /**
+         * Receives one row as text in {@link #COLUMNS} order; the array is reused for the next row.
+         */
+        void handle(String[] row) throws IOException;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize = 1000;
+
+    public ReconciliationExceptionExportReader(JdbcTemplate jdbcTemplate,
+                                               PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Streams the exceptions of one reconciliation in id order and returns how many were read.
+     */
+    public long read(Long reconciliationId, RowHandler handler) throws IOException {
+        try {
+            Long rows = readTransaction.execute(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setLong(1, reconciliationId);
+                return statement;
+            }, (ResultSetExtractor<Long>) resultSet -> readRows(resultSet, handler)));
+            return rows != null ? rows : 0;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static long readRows(ResultSet resultSet, RowHandler handler) throws SQLException {
+        String[] row = new String[COLUMNS.size()];
+        long count = 0;
+        while (resultSet.next()) {
+            for (int i = 0; i < row.length; i++) {
+                if (i == RESOLVED_AT || i == CREATED_AT) {
+                    Timestamp timestamp = resultSet.getTimestamp(i + 1);
+                    row[i] = timestamp != null ? timestamp.toLocalDateTime().toString() : null;
+                } else {
+                    row[i] = resultSet.getString(i + 1);
+                }
+            }
+            try {
+                handler.handle(row);
+            } catch (IOException e) {
+                // Usually the client went away; surfaced to the caller as the IOException it is
+                throw new UncheckedIOException(e);
+            }
+            count++;
+        }
+        return count;
+    }
+}
@@ -1,5 +1,6 @@
 package com.amit.smartreconciliation.repository;
 
+import com.amit.smartreconciliation.dto.response.ExceptionRunSummaryResponse;
 import com.amit.smartreconciliation.entity.ReconciliationException;
 import com.amit.smartreconciliation.enums.ExceptionSeverity;
 import com.amit.smartreconciliation.enums.ExceptionStatus;
@@ -8,10 +9,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -48,4 +52,46 @@ public interface ReconciliationExceptionRepository extends JpaRepository<Reconci
             Pageable pageable);
 
     long countByReconciliationIdAndStatus(Long reconciliationId, ExceptionStatus status);
+
+    /**
+     * Sets the AI suggestion of one exception in place. Unlike merging the entity, this leaves
+     * the other columns alone, so a row-backed exception does not get its rows copied back.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReconciliationException e SET e.aiSuggestion = :aiSuggestion, e.updatedAt = :updatedAt " +
+           "WHERE e.id = :id")
+    int updateAiSuggestion(@Param("id") Long id,
+                           @Param("aiSuggestion") String aiSuggestion,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Per-reconciliation exception counts in one GROUP BY, newest reconciliation first. Null
+     * parameters do not restrict; created-at bounds apply to the reconciliation.
+     */
+    @Query("SELECT new com.amit.smartreconciliation.dto.response.ExceptionRunSummaryResponse(" +
+           "r.id, r.name, r.domain, r.createdAt, " +
+           "SUM(CASE WHEN e.status = com.amit.smartreconciliation.enums.ExceptionStatus.OPEN THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN e.status = com.amit.smartreconciliation.enums.ExceptionStatus.IN_REVIEW THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN e.status = com.amit.smartreconciliation.enums.ExceptionStatus.OPEN " +
+           "AND e.severity = com.amit.smartreconciliation.enums.ExceptionSeverity.CRITICAL THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN e.status = com.amit.smartreconciliation.enums.ExceptionStatus.OPEN " +
+           "AND e.aiSuggestion IS NOT NULL AND TRIM(e.aiSuggestion) <> '' THEN 1 ELSE 0 END), " +
+           "COUNT(e)) " +
+           "FROM ReconciliationException e JOIN e.reconciliation r WHERE " +
+           "(:organizationId IS NULL OR r.organization.id = :organizationId) " +
+           "AND (:type IS NULL OR e.type = :type) " +
+           "AND (:severity IS NULL OR e.severity = :severity) " +
+           "AND (:status IS NULL OR e.status = :status) " +
+           "AND (:fromCreatedAt IS NULL OR r.createdAt >= :fromCreatedAt) " +
+           "AND (:toCreatedAt IS NULL OR r.createdAt < :toCreatedAt) " +
+           "GROUP BY r.id, r.name, r.domain, r.createdAt " +
+           "ORDER BY r.createdAt DESC NULLS LAST")
+    List<ExceptionRunSummaryResponse> summarizeByReconciliation(
+            @Param("organizationId") Long organizationId,
+            @Param("type") ExceptionType type,
+            @Param("severity") ExceptionSeverity severity,
+            @Param("status") ExceptionStatus status,
+            @Param("fromCreatedAt") LocalDateTime fromCreatedAt,
+            @Param("toCreatedAt") LocalDateTime toCreatedAt);
 }
@@ -4,6 +4,8 @@ import com.amit.smartreconciliation.entity.ReconciliationException;
 import com.amit.smartreconciliation.enums.ExceptionSeverity;
 import com.amit.smartreconciliation.enums.ExceptionStatus;
 import com.amit.smartreconciliation.enums.ExceptionType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
@@ -46,4 +48,27 @@ public class ReconciliationExceptionSpec {
         return (root, query, cb) -> organizationId == null ? null :
                 cb.equal(root.get("reconciliation").get("organization").get("id"), organizationId);
     }
+
+    /**
+     * Rows past a keyset position in {@code (createdAt, id)} order, or in {@code id} order when
+     * {@code createdAt} is null.
+     */
+    public static Specification<ReconciliationException> withKeysetAfter(LocalDateTime createdAt, Long id,
+                                                                         boolean ascending) {
+        return (root, query, cb) -> {
+            if (id == null) {
+                return null;
+            }
+            Path<Long> idPath = root.get("id");
+            Predicate idPast = ascending ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+            if (createdAt == null) {
+                return idPast;
+            }
+            Path<LocalDateTime> createdPath = root.get("createdAt");
+            Predicate createdPast = ascending
+                    ? cb.greaterThan(createdPath, createdAt)
+                    : cb.lessThan(createdPath, createdAt);
+            return cb.or(createdPast, cb.and(cb.equal(createdPath, createdAt), idPast));
+        };
+    }
 }
@@ -0,0 +1,304 @@
+package com.amit.smartreconciliation.repository;
+
+import com.amit.smartreconciliation.enums.ExceptionSeverity;
+import com.amit.smartreconciliation.enums.ExceptionStatus;
+import com.amit.smartreconciliation.enums.ExceptionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Changes the status of many exceptions with set-based {@code UPDATE ... RETURNING id} statements
+ * instead of loading each entity, JSON payloads included, and saving it back. Filters mirror
+ * {@link ReconciliationExceptionSpec}; permission checks arrive as the set of exception types the
+ * caller may action and become a {@code type IN (...)} predicate. The same statement moves the
+ * affected counts in {@code exception_stats} and the resolutions in {@code trend_rollups}.
+ *
+ * Filtered transitions run in chunks of {@code app.reconciliation.exception-transition-chunk-size}
+ * rows, each committed in its own transaction, so resolving a run with hundreds of thousands of
+ * exceptions never holds row locks on all of them at once.
+ */
+@Repository
+public class ReconciliationExceptionTransitionWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliationExceptionTransitionWriter.class);
+
+    private static final String FROM = "FROM reconciliation_exceptions e "
+            + "JOIN reconciliations r ON r.id = e.reconciliation_id";
+    private static final String HAS_SUGGESTION = "e.ai_suggestion IS NOT NULL AND btrim(e.ai_suggestion) <> ''";
+    private static final String AUTO_RESOLVABLE = "e.status = 'OPEN' AND " + HAS_SUGGESTION;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+
+    @Value("${app.reconciliation.exception-transition-chunk-size:5000}")
+    private int chunkSize = 5000;
+
+    public ReconciliationExceptionTransitionWriter(JdbcTemplate jdbcTemplate,
+                                                   PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Counts the exceptions matching {@code filter} per type, split by why an auto-resolve would
+     * or would not pick them up. One aggregate query; no rows leave the database.
+     */
+    public List<AutoResolveTally> tallyAutoResolve(Filter filter) {
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT e.type, count(*), "
+                + "count(*) FILTER (WHERE e.status <> 'OPEN'), "
+                + "count(*) FILTER (WHERE e.status = 'OPEN' AND NOT (" + HAS_SUGGESTION + ")), "
+                + "count(*) FILTER (WHERE " + AUTO_RESOLVABLE + ") "
+                + FROM + " WHERE " + filter.toSql(args) + " GROUP BY e.type";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new AutoResolveTally(
+                ExceptionType.valueOf(rs.getString(1)), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5)),
+                args.toArray());
+    }
+
+    /**
+     * Resolves the open exceptions matching {@code filter} that carry an AI suggestion and whose
+     * type is in {@code allowedTypes}, and returns their ids.
+     */
+    public List<Long> autoResolve(Filter filter, Set<ExceptionType> allowedTypes,
+                                  String resolution, String resolvedBy) {
+        if (allowedTypes.isEmpty()) {
+            return List.of();
+        }
+        List<Object> whereArgs = new ArrayList<>();
+        String where = filter.toSql(whereArgs) + " AND " + AUTO_RESOLVABLE
+                + " AND e.type IN (" + placeholders(allowedTypes.size()) + ")";
+        for (ExceptionType type : allowedTypes) {
+            whereArgs.add(type.name());
+        }
+        // Resolved rows stop matching, so each chunk picks up where the previous one ended
+        String target = "SELECT e.id, e.created_at, e.status AS old_status, e.resolved_at AS old_resolved_at "
+                + FROM + " WHERE " + where
+                + " ORDER BY e.id LIMIT ? FOR UPDATE OF e";
+        String sql = transitionSql(target, "status = 'RESOLVED', resolution = ?, resolved_by = ?, "
+                + "resolved_at = ?, updated_at = ?");
+
+        List<Long> resolved = new ArrayList<>();
+        while (true) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object> args = new ArrayList<>(whereArgs);
+            args.add(chunkSize);
+            args.addAll(List.of(resolution, resolvedBy, now, now));
+            List<Long> ids = chunkTransaction.execute(status -> jdbcTemplate.queryForList(sql, Long.class, args.toArray()));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            resolved.addAll(ids);
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+        log.debug("Auto-resolved {} exception(s)", resolved.size());
+        return resolved;
+    }
+
+    /**
+     * Returns the distinct types of the given exceptions.
+     */
+    public List<ExceptionType> findTypes(List<Long> ids) {
+        List<ExceptionType> types = new ArrayList<>();
+        for (List<Long> chunk : chunks(ids)) {
+            for (String type : jdbcTemplate.queryForList("SELECT DISTINCT type FROM reconciliation_exceptions "
+                    + "WHERE id IN (" + placeholders(chunk.size()) + ")", String.class, chunk.toArray())) {
+                ExceptionType value = ExceptionType.valueOf(type);
+                if (!types.contains(value)) {
+                    types.add(value);
+                }
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Counts the given exceptions that belong to a reconciliation of another organization.
+     */
+    public long countOutsideOrganization(List<Long> ids, Long organizationId) {
+        long outside = 0;
+        for (List<Long> chunk : chunks(ids)) {
+            List<Object> args = new ArrayList<>(chunk);
+            args.add(organizationId);
+            Long count = jdbcTemplate.queryForObject("SELECT count(*) " + FROM + " WHERE e.id IN ("
+                    + placeholders(chunk.size()) + ") AND r.organization_id <> ?", Long.class, args.toArray());
+            outside += count != null ? count : 0;
+        }
+        return outside;
+    }
+
+    /**
+     * Moves the given exceptions to {@code status}, stamping the matching timestamp column, and
+     * returns the ids that existed. Runs in the caller's transaction so the whole list is applied
+     * or none of it is. Null {@code resolution} or {@code resolvedBy} leave the stored value.
+     */
+    public List<Long> updateStatus(List<Long> ids, ExceptionStatus status, String resolution, String resolvedBy) {
+        String stamp = timestampColumn(status);
+        List<Long> updated = new ArrayList<>();
+        for (List<Long> chunk : chunks(ids)) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object> args = new ArrayList<>(chunk);
+            StringBuilder assignments = new StringBuilder("status = ?");
+            args.add(status.name());
+            if (stamp != null) {
+                assignments.append(", ").append(stamp).append(" = ?");
+                args.add(now);
+            }
+            if (resolution != null) {
+                assignments.append(", resolution = ?");
+                args.add(resolution);
+            }
+            if (resolvedBy != null) {
+                assignments.append(", resolved_by = ?");
+                args.add(resolvedBy);
+            }
+            assignments.append(", updated_at = ?");
+            args.add(now);
+            String target = "SELECT id, created_at, status AS old_status, resolved_at AS old_resolved_at "
+                    + "FROM reconciliation_exceptions "
+                    + "WHERE id IN (" + placeholders(chunk.size()) + ") FOR UPDATE";
+            updated.addAll(jdbcTemplate.queryForList(
+                    transitionSql(target, assignments.toString()), Long.class, args.toArray()));
+        }
+        return updated;
+    }
+
+    /**
+     * One statement that locks the {@code target} rows, applies {@code assignments} to them, moves
+     * their counts in {@code exception_stats} from the old status to the new one, moves resolutions
+     * in {@code trend_rollups} and returns the updated ids. Bind the target's parameters first, then
+     * the assignments'.
+     */
+    private static String transitionSql(String target, String assignments) {
+        return "WITH target AS (" + target + "), "
+                + "updated AS (UPDATE reconciliation_exceptions x SET " + assignments + " FROM target t "
+                + "WHERE x.id = t.id AND x.created_at = t.created_at "
+                + "RETURNING x.id, x.reconciliation_id, x.type, x.severity, x.created_at, t.old_status, "
+                + "t.old_resolved_at, x.status, x.resolved_at), "
+                + "stats AS (" + ExceptionStatsRepository.applyDeltasSql(
+                        "SELECT reconciliation_id, type, severity, old_status AS status, -1 AS delta FROM updated "
+                        + "UNION ALL SELECT reconciliation_id, type, severity, status, 1 FROM updated") + "), "
+                + "trends AS (" + TrendRollupRepository.applyDeltasSql(
+                        TrendRollupRepository.resolutionDeltasSql("updated")) + ") "
+                + "SELECT id FROM updated";
+    }
+
+    private List<List<Long>> chunks(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static String timestampColumn(ExceptionStatus status) {
+        return switch (status) {
+            case RESOLVED -> "resolved_at";
+            case ACKNOWLEDGED -> "acknowledged_at";
+            case IN_REVIEW -> "reviewed_at";
+            case IGNORED -> "ignored_at";
+            case OPEN -> null;
+        };
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Row filter of a set-based transition; null fields do not restrict. Matches the predicates of
+     * {@link ReconciliationExceptionSpec}, with created-at bounds applying to the reconciliation.
+     */
+    public static final class Filter {
+        private final Long organizationId;
+        private final Long reconciliationId;
+        private final ExceptionType type;
+        private final ExceptionSeverity severity;
+        private final ExceptionStatus status;
+        private final LocalDateTime fromCreatedAt;
+        private final LocalDateTime toCreatedAt;
+
+        public Filter(Long organizationId, Long reconciliationId, ExceptionType type, ExceptionSeverity severity,
+                      ExceptionStatus status, LocalDateTime fromCreatedAt, LocalDateTime toCreatedAt) {
+            this.organizationId = organizationId;
+            this.reconciliationId = reconciliationId;
+            this.type = type;
+            this.severity = severity;
+            this.status = status;
+            this.fromCreatedAt = fromCreatedAt;
+            this.toCreatedAt = toCreatedAt;
+        }
+
+        String toSql(Collection<Object> args) {
+            StringBuilder sql = new StringBuilder("TRUE");
+            append(sql, args, "r.organization_id = ?", organizationId);
+            append(sql, args, "e.reconciliation_id = ?", reconciliationId);
+            append(sql, args, "e.type = ?", type != null ? type.name() : null);
+            append(sql, args, "e.severity = ?", severity != null ? severity.name() : null);
+            append(sql, args, "e.status = ?", status != null ? status.name() : null);
+            append(sql, args, "r.created_at >= ?", fromCreatedAt != null ? Timestamp.valueOf(fromCreatedAt) : null);
+            append(sql, args, "r.created_at < ?", toCreatedAt != null ? Timestamp.valueOf(toCreatedAt) : null);
+            return sql.toString();
+        }
+
+        private static void append(StringBuilder sql, Collection<Object> args, String predicate, Object value) {
+            if (value != null) {
+                sql.append(" AND ").append(predicate);
+                args.add(value);
+            }
+        }
+
+        public Long getOrganizationId() { return organizationId; }
+        public Long getReconciliationId() { return reconciliationId; }
+        public ExceptionType getType() { return type; }
+        public ExceptionSeverity getSeverity() { return severity; }
+        public ExceptionStatus getStatus() { return status; }
+        public LocalDateTime getFromCreatedAt() { return fromCreatedAt; }
+        public LocalDateTime getToCreatedAt() { return toCreatedAt; }
+    }
+
+    /**
+     * Per-type counts of the exceptions an auto-resolve filter matches.
+     */
+    public static final class AutoResolveTally {
+        private final ExceptionType type;
+        private final long total;
+        private final long notOpen;
+        private final long missingAiSuggestion;
+        private final long resolvable;
+
+        public AutoResolveTally(ExceptionType type, long total, long notOpen, long missingAiSuggestion,
+                                long resolvable) {
+            this.type = type;
+            this.total = total;
+            this.notOpen = notOpen;
+            this.missingAiSuggestion = missingAiSuggestion;
+            this.resolvable = resolvable;
+        }
+
+        public ExceptionType getType() { return type; }
+        public long getTotal() { return total; }
+        public long getNotOpen() { return notOpen; }
+        public long getMissingAiSuggestion() { return missingAiSuggestion; }
+        public long getResolvable() { return resolvable; }
+    }
+}
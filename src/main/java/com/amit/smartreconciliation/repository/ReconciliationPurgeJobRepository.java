@@ -0,0 +1,14 @@
+package com.amit.smartreconciliation.repository;
+
+import com.amit.smartreconciliation.entity.ReconciliationPurgeJob;
+import com.amit.smartreconciliation.enums.PurgeJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReconciliationPurgeJobRepository extends JpaRepository<ReconciliationPurgeJob, Long> {
+    List<ReconciliationPurgeJob> findByStatusInOrderByIdAsc(Collection<PurgeJobStatus> statuses);
+}
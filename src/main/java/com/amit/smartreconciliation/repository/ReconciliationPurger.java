@@ -0,0 +1,93 @@
+package com.amit.smartreconciliation.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Deletes a reconciliation with set-based statements instead of the JPA cascade, which loads and
+ * removes its exceptions one by one. Exceptions and stored rows go in batches of
+ * {@code app.reconciliation.purge-batch-size}, each committed in its own transaction, so purging a
+ * run with millions of exceptions never holds all of them locked or in one undo segment. Step runs
+ * keep their history and only lose the link to the reconciliation. The reconciliation's
+ * {@code exception_stats} rows and row-store headers go in the same transaction as the
+ * reconciliation itself; {@code trend_rollups} buckets outlive it.
+ *
+ * Exception partitions are shared by every reconciliation created in the same month, so a single
+ * reconciliation is never purged by dropping one; that is left to the retention job.
+ */
+@Repository
+public class ReconciliationPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliationPurger.class);
+
+    private static final String DELETE_EXCEPTIONS = "DELETE FROM reconciliation_exceptions "
+            + "WHERE reconciliation_id = ? AND id IN ("
+            + "SELECT id FROM reconciliation_exceptions WHERE reconciliation_id = ? LIMIT ?)";
+    private static final String DELETE_ROWS = "DELETE FROM reconciliation_rows "
+            + "WHERE reconciliation_id = ? AND (side, row_ordinal) IN ("
+            + "SELECT side, row_ordinal FROM reconciliation_rows WHERE reconciliation_id = ? LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+
+    @Value("${app.reconciliation.purge-batch-size:5000}")
+    private int batchSize = 5000;
+
+    public ReconciliationPurger(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Deletes the reconciliation and everything that belongs to it, reporting the exceptions
+     * removed by each committed batch to {@code onExceptionsDeleted}. Returns the number of
+     * exceptions deleted; a reconciliation that no longer exists is a no-op.
+     */
+    public long purge(Long reconciliationId, LongConsumer onExceptionsDeleted) {
+        long exceptions = deleteInBatches(DELETE_EXCEPTIONS, reconciliationId, onExceptionsDeleted);
+        deleteInBatches(DELETE_ROWS, reconciliationId, rows -> {});
+
+        Integer stragglers = chunkTransaction.execute(status -> {
+            // Rows a still running attempt wrote after the last batch
+            int late = jdbcTemplate.update(
+                    "DELETE FROM reconciliation_exceptions WHERE reconciliation_id = ?", reconciliationId);
+            jdbcTemplate.update(
+                    "UPDATE reconciliation_step_runs SET reconciliation_id = NULL WHERE reconciliation_id = ?",
+                    reconciliationId);
+            jdbcTemplate.update("DELETE FROM exception_stats WHERE reconciliation_id = ?", reconciliationId);
+            jdbcTemplate.update("DELETE FROM reconciliation_row_sets WHERE reconciliation_id = ?", reconciliationId);
+            jdbcTemplate.update("DELETE FROM reconciliations WHERE id = ?", reconciliationId);
+            return late;
+        });
+        if (stragglers != null && stragglers > 0) {
+            onExceptionsDeleted.accept(stragglers);
+            exceptions += stragglers;
+        }
+        log.debug("Purged reconciliation {} with {} exception(s)", reconciliationId, exceptions);
+        return exceptions;
+    }
+
+    private long deleteInBatches(String sql, Long reconciliationId, LongConsumer onBatch) {
+        long total = 0;
+        int deleted;
+        do {
+            Integer rows = chunkTransaction.execute(status ->
+                    jdbcTemplate.update(sql, reconciliationId, reconciliationId, batchSize));
+            deleted = rows != null ? rows : 0;
+            if (deleted > 0) {
+                onBatch.accept(deleted);
+                total += deleted;
+            }
+        } while (deleted >= batchSize);
+        return total;
+    }
+}
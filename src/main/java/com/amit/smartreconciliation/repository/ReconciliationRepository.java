@@ -1,18 +1,69 @@
 package com.amit.smartreconciliation.repository;
 
+import com.amit.smartreconciliation.dto.response.tool.ReconciliationSummaryResponse;
 import com.amit.smartreconciliation.entity.Reconciliation;
 import com.amit.smartreconciliation.enums.ReconciliationStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReconciliationRepository extends JpaRepository<Reconciliation, Long> {
     List<Reconciliation> findByOrganizationId(Long organizationId);
+
+    @EntityGraph(Reconciliation.RESPONSE_GRAPH)
     Page<Reconciliation> findByOrganizationId(Long organizationId, Pageable pageable);
+
     List<Reconciliation> findByOrganizationIdAndStatus(Long organizationId, ReconciliationStatus status);
     List<Reconciliation> findByOrganizationIdOrderByCreatedAtDesc(Long organizationId);
+
+    @EntityGraph(Reconciliation.RESPONSE_GRAPH)
+    @Query("SELECT r FROM Reconciliation r WHERE r.organization.id = :organizationId ORDER BY r.createdAt DESC")
+    List<Reconciliation> findResponsesByOrganizationId(@Param("organizationId") Long organizationId);
+
+    @EntityGraph(Reconciliation.RESPONSE_GRAPH)
+    @Query("SELECT r FROM Reconciliation r WHERE r.id = :id")
+    Optional<Reconciliation> findResponseById(@Param("id") Long id);
+
+    // Summary rows for the AI tools, filtered and limited in the database; no entity is loaded
+    @Query("SELECT new com.amit.smartreconciliation.dto.response.tool.ReconciliationSummaryResponse(" +
+           "r.id, r.name, r.status, r.matchRate, r.exceptionCount, r.createdAt) " +
+           "FROM Reconciliation r WHERE r.organization.id = :organizationId AND r.status IN :statuses " +
+           "AND (lower(r.name) LIKE :pattern ESCAPE '\\' " +
+           "OR lower(coalesce(r.description, '')) LIKE :pattern ESCAPE '\\') " +
+           "ORDER BY r.createdAt DESC")
+    List<ReconciliationSummaryResponse> findSummaries(
+            @Param("organizationId") Long organizationId,
+            @Param("statuses") Collection<ReconciliationStatus> statuses,
+            @Param("pattern") String pattern,
+            Pageable pageable);
+
+    // Keyset pages, newest first; a List return skips the count query a Page would run
+    @EntityGraph(Reconciliation.RESPONSE_GRAPH)
+    @Query("SELECT r FROM Reconciliation r WHERE r.organization.id = :organizationId " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Reconciliation> findFirstPageByOrganizationId(
+            @Param("organizationId") Long organizationId,
+            Pageable pageable);
+
+    @EntityGraph(Reconciliation.RESPONSE_GRAPH)
+    @Query("SELECT r FROM Reconciliation r WHERE r.organization.id = :organizationId " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Reconciliation> findPageByOrganizationIdAfter(
+            @Param("organizationId") Long organizationId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    long countByOrganizationId(Long organizationId);
 }
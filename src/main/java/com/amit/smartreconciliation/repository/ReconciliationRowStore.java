@@ -0,0 +1,204 @@
+package com.amit.smartreconciliation.repository;
+
+import com.amit.smartreconciliation.entity.ReconciliationException;
+import com.amit.smartreconciliation.enums.RecordSide;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeSet;
+
+/**
+ * Keeps the input rows a reconciliation's exceptions refer to, each saved once however many
+ * exceptions point at it. The header list is stored once per input ({@code reconciliation_row_sets})
+ * and every row as a JSON array of its values in header order ({@code reconciliation_rows}), so
+ * column names are not repeated per row. Exceptions carry the row ordinals in
+ * {@code source_row}/{@code target_row}; rows are turned back into column maps when read.
+ */
+@Repository
+public class ReconciliationRowStore {
+
+    private static final TypeReference<List<Object>> VALUES = new TypeReference<>() {};
+    private static final TypeReference<List<String>> HEADERS = new TypeReference<>() {};
+    // PostgreSQL accepts at most 32767 bind parameters per statement
+    private static final int MAX_PARAMETERS = 32767;
+    private static final int PARAMETERS_PER_ROW = 4;
+
+    /**
+     * Identifies one stored row.
+     */
+    public record RowRef(Long reconciliationId, RecordSide side, int ordinal) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.reconciliation.exception-chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    public ReconciliationRowStore(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * SQL expression rebuilding the {@code side} row of the exception aliased {@code exception} as
+     * a JSON object, falling back to the copy stored on the exception itself.
+     */
+    public static String rowJsonSql(String exception, RecordSide side) {
+        String column = side == RecordSide.SOURCE ? "source" : "target";
+        return "COALESCE(" + exception + "." + column + "_data, (SELECT jsonb_object_agg(h.name, "
+                + "r.row_values -> CAST(h.pos - 1 AS INTEGER)) "
+                + "FROM reconciliation_rows r JOIN reconciliation_row_sets s "
+                + "ON s.reconciliation_id = r.reconciliation_id AND s.side = r.side "
+                + "CROSS JOIN LATERAL jsonb_array_elements_text(s.headers) WITH ORDINALITY h (name, pos) "
+                + "WHERE r.reconciliation_id = " + exception + ".reconciliation_id AND r.side = '" + side.name()
+                + "' AND r.row_ordinal = " + exception + "." + column + "_row "
+                + "AND h.pos <= jsonb_array_length(r.row_values)))";
+    }
+
+    /**
+     * Stores the given rows of one input, keyed by ordinal, together with the input's headers.
+     * Rows are inserted in committed chunks; rows already stored are left as they are.
+     */
+    public int write(Long reconciliationId, RecordSide side, List<String> headers, SortedMap<Integer, List<Object>> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        chunkTransaction.executeWithoutResult(status -> jdbcTemplate.update(
+                "INSERT INTO reconciliation_row_sets (reconciliation_id, side, headers) VALUES (?, ?, CAST(? AS jsonb)) "
+                        + "ON CONFLICT (reconciliation_id, side) DO UPDATE SET headers = EXCLUDED.headers",
+                reconciliationId, side.name(), toJson(headers)));
+
+        int rowsPerChunk = Math.max(1, Math.min(chunkSize, MAX_PARAMETERS / PARAMETERS_PER_ROW));
+        List<Map.Entry<Integer, List<Object>>> entries = new ArrayList<>(rows.entrySet());
+        int written = 0;
+        for (int from = 0; from < entries.size(); from += rowsPerChunk) {
+            List<Map.Entry<Integer, List<Object>>> chunk =
+                    entries.subList(from, Math.min(from + rowsPerChunk, entries.size()));
+            Integer inserted = chunkTransaction.execute(status -> insertChunk(reconciliationId, side, chunk));
+            written += inserted != null ? inserted : 0;
+        }
+        return written;
+    }
+
+    /**
+     * Removes every stored row of one reconciliation, before a new attempt writes them again.
+     */
+    public int deleteByReconciliationId(Long reconciliationId) {
+        Integer deleted = chunkTransaction.execute(status -> jdbcTemplate.update(
+                "DELETE FROM reconciliation_row_sets WHERE reconciliation_id = ?", reconciliationId));
+        return deleted != null ? deleted : 0;
+    }
+
+    /**
+     * Loads the rows the given exceptions refer to and have no copy of, with one query for the
+     * headers and one for the rows per reconciliation and input.
+     */
+    public Map<RowRef, Map<String, Object>> findRows(Collection<ReconciliationException> exceptions) {
+        Map<Long, Map<RecordSide, TreeSet<Integer>>> wanted = new HashMap<>();
+        for (ReconciliationException exception : exceptions) {
+            if (exception.getReconciliation() == null) {
+                continue;
+            }
+            Long reconciliationId = exception.getReconciliation().getId();
+            if (exception.getSourceData() == null && exception.getSourceRow() != null) {
+                wanted.computeIfAbsent(reconciliationId, id -> new HashMap<>())
+                        .computeIfAbsent(RecordSide.SOURCE, side -> new TreeSet<>()).add(exception.getSourceRow());
+            }
+            if (exception.getTargetData() == null && exception.getTargetRow() != null) {
+                wanted.computeIfAbsent(reconciliationId, id -> new HashMap<>())
+                        .computeIfAbsent(RecordSide.TARGET, side -> new TreeSet<>()).add(exception.getTargetRow());
+            }
+        }
+        if (wanted.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<RowRef, Map<String, Object>> rows = new HashMap<>();
+        wanted.forEach((reconciliationId, sides) -> sides.forEach((side, ordinals) ->
+                loadRows(reconciliationId, side, ordinals, rows)));
+        return rows;
+    }
+
+    private void loadRows(Long reconciliationId, RecordSide side, Collection<Integer> ordinals,
+                          Map<RowRef, Map<String, Object>> into) {
+        List<String> headerJson = jdbcTemplate.queryForList(
+                "SELECT headers::text FROM reconciliation_row_sets WHERE reconciliation_id = ? AND side = ?",
+                String.class, reconciliationId, side.name());
+        if (headerJson.isEmpty()) {
+            return;
+        }
+        List<String> headers = fromJson(headerJson.get(0), HEADERS);
+
+        List<Object> args = new ArrayList<>(ordinals.size() + 2);
+        args.add(reconciliationId);
+        args.add(side.name());
+        args.addAll(ordinals);
+        String placeholders = String.join(", ", Collections.nCopies(ordinals.size(), "?"));
+        jdbcTemplate.query("SELECT row_ordinal, row_values::text FROM reconciliation_rows "
+                        + "WHERE reconciliation_id = ? AND side = ? AND row_ordinal IN (" + placeholders + ")",
+                resultSet -> {
+                    List<Object> values = fromJson(resultSet.getString(2), VALUES);
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int i = 0; i < headers.size() && i < values.size(); i++) {
+                        row.put(headers.get(i), values.get(i));
+                    }
+                    into.put(new RowRef(reconciliationId, side, resultSet.getInt(1)), row);
+                },
+                args.toArray());
+    }
+
+    private int insertChunk(Long reconciliationId, RecordSide side, List<Map.Entry<Integer, List<Object>>> chunk) {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO reconciliation_rows (reconciliation_id, side, row_ordinal, row_values) VALUES ");
+        Object[] args = new Object[chunk.size() * PARAMETERS_PER_ROW];
+        int p = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(?, ?, ?, CAST(? AS jsonb))");
+            args[p++] = reconciliationId;
+            args[p++] = side.name();
+            args[p++] = chunk.get(i).getKey();
+            args[p++] = toJson(chunk.get(i).getValue());
+        }
+        sql.append(" ON CONFLICT (reconciliation_id, side, row_ordinal) DO NOTHING");
+        return jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize reconciliation row: " + e.getMessage(), e);
+        }
+    }
+
+    private <T> T fromJson(String json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read reconciliation row: " + e.getMessage(), e);
+        }
+    }
+}
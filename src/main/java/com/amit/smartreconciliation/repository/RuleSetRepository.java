@@ -2,12 +2,19 @@ package com.amit.smartreconciliation.repository;
 
 import com.amit.smartreconciliation.entity.RuleSet;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RuleSetRepository extends JpaRepository<RuleSet, Long> {
     List<RuleSet> findByOrganizationId(Long organizationId);
     List<RuleSet> findByOrganizationIdAndActiveTrue(Long organizationId);
+
+    // Checks a cached rule set against the database without loading its mappings and rules
+    @Query("SELECT r.version FROM RuleSet r WHERE r.id = :id")
+    Optional<Integer> findVersionById(@Param("id") Long id);
 }
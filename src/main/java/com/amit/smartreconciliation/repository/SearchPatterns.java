@@ -0,0 +1,26 @@
+package com.amit.smartreconciliation.repository;
+
+import java.util.Locale;
+
+/**
+ * Builds {@code LIKE} patterns for queries that declare {@code ESCAPE '\'}.
+ */
+public final class SearchPatterns {
+
+    private SearchPatterns() {}
+
+    /**
+     * Lower-cased pattern matching values that contain {@code term} literally; a blank term matches
+     * everything.
+     */
+    public static String contains(String term) {
+        if (term == null || term.isBlank()) {
+            return "%";
+        }
+        String escaped = term.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
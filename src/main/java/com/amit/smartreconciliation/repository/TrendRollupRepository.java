@@ -0,0 +1,184 @@
+package com.amit.smartreconciliation.repository;
+
+import com.amit.smartreconciliation.dto.response.DashboardTrendPointResponse;
+import com.amit.smartreconciliation.entity.Reconciliation;
+import com.amit.smartreconciliation.enums.KnowledgeDomain;
+import com.amit.smartreconciliation.enums.ReconciliationStatus;
+import com.amit.smartreconciliation.enums.TrendGranularity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and maintains the {@code trend_rollups} table: hourly and daily buckets per organization
+ * and reconciliation domain. Every write adds deltas with an upsert into both granularities, so
+ * callers must run it in the same transaction as the rows it describes.
+ */
+@Repository
+public class TrendRollupRepository {
+
+    private static final String KEY = "organization_id, domain, granularity, bucket_start";
+    private static final String[] MEASURES = {
+            "runs_completed", "runs_failed", "source_records", "matched_records",
+            "exceptions_opened", "exceptions_resolved", "resolution_seconds"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TrendRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Wraps a query returning {@code organization_id, domain, at} followed by one delta per measure
+     * (runs completed, runs failed, source records, matched records, exceptions opened, exceptions
+     * resolved, resolution seconds) in an upsert that adds them to the hour and day buckets of
+     * {@code at}. Usable as a data-modifying CTE.
+     */
+    static String applyDeltasSql(String deltaQuery) {
+        StringBuilder sums = new StringBuilder();
+        StringBuilder updates = new StringBuilder();
+        for (String measure : MEASURES) {
+            sums.append(", coalesce(sum(d.").append(measure).append("), 0)");
+            updates.append(measure).append(" = t.").append(measure).append(" + EXCLUDED.").append(measure).append(", ");
+        }
+        return "INSERT INTO trend_rollups AS t (" + KEY + ", " + String.join(", ", MEASURES) + ", updated_at) "
+                + "SELECT d.organization_id, d.domain, g.granularity, date_trunc(lower(g.granularity), d.at)"
+                + sums + ", now() "
+                + "FROM (" + deltaQuery + ") d (organization_id, domain, at, " + String.join(", ", MEASURES) + ") "
+                + "CROSS JOIN (VALUES ('HOUR'), ('DAY')) g (granularity) "
+                + "WHERE d.organization_id IS NOT NULL AND d.at IS NOT NULL "
+                + "GROUP BY d.organization_id, d.domain, g.granularity, date_trunc(lower(g.granularity), d.at) "
+                + "ON CONFLICT (" + KEY + ") DO UPDATE SET " + updates + "updated_at = EXCLUDED.updated_at";
+    }
+
+    /**
+     * Delta rows for exceptions leaving and entering the resolved state, read from the CTE named
+     * {@code source} returning {@code reconciliation_id, created_at, old_status, old_resolved_at,
+     * status, resolved_at}.
+     */
+    static String resolutionDeltasSql(String source) {
+        return "SELECT r.organization_id, r.domain, u.old_resolved_at, 0, 0, 0, 0, 0, -1, "
+                + "-extract(epoch FROM u.old_resolved_at - u.created_at) "
+                + "FROM " + source + " u JOIN reconciliations r ON r.id = u.reconciliation_id "
+                + "WHERE u.old_status = 'RESOLVED' "
+                + "UNION ALL SELECT r.organization_id, r.domain, u.resolved_at, 0, 0, 0, 0, 0, 1, "
+                + "extract(epoch FROM u.resolved_at - u.created_at) "
+                + "FROM " + source + " u JOIN reconciliations r ON r.id = u.reconciliation_id "
+                + "WHERE u.status = 'RESOLVED'";
+    }
+
+    /**
+     * Counts a run that just finished, in the bucket of its completion time. Records and matches
+     * only count for completed runs.
+     */
+    public void recordRunFinished(Reconciliation reconciliation) {
+        if (reconciliation.getOrganization() == null || reconciliation.getCompletedAt() == null) {
+            return;
+        }
+        boolean completed = reconciliation.getStatus() == ReconciliationStatus.COMPLETED;
+        boolean failed = reconciliation.getStatus() == ReconciliationStatus.FAILED;
+        if (!completed && !failed) {
+            return;
+        }
+        KnowledgeDomain domain = reconciliation.getDomain() != null ? reconciliation.getDomain() : KnowledgeDomain.GENERAL;
+        jdbcTemplate.update(applyDeltasSql("SELECT CAST(? AS BIGINT), CAST(? AS VARCHAR), CAST(? AS TIMESTAMP), "
+                        + "CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), "
+                        + "0, 0, CAST(0 AS DOUBLE PRECISION)"),
+                reconciliation.getOrganization().getId(), domain.name(),
+                Timestamp.valueOf(reconciliation.getCompletedAt()),
+                completed ? 1 : 0, failed ? 1 : 0,
+                completed ? valueOf(reconciliation.getTotalSourceRecords()) : 0,
+                completed ? valueOf(reconciliation.getMatchedRecords()) : 0);
+    }
+
+    /**
+     * Counts {@code count} exceptions of one reconciliation opened at {@code createdAt}.
+     */
+    public void addOpened(Long reconciliationId, int count, LocalDateTime createdAt) {
+        if (count <= 0) {
+            return;
+        }
+        jdbcTemplate.update(applyDeltasSql("SELECT r.organization_id, r.domain, CAST(? AS TIMESTAMP), "
+                        + "0, 0, 0, 0, CAST(? AS BIGINT), 0, CAST(0 AS DOUBLE PRECISION) "
+                        + "FROM reconciliations r WHERE r.id = ?"),
+                Timestamp.valueOf(createdAt), count, reconciliationId);
+    }
+
+    /**
+     * Takes back what the exceptions of one reconciliation contributed, before they are deleted
+     * to be written again.
+     */
+    public void removeExceptions(Long reconciliationId) {
+        jdbcTemplate.update(applyDeltasSql("SELECT r.organization_id, r.domain, e.created_at, 0, 0, 0, 0, -1, 0, "
+                        + "CAST(0 AS DOUBLE PRECISION) "
+                        + "FROM reconciliation_exceptions e JOIN reconciliations r ON r.id = e.reconciliation_id "
+                        + "WHERE e.reconciliation_id = ? "
+                        + "UNION ALL SELECT r.organization_id, r.domain, e.resolved_at, 0, 0, 0, 0, 0, -1, "
+                        + "-extract(epoch FROM e.resolved_at - e.created_at) "
+                        + "FROM reconciliation_exceptions e JOIN reconciliations r ON r.id = e.reconciliation_id "
+                        + "WHERE e.reconciliation_id = ? AND e.status = 'RESOLVED'"),
+                reconciliationId, reconciliationId);
+    }
+
+    /**
+     * Moves one exception's resolution: takes back {@code previousResolvedAt} when it was resolved
+     * before and adds {@code resolvedAt} when it is resolved now. Either may be null.
+     */
+    public void moveResolution(Long reconciliationId, LocalDateTime createdAt,
+                               LocalDateTime previousResolvedAt, LocalDateTime resolvedAt) {
+        if (previousResolvedAt != null && previousResolvedAt.equals(resolvedAt)) {
+            return;
+        }
+        if (previousResolvedAt != null) {
+            addResolution(reconciliationId, previousResolvedAt, -1, -secondsBetween(createdAt, previousResolvedAt));
+        }
+        if (resolvedAt != null) {
+            addResolution(reconciliationId, resolvedAt, 1, secondsBetween(createdAt, resolvedAt));
+        }
+    }
+
+    /**
+     * Buckets of one organization in {@code [from, to)}, oldest first. A null {@code domain} sums
+     * all domains. Buckets without activity are absent.
+     */
+    public List<DashboardTrendPointResponse> findTrend(Long organizationId, TrendGranularity granularity,
+                                                       KnowledgeDomain domain, LocalDateTime from, LocalDateTime to) {
+        List<Object> args = new ArrayList<>(List.of(organizationId, granularity.name(),
+                Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        String domainFilter = "";
+        if (domain != null) {
+            domainFilter = " AND domain = ?";
+            args.add(domain.name());
+        }
+        return jdbcTemplate.query("SELECT bucket_start, sum(runs_completed), sum(runs_failed), sum(source_records), "
+                        + "sum(matched_records), sum(exceptions_opened), sum(exceptions_resolved), "
+                        + "sum(resolution_seconds) FROM trend_rollups "
+                        + "WHERE organization_id = ? AND granularity = ? AND bucket_start >= ? AND bucket_start < ?"
+                        + domainFilter + " GROUP BY bucket_start ORDER BY bucket_start",
+                (rs, rowNum) -> new DashboardTrendPointResponse(
+                        rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2), rs.getLong(3), rs.getLong(4),
+                        rs.getLong(5), rs.getLong(6), rs.getLong(7), rs.getDouble(8)),
+                args.toArray());
+    }
+
+    private void addResolution(Long reconciliationId, LocalDateTime at, long delta, double seconds) {
+        jdbcTemplate.update(applyDeltasSql("SELECT r.organization_id, r.domain, CAST(? AS TIMESTAMP), "
+                        + "0, 0, 0, 0, 0, CAST(? AS BIGINT), CAST(? AS DOUBLE PRECISION) "
+                        + "FROM reconciliations r WHERE r.id = ?"),
+                Timestamp.valueOf(at), delta, seconds, reconciliationId);
+    }
+
+    private static double secondsBetween(LocalDateTime from, LocalDateTime to) {
+        return from != null ? Duration.between(from, to).toMillis() / 1000.0 : 0;
+    }
+
+    private static long valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.amit.smartreconciliation.repository;
+
+import com.amit.smartreconciliation.entity.UploadSession;
+import com.amit.smartreconciliation.enums.UploadSessionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, Long> {
+    Optional<UploadSession> findByUploadId(String uploadId);
+
+    List<UploadSession> findByStatusInAndExpiresAtBefore(Collection<UploadSessionStatus> statuses, LocalDateTime cutoff);
+
+    List<UploadSession> findByStatusInAndUpdatedAtBefore(Collection<UploadSessionStatus> statuses, LocalDateTime cutoff);
+
+    /**
+     * Atomically records a received chunk. Concurrent chunk PUTs for the same session each append
+     * their own index without a read-modify-write race; re-sent chunks are ignored.
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query(value = "UPDATE upload_sessions " +
+                   "SET received_chunks = received_chunks || to_jsonb(CAST(:chunkIndex AS integer)), " +
+                   "    updated_at = now() " +
+                   "WHERE upload_id = :uploadId AND status = 'ACTIVE' " +
+                   "AND NOT received_chunks @> to_jsonb(CAST(:chunkIndex AS integer))",
+           nativeQuery = true)
+    int markChunkReceived(@Param("uploadId") String uploadId, @Param("chunkIndex") int chunkIndex);
+
+    /**
+     * Moves a session from one status to another only if it is still in the expected status,
+     * so exactly one caller wins the right to finalize, abort or fail an upload.
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query(value = "UPDATE upload_sessions SET status = :to, updated_at = now() " +
+                   "WHERE upload_id = :uploadId AND status = :from",
+           nativeQuery = true)
+    int transitionStatus(@Param("uploadId") String uploadId,
+                         @Param("from") String from,
+                         @Param("to") String to);
+}
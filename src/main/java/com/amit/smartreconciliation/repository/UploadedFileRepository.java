@@ -1,15 +1,59 @@
 package com.amit.smartreconciliation.repository;
 
+import com.amit.smartreconciliation.dto.response.tool.FileSummaryResponse;
 import com.amit.smartreconciliation.entity.UploadedFile;
 import com.amit.smartreconciliation.enums.FileStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface UploadedFileRepository extends JpaRepository<UploadedFile, Long> {
     List<UploadedFile> findByOrganizationId(Long organizationId);
     List<UploadedFile> findByOrganizationIdAndStatus(Long organizationId, FileStatus status);
     List<UploadedFile> findByDataSourceId(Long dataSourceId);
+    List<UploadedFile> findByContentHashAndFilePathAndStatusAndIdNot(
+            String contentHash, String filePath, FileStatus status, Long id);
+    boolean existsByFilePathAndIdNot(String filePath, Long id);
+    List<UploadedFile> findByStatusInOrderByIdAsc(Collection<FileStatus> statuses);
+
+    // Summary rows for the AI tools, filtered and limited in the database; JSON columns stay unread
+    @Query("SELECT new com.amit.smartreconciliation.dto.response.tool.FileSummaryResponse(" +
+           "f.id, f.originalFilename, f.fileSize, f.rowCount, f.columnCount, f.status, f.createdAt) " +
+           "FROM UploadedFile f WHERE f.organization.id = :organizationId AND f.status IN :statuses " +
+           "AND lower(f.originalFilename) LIKE :pattern ESCAPE '\\' " +
+           "ORDER BY f.createdAt DESC")
+    List<FileSummaryResponse> findSummaries(
+            @Param("organizationId") Long organizationId,
+            @Param("statuses") Collection<FileStatus> statuses,
+            @Param("pattern") String pattern,
+            Pageable pageable);
+
+    // Checks a cached schema against the database without reading the JSON columns
+    @Query("SELECT f.organization.id AS organizationId, f.status AS status, f.updatedAt AS updatedAt " +
+           "FROM UploadedFile f WHERE f.id = :id")
+    Optional<SchemaVersion> findSchemaVersionById(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT f.filePath FROM UploadedFile f WHERE f.filePath > :after ORDER BY f.filePath")
+    List<String> findFilePathsAfter(@Param("after") String after, Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE UploadedFile f SET f.missing = :missing WHERE f.filePath IN :filePaths AND f.missing <> :missing")
+    int updateMissingByFilePathIn(@Param("filePaths") Collection<String> filePaths, @Param("missing") boolean missing);
+
+    interface SchemaVersion {
+        Long getOrganizationId();
+        FileStatus getStatus();
+        LocalDateTime getUpdatedAt();
+    }
 }
@@ -0,0 +1,508 @@
+package com.amit.smartreconciliation.service;
+
+import com.amit.smartreconciliation.config.FileStorageConfig;
+import com.amit.smartreconciliation.dto.request.ChunkedUploadInitRequest;
+import com.amit.smartreconciliation.dto.response.UploadSessionResponse;
+import com.amit.smartreconciliation.entity.Organization;
+import com.amit.smartreconciliation.entity.UploadSession;
+import com.amit.smartreconciliation.entity.UploadedFile;
+import com.amit.smartreconciliation.enums.FileStatus;
+import com.amit.smartreconciliation.enums.UploadSessionStatus;
+import com.amit.smartreconciliation.exception.FileProcessingException;
+import com.amit.smartreconciliation.exception.ResourceNotFoundException;
+import com.amit.smartreconciliation.repository.UploadSessionRepository;
+import com.amit.smartreconciliation.repository.UploadedFileRepository;
+import com.amit.smartreconciliation.security.SecurityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resumable uploads split into fixed-size chunks.
+ *
+ * Every chunk is written straight into a pre-allocated part file at its own offset, so chunks can
+ * arrive in any order and in parallel without a reassembly pass. The SHA-256 of the file is
+ * computed while chunks are received: a chunk arriving in order is hashed as it is written, and
+ * out-of-order chunks are folded in from the page cache once the gap before them is filled.
+ * As soon as the last chunk lands the part file is moved into place and processing starts.
+ * Sessions left unfinished past their expiry are reaped together with their part files; finished
+ * sessions, and sessions a crash left mid-completion, are reaped after a retention period.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_CHUNK_SIZE = 64 * 1024;
+    private static final String PART_SUFFIX = ".part";
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    private static final Set<UploadSessionStatus> REAPABLE_STATUSES = EnumSet.of(
+            UploadSessionStatus.ACTIVE, UploadSessionStatus.ABORTED, UploadSessionStatus.FAILED);
+    private static final Set<UploadSessionStatus> RETAINED_STATUSES = EnumSet.of(
+            UploadSessionStatus.COMPLETED, UploadSessionStatus.COMPLETING);
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final UploadedFileRepository uploadedFileRepository;
+    private final OrganizationService organizationService;
+    private final FileStorageConfig fileStorageConfig;
+    private final FileUploadService fileUploadService;
+    private final ContentStoreService contentStoreService;
+
+    private final Map<String, HashState> hashStates = new ConcurrentHashMap<>();
+
+    @Value("${app.file.chunk-size:8388608}")
+    private int defaultChunkSize = 8 * 1024 * 1024;
+
+    @Value("${app.file.max-chunk-size:67108864}")
+    private int maxChunkSize = 64 * 1024 * 1024;
+
+    @Value("${app.file.max-upload-size:10737418240}")
+    private long maxUploadSize = 10L * 1024 * 1024 * 1024;
+
+    @Value("${app.file.upload-session-ttl-hours:24}")
+    private long sessionTtlHours = 24;
+
+    @Value("${app.file.upload-session-retention-hours:168}")
+    private long sessionRetentionHours = 168;
+
+    public ChunkedUploadService(UploadSessionRepository uploadSessionRepository,
+                                UploadedFileRepository uploadedFileRepository,
+                                OrganizationService organizationService,
+                                FileStorageConfig fileStorageConfig,
+                                FileUploadService fileUploadService,
+                                ContentStoreService contentStoreService) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.uploadedFileRepository = uploadedFileRepository;
+        this.organizationService = organizationService;
+        this.fileStorageConfig = fileStorageConfig;
+        this.fileUploadService = fileUploadService;
+        this.contentStoreService = contentStoreService;
+    }
+
+    public UploadSessionResponse initUpload(ChunkedUploadInitRequest request) {
+        long totalSize = request.getTotalSize();
+        if (totalSize > maxUploadSize) {
+            throw new FileProcessingException("File exceeds the maximum upload size of " + maxUploadSize + " bytes");
+        }
+        int chunkSize = request.getChunkSize() != null ? request.getChunkSize() : defaultChunkSize;
+        if (chunkSize > maxChunkSize) {
+            throw new FileProcessingException("Chunk size exceeds the maximum of " + maxChunkSize + " bytes");
+        }
+        if (chunkSize < MIN_CHUNK_SIZE && chunkSize < totalSize) {
+            throw new FileProcessingException("Chunk size must be at least " + MIN_CHUNK_SIZE + " bytes");
+        }
+        int totalChunks = (int) ((totalSize + chunkSize - 1) / chunkSize);
+
+        Organization org = organizationService.getDefaultOrganization();
+        String originalFilename = sanitizeFilename(request.getFilename());
+        String uploadId = UUID.randomUUID().toString();
+        String storedFilename = UUID.randomUUID() + "_" + originalFilename;
+        Path partPath = uploadDir().resolve(storedFilename + PART_SUFFIX);
+
+        try (RandomAccessFile part = new RandomAccessFile(partPath.toFile(), "rw")) {
+            part.setLength(totalSize);
+        } catch (IOException e) {
+            throw new FileProcessingException("Failed to allocate upload: " + e.getMessage(), e);
+        }
+
+        UploadSession session = UploadSession.builder()
+                .uploadId(uploadId)
+                .originalFilename(originalFilename)
+                .contentType(request.getContentType() != null ? request.getContentType() : DEFAULT_CONTENT_TYPE)
+                .totalSize(totalSize)
+                .chunkSize(chunkSize)
+                .totalChunks(totalChunks)
+                .storedFilename(storedFilename)
+                .partPath(partPath.toString())
+                .expectedSha256(request.getSha256() != null ? request.getSha256().toLowerCase() : null)
+                .status(UploadSessionStatus.ACTIVE)
+                .organization(org)
+                .expiresAt(LocalDateTime.now().plusHours(sessionTtlHours))
+                .build();
+
+        UploadSession saved = uploadSessionRepository.save(session);
+        hashStates.put(uploadId, new HashState());
+
+        log.info("Started chunked upload {} for {} ({} bytes in {} chunks)",
+                uploadId, originalFilename, totalSize, totalChunks);
+        return UploadSessionResponse.fromEntity(saved);
+    }
+
+    public UploadSessionResponse putChunk(String uploadId, int index, InputStream body) {
+        UploadSession session = getOrgScopedSession(uploadId);
+        requireActive(session);
+        if (index < 0 || index >= session.getTotalChunks()) {
+            throw new FileProcessingException("Chunk index " + index + " is out of range [0, "
+                    + (session.getTotalChunks() - 1) + "]");
+        }
+        if (session.getReceivedChunks().contains(index)) {
+            return UploadSessionResponse.fromEntity(session);
+        }
+
+        long offset = (long) index * session.getChunkSize();
+        long length = chunkLength(session, index);
+        HashState state = hashStates.computeIfAbsent(uploadId, id -> new HashState());
+
+        boolean hashInline = false;
+        if (state.lock.tryLock()) {
+            hashInline = state.nextIndex == index;
+            if (!hashInline) {
+                state.lock.unlock();
+            }
+        }
+        try {
+            try (FileChannel channel = FileChannel.open(Paths.get(session.getPartPath()), StandardOpenOption.WRITE)) {
+                writeChunk(body, channel, offset, length, index, hashInline ? state.digest : null);
+            } catch (IOException e) {
+                if (hashInline) {
+                    state.reset();
+                }
+                throw new FileProcessingException("Failed to store chunk " + index + ": " + e.getMessage(), e);
+            } catch (FileProcessingException e) {
+                if (hashInline) {
+                    state.reset();
+                }
+                throw e;
+            }
+            if (hashInline) {
+                state.nextIndex++;
+            }
+        } finally {
+            if (hashInline) {
+                state.lock.unlock();
+            }
+        }
+
+        uploadSessionRepository.markChunkReceived(uploadId, index);
+        session = findSession(uploadId);
+
+        if (state.lock.tryLock()) {
+            try {
+                advanceHash(state, session, Paths.get(session.getPartPath()));
+            } catch (IOException e) {
+                log.warn("Deferring hash of upload {} to completion: {}", uploadId, e.getMessage());
+                state.reset();
+            } finally {
+                state.lock.unlock();
+            }
+        }
+
+        if (allChunksReceived(session) && claim(uploadId)) {
+            return finalizeUpload(uploadId);
+        }
+        return UploadSessionResponse.fromEntity(session);
+    }
+
+    public UploadSessionResponse getStatus(String uploadId) {
+        return UploadSessionResponse.fromEntity(getOrgScopedSession(uploadId));
+    }
+
+    public UploadSessionResponse completeUpload(String uploadId) {
+        UploadSession session = getOrgScopedSession(uploadId);
+        if (session.getStatus() == UploadSessionStatus.COMPLETED
+                || session.getStatus() == UploadSessionStatus.COMPLETING) {
+            return UploadSessionResponse.fromEntity(session);
+        }
+        requireActive(session);
+        if (!allChunksReceived(session)) {
+            int missing = session.getTotalChunks() - new HashSet<>(session.getReceivedChunks()).size();
+            throw new FileProcessingException("Upload is missing " + missing + " chunk(s)");
+        }
+        if (claim(uploadId)) {
+            return finalizeUpload(uploadId);
+        }
+        return UploadSessionResponse.fromEntity(findSession(uploadId));
+    }
+
+    public void abortUpload(String uploadId) {
+        UploadSession session = getOrgScopedSession(uploadId);
+        int updated = uploadSessionRepository.transitionStatus(uploadId,
+                UploadSessionStatus.ACTIVE.name(), UploadSessionStatus.ABORTED.name());
+        if (updated == 0) {
+            throw new FileProcessingException("Upload cannot be aborted in status " + session.getStatus());
+        }
+        hashStates.remove(uploadId);
+        deletePartFile(session);
+        log.info("Aborted chunked upload {}", uploadId);
+    }
+
+    /**
+     * Deletes the sessions that expired before being completed, with their part files, which
+     * were pre-allocated at the full upload size. An active session is aborted first through the
+     * same guarded transition as completion, so a session a last chunk is completing right now is
+     * left alone. Completed sessions are deleted once untouched for the retention period, as are
+     * sessions still completing by then, which a crash interrupted; those are failed first so a
+     * late finish cannot race the delete.
+     */
+    @Scheduled(initialDelayString = "${app.file.upload-session-reap-initial-delay-ms:60000}",
+            fixedDelayString = "${app.file.upload-session-reap-interval-ms:900000}")
+    public void reapExpiredSessions() {
+        List<UploadSession> expired = uploadSessionRepository.findByStatusInAndExpiresAtBefore(
+                REAPABLE_STATUSES, LocalDateTime.now());
+        int reaped = 0;
+        for (UploadSession session : expired) {
+            if (session.getStatus() == UploadSessionStatus.ACTIVE
+                    && uploadSessionRepository.transitionStatus(session.getUploadId(),
+                            UploadSessionStatus.ACTIVE.name(), UploadSessionStatus.ABORTED.name()) == 0) {
+                continue;
+            }
+            hashStates.remove(session.getUploadId());
+            deletePartFile(session);
+            uploadSessionRepository.delete(session);
+            reaped++;
+        }
+        List<UploadSession> retained = uploadSessionRepository.findByStatusInAndUpdatedAtBefore(
+                RETAINED_STATUSES, LocalDateTime.now().minusHours(sessionRetentionHours));
+        for (UploadSession session : retained) {
+            if (session.getStatus() == UploadSessionStatus.COMPLETING
+                    && uploadSessionRepository.transitionStatus(session.getUploadId(),
+                            UploadSessionStatus.COMPLETING.name(), UploadSessionStatus.FAILED.name()) == 0) {
+                continue;
+            }
+            hashStates.remove(session.getUploadId());
+            if (session.getStatus() != UploadSessionStatus.COMPLETED) {
+                deletePartFile(session);
+            }
+            uploadSessionRepository.delete(session);
+            reaped++;
+        }
+        if (reaped > 0) {
+            log.info("Reaped {} expired upload session(s)", reaped);
+        }
+    }
+
+    private UploadSessionResponse finalizeUpload(String uploadId) {
+        UploadSession session = findSession(uploadId);
+        Path partPath = Paths.get(session.getPartPath());
+        try {
+            String sha256 = completeHash(session, partPath);
+            if (session.getExpectedSha256() != null && !session.getExpectedSha256().equals(sha256)) {
+                throw new FileProcessingException("Checksum mismatch: expected " + session.getExpectedSha256()
+                        + " but received " + sha256);
+            }
+
+            try (FileChannel channel = FileChannel.open(partPath, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            ContentStoreService.StoredBlob blob = contentStoreService.adopt(
+                    partPath, sha256, session.getOriginalFilename(), session.getTotalSize());
+
+            UploadedFile uploadedFile = UploadedFile.builder()
+                    .originalFilename(session.getOriginalFilename())
+                    .storedFilename(blob.path().getFileName().toString())
+                    .contentType(session.getContentType())
+                    .fileSize(session.getTotalSize())
+                    .filePath(blob.path().toString())
+                    .contentHash(sha256)
+                    .status(FileStatus.UPLOADED)
+                    .organization(session.getOrganization())
+                    .build();
+            UploadedFile saved;
+            try {
+                saved = uploadedFileRepository.save(uploadedFile);
+            } finally {
+                contentStoreService.unpin(blob.path());
+            }
+
+            session.setSha256(sha256);
+            session.setUploadedFile(saved);
+            session.setStatus(UploadSessionStatus.COMPLETED);
+            session = uploadSessionRepository.save(session);
+            hashStates.remove(uploadId);
+
+            fileUploadService.enqueueProcessing(saved);
+
+            log.info("Completed chunked upload {}: {} (id: {}, sha256: {})",
+                    uploadId, session.getOriginalFilename(), saved.getId(), sha256);
+            return UploadSessionResponse.fromEntity(session);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to complete chunked upload {}: {}", uploadId, e.getMessage(), e);
+            hashStates.remove(uploadId);
+            deletePartFile(session);
+            session.setStatus(UploadSessionStatus.FAILED);
+            session.setErrorMessage(e.getMessage());
+            uploadSessionRepository.save(session);
+            if (e instanceof FileProcessingException fpe) {
+                throw fpe;
+            }
+            throw new FileProcessingException("Failed to complete upload: " + e.getMessage(), e);
+        }
+    }
+
+    private void writeChunk(InputStream body, FileChannel channel, long offset, long length,
+                            int index, MessageDigest digest) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long position = offset;
+        long remaining = length;
+        while (remaining > 0) {
+            int read = body.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                throw new FileProcessingException("Chunk " + index + " is shorter than the expected "
+                        + length + " bytes");
+            }
+            if (digest != null) {
+                digest.update(buffer, 0, read);
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+            while (bytes.hasRemaining()) {
+                position += channel.write(bytes, position);
+            }
+            remaining -= read;
+        }
+        if (body.read() >= 0) {
+            throw new FileProcessingException("Chunk " + index + " is longer than the expected "
+                    + length + " bytes");
+        }
+    }
+
+    /**
+     * Folds every contiguous received chunk after the hashed prefix into the digest.
+     * Callers must hold the state lock.
+     */
+    private void advanceHash(HashState state, UploadSession session, Path partPath) throws IOException {
+        Set<Integer> received = new HashSet<>(session.getReceivedChunks());
+        if (!received.contains(state.nextIndex)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(partPath, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+            while (received.contains(state.nextIndex)) {
+                long position = (long) state.nextIndex * session.getChunkSize();
+                long end = position + chunkLength(session, state.nextIndex);
+                while (position < end) {
+                    buffer.clear();
+                    buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                    int read = channel.read(buffer, position);
+                    if (read < 0) {
+                        throw new IOException("Unexpected end of part file at offset " + position);
+                    }
+                    buffer.flip();
+                    state.digest.update(buffer);
+                    position += read;
+                }
+                state.nextIndex++;
+            }
+        }
+    }
+
+    private String completeHash(UploadSession session, Path partPath) throws IOException {
+        HashState state = hashStates.computeIfAbsent(session.getUploadId(), id -> new HashState());
+        state.lock.lock();
+        try {
+            advanceHash(state, session, partPath);
+            if (state.nextIndex != session.getTotalChunks()) {
+                throw new IOException("Hashed " + state.nextIndex + " of " + session.getTotalChunks() + " chunks");
+            }
+            return HexFormat.of().formatHex(state.digest.digest());
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    private boolean claim(String uploadId) {
+        return uploadSessionRepository.transitionStatus(uploadId,
+                UploadSessionStatus.ACTIVE.name(), UploadSessionStatus.COMPLETING.name()) == 1;
+    }
+
+    private boolean allChunksReceived(UploadSession session) {
+        return new HashSet<>(session.getReceivedChunks()).size() == session.getTotalChunks();
+    }
+
+    private long chunkLength(UploadSession session, int index) {
+        long offset = (long) index * session.getChunkSize();
+        return Math.min(session.getChunkSize(), session.getTotalSize() - offset);
+    }
+
+    private void requireActive(UploadSession session) {
+        if (session.getStatus() != UploadSessionStatus.ACTIVE) {
+            throw new FileProcessingException("Upload is not accepting chunks. Current status: " + session.getStatus());
+        }
+        if (session.getExpiresAt() != null && LocalDateTime.now().isAfter(session.getExpiresAt())) {
+            throw new FileProcessingException("Upload session has expired");
+        }
+    }
+
+    private void deletePartFile(UploadSession session) {
+        try {
+            Files.deleteIfExists(Paths.get(session.getPartPath()));
+        } catch (IOException e) {
+            log.warn("Failed to delete part file: {}", session.getPartPath());
+        }
+    }
+
+    private String sanitizeFilename(String filename) {
+        String normalized = filename.replace('\\', '/');
+        String name = normalized.substring(normalized.lastIndexOf('/') + 1).trim();
+        if (name.isEmpty() || name.equals(".") || name.equals("..")) {
+            throw new FileProcessingException("Invalid filename: " + filename);
+        }
+        return name;
+    }
+
+    private Path uploadDir() {
+        return Paths.get(fileStorageConfig.getUploadDir()).toAbsolutePath();
+    }
+
+    private Long resolveCurrentOrgId() {
+        try {
+            return SecurityUtils.getCurrentOrgId();
+        } catch (RuntimeException ex) {
+            return organizationService.getDefaultOrganization().getId();
+        }
+    }
+
+    private UploadSession findSession(String uploadId) {
+        return uploadSessionRepository.findByUploadId(uploadId)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session not found with id: " + uploadId));
+    }
+
+    private UploadSession getOrgScopedSession(String uploadId) {
+        UploadSession session = findSession(uploadId);
+        Long currentOrgId = resolveCurrentOrgId();
+        Long sessionOrgId = session.getOrganization() != null ? session.getOrganization().getId() : null;
+        if (sessionOrgId != null && !sessionOrgId.equals(currentOrgId)) {
+            throw new AccessDeniedException("You do not have access to this upload.");
+        }
+        return session;
+    }
+
+    /**
+     * Running SHA-256 over the contiguous prefix of chunks received so far. It is kept in memory
+     * only; after a restart it is rebuilt from the part file on the next chunk or on completion.
+     */
+    private static final class HashState {
+        private final ReentrantLock lock = new ReentrantLock();
+        private MessageDigest digest = ContentStoreService.newDigest();
+        private int nextIndex;
+
+        void reset() {
+            digest = ContentStoreService.newDigest();
+            nextIndex = 0;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.amit.smartreconciliation.service;
+
+import com.amit.smartreconciliation.config.FileStorageConfig;
+import com.amit.smartreconciliation.exception.FileProcessingException;
+import com.github.luben.zstd.ZstdOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Content-addressed blob storage under the upload directory.
+ *
+ * Blobs live at {@code blobs/<first two hex chars>/<sha256>.<ext>}, so identical bytes uploaded
+ * any number of times under any name are stored once. The original extension is kept in the blob
+ * name because the parser picks the format from it.
+ *
+ * With {@code app.file.compress-at-rest} enabled, uncompressed formats are written through zstd
+ * and get a {@code .zst} suffix; the parser detects and decompresses them on read. The hash is
+ * always that of the uploaded bytes, so deduplication is unaffected by the setting.
+ *
+ * A blob returned by {@link #store} or {@link #adopt} is pinned until the caller has saved the
+ * row that references it and calls {@link #unpin}. Deduplication, pinning and
+ * {@link #deleteIfUnreferenced} run under one lock, so a blob is never deleted between an upload
+ * deduplicating onto it and that upload's row becoming visible.
+ */
+@Service
+public class ContentStoreService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentStoreService.class);
+
+    private static final String BLOB_DIR = "blobs";
+    private static final String TMP_DIR = "tmp";
+    private static final String ZSTD_SUFFIX = ".zst";
+    private static final int ZSTD_LEVEL = 3;
+    private static final Set<String> COMPRESSION_SUFFIXES = Set.of(".gz", ".gzip", ".zst", ".zstd");
+    private static final Set<String> PRECOMPRESSED_SUFFIXES = Set.of(".gz", ".gzip", ".zst", ".zstd", ".zip", ".xlsx", ".xls");
+
+    private final FileStorageConfig fileStorageConfig;
+    private final Map<Path, Integer> pins = new HashMap<>();
+
+    @Value("${app.file.compress-at-rest:false}")
+    private boolean compressAtRest = false;
+
+    public ContentStoreService(FileStorageConfig fileStorageConfig) {
+        this.fileStorageConfig = fileStorageConfig;
+    }
+
+    /**
+     * Streams the input to a temporary file while hashing it, then moves it to its blob path.
+     */
+    public StoredBlob store(InputStream input, String originalFilename) throws IOException {
+        if (!Files.isDirectory(root())) {
+            throw new IOException("Upload directory does not exist: " + root());
+        }
+        boolean compress = shouldCompress(originalFilename);
+        Path tmp = newTempFile();
+
+        MessageDigest digest = newDigest();
+        long size;
+        try (OutputStream out = new DigestOutputStream(openForWrite(tmp, compress), digest)) {
+            size = input.transferTo(out);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        force(tmp);
+
+        String hash = HexFormat.of().formatHex(digest.digest());
+        return place(tmp, hash, originalFilename, size, compress);
+    }
+
+    /**
+     * Moves an already hashed, uncompressed file into the store, compressing it on the way if
+     * configured. If the blob exists the file is discarded.
+     */
+    public StoredBlob adopt(Path source, String hash, String originalFilename, long size) throws IOException {
+        StoredBlob existing;
+        synchronized (pins) {
+            existing = findExisting(hash, originalFilename, size);
+        }
+        if (existing != null) {
+            Files.deleteIfExists(source);
+            return existing;
+        }
+        if (!shouldCompress(originalFilename)) {
+            return place(source, hash, originalFilename, size, false);
+        }
+        Path tmp = newTempFile();
+        try (OutputStream out = openForWrite(tmp, true)) {
+            Files.copy(source, out);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        force(tmp);
+        Files.deleteIfExists(source);
+        return place(tmp, hash, originalFilename, size, true);
+    }
+
+    private StoredBlob place(Path source, String hash, String originalFilename, long size,
+                             boolean compressed) throws IOException {
+        synchronized (pins) {
+            StoredBlob existing = findExisting(hash, originalFilename, size);
+            if (existing != null) {
+                Files.deleteIfExists(source);
+                return existing;
+            }
+            Path blob = blobPath(hash, originalFilename);
+            if (compressed) {
+                blob = blob.resolveSibling(blob.getFileName() + ZSTD_SUFFIX);
+            }
+            Files.createDirectories(blob.getParent());
+            try {
+                Files.move(source, blob, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(source, blob, StandardCopyOption.REPLACE_EXISTING);
+            }
+            pins.merge(blob, 1, Integer::sum);
+            return new StoredBlob(hash, blob, size, false);
+        }
+    }
+
+    /**
+     * Looks for the blob in either its plain or its zstd form, so toggling compression at rest
+     * does not defeat deduplication of earlier uploads, and pins the one found. Callers must hold
+     * the pin lock.
+     */
+    private StoredBlob findExisting(String hash, String originalFilename, long size) {
+        Path plain = blobPath(hash, originalFilename);
+        Path compressed = plain.resolveSibling(plain.getFileName() + ZSTD_SUFFIX);
+        for (Path candidate : new Path[]{plain, compressed}) {
+            if (Files.exists(candidate)) {
+                log.info("Deduplicated upload {} onto existing blob {}", originalFilename, candidate.getFileName());
+                pins.merge(candidate, 1, Integer::sum);
+                return new StoredBlob(hash, candidate, size, true);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pins an existing blob for a new row that will reference it, as {@link #store} does for
+     * uploads. Returns false if the blob is gone.
+     */
+    public boolean pin(Path blob) {
+        synchronized (pins) {
+            if (!Files.exists(blob)) {
+                return false;
+            }
+            pins.merge(blob, 1, Integer::sum);
+            return true;
+        }
+    }
+
+    /**
+     * Releases a pin once the row referencing the blob has been saved.
+     */
+    public void unpin(Path blob) {
+        synchronized (pins) {
+            pins.computeIfPresent(blob, (path, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    /**
+     * Deletes a blob unless it is pinned or {@code referenced} reports a row still using it.
+     *
+     * @return whether the blob was deleted
+     */
+    public boolean deleteIfUnreferenced(Path blob, BooleanSupplier referenced) {
+        synchronized (pins) {
+            if (pins.containsKey(blob) || referenced.getAsBoolean()) {
+                return false;
+            }
+            try {
+                return Files.deleteIfExists(blob);
+            } catch (IOException e) {
+                log.warn("Failed to delete blob {}: {}", blob, e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    private boolean shouldCompress(String originalFilename) {
+        if (!compressAtRest) {
+            return false;
+        }
+        String extension = extensionOf(originalFilename);
+        for (String suffix : PRECOMPRESSED_SUFFIXES) {
+            if (extension.endsWith(suffix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private OutputStream openForWrite(Path path, boolean compress) throws IOException {
+        OutputStream out = Files.newOutputStream(path);
+        return compress ? new ZstdOutputStream(out, ZSTD_LEVEL) : out;
+    }
+
+    /**
+     * Flushes the file to stable storage so an upload is only acknowledged once it is durable.
+     */
+    private void force(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    private Path newTempFile() throws IOException {
+        Path tmpDir = root().resolve(TMP_DIR);
+        Files.createDirectories(tmpDir);
+        return tmpDir.resolve(UUID.randomUUID() + ".upload");
+    }
+
+    public Path blobPath(String hash, String originalFilename) {
+        if (hash == null || hash.length() < 2) {
+            throw new FileProcessingException("Invalid content hash");
+        }
+        return root().resolve(BLOB_DIR).resolve(hash.substring(0, 2)).resolve(hash + extensionOf(originalFilename));
+    }
+
+    /**
+     * The last extension of the name, or the last two when the last one is a compression suffix
+     * ({@code report.csv.gz} keeps {@code .csv.gz}) so the inner format survives.
+     */
+    private String extensionOf(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        String name = filename.toLowerCase(Locale.ROOT);
+        String extension = lastExtension(name);
+        if (COMPRESSION_SUFFIXES.contains(extension)) {
+            String inner = lastExtension(name.substring(0, name.length() - extension.length()));
+            return inner + extension;
+        }
+        return extension;
+    }
+
+    private String lastExtension(String name) {
+        int dot = name.lastIndexOf('.');
+        if (dot < 0 || dot == name.length() - 1) {
+            return "";
+        }
+        String extension = name.substring(dot);
+        for (int i = 1; i < extension.length(); i++) {
+            if (!Character.isLetterOrDigit(extension.charAt(i))) {
+                return "";
+            }
+        }
+        return extension;
+    }
+
+    private Path root() {
+        return Paths.get(fileStorageConfig.getUploadDir()).toAbsolutePath().normalize();
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public record StoredBlob(String hash, Path path, long size, boolean existing) {}
+}
@@ -1,47 +1,162 @@
 package com.amit.smartreconciliation.service;
 
 import com.amit.smartreconciliation.dto.response.DashboardMetricsResponse;
+import com.amit.smartreconciliation.dto.response.DashboardTrendPointResponse;
 import com.amit.smartreconciliation.entity.Organization;
 import com.amit.smartreconciliation.entity.Reconciliation;
 import com.amit.smartreconciliation.enums.ExceptionStatus;
+import com.amit.smartreconciliation.enums.KnowledgeDomain;
 import com.amit.smartreconciliation.enums.ReconciliationStatus;
+import com.amit.smartreconciliation.enums.TrendGranularity;
+import com.amit.smartreconciliation.event.ExceptionsTransitionedEvent;
+import com.amit.smartreconciliation.event.FileUploadedEvent;
+import com.amit.smartreconciliation.event.ReconciliationFinishedEvent;
+import com.amit.smartreconciliation.event.ReconciliationsDeletedEvent;
 import com.amit.smartreconciliation.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
 public class DashboardService {
 
     private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+    private static final int MAX_TREND_BUCKETS = 1000;
 
     private final ReconciliationRepository reconciliationRepository;
-    private final ReconciliationExceptionRepository exceptionRepository;
+    private final ExceptionStatsRepository statsRepository;
     private final UploadedFileRepository fileRepository;
     private final RuleSetRepository ruleSetRepository;
     private final OrganizationService organizationService;
+    private final TrendRollupRepository trendRepository;
+    private final Map<Long, MetricsSnapshot> snapshots = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a computation that started before it cannot store its result
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${app.dashboard.metrics-max-staleness-seconds:60}")
+    private long maxStalenessSeconds;
 
     public DashboardService(ReconciliationRepository reconciliationRepository,
-                           ReconciliationExceptionRepository exceptionRepository,
+                           ExceptionStatsRepository statsRepository,
                            UploadedFileRepository fileRepository,
                            RuleSetRepository ruleSetRepository,
-                           OrganizationService organizationService) {
+                           OrganizationService organizationService,
+                           TrendRollupRepository trendRepository) {
         this.reconciliationRepository = reconciliationRepository;
-        this.exceptionRepository = exceptionRepository;
+        this.statsRepository = statsRepository;
         this.fileRepository = fileRepository;
         this.ruleSetRepository = ruleSetRepository;
         this.organizationService = organizationService;
+        this.trendRepository = trendRepository;
     }
 
+    /**
+     * Returns the organization's metrics from its snapshot while the snapshot is younger than
+     * {@code app.dashboard.metrics-max-staleness-seconds}. Run completion, exception transitions and
+     * uploads drop the snapshot through application events, so the bound only covers changes made
+     * outside those paths. A bound of 0 disables the cache.
+     */
     public DashboardMetricsResponse getMetrics() {
         Organization org = organizationService.getDefaultOrganization();
+        if (maxStalenessSeconds <= 0) {
+            return computeMetrics(org);
+        }
+        long now = System.nanoTime();
+        MetricsSnapshot snapshot = snapshots.get(org.getId());
+        if (snapshot != null && now - snapshot.computedAtNanos() < TimeUnit.SECONDS.toNanos(maxStalenessSeconds)) {
+            return snapshot.metrics();
+        }
+        long startGeneration = generation.get();
+        DashboardMetricsResponse metrics = computeMetrics(org);
+        snapshots.put(org.getId(), new MetricsSnapshot(metrics, now));
+        if (generation.get() != startGeneration) {
+            // Invalidated while computing; the result may already be out of date
+            snapshots.remove(org.getId());
+        }
+        return metrics;
+    }
+
+    /**
+     * Returns one point per bucket from {@code from} up to and including the bucket of {@code to},
+     * read from the trend rollups only. Buckets without activity come back as zeros. Defaults to
+     * daily buckets over the last 30 days, or hourly buckets over the last 48 hours; at most
+     * {@value #MAX_TREND_BUCKETS} buckets are returned, the most recent ones.
+     */
+    public List<DashboardTrendPointResponse> getTrend(TrendGranularity granularity, KnowledgeDomain domain,
+                                                      LocalDateTime from, LocalDateTime to) {
+        Organization org = organizationService.getDefaultOrganization();
+        TrendGranularity unit = granularity != null ? granularity : TrendGranularity.DAY;
+        LocalDateTime end = (to != null ? to : LocalDateTime.now()).truncatedTo(unit.getUnit()).plus(1, unit.getUnit());
+        LocalDateTime start = from != null
+                ? from.truncatedTo(unit.getUnit())
+                : end.minus(unit == TrendGranularity.HOUR ? 48 : 30, unit.getUnit());
+        if (start.isBefore(end.minus(MAX_TREND_BUCKETS, unit.getUnit()))) {
+            start = end.minus(MAX_TREND_BUCKETS, unit.getUnit());
+        }
+        if (!start.isBefore(end)) {
+            return List.of();
+        }
+
+        Map<LocalDateTime, DashboardTrendPointResponse> buckets = new HashMap<>();
+        for (DashboardTrendPointResponse point : trendRepository.findTrend(org.getId(), unit, domain, start, end)) {
+            buckets.put(point.getBucketStart(), point);
+        }
+        List<DashboardTrendPointResponse> points = new ArrayList<>();
+        for (LocalDateTime bucket = start; bucket.isBefore(end); bucket = bucket.plus(1, unit.getUnit())) {
+            DashboardTrendPointResponse point = buckets.get(bucket);
+            points.add(point != null ? point : DashboardTrendPointResponse.empty(bucket));
+        }
+        return points;
+    }
 
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReconciliationFinished(ReconciliationFinishedEvent event) {
+        invalidate(event.organizationId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExceptionsTransitioned(ExceptionsTransitionedEvent event) {
+        invalidate(event.organizationId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFileUploaded(FileUploadedEvent event) {
+        invalidate(event.organizationId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReconciliationsDeleted(ReconciliationsDeletedEvent event) {
+        invalidate(event.organizationId());
+    }
+
+    /**
+     * Drops the snapshot of one organization, or of all organizations when {@code organizationId}
+     * is null.
+     */
+    public void invalidate(Long organizationId) {
+        generation.incrementAndGet();
+        if (organizationId == null) {
+            snapshots.clear();
+        } else {
+            snapshots.remove(organizationId);
+        }
+        log.debug("Invalidated dashboard metrics snapshot for organization {}", organizationId);
+    }
+
+    private DashboardMetricsResponse computeMetrics(Organization org) {
         List<Reconciliation> allReconciliations = reconciliationRepository.findByOrganizationId(org.getId());
 
         int totalReconciliations = allReconciliations.size();
@@ -68,16 +183,16 @@ public class DashboardService {
         Map<String, Integer> exceptionsByType = new HashMap<>();
         Map<String, Integer> exceptionsBySeverity = new HashMap<>();
 
-        for (Reconciliation rec : allReconciliations) {
-            openExceptions += (int) exceptionRepository.countByReconciliationIdAndStatus(
-                    rec.getId(), ExceptionStatus.OPEN);
-            resolvedExceptions += (int) exceptionRepository.countByReconciliationIdAndStatus(
-                    rec.getId(), ExceptionStatus.RESOLVED);
-
-            exceptionRepository.findByReconciliationId(rec.getId()).forEach(ex -> {
-                exceptionsByType.merge(ex.getType().name(), 1, Integer::sum);
-                exceptionsBySeverity.merge(ex.getSeverity().name(), 1, Integer::sum);
-            });
+        // One indexed read of the exception_stats rollup instead of counting each reconciliation
+        for (ExceptionStatsRepository.StatCount stat : statsRepository.findByOrganizationId(org.getId())) {
+            int count = (int) stat.count();
+            if (stat.status() == ExceptionStatus.OPEN) {
+                openExceptions += count;
+            } else if (stat.status() == ExceptionStatus.RESOLVED) {
+                resolvedExceptions += count;
+            }
+            exceptionsByType.merge(stat.type().name(), count, Integer::sum);
+            exceptionsBySeverity.merge(stat.severity().name(), count, Integer::sum);
         }
 
         int totalFilesUploaded = fileRepository.findByOrganizationId(org.getId()).size();
@@ -114,4 +229,6 @@ public class DashboardService {
                 .exceptionsBySeverity(exceptionsBySeverity)
                 .build();
     }
+
+    private record MetricsSnapshot(DashboardMetricsResponse metrics, long computedAtNanos) {}
 }
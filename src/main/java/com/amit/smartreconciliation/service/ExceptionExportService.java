@@ -0,0 +1,211 @@
+package com.amit.smartreconciliation.service;
+
+import com.amit.smartreconciliation.entity.Reconciliation;
+import com.amit.smartreconciliation.enums.ExportFormat;
+import com.amit.smartreconciliation.exception.ResourceNotFoundException;
+import com.amit.smartreconciliation.repository.ReconciliationExceptionExportReader;
+import com.amit.smartreconciliation.repository.ReconciliationRepository;
+import com.amit.smartreconciliation.security.SecurityUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static com.amit.smartreconciliation.repository.ReconciliationExceptionExportReader.COLUMNS;
+import static com.amit.smartreconciliation.repository.ReconciliationExceptionExportReader.FIELD_DIFFS;
+import static com.amit.smartreconciliation.repository.ReconciliationExceptionExportReader.SOURCE_DATA;
+import static com.amit.smartreconciliation.repository.ReconciliationExceptionExportReader.TARGET_DATA;
+
+/**
+ * Writes every exception of a reconciliation to an output stream as CSV, NDJSON or XLSX. Rows
+ * come from a database cursor and are written as they arrive, so memory use does not grow with
+ * the size of the run. CSV and NDJSON can be gzipped on the fly; XLSX is already compressed and
+ * is produced with POI's streaming writer, which keeps only a window of rows in memory.
+ */
+@Service
+public class ExceptionExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExceptionExportService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Rows the XLSX writer keeps in memory before flushing them to its temp file
+    private static final int XLSX_ROW_WINDOW = 200;
+    private static final int XLSX_MAX_DATA_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows() - 1;
+    private static final int XLSX_MAX_CELL_LENGTH = SpreadsheetVersion.EXCEL2007.getMaxTextLength();
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader(COLUMNS.toArray(String[]::new))
+            .build();
+
+    private final ReconciliationExceptionExportReader exportReader;
+    private final ReconciliationRepository reconciliationRepository;
+    private final ObjectMapper objectMapper;
+
+    public ExceptionExportService(ReconciliationExceptionExportReader exportReader,
+                                  ReconciliationRepository reconciliationRepository,
+                                  ObjectMapper objectMapper) {
+        this.exportReader = exportReader;
+        this.reconciliationRepository = reconciliationRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Checks that the reconciliation exists and belongs to the caller's organization, and returns
+     * the file name to offer the download under. Call before anything is written, so a refusal
+     * still produces a normal error response.
+     */
+    public String prepare(Long reconciliationId, ExportFormat format, boolean gzip) {
+        Reconciliation reconciliation = reconciliationRepository.findById(reconciliationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reconciliation", reconciliationId));
+        Long currentOrgId = getCurrentOrgIdOrNull();
+        if (currentOrgId != null && reconciliation.getOrganization() != null
+                && !currentOrgId.equals(reconciliation.getOrganization().getId())) {
+            throw new AccessDeniedException("You do not have access to this reconciliation.");
+        }
+        String filename = "reconciliation-" + reconciliationId + "-exceptions." + format.getExtension();
+        return isGzipped(format, gzip) ? filename + ".gz" : filename;
+    }
+
+    public boolean isGzipped(ExportFormat format, boolean gzip) {
+        return gzip && format != ExportFormat.XLSX;
+    }
+
+    /**
+     * Streams the export to {@code out} and returns the number of exceptions written. The stream
+     * is flushed but not closed.
+     */
+    public long export(Long reconciliationId, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        long rows;
+        if (isGzipped(format, gzip)) {
+            GZIPOutputStream gzipOut = new GZIPOutputStream(out, BUFFER_SIZE);
+            rows = write(reconciliationId, format, gzipOut);
+            gzipOut.finish();
+        } else {
+            rows = write(reconciliationId, format, out);
+        }
+        out.flush();
+        log.info("Exported {} exception(s) of reconciliation {} as {}{}",
+                rows, reconciliationId, format, isGzipped(format, gzip) ? " (gzip)" : "");
+        return rows;
+    }
+
+    private long write(Long reconciliationId, ExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> writeCsv(reconciliationId, out);
+            case NDJSON -> writeNdjson(reconciliationId, out);
+            case XLSX -> writeXlsx(reconciliationId, out);
+        };
+    }
+
+    private long writeCsv(Long reconciliationId, OutputStream out) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        CSVPrinter printer = new CSVPrinter(writer, CSV_FORMAT);
+        long rows = exportReader.read(reconciliationId, row -> printer.printRecord((Object[]) row));
+        printer.flush();
+        return rows;
+    }
+
+    private long writeNdjson(Long reconciliationId, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // One object per line, each terminated below instead of separated by a space
+        generator.setRootValueSeparator(null);
+        long rows = exportReader.read(reconciliationId, row -> {
+            generator.writeStartObject();
+            for (int i = 0; i < row.length; i++) {
+                String name = COLUMNS.get(i);
+                if (row[i] == null) {
+                    generator.writeNullField(name);
+                } else if (i == 0) {
+                    generator.writeNumberField(name, Long.parseLong(row[i]));
+                } else if (i == SOURCE_DATA || i == TARGET_DATA || i == FIELD_DIFFS) {
+                    // Already JSON as stored in the jsonb column
+                    generator.writeFieldName(name);
+                    generator.writeRawValue(row[i]);
+                } else {
+                    generator.writeStringField(name, row[i]);
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        });
+        generator.flush();
+        return rows;
+    }
+
+    private long writeXlsx(Long reconciliationId, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            XlsxSheets sheets = new XlsxSheets(workbook);
+            long rows = exportReader.read(reconciliationId, sheets::append);
+            if (rows == 0) {
+                sheets.append(null);
+            }
+            workbook.write(out);
+            return rows;
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * Appends rows to the workbook, starting a new sheet whenever one reaches Excel's row limit.
+     */
+    private static final class XlsxSheets {
+        private final SXSSFWorkbook workbook;
+        private Sheet sheet;
+        private int nextRow;
+
+        XlsxSheets(SXSSFWorkbook workbook) {
+            this.workbook = workbook;
+        }
+
+        void append(String[] values) {
+            if (sheet == null || nextRow > XLSX_MAX_DATA_ROWS) {
+                sheet = workbook.createSheet("Exceptions" + (workbook.getNumberOfSheets() == 0
+                        ? "" : " " + (workbook.getNumberOfSheets() + 1)));
+                writeRow(sheet.createRow(0), COLUMNS);
+                nextRow = 1;
+            }
+            if (values != null) {
+                writeRow(sheet.createRow(nextRow++), Arrays.asList(values));
+            }
+        }
+
+        private static void writeRow(Row row, List<String> values) {
+            for (int i = 0; i < values.size(); i++) {
+                String value = values.get(i);
+                if (value != null) {
+                    row.createCell(i).setCellValue(value.length() > XLSX_MAX_CELL_LENGTH
+                            ? value.substring(0, XLSX_MAX_CELL_LENGTH) : value);
+                }
+            }
+        }
+    }
+
+    private Long getCurrentOrgIdOrNull() {
+        try {
+            return SecurityUtils.getCurrentOrgId();
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+}
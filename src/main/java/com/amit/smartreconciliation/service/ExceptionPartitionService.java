@@ -0,0 +1,132 @@
+package com.amit.smartreconciliation.service;
+
+import com.amit.smartreconciliation.repository.ExceptionStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of {@code reconciliation_exceptions} (see V14). Partitions
+ * are created a few months ahead so new rows never land in the default partition, and, when a
+ * retention is configured, partitions older than it are dropped whole instead of deleting their
+ * rows one by one.
+ */
+@Service
+public class ExceptionPartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExceptionPartitionService.class);
+
+    static final String TABLE = "reconciliation_exceptions";
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final Pattern PARTITION_NAME = Pattern.compile(Pattern.quote(PARTITION_PREFIX) + "(\\d{6})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExceptionStatsRepository statsRepository;
+
+    @Value("${app.reconciliation.exception-partitions-ahead:3}")
+    private int monthsAhead = 3;
+
+    @Value("${app.reconciliation.exception-retention-months:0}")
+    private int retentionMonths = 0;
+
+    public ExceptionPartitionService(JdbcTemplate jdbcTemplate, ExceptionStatsRepository statsRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.statsRepository = statsRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${app.reconciliation.exception-partition-cron:0 30 2 * * *}")
+    public void maintain() {
+        try {
+            if (!isPartitioned()) {
+                log.debug("{} is not partitioned, skipping partition maintenance", TABLE);
+                return;
+            }
+            YearMonth current = YearMonth.now();
+            int created = createPartitions(current, current.plusMonths(monthsAhead));
+            int dropped = retentionMonths > 0 ? dropPartitionsBefore(current.minusMonths(retentionMonths)) : 0;
+            if (created > 0 || dropped > 0) {
+                log.info("Exception partitions: {} created, {} dropped", created, dropped);
+            }
+        } catch (DataAccessException e) {
+            log.error("Exception partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates the missing monthly partitions from {@code from} to {@code to}, both inclusive.
+     */
+    int createPartitions(YearMonth from, YearMonth to) {
+        List<String> existing = partitionNames();
+        int created = 0;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            String name = partitionName(month);
+            if (existing.contains(name)) {
+                continue;
+            }
+            LocalDate start = month.atDay(1);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + TABLE
+                    + " FOR VALUES FROM ('" + start + "') TO ('" + start.plusMonths(1) + "')");
+            created++;
+        }
+        return created;
+    }
+
+    /**
+     * Drops every monthly partition that ends on or before the start of {@code cutoff}. The
+     * default partition is never dropped.
+     */
+    int dropPartitionsBefore(YearMonth cutoff) {
+        int dropped = 0;
+        for (String name : partitionNames()) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (matcher.matches() && YearMonth.parse(matcher.group(1), SUFFIX).isBefore(cutoff)) {
+                List<Long> affected = jdbcTemplate.queryForList(
+                        "SELECT DISTINCT reconciliation_id FROM " + name, Long.class);
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+                // The rows left without going through the maintained paths, so recount their runs
+                affected.forEach(statsRepository::rebuild);
+                log.info("Dropped exception partition {} ({} reconciliation(s) recounted)", name, affected.size());
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(SUFFIX);
+    }
+
+    private boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid"
+                        + " WHERE c.relname = ? AND pg_table_is_visible(c.oid)", Integer.class, TABLE);
+        return count != null && count > 0;
+    }
+
+    private List<String> partitionNames() {
+        return jdbcTemplate.queryForList(
+                "SELECT child.relname FROM pg_inherits i"
+                        + " JOIN pg_class parent ON parent.oid = i.inhparent"
+                        + " JOIN pg_class child ON child.oid = i.inhrelid"
+                        + " WHERE parent.relname = ? AND pg_table_is_visible(parent.oid)", String.class, TABLE);
+    }
+}
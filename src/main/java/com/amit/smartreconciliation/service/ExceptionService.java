@@ -4,22 +4,34 @@ import com.amit.smartreconciliation.dto.request.AutoResolveExceptionsRequest;
 import com.amit.smartreconciliation.dto.request.BulkExceptionRequest;
 import com.amit.smartreconciliation.dto.request.ExceptionUpdateRequest;
 import com.amit.smartreconciliation.dto.response.AutoResolveExceptionsResponse;
+import com.amit.smartreconciliation.dto.response.CursorPage;
 import com.amit.smartreconciliation.dto.response.ExceptionRunSummaryResponse;
 import com.amit.smartreconciliation.dto.response.ReconciliationExceptionResponse;
 import com.amit.smartreconciliation.entity.ReconciliationException;
 import com.amit.smartreconciliation.enums.ExceptionSeverity;
 import com.amit.smartreconciliation.enums.ExceptionStatus;
 import com.amit.smartreconciliation.enums.ExceptionType;
+import com.amit.smartreconciliation.enums.RecordSide;
 import com.amit.smartreconciliation.enums.UserRole;
+import com.amit.smartreconciliation.event.ExceptionsTransitionedEvent;
+import com.amit.smartreconciliation.exception.InvalidCursorException;
 import com.amit.smartreconciliation.exception.ResourceNotFoundException;
+import com.amit.smartreconciliation.repository.ExceptionStatsRepository;
 import com.amit.smartreconciliation.repository.ReconciliationExceptionRepository;
 import com.amit.smartreconciliation.repository.ReconciliationExceptionSpec;
+import com.amit.smartreconciliation.repository.ReconciliationExceptionTransitionWriter;
+import com.amit.smartreconciliation.repository.ReconciliationRepository;
+import com.amit.smartreconciliation.repository.ReconciliationRowStore;
+import com.amit.smartreconciliation.repository.TrendRollupRepository;
 import com.amit.smartreconciliation.security.SecurityUtils;
 import com.amit.smartreconciliation.security.CustomUserDetails;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
@@ -29,10 +41,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,16 +56,71 @@ public class ExceptionService {
 
     private static final Logger log = LoggerFactory.getLogger(ExceptionService.class);
 
+    static final int MAX_SCROLL_SIZE = 500;
+    // Distinct organization/filter combinations kept before the run summary cache is emptied
+    private static final int MAX_CACHED_RUN_SUMMARIES = 512;
+
     private final ReconciliationExceptionRepository exceptionRepository;
+    private final ReconciliationRepository reconciliationRepository;
     private final AiService aiService;
     private final ExceptionPermissionService permissionService;
+    private final ReconciliationExceptionTransitionWriter transitionWriter;
+    private final ExceptionStatsRepository statsRepository;
+    private final TrendRollupRepository trendRepository;
+    private final ReconciliationRowStore rowStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<RunSummaryKey, CachedRunSummaries> runSummaryCache = new ConcurrentHashMap<>();
+
+    @Value("${app.reconciliation.run-summary-cache-seconds:30}")
+    private long runSummaryCacheSeconds = 30;
 
     public ExceptionService(ReconciliationExceptionRepository exceptionRepository,
+                            ReconciliationRepository reconciliationRepository,
                             AiService aiService,
-                            ExceptionPermissionService permissionService) {
+                            ExceptionPermissionService permissionService,
+                            ReconciliationExceptionTransitionWriter transitionWriter,
+                            ExceptionStatsRepository statsRepository,
+                            TrendRollupRepository trendRepository,
+                            ReconciliationRowStore rowStore,
+                            ApplicationEventPublisher eventPublisher) {
         this.exceptionRepository = exceptionRepository;
+        this.reconciliationRepository = reconciliationRepository;
         this.aiService = aiService;
         this.permissionService = permissionService;
+        this.transitionWriter = transitionWriter;
+        this.statsRepository = statsRepository;
+        this.trendRepository = trendRepository;
+        this.rowStore = rowStore;
+        this.eventPublisher = eventPublisher;
+    }
+
+    private Page<ReconciliationExceptionResponse> toResponsePage(Page<ReconciliationException> page) {
+        Map<ReconciliationRowStore.RowRef, Map<String, Object>> rows = rowStore.findRows(page.getContent());
+        return page.map(exception -> toResponse(exception, rows));
+    }
+
+    /**
+     * Maps exceptions to responses, resolving the rows they reference in the row store with one
+     * lookup for the whole list.
+     */
+    private List<ReconciliationExceptionResponse> toResponses(List<ReconciliationException> exceptions) {
+        Map<ReconciliationRowStore.RowRef, Map<String, Object>> rows = rowStore.findRows(exceptions);
+        return exceptions.stream()
+                .map(exception -> toResponse(exception, rows))
+                .collect(Collectors.toList());
+    }
+
+    private static ReconciliationExceptionResponse toResponse(
+            ReconciliationException exception, Map<ReconciliationRowStore.RowRef, Map<String, Object>> rows) {
+        Long reconciliationId = exception.getReconciliation() != null ? exception.getReconciliation().getId() : null;
+        return ReconciliationExceptionResponse.fromEntity(exception,
+                rowOf(rows, reconciliationId, RecordSide.SOURCE, exception.getSourceRow()),
+                rowOf(rows, reconciliationId, RecordSide.TARGET, exception.getTargetRow()));
+    }
+
+    private static Map<String, Object> rowOf(Map<ReconciliationRowStore.RowRef, Map<String, Object>> rows,
+                                             Long reconciliationId, RecordSide side, Integer ordinal) {
+        return ordinal != null ? rows.get(new ReconciliationRowStore.RowRef(reconciliationId, side, ordinal)) : null;
     }
 
     private UserRole getCurrentUserRole() {
@@ -89,8 +160,7 @@ public class ExceptionService {
             ExceptionStatus status,
             Pageable pageable) {
 
-        return exceptionRepository.findByFilters(reconciliationId, type, severity, status, pageable)
-                .map(ReconciliationExceptionResponse::fromEntity);
+        return toResponsePage(exceptionRepository.findByFilters(reconciliationId, type, severity, status, pageable));
     }
 
     public Page<ReconciliationExceptionResponse> getByReconciliationId(
@@ -104,8 +174,7 @@ public class ExceptionService {
 
         Specification<ReconciliationException> spec = buildSpec(
                 reconciliationId, type, severity, status, fromDate, toDate);
-        return exceptionRepository.findAll(spec, pageable)
-                .map(ReconciliationExceptionResponse::fromEntity);
+        return toResponsePage(exceptionRepository.findAll(spec, pageable));
     }
 
     public Page<ReconciliationExceptionResponse> getAll(
@@ -116,8 +185,7 @@ public class ExceptionService {
 
         Specification<ReconciliationException> spec = buildSpec(
                 null, type, severity, status, null, null);
-        return exceptionRepository.findAll(spec, pageable)
-                .map(ReconciliationExceptionResponse::fromEntity);
+        return toResponsePage(exceptionRepository.findAll(spec, pageable));
     }
 
     public Page<ReconciliationExceptionResponse> getAll(
@@ -130,19 +198,91 @@ public class ExceptionService {
 
         Specification<ReconciliationException> spec = buildSpec(
                 null, type, severity, status, fromDate, toDate);
-        return exceptionRepository.findAll(spec, pageable)
-                .map(ReconciliationExceptionResponse::fromEntity);
+        return toResponsePage(exceptionRepository.findAll(spec, pageable));
+    }
+
+    /**
+     * Keyset-paginated listing: each page continues after the {@code (sortKey, id)} of the last
+     * row of the previous one, so no page costs more than the one before it and no count query
+     * runs unless {@code includeTotal} is set. Sorting is limited to {@code createdAt} and
+     * {@code id}, the keys the exception indexes are ordered by.
+     */
+    public CursorPage<ReconciliationExceptionResponse> scroll(
+            Long reconciliationId,
+            ExceptionType type,
+            ExceptionSeverity severity,
+            ExceptionStatus status,
+            LocalDate fromDate,
+            LocalDate toDate,
+            String sortBy,
+            String sortDir,
+            String cursor,
+            int size,
+            boolean includeTotal) {
+
+        boolean byId = "id".equals(sortBy);
+        if (!byId && !"createdAt".equals(sortBy)) {
+            throw new InvalidCursorException("Cursor pagination can only sort by createdAt or id, not " + sortBy);
+        }
+        Sort.Direction direction = "asc".equalsIgnoreCase(sortDir) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        String order = sortBy + "," + direction.name().toLowerCase();
+        KeysetCursor after = KeysetCursor.decode(cursor, order);
+        int limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        Sort sort = byId ? Sort.by(direction, "id") : Sort.by(direction, "createdAt", "id");
+
+        Specification<ReconciliationException> filters = buildSpec(
+                reconciliationId, type, severity, status, fromDate, toDate);
+        Specification<ReconciliationException> spec = after == null ? filters
+                : filters.and(ReconciliationExceptionSpec.withKeysetAfter(
+                        byId ? null : after.getSortKey(), after.getId(), direction.isAscending()));
+        // One extra row tells whether another page follows
+        List<ReconciliationException> rows = exceptionRepository.findBy(spec,
+                query -> query.sortBy(sort).limit(limit + 1).all());
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            ReconciliationException last = rows.get(limit - 1);
+            nextCursor = KeysetCursor.of(order, byId ? null : last.getCreatedAt(), last.getId()).encode();
+        }
+        Long estimatedTotal = includeTotal
+                ? estimateTotal(reconciliationId, type == null && severity == null && status == null
+                        && fromDate == null && toDate == null, filters)
+                : null;
+        return new CursorPage<>(toResponses(rows), limit, nextCursor, estimatedTotal);
+    }
+
+    /**
+     * An unfiltered listing of one run is sized from the exception count stored on the run,
+     * which is what it was when the run completed; anything else is counted.
+     */
+    private Long estimateTotal(Long reconciliationId, boolean unfiltered,
+                               Specification<ReconciliationException> filters) {
+        if (reconciliationId != null && unfiltered) {
+            Long currentOrgId = getCurrentOrgIdOrNull();
+            Integer stored = reconciliationRepository.findById(reconciliationId)
+                    .filter(r -> currentOrgId == null || r.getOrganization() == null
+                            || currentOrgId.equals(r.getOrganization().getId()))
+                    .map(r -> r.getExceptionCount())
+                    .orElse(null);
+            if (stored != null) {
+                return stored.longValue();
+            }
+        }
+        return exceptionRepository.count(filters);
     }
 
     public List<ReconciliationExceptionResponse> getAllByReconciliationId(Long reconciliationId) {
         Specification<ReconciliationException> spec = buildSpec(
                 reconciliationId, null, null, null, null, null);
-        return exceptionRepository.findAll(spec)
-                .stream()
-                .map(ReconciliationExceptionResponse::fromEntity)
-                .collect(Collectors.toList());
+        return toResponses(exceptionRepository.findAll(spec));
     }
 
+    /**
+     * Per-reconciliation exception counts, computed by one aggregate query. Results are kept for
+     * {@code app.reconciliation.run-summary-cache-seconds} per organization and filter (0 disables
+     * the cache) and dropped whenever this service changes an exception's status.
+     */
     public List<ExceptionRunSummaryResponse> getRunSummaries(
             ExceptionType type,
             ExceptionSeverity severity,
@@ -150,45 +290,51 @@ public class ExceptionService {
             LocalDate fromDate,
             LocalDate toDate) {
 
-        Specification<ReconciliationException> spec = buildSpec(
-                null, type, severity, status, fromDate, toDate);
-        List<ReconciliationException> exceptions = exceptionRepository.findAll(spec);
+        Long currentOrgId = getCurrentOrgIdOrNull();
+        RunSummaryKey key = new RunSummaryKey(currentOrgId, type, severity, status, fromDate, toDate);
+        long now = System.nanoTime();
+        CachedRunSummaries cached = runSummaryCache.get(key);
+        if (cached != null && now - cached.expiresAt() < 0) {
+            return cached.summaries();
+        }
 
-        return exceptions.stream()
-                .collect(Collectors.groupingBy(e -> e.getReconciliation().getId()))
-                .entrySet().stream()
-                .map(entry -> {
-                    List<ReconciliationException> group = entry.getValue();
-                    ReconciliationException first = group.get(0);
-                    ExceptionRunSummaryResponse response = new ExceptionRunSummaryResponse();
-                    response.setReconciliationId(first.getReconciliation().getId());
-                    response.setReconciliationName(first.getReconciliation().getName());
-                    response.setDomain(first.getReconciliation().getDomain());
-                    response.setCreatedAt(first.getReconciliation().getCreatedAt());
-                    response.setOpenCount(group.stream()
-                            .filter(e -> e.getStatus() == ExceptionStatus.OPEN).count());
-                    response.setInReviewCount(group.stream()
-                            .filter(e -> e.getStatus() == ExceptionStatus.IN_REVIEW).count());
-                    response.setCriticalOpenCount(group.stream()
-                            .filter(e -> e.getStatus() == ExceptionStatus.OPEN
-                                    && e.getSeverity() == ExceptionSeverity.CRITICAL).count());
-                    response.setAiActionableCount(group.stream()
-                            .filter(e -> e.getStatus() == ExceptionStatus.OPEN
-                                    && e.getAiSuggestion() != null
-                                    && !e.getAiSuggestion().isBlank()).count());
-                    response.setTotalInScope((long) group.size());
-                    return response;
-                })
-                .sorted(Comparator.comparing(ExceptionRunSummaryResponse::getCreatedAt,
-                        Comparator.nullsLast(Comparator.reverseOrder())))
-                .collect(Collectors.toList());
+        List<ExceptionRunSummaryResponse> summaries = List.copyOf(exceptionRepository.summarizeByReconciliation(
+                currentOrgId, type, severity, status, toStartOfDay(fromDate), toEndExclusive(toDate)));
+        if (runSummaryCacheSeconds > 0) {
+            if (runSummaryCache.size() >= MAX_CACHED_RUN_SUMMARIES) {
+                runSummaryCache.clear();
+            }
+            runSummaryCache.put(key, new CachedRunSummaries(
+                    summaries, now + TimeUnit.SECONDS.toNanos(runSummaryCacheSeconds)));
+        }
+        return summaries;
     }
 
+    private record RunSummaryKey(Long organizationId, ExceptionType type, ExceptionSeverity severity,
+                                 ExceptionStatus status, LocalDate fromDate, LocalDate toDate) {}
+
+    private record CachedRunSummaries(List<ExceptionRunSummaryResponse> summaries, long expiresAt) {}
+
     public ReconciliationExceptionResponse getById(Long id) {
         ReconciliationException exception = exceptionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("ReconciliationException", id));
         assertCurrentOrgAccess(exception);
-        return ReconciliationExceptionResponse.fromEntity(exception);
+        return toResponses(List.of(exception)).get(0);
+    }
+
+    /**
+     * Returns the exception as one response per differing field, the shape exceptions had before
+     * pair-level exceptions; it is derived from the stored field diffs when read.
+     */
+    public List<ReconciliationExceptionResponse> getFieldView(Long id) {
+        ReconciliationException exception = exceptionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ReconciliationException", id));
+        assertCurrentOrgAccess(exception);
+        Map<ReconciliationRowStore.RowRef, Map<String, Object>> rows = rowStore.findRows(List.of(exception));
+        Long reconciliationId = exception.getReconciliation() != null ? exception.getReconciliation().getId() : null;
+        return ReconciliationExceptionResponse.fieldView(exception,
+                rowOf(rows, reconciliationId, RecordSide.SOURCE, exception.getSourceRow()),
+                rowOf(rows, reconciliationId, RecordSide.TARGET, exception.getTargetRow()));
     }
 
     @Transactional
@@ -203,6 +349,8 @@ public class ExceptionService {
                     "You do not have permission to action this exception type: " + exception.getType());
         }
 
+        ExceptionStatus previousStatus = exception.getStatus();
+        LocalDateTime previousResolvedAt = previousStatus == ExceptionStatus.RESOLVED ? exception.getResolvedAt() : null;
         if (request.getStatus() != null) {
             if (exception.getStatus() == ExceptionStatus.RESOLVED
                     && request.getStatus() != ExceptionStatus.RESOLVED) {
@@ -229,109 +377,127 @@ public class ExceptionService {
         }
 
         ReconciliationException saved = exceptionRepository.save(exception);
+        if (saved.getReconciliation() != null && previousStatus != saved.getStatus()) {
+            statsRepository.move(saved.getReconciliation().getId(), saved.getType(), saved.getSeverity(),
+                    previousStatus, saved.getStatus());
+        }
+        if (saved.getReconciliation() != null) {
+            trendRepository.moveResolution(saved.getReconciliation().getId(), saved.getCreatedAt(), previousResolvedAt,
+                    saved.getStatus() == ExceptionStatus.RESOLVED ? saved.getResolvedAt() : null);
+        }
+        if (previousStatus != saved.getStatus()) {
+            eventPublisher.publishEvent(new ExceptionsTransitionedEvent(getCurrentOrgIdOrNull(), saved.getStatus(), 1));
+        }
+        runSummaryCache.clear();
         log.info("Updated exception: {} (status: {})", id, saved.getStatus());
-        return ReconciliationExceptionResponse.fromEntity(saved);
+        return toResponses(List.of(saved)).get(0);
     }
 
+    /**
+     * Moves the listed exceptions to the requested status with set-based UPDATEs. Organization and
+     * type permission checks are answered by the database, and only the updated rows are read
+     * back for the response.
+     */
     @Transactional
     public List<ReconciliationExceptionResponse> bulkUpdate(BulkExceptionRequest request) {
         List<Long> ids = request.getExceptionIds();
-        List<ReconciliationException> exceptions = exceptionRepository.findAllById(ids);
-        if (exceptions.size() != ids.size()) {
+        Long currentOrgId = getCurrentOrgIdOrNull();
+        if (currentOrgId != null && transitionWriter.countOutsideOrganization(ids, currentOrgId) > 0) {
+            throw new AccessDeniedException("You do not have access to this exception.");
+        }
+        UserRole role = getCurrentUserRole();
+        for (ExceptionType type : transitionWriter.findTypes(ids)) {
+            if (!permissionService.canAction(role, type)) {
+                throw new AccessDeniedException("You do not have permission to action exception type: " + type);
+            }
+        }
+
+        List<Long> updatedIds = transitionWriter.updateStatus(
+                ids, request.getStatus(), request.getResolution(), request.getResolvedBy());
+        runSummaryCache.clear();
+        if (updatedIds.size() != ids.size()) {
             // log missing IDs (existing behavior)
-            List<Long> foundIds = exceptions.stream().map(ReconciliationException::getId).toList();
+            Set<Long> found = new HashSet<>(updatedIds);
             ids.stream()
-                    .filter(id -> !foundIds.contains(id))
+                    .filter(id -> !found.contains(id))
                     .forEach(missingId -> log.error("Bulk update failed for missing exception: {}", missingId));
         }
 
-        UserRole role = getCurrentUserRole();
-        for (ReconciliationException exception : exceptions) {
-            assertCurrentOrgAccess(exception);
-            if (!permissionService.canAction(role, exception.getType())) {
-                throw new AccessDeniedException(
-                        "You do not have permission to action exception type: " + exception.getType());
-            }
-            exception.setStatus(request.getStatus());
-            if (request.getStatus() == ExceptionStatus.RESOLVED) {
-                exception.setResolvedAt(LocalDateTime.now());
-            } else if (request.getStatus() == ExceptionStatus.ACKNOWLEDGED) {
-                exception.setAcknowledgedAt(LocalDateTime.now());
-            } else if (request.getStatus() == ExceptionStatus.IN_REVIEW) {
-                exception.setReviewedAt(LocalDateTime.now());
-            } else if (request.getStatus() == ExceptionStatus.IGNORED) {
-                exception.setIgnoredAt(LocalDateTime.now());
-            }
-            if (request.getResolution() != null) {
-                exception.setResolution(request.getResolution());
-            }
-            if (request.getResolvedBy() != null) {
-                exception.setResolvedBy(request.getResolvedBy());
-            }
+        log.info("Bulk updated {} exceptions to status: {}", updatedIds.size(), request.getStatus());
+        if (!updatedIds.isEmpty()) {
+            eventPublisher.publishEvent(new ExceptionsTransitionedEvent(
+                    currentOrgId, request.getStatus(), updatedIds.size()));
         }
-
-        List<ReconciliationException> saved = exceptionRepository.saveAll(exceptions);
-        log.info("Bulk updated {} exceptions to status: {}", saved.size(), request.getStatus());
-        return saved.stream()
-                .map(ReconciliationExceptionResponse::fromEntity)
-                .collect(Collectors.toList());
+        return toResponses(exceptionRepository.findAllById(updatedIds));
     }
 
-    @Transactional
+    /**
+     * Resolves every open exception matching the request that carries an AI suggestion. Counts
+     * come from one aggregate query and the update runs as chunked set-based statements, so no
+     * exception is loaded into memory. Not transactional itself: each chunk commits on its own.
+     */
     public AutoResolveExceptionsResponse bulkAutoResolve(AutoResolveExceptionsRequest request) {
-        Specification<ReconciliationException> spec = buildSpec(
+        ReconciliationExceptionTransitionWriter.Filter filter = new ReconciliationExceptionTransitionWriter.Filter(
+                getCurrentOrgIdOrNull(),
                 request.getReconciliationId(),
                 request.getType(),
                 request.getSeverity(),
                 request.getStatus(),
-                request.getFromDate(),
-                request.getToDate());
-        List<ReconciliationException> exceptions = exceptionRepository.findAll(spec);
-
-        List<ReconciliationException> candidates = exceptions.stream()
-                .filter(e -> e.getStatus() == ExceptionStatus.OPEN)
-                .filter(e -> e.getAiSuggestion() != null && !e.getAiSuggestion().isBlank())
-                .collect(Collectors.toList());
-
-        Map<String, Long> skippedReasonCounts = new HashMap<>();
-        skippedReasonCounts.put("not_open", exceptions.stream().filter(e -> e.getStatus() != ExceptionStatus.OPEN).count());
-        skippedReasonCounts.put("missing_ai_suggestion", exceptions.stream()
-                .filter(e -> e.getStatus() == ExceptionStatus.OPEN)
-                .filter(e -> e.getAiSuggestion() == null || e.getAiSuggestion().isBlank())
-                .count());
+                toStartOfDay(request.getFromDate()),
+                toEndExclusive(request.getToDate()));
+        List<ReconciliationExceptionTransitionWriter.AutoResolveTally> tallies = transitionWriter.tallyAutoResolve(filter);
 
         UserRole role = getCurrentUserRole();
-        for (ReconciliationException exception : candidates) {
-            if (!permissionService.canAction(role, exception.getType())) {
+        Set<ExceptionType> allowedTypes = actionableTypes(role);
+        long matched = 0;
+        long notOpen = 0;
+        long missingSuggestion = 0;
+        for (ReconciliationExceptionTransitionWriter.AutoResolveTally tally : tallies) {
+            if (tally.getResolvable() > 0 && !allowedTypes.contains(tally.getType())) {
                 throw new AccessDeniedException(
-                        "You do not have permission to action exception type: " + exception.getType());
+                        "You do not have permission to action exception type: " + tally.getType());
             }
+            matched += tally.getTotal();
+            notOpen += tally.getNotOpen();
+            missingSuggestion += tally.getMissingAiSuggestion();
         }
 
+        Map<String, Long> skippedReasonCounts = new HashMap<>();
+        skippedReasonCounts.put("not_open", notOpen);
+        skippedReasonCounts.put("missing_ai_suggestion", missingSuggestion);
+
         String resolutionTemplate = request.getResolutionTemplate() != null
                 ? request.getResolutionTemplate()
                 : "Resolved automatically from AI suggestion";
         String resolvedBy = request.getResolvedBy() != null
                 ? request.getResolvedBy()
                 : "AI Auto Resolver";
-        LocalDateTime now = LocalDateTime.now();
 
-        for (ReconciliationException exception : candidates) {
-            exception.setStatus(ExceptionStatus.RESOLVED);
-            exception.setResolution(resolutionTemplate);
-            exception.setResolvedBy(resolvedBy);
-            exception.setResolvedAt(now);
+        List<Long> updatedIds = transitionWriter.autoResolve(filter, allowedTypes, resolutionTemplate, resolvedBy);
+        runSummaryCache.clear();
+        log.info("Auto-resolved {} of {} matching exception(s)", updatedIds.size(), matched);
+        if (!updatedIds.isEmpty()) {
+            eventPublisher.publishEvent(new ExceptionsTransitionedEvent(
+                    filter.getOrganizationId(), ExceptionStatus.RESOLVED, updatedIds.size()));
         }
-
-        List<ReconciliationException> saved = exceptionRepository.saveAll(candidates);
         AutoResolveExceptionsResponse response = new AutoResolveExceptionsResponse();
-        response.setUpdatedCount(saved.size());
-        response.setSkippedCount(Math.max(0, exceptions.size() - saved.size()));
-        response.setUpdatedIds(saved.stream().map(ReconciliationException::getId).toList());
+        response.setUpdatedCount(updatedIds.size());
+        response.setSkippedCount(Math.toIntExact(Math.max(0, matched - updatedIds.size())));
+        response.setUpdatedIds(updatedIds);
         response.setSkippedReasonCounts(skippedReasonCounts);
         return response;
     }
 
+    private Set<ExceptionType> actionableTypes(UserRole role) {
+        Set<ExceptionType> types = EnumSet.noneOf(ExceptionType.class);
+        for (ExceptionType type : ExceptionType.values()) {
+            if (permissionService.canAction(role, type)) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+
     public String getSuggestion(Long id) {
         ReconciliationException exception = exceptionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("ReconciliationException", id));
@@ -357,15 +523,14 @@ public class ExceptionService {
     }
 
     public long countByStatus(Long reconciliationId, ExceptionStatus status) {
-        return exceptionRepository.countByReconciliationIdAndStatus(reconciliationId, status);
+        return countByStatus(reconciliationId).get(status);
     }
 
-    public java.util.Map<ExceptionStatus, Long> countByStatus(Long reconciliationId) {
-        java.util.EnumMap<ExceptionStatus, Long> counts = new java.util.EnumMap<>(ExceptionStatus.class);
-        for (ExceptionStatus status : ExceptionStatus.values()) {
-            counts.put(status, exceptionRepository.countByReconciliationIdAndStatus(reconciliationId, status));
-        }
-        return counts;
+    /**
+     * Exception counts per status, read from the {@code exception_stats} rollup.
+     */
+    public Map<ExceptionStatus, Long> countByStatus(Long reconciliationId) {
+        return statsRepository.countByStatus(reconciliationId);
     }
 
     public ExceptionSeverity assignSeverity(boolean isKeyField) {
@@ -0,0 +1,267 @@
+package com.amit.smartreconciliation.service;
+
+import com.amit.smartreconciliation.exception.IngestCapacityException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Ingest pipeline for uploaded files.
+ *
+ * Storing runs on a small I/O pool so the files of one request are written concurrently. Parsing
+ * and profiling run on a separate bounded pool in the background. Each organization gets a lane
+ * that lets at most {@code max-concurrent-per-org} of its files be processed at once; further
+ * files wait in the lane so one tenant's bulk drop cannot starve the others. Admission is bounded
+ * by {@code queue-capacity} pending files, beyond which uploads are rejected with 503; an upload
+ * reserves its slots before any bytes are written, so concurrent uploads cannot all pass the
+ * check and overrun the bound. The sheets
+ * of a workbook are parsed concurrently on a third pool, so a file task never waits on a slot of
+ * the pool it runs on.
+ *
+ * Queued and running work is held in memory only; files a restart cut off are submitted again
+ * by {@link FileUploadService#resumeInterruptedIngests()}.
+ *
+ * The pools are owned here rather than registered as executor beans so they do not replace the
+ * application task executor used by {@code @Async}.
+ */
+@Service
+public class FileIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(FileIngestService.class);
+
+    @Value("${app.ingest.processing-threads:4}")
+    private int processingThreads = 4;
+
+    @Value("${app.ingest.store-threads:4}")
+    private int storeThreads = 4;
+
+    @Value("${app.ingest.sheet-threads:4}")
+    private int sheetThreads = 4;
+
+    @Value("${app.ingest.queue-capacity:200}")
+    private int queueCapacity = 200;
+
+    @Value("${app.ingest.max-concurrent-per-org:2}")
+    private int maxConcurrentPerOrg = 2;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Map<Long, OrgLane> lanes = new ConcurrentHashMap<>();
+
+    private ExecutorService processingExecutor;
+    private ExecutorService storeExecutor;
+    private ExecutorService sheetExecutor;
+
+    public FileIngestService() {}
+
+    FileIngestService(int processingThreads, int storeThreads, int queueCapacity, int maxConcurrentPerOrg) {
+        this.processingThreads = processingThreads;
+        this.storeThreads = storeThreads;
+        this.queueCapacity = queueCapacity;
+        this.maxConcurrentPerOrg = maxConcurrentPerOrg;
+    }
+
+    @PostConstruct
+    public void start() {
+        processingExecutor = Executors.newFixedThreadPool(processingThreads, namedThreads("file-ingest-"));
+        storeExecutor = Executors.newFixedThreadPool(storeThreads, namedThreads("file-store-"));
+        sheetExecutor = Executors.newFixedThreadPool(sheetThreads, namedThreads("file-sheet-"));
+        log.info("File ingest pipeline started ({} processing threads, {} store threads, {} per organization)",
+                processingThreads, storeThreads, maxConcurrentPerOrg);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        storeExecutor.shutdown();
+        processingExecutor.shutdown();
+        sheetExecutor.shutdown();
+        try {
+            if (!processingExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                processingExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            processingExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reserves pending slots for an upload of {@code fileCount} files, or rejects it up front when
+     * the pipeline is saturated, before any bytes are written. Slots the upload does not submit
+     * work on are given back when the reservation is closed.
+     */
+    public Reservation reserve(int fileCount) {
+        int current;
+        do {
+            current = pending.get();
+            if (current + fileCount > queueCapacity) {
+                throw new IngestCapacityException("File ingest queue is full (" + current
+                        + " files pending). Please retry later.");
+            }
+        } while (!pending.compareAndSet(current, current + fileCount));
+        return new Reservation(fileCount);
+    }
+
+    /**
+     * Runs the store tasks concurrently and returns their results in order once all of them
+     * finished. If any task failed, its exception is rethrown after the others completed.
+     */
+    public <T> List<T> storeAll(List<Supplier<T>> tasks) {
+        return runAll(tasks, storeExecutor);
+    }
+
+    /**
+     * Runs the parse tasks of one file, one per sheet, concurrently and returns their results in
+     * order, with the same failure semantics as {@link #storeAll}.
+     */
+    public <T> List<T> parseAll(List<Supplier<T>> tasks) {
+        return runAll(tasks, sheetExecutor);
+    }
+
+    private <T> List<T> runAll(List<Supplier<T>> tasks, ExecutorService executor) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(tasks.size());
+        for (Supplier<T> task : tasks) {
+            futures.add(CompletableFuture.supplyAsync(task, executor));
+        }
+
+        List<T> results = new ArrayList<>(tasks.size());
+        RuntimeException failure = null;
+        for (CompletableFuture<T> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException re ? re : e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    /**
+     * Queues background processing of a stored file in its organization's lane.
+     */
+    public void submit(Long organizationId, Long fileId, Runnable task) {
+        pending.incrementAndGet();
+        try {
+            enqueue(organizationId, fileId, task);
+        } catch (RuntimeException e) {
+            pending.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void enqueue(Long organizationId, Long fileId, Runnable task) {
+        OrgLane lane = lanes.computeIfAbsent(organizationId != null ? organizationId : 0L, id -> new OrgLane());
+        boolean runNow;
+        synchronized (lane) {
+            runNow = lane.running < maxConcurrentPerOrg;
+            if (runNow) {
+                lane.running++;
+            } else {
+                lane.waiting.add(new QueuedTask(fileId, task));
+            }
+        }
+        if (runNow) {
+            dispatch(lane, new QueuedTask(fileId, task));
+        } else {
+            log.debug("File {} queued behind organization {} lane", fileId, organizationId);
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    private void dispatch(OrgLane lane, QueuedTask queued) {
+        processingExecutor.execute(() -> {
+            try {
+                queued.task().run();
+            } catch (RuntimeException e) {
+                log.error("Ingest of file {} failed: {}", queued.fileId(), e.getMessage(), e);
+            } finally {
+                pending.decrementAndGet();
+                QueuedTask next;
+                synchronized (lane) {
+                    next = lane.waiting.poll();
+                    if (next == null) {
+                        lane.running--;
+                    }
+                }
+                if (next != null) {
+                    dispatch(lane, next);
+                }
+            }
+        });
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Pending slots held by one upload. Each {@link #submit} moves a slot to the queued file;
+     * {@link #close} releases the slots of files that failed to store or reused a profile.
+     */
+    public final class Reservation implements AutoCloseable {
+
+        private final AtomicInteger remaining;
+
+        private Reservation(int slots) {
+            this.remaining = new AtomicInteger(slots);
+        }
+
+        public void submit(Long organizationId, Long fileId, Runnable task) {
+            if (remaining.getAndUpdate(n -> Math.max(n - 1, 0)) == 0) {
+                FileIngestService.this.submit(organizationId, fileId, task);
+                return;
+            }
+            try {
+                enqueue(organizationId, fileId, task);
+            } catch (RuntimeException e) {
+                remaining.incrementAndGet();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            int unused = remaining.getAndSet(0);
+            if (unused > 0) {
+                pending.addAndGet(-unused);
+            }
+        }
+    }
+
+    private static final class OrgLane {
+        private final Deque<QueuedTask> waiting = new ArrayDeque<>();
+        private int running;
+    }
+
+    private record QueuedTask(Long fileId, Runnable task) {}
+}
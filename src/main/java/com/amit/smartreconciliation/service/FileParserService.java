@@ -1,37 +1,67 @@
 package com.amit.smartreconciliation.service;
 
 import com.amit.smartreconciliation.exception.FileProcessingException;
+import com.github.luben.zstd.ZstdInputStream;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 @Service
 public class FileParserService {
 
     private static final Logger log = LoggerFactory.getLogger(FileParserService.class);
 
+    private static final int DECOMPRESS_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_COMPRESSION_LAYERS = 3;
+    // Small inputs may inflate far beyond the ratio bound without being a threat
+    private static final long RATIO_EXEMPT_SIZE = 64L * 1024 * 1024;
+
+    @Value("${app.file.max-decompressed-size:107374182400}")
+    private long maxDecompressedSize = 107374182400L;
+
+    @Value("${app.file.max-compression-ratio:200}")
+    private long maxCompressionRatio = 200;
+
     public ParseResult parseFile(MultipartFile file) {
         String filename = file.getOriginalFilename();
         String contentType = file.getContentType();
 
-        try {
-            if (isCSV(filename, contentType)) {
-                return parseCSV(file.getInputStream());
-            } else if (isExcel(filename, contentType)) {
-                return parseExcel(file.getInputStream());
-            } else if (isJSON(filename, contentType)) {
-                return parseJSON(file.getInputStream());
+        try (DecodedInput input = decode(file.getInputStream(), filename)) {
+            String name = input.compressed() ? input.filename() : filename;
+            if (isCSV(name, input.compressed() ? null : contentType)) {
+                return parseCSV(input.stream());
+            } else if (isExcel(name, input.compressed() ? null : contentType)) {
+                return parseExcel(input.stream(), List.of());
+            } else if (isJSON(name, input.compressed() ? null : contentType)) {
+                return parseJSON(input.stream());
             } else {
                 throw new FileProcessingException("Unsupported file type: " + contentType);
             }
@@ -41,15 +71,23 @@ public class FileParserService {
     }
 
     public ParseResult parseFile(Path filePath) {
-        String filename = filePath.getFileName().toString();
+        return parseFile(filePath, List.of());
+    }
 
-        try (InputStream is = new FileInputStream(filePath.toFile())) {
+    /**
+     * Parses a stored file. For workbooks, {@code sheetNames} selects the sheets to read; several
+     * sheets are read as one logical input, aligned to the header of the first selected sheet.
+     * An empty selection reads the first sheet. Other formats ignore the selection.
+     */
+    public ParseResult parseFile(Path filePath, List<String> sheetNames) {
+        try (DecodedInput input = open(filePath)) {
+            String filename = input.filename();
             if (filename.endsWith(".csv")) {
-                return parseCSV(is);
+                return parseCSV(input.stream());
             } else if (filename.endsWith(".xlsx") || filename.endsWith(".xls")) {
-                return parseExcel(is);
+                return parseExcel(input.stream(), sheetNames);
             } else if (filename.endsWith(".json")) {
-                return parseJSON(is);
+                return parseJSON(input.stream());
             } else {
                 throw new FileProcessingException("Unsupported file type: " + filename);
             }
@@ -58,18 +96,303 @@ public class FileParserService {
         }
     }
 
+    /**
+     * Parses a stored file row by row, handing each row to {@code handler} as soon as it is read.
+     * Unlike {@link #parseFile(Path)} nothing is accumulated, so arbitrarily large files can be
+     * profiled in constant memory. Excel workbooks are read through POI's SAX event API.
+     *
+     * @return the number of data rows delivered to the handler
+     */
+    public int streamFile(Path filePath, RowHandler handler) {
+        try (DecodedInput input = open(filePath)) {
+            String filename = input.filename();
+            InputStream is = input.stream();
+            if (filename.endsWith(".csv")) {
+                return streamCSV(is, handler);
+            } else if (filename.endsWith(".xlsx") || filename.endsWith(".xls")) {
+                return streamExcel(is, handler);
+            } else if (filename.endsWith(".json")) {
+                return parseJSON(is).getRowCount();
+            } else {
+                throw new FileProcessingException("Unsupported file type: " + filename);
+            }
+        } catch (IOException e) {
+            throw new FileProcessingException("Error parsing file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Whether the stored file is an Excel workbook, looking through any compression layers.
+     */
+    public boolean isWorkbook(Path filePath) {
+        try (DecodedInput input = open(filePath)) {
+            return input.filename().endsWith(".xlsx");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Names of the sheets of a stored workbook, in workbook order.
+     */
+    public List<String> listSheets(Path filePath) {
+        return withWorkbook(filePath, pkg -> {
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(pkg).getSheetsData();
+            List<String> names = new ArrayList<>();
+            while (sheets.hasNext()) {
+                try (InputStream ignored = sheets.next()) {
+                    names.add(sheets.getSheetName());
+                }
+            }
+            return names;
+        });
+    }
+
+    /**
+     * Streams one named sheet of a stored workbook like {@link #streamFile}. Every call opens the
+     * package on its own, so several sheets of the same workbook can be streamed concurrently.
+     *
+     * @return the number of data rows delivered to the handler
+     */
+    public int streamSheet(Path filePath, String sheetName, RowHandler handler) {
+        return withWorkbook(filePath, pkg -> streamSheet(pkg, sheetName, handler));
+    }
+
+    private <T> T withWorkbook(Path filePath, WorkbookCallback<T> callback) {
+        try (DecodedInput input = open(filePath)) {
+            if (!input.filename().endsWith(".xlsx")) {
+                throw new FileProcessingException("Not an Excel workbook: " + filePath.getFileName());
+            }
+            // Uncompressed workbooks are opened read-only from disk so POI can seek in the zip
+            // instead of buffering the whole package in memory
+            OPCPackage pkg = input.compressed()
+                    ? OPCPackage.open(input.stream())
+                    : OPCPackage.open(filePath.toFile(), PackageAccess.READ);
+            try {
+                return callback.apply(pkg);
+            } finally {
+                pkg.revert();
+            }
+        } catch (org.apache.poi.openxml4j.exceptions.NotOfficeXmlFileException e) {
+            throw new FileProcessingException("Invalid Excel file format: " + e.getMessage(), e);
+        } catch (FileProcessingException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new FileProcessingException("Error parsing Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Opens a stored file for reading, transparently decompressing gzip, zstd and zip layers.
+     */
+    DecodedInput open(Path filePath) throws IOException {
+        InputStream raw = new FileInputStream(filePath.toFile());
+        try {
+            return decode(raw, filePath.getFileName().toString());
+        } catch (IOException | RuntimeException e) {
+            raw.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a stored file positioned at byte {@code offset} of its decoded content, as reported to
+     * {@link RowHandler#onRowOffset}. Plain files are seeked to the offset; compressed files have
+     * no random access, so they are decompressed from the start and the bytes before it dropped.
+     */
+    public InputStream openAt(Path filePath, long offset) throws IOException {
+        DecodedInput input = open(filePath);
+        if (!input.compressed()) {
+            input.close();
+            FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ);
+            channel.position(offset);
+            return Channels.newInputStream(channel);
+        }
+        try {
+            byte[] discard = new byte[DECOMPRESS_BUFFER_SIZE];
+            long remaining = offset;
+            while (remaining > 0) {
+                int n = input.stream().read(discard, 0, (int) Math.min(discard.length, remaining));
+                if (n < 0) {
+                    throw new EOFException("Offset " + offset + " is past the end of " + filePath.getFileName());
+                }
+                remaining -= n;
+            }
+            return input.stream();
+        } catch (IOException | RuntimeException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Detects compression by magic bytes rather than by name and wraps the stream in the matching
+     * streaming decompressor, so nothing is inflated to disk. Nested layers (a gzipped zip, say)
+     * are unwrapped too. The returned filename has the compression suffixes stripped, or is the
+     * entry name for zip archives, so callers can pick the parser by extension as before.
+     * An XLSX workbook is itself a zip and is left as is. Decompressed output is capped in total
+     * size and in ratio to the compressed bytes consumed, so a decompression bomb fails the file
+     * instead of filling the disk through the preview spool.
+     */
+    DecodedInput decode(InputStream raw, String filename) throws IOException {
+        String name = filename != null ? filename.toLowerCase(Locale.ROOT) : "";
+        CountingInputStream source = new CountingInputStream(raw);
+        InputStream in = new BufferedInputStream(source, DECOMPRESS_BUFFER_SIZE);
+        boolean compressed = false;
+
+        for (int layer = 0; layer < MAX_COMPRESSION_LAYERS; layer++) {
+            byte[] magic = peek(in, 4);
+            if (isGzip(magic)) {
+                in = new BufferedInputStream(new GZIPInputStream(in, DECOMPRESS_BUFFER_SIZE), DECOMPRESS_BUFFER_SIZE);
+                name = stripSuffix(name, ".gz", ".gzip");
+            } else if (isZstd(magic)) {
+                in = new BufferedInputStream(new ZstdInputStream(in), DECOMPRESS_BUFFER_SIZE);
+                name = stripSuffix(name, ".zst", ".zstd");
+            } else if (isZip(magic) && !name.endsWith(".xlsx") && !name.endsWith(".xls")) {
+                ZipInputStream zip = new ZipInputStream(in);
+                ZipEntry entry = nextFileEntry(zip);
+                if (entry == null) {
+                    throw new FileProcessingException("Zip archive contains no files");
+                }
+                log.debug("Reading entry {} from zip archive {}", entry.getName(), filename);
+                String entryName = entry.getName();
+                name = entryName.substring(entryName.lastIndexOf('/') + 1).toLowerCase(Locale.ROOT);
+                in = new BufferedInputStream(zip, DECOMPRESS_BUFFER_SIZE);
+            } else {
+                break;
+            }
+            compressed = true;
+        }
+        if (compressed) {
+            in = new BufferedInputStream(
+                    new DecompressionLimit(in, source, maxDecompressedSize, maxCompressionRatio),
+                    DECOMPRESS_BUFFER_SIZE);
+        }
+        return new DecodedInput(in, name, compressed);
+    }
+
+    private static byte[] peek(InputStream in, int length) throws IOException {
+        in.mark(length);
+        byte[] magic = in.readNBytes(length);
+        in.reset();
+        return magic;
+    }
+
+    static boolean isGzip(byte[] magic) {
+        return magic.length >= 2 && (magic[0] & 0xFF) == 0x1F && (magic[1] & 0xFF) == 0x8B;
+    }
+
+    static boolean isZstd(byte[] magic) {
+        return magic.length >= 4 && (magic[0] & 0xFF) == 0x28 && (magic[1] & 0xFF) == 0xB5
+                && (magic[2] & 0xFF) == 0x2F && (magic[3] & 0xFF) == 0xFD;
+    }
+
+    static boolean isZip(byte[] magic) {
+        return magic.length >= 4 && magic[0] == 'P' && magic[1] == 'K' && magic[2] == 3 && magic[3] == 4;
+    }
+
+    private static ZipEntry nextFileEntry(ZipInputStream zip) throws IOException {
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            String entryName = entry.getName();
+            if (!entry.isDirectory() && !entryName.startsWith("__MACOSX/")
+                    && !entryName.substring(entryName.lastIndexOf('/') + 1).startsWith(".")) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private static String stripSuffix(String name, String... suffixes) {
+        for (String suffix : suffixes) {
+            if (name.endsWith(suffix)) {
+                return name.substring(0, name.length() - suffix.length());
+            }
+        }
+        return name;
+    }
+
+    private int streamCSV(InputStream inputStream, RowHandler handler) throws IOException {
+        int rowCount = 0;
+        RecordOffsetTracker tracker = new RecordOffsetTracker(inputStream);
+
+        try (Reader reader = new InputStreamReader(tracker, StandardCharsets.UTF_8);
+             CSVParser parser = csvFormat().parse(reader)) {
+
+            List<String> headers = new ArrayList<>(parser.getHeaderNames());
+            handler.onHeaders(headers);
+            tracker.nextRecordStart();
+
+            for (CSVRecord record : parser) {
+                List<Object> row = new ArrayList<>(headers.size());
+                for (String header : headers) {
+                    row.add(record.get(header));
+                }
+                handler.onRowOffset(tracker.nextRecordStart());
+                handler.onRow(row);
+                rowCount++;
+            }
+        }
+
+        return rowCount;
+    }
+
+    private int streamExcel(InputStream inputStream, RowHandler handler) {
+        try (OPCPackage pkg = OPCPackage.open(inputStream)) {
+            return streamSheet(pkg, null, handler);
+        } catch (org.apache.poi.openxml4j.exceptions.NotOfficeXmlFileException e) {
+            throw new FileProcessingException("Invalid Excel file format: " + e.getMessage(), e);
+        } catch (FileProcessingException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new FileProcessingException("Error parsing Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Streams the named sheet of an open package, or its first sheet when {@code sheetName} is null.
+     */
+    private int streamSheet(OPCPackage pkg, String sheetName, RowHandler handler) throws Exception {
+        XSSFReader reader = new XSSFReader(pkg);
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext()) {
+            try (InputStream sheet = sheets.next()) {
+                if (sheetName != null && !sheetName.equals(sheets.getSheetName())) {
+                    continue;
+                }
+                TypedValueFormatter formatter = new TypedValueFormatter();
+                StreamingSheetHandler sheetHandler = new StreamingSheetHandler(handler, formatter);
+                XMLReader xmlReader = XMLHelper.newXMLReader();
+                xmlReader.setContentHandler(new XSSFSheetXMLHandler(
+                        reader.getStylesTable(), new ReadOnlySharedStringsTable(pkg), sheetHandler,
+                        formatter, false));
+                xmlReader.parse(new InputSource(sheet));
+                sheetHandler.finish();
+                return sheetHandler.rowCount;
+            }
+        }
+        if (sheetName != null) {
+            throw new FileProcessingException("Sheet not found: " + sheetName);
+        }
+        handler.onHeaders(List.of());
+        return 0;
+    }
+
+    private CSVFormat csvFormat() {
+        return CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreEmptyLines(true)
+                .setTrim(true)
+                .build();
+    }
+
     private ParseResult parseCSV(InputStream inputStream) throws IOException {
         List<String> headers = new ArrayList<>();
         List<List<Object>> rows = new ArrayList<>();
 
         try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
-             CSVParser parser = CSVFormat.DEFAULT.builder()
-                     .setHeader()
-                     .setSkipHeaderRecord(true)
-                     .setIgnoreEmptyLines(true)
-                     .setTrim(true)
-                     .build()
-                     .parse(reader)) {
+             CSVParser parser = csvFormat().parse(reader)) {
 
             headers.addAll(parser.getHeaderNames());
 
@@ -85,32 +408,58 @@ public class FileParserService {
         return new ParseResult(headers, rows);
     }
 
-    private ParseResult parseExcel(InputStream inputStream) throws IOException {
+    private ParseResult parseExcel(InputStream inputStream, List<String> sheetNames) throws IOException {
         List<String> headers = new ArrayList<>();
         List<List<Object>> rows = new ArrayList<>();
 
         try (Workbook workbook = new XSSFWorkbook(inputStream)) {
-            Sheet sheet = workbook.getSheetAt(0);
-            Iterator<Row> rowIterator = sheet.iterator();
-
-            if (rowIterator.hasNext()) {
-                Row headerRow = rowIterator.next();
-                for (Cell cell : headerRow) {
-                    headers.add(getCellValueAsString(cell));
+            List<Sheet> sheets = new ArrayList<>();
+            if (sheetNames == null || sheetNames.isEmpty()) {
+                sheets.add(workbook.getSheetAt(0));
+            } else {
+                for (String sheetName : sheetNames) {
+                    Sheet sheet = workbook.getSheet(sheetName);
+                    if (sheet == null) {
+                        throw new FileProcessingException("Sheet not found: " + sheetName);
+                    }
+                    sheets.add(sheet);
                 }
             }
 
-            while (rowIterator.hasNext()) {
-                Row row = rowIterator.next();
-                List<Object> rowData = new ArrayList<>();
+            for (Sheet sheet : sheets) {
+                Iterator<Row> rowIterator = sheet.iterator();
+
+                List<String> sheetHeaders = new ArrayList<>();
+                if (rowIterator.hasNext()) {
+                    Row headerRow = rowIterator.next();
+                    for (Cell cell : headerRow) {
+                        sheetHeaders.add(getCellValueAsString(cell));
+                    }
+                }
+                if (headers.isEmpty()) {
+                    headers.addAll(sheetHeaders);
+                }
+
+                // Later sheets are matched to the first sheet's columns by header name
+                int[] columnIndex = new int[headers.size()];
                 for (int i = 0; i < headers.size(); i++) {
-                    Cell cell = row.getCell(i);
-                    rowData.add(getCellValue(cell));
+                    columnIndex[i] = sheetHeaders.indexOf(headers.get(i));
+                }
+
+                while (rowIterator.hasNext()) {
+                    Row row = rowIterator.next();
+                    List<Object> rowData = new ArrayList<>();
+                    for (int i = 0; i < headers.size(); i++) {
+                        Cell cell = columnIndex[i] >= 0 ? row.getCell(columnIndex[i]) : null;
+                        rowData.add(getCellValue(cell));
+                    }
+                    rows.add(rowData);
                 }
-                rows.add(rowData);
             }
         } catch (org.apache.poi.openxml4j.exceptions.NotOfficeXmlFileException e) {
             throw new FileProcessingException("Invalid Excel file format: " + e.getMessage(), e);
+        } catch (FileProcessingException e) {
+            throw e;
         } catch (Exception e) {
             throw new FileProcessingException("Error parsing Excel file: " + e.getMessage(), e);
         }
@@ -166,6 +515,313 @@ public class FileParserService {
         };
     }
 
+    /**
+     * Receives the header row and then each data row of a streamed file, in order.
+     */
+    public interface RowHandler {
+        void onHeaders(List<String> headers);
+
+        void onRow(List<Object> row);
+
+        /**
+         * Byte offset in the decoded content of the stored file at which the row passed to the
+         * next {@link #onRow} call starts; {@link #openAt} reopens the file there. Only reported
+         * for CSV, the one format that can be re-read from an offset.
+         */
+        default void onRowOffset(long offset) {}
+    }
+
+    /**
+     * Watches the bytes handed to the CSV parser and records where each record starts. It follows
+     * the parser's record rules (quoted fields may span lines, empty lines are skipped) and works
+     * on raw UTF-8 bytes, since quotes, commas and line breaks never occur inside a multi-byte
+     * character. The parser reads ahead, so start offsets are queued until their record is parsed.
+     */
+    private static final class RecordOffsetTracker extends FilterInputStream {
+        private final Deque<Long> recordStarts = new ArrayDeque<>();
+        private long position;
+        private boolean atRecordStart = true;
+        private boolean atFieldStart;
+        private boolean inQuotes;
+        private boolean quotePending;
+
+        RecordOffsetTracker(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                scan(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            int n = in.read(buffer, off, len);
+            for (int i = 0; i < n; i++) {
+                scan(buffer[off + i] & 0xFF);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            byte[] discard = new byte[(int) Math.min(n, 8192)];
+            int read = read(discard, 0, discard.length);
+            return Math.max(read, 0);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void scan(int b) {
+            position++;
+            if (atRecordStart) {
+                if (b == '\r' || b == '\n') {
+                    return;
+                }
+                recordStarts.add(position - 1);
+                atRecordStart = false;
+                atFieldStart = true;
+            }
+            if (inQuotes) {
+                if (!quotePending) {
+                    quotePending = b == '"';
+                    return;
+                }
+                quotePending = false;
+                if (b == '"') {
+                    return;
+                }
+                inQuotes = false;
+            }
+            if (atFieldStart && b == '"') {
+                inQuotes = true;
+                atFieldStart = false;
+            } else if (b == ',') {
+                atFieldStart = true;
+            } else if (b == '\r' || b == '\n') {
+                atRecordStart = true;
+            } else {
+                atFieldStart = false;
+            }
+        }
+
+        long nextRecordStart() {
+            Long start = recordStarts.poll();
+            return start != null ? start : -1;
+        }
+    }
+
+    /**
+     * Counts the bytes read from the stored (compressed) file.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            int n = in.read(buffer, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    /**
+     * Fails the read once the decompressed output passes {@code maxSize} bytes, or passes
+     * {@code maxRatio} times the compressed bytes consumed so far (outputs under
+     * {@link #RATIO_EXEMPT_SIZE} are never held to the ratio).
+     */
+    private static final class DecompressionLimit extends FilterInputStream {
+        private final CountingInputStream source;
+        private final long maxSize;
+        private final long maxRatio;
+        private long count;
+
+        DecompressionLimit(InputStream in, CountingInputStream source, long maxSize, long maxRatio) {
+            super(in);
+            this.source = source;
+            this.maxSize = maxSize;
+            this.maxRatio = maxRatio;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            int n = in.read(buffer, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void count(long n) {
+            count += n;
+            if (count > maxSize) {
+                throw new FileProcessingException(
+                        "Decompressed content exceeds the maximum of " + maxSize + " bytes");
+            }
+            if (count > RATIO_EXEMPT_SIZE && count / Math.max(source.count, 1) > maxRatio) {
+                throw new FileProcessingException(
+                        "Decompressed content exceeds " + maxRatio + " times its compressed size");
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface WorkbookCallback<T> {
+        T apply(OPCPackage pkg) throws Exception;
+    }
+
+    /**
+     * Keeps the typed value of the numeric cell POI's SAX handler is formatting, so streamed rows
+     * carry the same values as {@link #parseExcel}: a {@link java.time.LocalDateTime} for cells
+     * with a date format and a {@link Double} for other numbers, rather than display strings.
+     */
+    private static final class TypedValueFormatter extends DataFormatter {
+        private Object value;
+
+        @Override
+        public String formatRawCellContents(double raw, int formatIndex, String formatString,
+                                            boolean use1904Windowing) {
+            value = DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(raw)
+                    ? DateUtil.getLocalDateTime(raw, use1904Windowing)
+                    : (Object) raw;
+            return super.formatRawCellContents(raw, formatIndex, formatString, use1904Windowing);
+        }
+
+        /** The typed value of the cell formatted last, or null if it was not numeric. */
+        Object take() {
+            Object taken = value;
+            value = null;
+            return taken;
+        }
+    }
+
+    /**
+     * Adapts POI's cell-level SAX callbacks into whole rows. The first sheet row becomes the
+     * header; missing cells are filled with nulls so every row lines up with the headers.
+     * Numeric and date cells are passed on typed, other cells as their text.
+     */
+    private static class StreamingSheetHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final RowHandler handler;
+        private final TypedValueFormatter formatter;
+        private List<String> headers;
+        private List<Object> currentRow;
+        private int nextColumn;
+        private int rowCount;
+
+        StreamingSheetHandler(RowHandler handler, TypedValueFormatter formatter) {
+            this.handler = handler;
+            this.formatter = formatter;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentRow = new ArrayList<>(headers != null ? headers.size() : 16);
+            nextColumn = 0;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (headers == null) {
+                headers = new ArrayList<>();
+                for (Object value : currentRow) {
+                    headers.add(value != null ? value.toString() : "");
+                }
+                handler.onHeaders(headers);
+                return;
+            }
+            while (currentRow.size() < headers.size()) {
+                currentRow.add(null);
+            }
+            if (currentRow.size() > headers.size()) {
+                currentRow = new ArrayList<>(currentRow.subList(0, headers.size()));
+            }
+            handler.onRow(currentRow);
+            rowCount++;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            Object typed = formatter.take();
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            while (currentRow.size() < column) {
+                currentRow.add(null);
+            }
+            currentRow.add(typed != null && headers != null ? typed : formattedValue);
+            nextColumn = column + 1;
+        }
+
+        void finish() {
+            if (headers == null) {
+                handler.onHeaders(List.of());
+            }
+        }
+    }
+
+    /**
+     * A possibly decompressed input stream together with the name that identifies its format.
+     */
+    record DecodedInput(InputStream stream, String filename, boolean compressed) implements Closeable {
+        @Override
+        public void close() throws IOException {
+            stream.close();
+        }
+    }
+
     public record ParseResult(List<String> headers, List<List<Object>> rows) {
         public int getRowCount() {
             return rows.size();
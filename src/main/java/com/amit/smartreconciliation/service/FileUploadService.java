@@ -1,33 +1,51 @@
 package com.amit.smartreconciliation.service;
 
-import com.amit.smartreconciliation.config.FileStorageConfig;
 import com.amit.smartreconciliation.dto.response.FilePreviewResponse;
 import com.amit.smartreconciliation.dto.response.SchemaResponse;
 import com.amit.smartreconciliation.dto.response.UploadedFileResponse;
 import com.amit.smartreconciliation.entity.Organization;
 import com.amit.smartreconciliation.entity.UploadedFile;
 import com.amit.smartreconciliation.enums.FileStatus;
+import com.amit.smartreconciliation.enums.SheetMode;
+import com.amit.smartreconciliation.event.FileUploadedEvent;
 import com.amit.smartreconciliation.exception.FileProcessingException;
+import com.amit.smartreconciliation.exception.PreviewNotReadyException;
 import com.amit.smartreconciliation.exception.ResourceNotFoundException;
 import com.amit.smartreconciliation.repository.UploadedFileRepository;
 import com.amit.smartreconciliation.security.SecurityUtils;
+import com.amit.smartreconciliation.service.profiling.SchemaProfiler;
+import com.github.benmanes.caffeine.cache.Cache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,35 +53,122 @@ public class FileUploadService {
 
     private static final Logger log = LoggerFactory.getLogger(FileUploadService.class);
 
+    private static final int MAX_PREVIEW_ROWS = 1000;
+    private static final int MAX_CACHED_SCHEMAS = 1000;
+
     private final UploadedFileRepository uploadedFileRepository;
     private final OrganizationService organizationService;
-    private final FileStorageConfig fileStorageConfig;
     private final FileParserService fileParserService;
     private final SchemaDetectionService schemaDetectionService;
+    private final ContentStoreService contentStoreService;
+    private final FileIngestService fileIngestService;
+    private final RowIndexService rowIndexService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.file.max-upload-size:10737418240}")
+    private long maxUploadSize = 10L * 1024 * 1024 * 1024;
+
+    @Value("${app.cache.reference-data-ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    private final Cache<Long, CachedSchema> schemas =
+            ReferenceDataCaches.build(MAX_CACHED_SCHEMAS, () -> cacheTtlSeconds);
+
+    /** Files whose missing preview index is being rebuilt in the background. */
+    private final Set<Long> indexRebuilds = ConcurrentHashMap.newKeySet();
 
     public FileUploadService(UploadedFileRepository uploadedFileRepository,
                             OrganizationService organizationService,
-                            FileStorageConfig fileStorageConfig,
                             FileParserService fileParserService,
-                            SchemaDetectionService schemaDetectionService) {
+                            SchemaDetectionService schemaDetectionService,
+                            ContentStoreService contentStoreService,
+                            FileIngestService fileIngestService,
+                            RowIndexService rowIndexService,
+                            ApplicationEventPublisher eventPublisher) {
         this.uploadedFileRepository = uploadedFileRepository;
         this.organizationService = organizationService;
-        this.fileStorageConfig = fileStorageConfig;
         this.fileParserService = fileParserService;
         this.schemaDetectionService = schemaDetectionService;
+        this.contentStoreService = contentStoreService;
+        this.fileIngestService = fileIngestService;
+        this.rowIndexService = rowIndexService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Stores the files concurrently and returns once all of them are durable on disk; parsing
+     * and profiling continue in the background on the ingest pipeline.
+     */
+    public List<UploadedFileResponse> uploadFiles(List<MultipartFile> files) {
+        try (FileIngestService.Reservation reservation = fileIngestService.reserve(files.size())) {
+            if (files.size() == 1) {
+                return List.of(storeAndEnqueue(files.get(0), reservation));
+            }
+            List<Supplier<UploadedFileResponse>> tasks = new ArrayList<>(files.size());
+            for (MultipartFile file : files) {
+                tasks.add(() -> storeAndEnqueue(file, reservation));
+            }
+            return fileIngestService.storeAll(tasks);
+        }
     }
 
-    @Transactional
     public UploadedFileResponse uploadFile(MultipartFile file) {
+        try (FileIngestService.Reservation reservation = fileIngestService.reserve(1)) {
+            return storeAndEnqueue(file, reservation);
+        }
+    }
+
+    /**
+     * Stores a raw request body as it arrives. Unlike a multipart upload, which the servlet
+     * container first spools to its own temp file, the bytes go straight to the blob store's
+     * staging file while being hashed, so every byte is written once. The leading bytes are
+     * sniffed before anything is written to check the body against its declared name.
+     */
+    public UploadedFileResponse uploadStream(String filename, String contentType, long contentLength,
+                                             InputStream body) {
+        if (filename == null || filename.isBlank()) {
+            throw new FileProcessingException("Filename is required");
+        }
+        if (contentLength > maxUploadSize) {
+            throw new FileProcessingException("File exceeds the maximum upload size of " + maxUploadSize + " bytes");
+        }
+        try (FileIngestService.Reservation reservation = fileIngestService.reserve(1)) {
+            // A buffer no larger than the sniff keeps the size check from reading ahead of the sniff
+            InputStream in = new BufferedInputStream(
+                    new SizeLimitedInputStream(body, maxUploadSize), UploadFormatSniffer.SNIFF_LENGTH);
+            byte[] head;
+            try {
+                in.mark(UploadFormatSniffer.SNIFF_LENGTH);
+                head = in.readNBytes(UploadFormatSniffer.SNIFF_LENGTH);
+                in.reset();
+            } catch (IOException e) {
+                throw new FileProcessingException("Failed to read upload: " + e.getMessage(), e);
+            }
+            String baseName = filename.substring(Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\')) + 1);
+            String originalFilename = UploadFormatSniffer.resolveFilename(baseName, head);
+            String type = contentType == null || contentType.isBlank()
+                    || contentType.startsWith(MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                    ? UploadFormatSniffer.contentType(originalFilename)
+                    : contentType;
+            return storeAndEnqueue(originalFilename, type, Math.max(contentLength, 0), () -> in, reservation);
+        }
+    }
+
+    private UploadedFileResponse storeAndEnqueue(MultipartFile file, FileIngestService.Reservation reservation) {
+        return storeAndEnqueue(file.getOriginalFilename(), file.getContentType(), file.getSize(), file::getInputStream,
+                reservation);
+    }
+
+    private UploadedFileResponse storeAndEnqueue(String originalFilename, String contentType, long declaredSize,
+                                                 UploadBody body, FileIngestService.Reservation reservation) {
         Organization org = organizationService.getDefaultOrganization();
-        String originalFilename = file.getOriginalFilename();
         String storedFilename = UUID.randomUUID() + "_" + originalFilename;
 
         UploadedFile uploadedFile = UploadedFile.builder()
                 .originalFilename(originalFilename)
                 .storedFilename(storedFilename)
-                .contentType(file.getContentType())
-                .fileSize(file.getSize())
+                .contentType(contentType)
+                .fileSize(declaredSize)
                 .status(FileStatus.UPLOADING)
                 .organization(org)
                 .build();
@@ -71,15 +176,20 @@ public class FileUploadService {
         UploadedFile saved = uploadedFileRepository.save(uploadedFile);
 
         try {
-            Path uploadPath = Paths.get(fileStorageConfig.getUploadDir()).toAbsolutePath();
-            Path filePath = uploadPath.resolve(storedFilename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            ContentStoreService.StoredBlob blob = contentStoreService.store(body.open(), originalFilename);
 
-            saved.setFilePath(filePath.toString());
+            saved.setStoredFilename(blob.path().getFileName().toString());
+            saved.setFilePath(blob.path().toString());
+            saved.setFileSize(blob.size());
+            saved.setContentHash(blob.hash());
             saved.setStatus(FileStatus.UPLOADED);
-            saved = uploadedFileRepository.save(saved);
+            try {
+                saved = uploadedFileRepository.save(saved);
+            } finally {
+                contentStoreService.unpin(blob.path());
+            }
 
-            processFileAsync(saved.getId());
+            enqueueProcessing(saved, reservation);
 
             log.info("File uploaded successfully: {} (id: {})", originalFilename, saved.getId());
             return UploadedFileResponse.fromEntity(saved);
@@ -91,11 +201,148 @@ public class FileUploadService {
         }
     }
 
-    public boolean existsOnDisk(UploadedFile file) {
-        if (file == null || file.getFilePath() == null) {
+    /**
+     * Hands a stored file to the ingest pipeline, unless it is a duplicate whose profile can be
+     * reused right away.
+     */
+    public void enqueueProcessing(UploadedFile file) {
+        enqueueProcessing(file, null);
+    }
+
+    private void enqueueProcessing(UploadedFile file, FileIngestService.Reservation reservation) {
+        Long orgId = file.getOrganization() != null ? file.getOrganization().getId() : null;
+        eventPublisher.publishEvent(new FileUploadedEvent(file.getId(), orgId));
+        submitProcessing(file, reservation);
+    }
+
+    /**
+     * Picks up the files a shutdown left behind. Queued and running ingests only live in memory,
+     * so every stored file still {@code UPLOADED} or {@code PROCESSING} is submitted again, and
+     * uploads cut off before their bytes were stored are failed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedIngests() {
+        List<UploadedFile> interrupted = uploadedFileRepository.findByStatusInOrderByIdAsc(
+                EnumSet.of(FileStatus.UPLOADING, FileStatus.UPLOADED, FileStatus.PROCESSING));
+        for (UploadedFile file : interrupted) {
+            if (file.getStatus() == FileStatus.UPLOADING || file.getFilePath() == null) {
+                file.setStatus(FileStatus.FAILED);
+                file.setProcessingError("Upload was interrupted before the file was stored");
+                uploadedFileRepository.save(file);
+                continue;
+            }
+            log.info("Resuming ingest of file {} (status: {})", file.getId(), file.getStatus());
+            submitProcessing(file, null);
+        }
+    }
+
+    /**
+     * Queues a file on a slot of the upload's reservation, or on a fresh slot for files that were
+     * not admitted through one (chunked uploads and resumed ingests).
+     */
+    private void submitProcessing(UploadedFile file, FileIngestService.Reservation reservation) {
+        if (reuseExistingProfile(file)) {
+            return;
+        }
+        Long fileId = file.getId();
+        Long orgId = file.getOrganization() != null ? file.getOrganization().getId() : null;
+        if (reservation != null) {
+            reservation.submit(orgId, fileId, () -> processFile(fileId));
+        } else {
+            fileIngestService.submit(orgId, fileId, () -> processFile(fileId));
+        }
+    }
+
+    /**
+     * Completes a duplicate upload instantly by copying the schema, preview index and counts of an
+     * already processed file backed by the same blob. Returns false when there is none.
+     */
+    private boolean reuseExistingProfile(UploadedFile file) {
+        if (file.getContentHash() == null || file.getFilePath() == null) {
             return false;
         }
-        return Files.exists(Paths.get(file.getFilePath()));
+        return uploadedFileRepository.findByContentHashAndFilePathAndStatusAndIdNot(
+                        file.getContentHash(), file.getFilePath(), FileStatus.PROCESSED, file.getId())
+                .stream()
+                .filter(existing -> sameSheetSelection(existing.getSelectedSheets(), file.getSelectedSheets()))
+                .findFirst()
+                .map(existing -> {
+                    file.setDetectedSchema(existing.getDetectedSchema());
+                    file.setSheets(existing.getSheets());
+                    rowIndexService.copy(existing.getId(), file.getId());
+                    file.setRowCount(existing.getRowCount());
+                    file.setColumnCount(existing.getColumnCount());
+                    file.setStatus(FileStatus.PROCESSED);
+                    uploadedFileRepository.save(file);
+                    schemas.invalidate(file.getId());
+                    log.info("Reused profile of file {} for duplicate upload {} (id: {})",
+                            existing.getId(), file.getOriginalFilename(), file.getId());
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    private static boolean sameSheetSelection(List<String> a, List<String> b) {
+        return Objects.equals(a != null ? a : List.of(), b != null ? b : List.of());
+    }
+
+    /**
+     * Derives files restricted to some sheets of a processed workbook. In {@code COMBINED} mode
+     * the sheets become one file read as a single input; in {@code SEPARATE} mode each sheet
+     * becomes its own file. Derived files share the workbook's blob and are profiled in the
+     * background like fresh uploads.
+     */
+    public List<UploadedFileResponse> selectSheets(Long id, List<String> sheetNames, SheetMode mode) {
+        UploadedFile workbook = getOrgScopedFile(id);
+
+        if (workbook.getStatus() != FileStatus.PROCESSED) {
+            throw new FileProcessingException("File is not yet processed. Current status: " + workbook.getStatus());
+        }
+        if (workbook.getSheets() == null || workbook.getSheets().isEmpty()) {
+            throw new FileProcessingException("File is not an Excel workbook");
+        }
+        Set<String> known = workbook.getSheets().stream()
+                .map(sheet -> (String) sheet.get("name"))
+                .collect(Collectors.toSet());
+        for (String sheetName : sheetNames) {
+            if (!known.contains(sheetName)) {
+                throw new FileProcessingException("Sheet not found: " + sheetName);
+            }
+        }
+
+        List<List<String>> selections = mode == SheetMode.SEPARATE
+                ? sheetNames.stream().distinct().map(List::of).toList()
+                : List.of(sheetNames.stream().distinct().toList());
+        List<UploadedFileResponse> responses = new ArrayList<>(selections.size());
+        try (FileIngestService.Reservation reservation = fileIngestService.reserve(selections.size())) {
+            Path blob = Paths.get(workbook.getFilePath());
+            if (!contentStoreService.pin(blob)) {
+                throw new FileProcessingException("Stored file of workbook " + id + " is missing");
+            }
+            try {
+                for (List<String> selection : selections) {
+                    UploadedFile derived = UploadedFile.builder()
+                            .originalFilename(workbook.getOriginalFilename() + " [" + String.join(", ", selection) + "]")
+                            .storedFilename(workbook.getStoredFilename())
+                            .contentType(workbook.getContentType())
+                            .fileSize(workbook.getFileSize())
+                            .filePath(workbook.getFilePath())
+                            .contentHash(workbook.getContentHash())
+                            .status(FileStatus.UPLOADED)
+                            .organization(workbook.getOrganization())
+                            .sheets(workbook.getSheets())
+                            .selectedSheets(selection)
+                            .build();
+                    UploadedFile saved = uploadedFileRepository.save(derived);
+                    enqueueProcessing(saved, reservation);
+                    responses.add(UploadedFileResponse.fromEntity(saved));
+                }
+            } finally {
+                contentStoreService.unpin(blob);
+            }
+        }
+        log.info("Derived {} file(s) from sheets {} of workbook {}", responses.size(), sheetNames, id);
+        return responses;
     }
 
     private Long resolveCurrentOrgId() {
@@ -109,44 +356,41 @@ public class FileUploadService {
     private UploadedFile getOrgScopedFile(Long id) {
         UploadedFile file = uploadedFileRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("UploadedFile", id));
+        checkOrgAccess(file.getOrganization() != null ? file.getOrganization().getId() : null);
+        return file;
+    }
+
+    private void checkOrgAccess(Long fileOrgId) {
         Long currentOrgId = resolveCurrentOrgId();
-        Long fileOrgId = file.getOrganization() != null ? file.getOrganization().getId() : null;
         if (fileOrgId != null && !fileOrgId.equals(currentOrgId)) {
             throw new AccessDeniedException("You do not have access to this file.");
         }
-        return file;
     }
 
-    @Async
-    @Transactional
-    public void processFileAsync(Long fileId) {
+    /**
+     * Parses and profiles a stored file. Runs on the ingest pipeline; each status change is
+     * saved on its own so progress is visible while the file is being processed.
+     */
+    public void processFile(Long fileId) {
         UploadedFile file = uploadedFileRepository.findById(fileId)
                 .orElseThrow(() -> new ResourceNotFoundException("UploadedFile", fileId));
 
+        schemas.invalidate(fileId);
         try {
             file.setStatus(FileStatus.PROCESSING);
             uploadedFileRepository.save(file);
 
-            Path filePath = Paths.get(file.getFilePath());
-            FileParserService.ParseResult parseResult = fileParserService.parseFile(filePath);
+            IngestRowHandler ingest = ingest(file, Paths.get(file.getFilePath()));
+            rowIndexService.publish(fileId, ingest.index);
 
-            List<Map<String, Object>> schema = schemaDetectionService.detectSchemaAsMap(
-                    parseResult.headers(), parseResult.rows());
-
-            int previewSize = Math.min(100, parseResult.rows().size());
-            List<List<Object>> previewData = new ArrayList<>();
-            previewData.add(new ArrayList<>(parseResult.headers()));
-            previewData.addAll(parseResult.rows().subList(0, previewSize));
-
-            file.setDetectedSchema(schema);
-            file.setRowCount(parseResult.getRowCount());
-            file.setColumnCount(parseResult.getColumnCount());
-            file.setPreviewData(previewData);
+            file.setDetectedSchema(ingest.profiler != null ? ingest.profiler.toSchemaMap() : List.of());
+            file.setRowCount(ingest.rowCount);
+            file.setColumnCount(ingest.headers.size());
             file.setStatus(FileStatus.PROCESSED);
             uploadedFileRepository.save(file);
 
             log.info("File processed successfully: {} (rows: {}, columns: {})",
-                    file.getOriginalFilename(), parseResult.getRowCount(), parseResult.getColumnCount());
+                    file.getOriginalFilename(), ingest.rowCount, ingest.headers.size());
         } catch (Exception e) {
             log.error("Error processing file {}: {}", fileId, e.getMessage(), e);
             file.setStatus(FileStatus.FAILED);
@@ -155,9 +399,91 @@ public class FileUploadService {
         }
     }
 
+    /**
+     * Streams a stored file once, profiling it and building its preview row index on the way.
+     */
+    private IngestRowHandler ingest(UploadedFile file, Path filePath) {
+        if (fileParserService.isWorkbook(filePath)) {
+            return ingestWorkbook(file, filePath);
+        }
+        IngestRowHandler ingest = new IngestRowHandler(rowIndexService.newBuilder());
+        try {
+            ingest.rowCount = fileParserService.streamFile(filePath, ingest);
+        } catch (RuntimeException e) {
+            ingest.index.discard();
+            throw e;
+        }
+        return ingest;
+    }
+
+    /**
+     * Streams the sheets of a workbook concurrently, one reader per sheet. The first pass over a
+     * workbook profiles every sheet and records per-sheet summaries; files restricted to some
+     * sheets only read those. The file's own schema and preview come from its selected sheets,
+     * merged into one input, or from the first sheet when nothing is selected.
+     */
+    private IngestRowHandler ingestWorkbook(UploadedFile file, Path filePath) {
+        List<String> sheetNames = fileParserService.listSheets(filePath);
+        List<String> selected = file.getSelectedSheets() != null ? file.getSelectedSheets() : List.of();
+        for (String sheetName : selected) {
+            if (!sheetNames.contains(sheetName)) {
+                throw new FileProcessingException("Sheet not found: " + sheetName);
+            }
+        }
+        List<String> primary = !selected.isEmpty() ? selected
+                : sheetNames.isEmpty() ? List.of() : List.of(sheetNames.get(0));
+        List<String> toParse = file.getSheets() == null ? sheetNames : primary;
+
+        // Only the sheets that make up the file itself are spooled for its preview
+        List<IngestRowHandler> handlers = new ArrayList<>(toParse.size());
+        List<Supplier<IngestRowHandler>> tasks = new ArrayList<>(toParse.size());
+        for (String sheetName : toParse) {
+            IngestRowHandler sheet = new IngestRowHandler(
+                    primary.contains(sheetName) ? rowIndexService.newBuilder() : null);
+            handlers.add(sheet);
+            tasks.add(() -> {
+                sheet.rowCount = fileParserService.streamSheet(filePath, sheetName, sheet);
+                return sheet;
+            });
+        }
+        try {
+            fileIngestService.parseAll(tasks);
+        } catch (RuntimeException e) {
+            handlers.forEach(IngestRowHandler::discardIndex);
+            throw e;
+        }
+        Map<String, IngestRowHandler> byName = new LinkedHashMap<>();
+        for (int i = 0; i < toParse.size(); i++) {
+            byName.put(toParse.get(i), handlers.get(i));
+        }
+
+        if (file.getSheets() == null) {
+            List<Map<String, Object>> summaries = new ArrayList<>(byName.size());
+            byName.forEach((sheetName, sheet) -> {
+                Map<String, Object> summary = new LinkedHashMap<>();
+                summary.put("name", sheetName);
+                summary.put("index", sheetNames.indexOf(sheetName));
+                summary.put("rowCount", sheet.rowCount);
+                summary.put("columnCount", sheet.headers.size());
+                summary.put("detectedSchema", sheet.profiler != null ? sheet.profiler.toSchemaMap() : List.of());
+                summaries.add(summary);
+            });
+            file.setSheets(summaries);
+        }
+
+        if (primary.isEmpty()) {
+            return new IngestRowHandler(rowIndexService.newBuilder());
+        }
+        IngestRowHandler combined = byName.get(primary.get(0));
+        for (String sheetName : primary.subList(1, primary.size())) {
+            combined.absorb(byName.get(sheetName));
+        }
+        return combined;
+    }
+
     public UploadedFileResponse getById(Long id) {
         UploadedFile file = getOrgScopedFile(id);
-        return UploadedFileResponse.fromEntity(file, !existsOnDisk(file));
+        return UploadedFileResponse.fromEntity(file);
     }
 
     public UploadedFile getEntityById(Long id) {
@@ -167,42 +493,110 @@ public class FileUploadService {
     public List<UploadedFileResponse> getAll() {
         return uploadedFileRepository.findByOrganizationId(resolveCurrentOrgId())
                 .stream()
-                .map(file -> UploadedFileResponse.fromEntity(file, !existsOnDisk(file)))
+                .map(UploadedFileResponse::fromEntity)
                 .collect(Collectors.toList());
     }
 
     public FilePreviewResponse getPreview(Long id, int rows) {
+        return getPreview(id, 0, rows);
+    }
+
+    /**
+     * Reads one page of a processed file's rows through its row index, so any page of a large
+     * file costs a seek plus at most one index stride of parsing. Files processed before the
+     * index existed get one built on the ingest pipeline on first access; until it is published
+     * the request fails with {@link PreviewNotReadyException} so the client retries.
+     */
+    public FilePreviewResponse getPreview(Long id, long offset, int rows) {
         UploadedFile file = getOrgScopedFile(id);
 
         if (file.getStatus() != FileStatus.PROCESSED) {
             throw new FileProcessingException("File is not yet processed. Current status: " + file.getStatus());
         }
-
-        List<List<Object>> previewData = file.getPreviewData();
-        if (previewData == null || previewData.isEmpty()) {
+        if (rows <= 0) {
+            throw new FileProcessingException("Row count must be positive");
+        }
+        if (offset < 0) {
+            throw new FileProcessingException("Offset must not be negative");
+        }
+        if (file.getFilePath() == null) {
             throw new FileProcessingException("No preview data available for file");
         }
 
-        List<String> headers = previewData.get(0).stream()
-                .map(Object::toString)
-                .collect(Collectors.toList());
-
-        int previewSize = Math.min(rows + 1, previewData.size());
-        List<List<Object>> dataRows = previewData.subList(1, previewSize);
+        Path filePath = Paths.get(file.getFilePath());
+        if (!rowIndexService.exists(id)) {
+            rebuildIndex(file);
+            throw new PreviewNotReadyException("Preview of file " + id + " is being prepared. Please retry shortly.");
+        }
+        RowIndexService.Page page = rowIndexService.readPage(id, filePath, offset, Math.min(rows, MAX_PREVIEW_ROWS));
 
         return FilePreviewResponse.builder()
                 .fileId(id)
                 .filename(file.getOriginalFilename())
-                .headers(headers)
-                .rows(dataRows)
+                .headers(page.headers())
+                .rows(page.rows())
+                .offset(offset)
                 .totalRows(file.getRowCount())
-                .previewRows(dataRows.size())
+                .previewRows(page.rows().size())
+                .previewableRows(page.totalRows())
                 .build();
     }
 
+    /**
+     * Queues a rebuild of a file's preview index on its organization's ingest lane, unless one
+     * is already queued or running.
+     */
+    private void rebuildIndex(UploadedFile file) {
+        Long fileId = file.getId();
+        if (!indexRebuilds.add(fileId)) {
+            return;
+        }
+        Long orgId = file.getOrganization() != null ? file.getOrganization().getId() : null;
+        try {
+            fileIngestService.submit(orgId, fileId, () -> {
+                try {
+                    if (!rowIndexService.exists(fileId)) {
+                        log.info("Building missing preview index for file {}", fileId);
+                        UploadedFile current = uploadedFileRepository.findById(fileId)
+                                .orElseThrow(() -> new ResourceNotFoundException("UploadedFile", fileId));
+                        rowIndexService.publish(fileId, ingest(current, Paths.get(current.getFilePath())).index);
+                    }
+                } catch (Exception e) {
+                    log.warn("Failed to build preview index for file {}: {}", fileId, e.getMessage());
+                } finally {
+                    indexRebuilds.remove(fileId);
+                }
+            });
+        } catch (RuntimeException e) {
+            indexRebuilds.remove(fileId);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the detected schema of a processed file. Schemas are cached per file and served
+     * while the file's {@code updatedAt} is unchanged, checked with a query that leaves the JSON
+     * columns unread, so repeated AI and mapping requests skip loading and converting them.
+     */
     public SchemaResponse getSchema(Long id) {
+        if (cacheTtlSeconds <= 0) {
+            return buildSchema(id, getOrgScopedFile(id));
+        }
+        UploadedFileRepository.SchemaVersion version = uploadedFileRepository.findSchemaVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("UploadedFile", id));
+        checkOrgAccess(version.getOrganizationId());
+        CachedSchema cached = schemas.getIfPresent(id);
+        if (cached != null && version.getStatus() == FileStatus.PROCESSED
+                && Objects.equals(cached.updatedAt(), version.getUpdatedAt())) {
+            return cached.schema();
+        }
         UploadedFile file = getOrgScopedFile(id);
+        SchemaResponse schema = buildSchema(id, file);
+        schemas.put(id, new CachedSchema(schema, file.getUpdatedAt()));
+        return schema;
+    }
 
+    private SchemaResponse buildSchema(Long id, UploadedFile file) {
         if (file.getStatus() != FileStatus.PROCESSED) {
             throw new FileProcessingException("File is not yet processed. Current status: " + file.getStatus());
         }
@@ -219,6 +613,10 @@ public class FileUploadService {
                         .nullCount((Integer) m.get("nullCount"))
                         .uniqueCount((Integer) m.get("uniqueCount"))
                         .sampleValues((List<String>) m.get("sampleValues"))
+                        .typeCounts((Map<String, Integer>) m.get("typeCounts"))
+                        .minValue((String) m.get("minValue"))
+                        .maxValue((String) m.get("maxValue"))
+                        .typeConfidence(m.get("typeConfidence") instanceof Number n ? n.doubleValue() : null)
                         .build())
                 .collect(Collectors.toList());
 
@@ -230,19 +628,152 @@ public class FileUploadService {
                 .build();
     }
 
+    /**
+     * Deletes a file's row and, once that commits, its blob (unless another upload shares it) and
+     * preview index, so a rolled-back delete never leaves a row pointing at a deleted blob.
+     */
     @Transactional
     public void deleteFile(Long id) {
         UploadedFile file = getOrgScopedFile(id);
+        String filePath = file.getFilePath();
+        Long fileId = file.getId();
 
-        if (file.getFilePath() != null) {
-            try {
-                Files.deleteIfExists(Paths.get(file.getFilePath()));
-            } catch (IOException e) {
-                log.warn("Failed to delete physical file: {}", file.getFilePath());
+        uploadedFileRepository.delete(file);
+        schemas.invalidate(fileId);
+        afterCommit(() -> {
+            if (filePath != null) {
+                contentStoreService.deleteIfUnreferenced(Paths.get(filePath),
+                        () -> uploadedFileRepository.existsByFilePathAndIdNot(filePath, fileId));
             }
+            rowIndexService.delete(fileId);
+        });
+        log.info("Deleted file: {}", id);
+    }
+
+    /**
+     * Runs {@code action} after the current transaction commits, or at once outside a transaction.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 
-        uploadedFileRepository.delete(file);
-        log.info("Deleted file: {}", id);
+    /**
+     * Feeds streamed rows into the schema profiler and the preview row index.
+     */
+    private class IngestRowHandler implements FileParserService.RowHandler {
+        private RowIndexService.Builder index;
+        private List<String> headers = List.of();
+        private SchemaProfiler profiler;
+        private int rowCount;
+
+        IngestRowHandler(RowIndexService.Builder index) {
+            this.index = index;
+        }
+
+        @Override
+        public void onHeaders(List<String> headers) {
+            this.headers = headers;
+            this.profiler = schemaDetectionService.newProfiler(headers);
+            if (index != null) {
+                index.headers(headers);
+            }
+        }
+
+        @Override
+        public void onRowOffset(long offset) {
+            if (index != null) {
+                index.offset(offset);
+            }
+        }
+
+        @Override
+        public void onRow(List<Object> row) {
+            profiler.accept(row);
+            if (index != null) {
+                index.row(row);
+            }
+        }
+
+        /**
+         * Appends another sheet read as a continuation of this one. Its columns are matched to
+         * this sheet's headers by name; columns this sheet does not have are dropped.
+         */
+        void absorb(IngestRowHandler other) {
+            rowCount += other.rowCount;
+            if (profiler == null) {
+                headers = other.headers;
+                profiler = other.profiler;
+                discardIndex();
+                index = other.index;
+                return;
+            }
+            if (other.profiler != null) {
+                profiler.merge(other.profiler);
+            }
+            if (index != null && other.index != null) {
+                index.append(other.index);
+            }
+        }
+
+        void discardIndex() {
+            if (index != null) {
+                index.discard();
+            }
+        }
     }
+
+    @FunctionalInterface
+    private interface UploadBody {
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * Fails the read once more than {@code limit} bytes came through, so a streamed body without
+     * a truthful Content-Length still cannot exceed the upload size limit.
+     */
+    private static final class SizeLimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        SizeLimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) throws IOException {
+            count += n;
+            if (count > limit) {
+                throw new IOException("File exceeds the maximum upload size of " + limit + " bytes");
+            }
+        }
+    }
+
+    private record CachedSchema(SchemaResponse schema, LocalDateTime updatedAt) {}
 }
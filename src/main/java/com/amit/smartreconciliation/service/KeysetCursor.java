@@ -0,0 +1,67 @@
+package com.amit.smartreconciliation.service;
+
+import com.amit.smartreconciliation.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated listing: the sort key and id of the last row handed out. The
+ * encoded form is opaque to clients and records the order it was issued for, so a cursor cannot
+ * be replayed against a listing sorted differently.
+ */
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final String order;
+    private final LocalDateTime sortKey;
+    private final Long id;
+
+    private KeysetCursor(String order, LocalDateTime sortKey, Long id) {
+        this.order = order;
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    public static KeysetCursor of(String order, LocalDateTime sortKey, Long id) {
+        return new KeysetCursor(order, sortKey, id);
+    }
+
+    /**
+     * Decodes a cursor issued for {@code expectedOrder}; returns null for the first page.
+     */
+    public static KeysetCursor decode(String cursor, String expectedOrder) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idStart = raw.lastIndexOf(SEPARATOR);
+            int keyStart = raw.lastIndexOf(SEPARATOR, idStart - 1);
+            if (keyStart < 0) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            String order = raw.substring(0, keyStart);
+            if (!order.equals(expectedOrder)) {
+                throw new InvalidCursorException("Cursor was issued for a different sort order");
+            }
+            String key = raw.substring(keyStart + 1, idStart);
+            return new KeysetCursor(order, key.isEmpty() ? null : LocalDateTime.parse(key),
+                    Long.parseLong(raw.substring(idStart + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = order + SEPARATOR + (sortKey != null ? sortKey.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getOrder() { return order; }
+    public LocalDateTime getSortKey() { return sortKey; }
+    public Long getId() { return id; }
+}
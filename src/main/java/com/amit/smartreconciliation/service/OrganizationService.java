@@ -3,9 +3,11 @@ package com.amit.smartreconciliation.service;
 import com.amit.smartreconciliation.entity.Organization;
 import com.amit.smartreconciliation.exception.ResourceNotFoundException;
 import com.amit.smartreconciliation.repository.OrganizationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +19,16 @@ public class OrganizationService {
     private final OrganizationRepository organizationRepository;
 
     private static final String DEFAULT_ORG_NAME = "Default Organization";
+    private static final int MAX_CACHED_ORGANIZATIONS = 1000;
+
+    @Value("${app.cache.reference-data-ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    // Detached copies, used for their scalar fields and as association references only
+    private final Cache<String, Organization> byName =
+            ReferenceDataCaches.build(MAX_CACHED_ORGANIZATIONS, () -> cacheTtlSeconds);
+    private final Cache<Long, Organization> byId =
+            ReferenceDataCaches.build(MAX_CACHED_ORGANIZATIONS, () -> cacheTtlSeconds);
 
     public OrganizationService(OrganizationRepository organizationRepository) {
         this.organizationRepository = organizationRepository;
@@ -32,17 +44,41 @@ public class OrganizationService {
                     .active(true)
                     .build();
             organizationRepository.save(org);
+            evictAll();
             log.info("Created default organization: {}", DEFAULT_ORG_NAME);
         }
     }
 
+    /**
+     * Returns the default organization, served from the cache for up to
+     * {@code app.cache.reference-data-ttl-seconds} (0 disables the cache).
+     */
     public Organization getDefaultOrganization() {
-        return organizationRepository.findByName(DEFAULT_ORG_NAME)
-                .orElseThrow(() -> new ResourceNotFoundException("Default organization not found"));
+        Organization org = cacheTtlSeconds > 0
+                ? byName.get(DEFAULT_ORG_NAME, name -> organizationRepository.findByName(name).orElse(null))
+                : organizationRepository.findByName(DEFAULT_ORG_NAME).orElse(null);
+        if (org == null) {
+            throw new ResourceNotFoundException("Default organization not found");
+        }
+        return org;
     }
 
     public Organization getById(Long id) {
-        return organizationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Organization", id));
+        Organization org = cacheTtlSeconds > 0
+                ? byId.get(id, key -> organizationRepository.findById(key).orElse(null))
+                : organizationRepository.findById(id).orElse(null);
+        if (org == null) {
+            throw new ResourceNotFoundException("Organization", id);
+        }
+        return org;
+    }
+
+    /**
+     * Drops every cached organization. Called after organizations are created or changed, so
+     * the time to live only bounds changes made outside this service.
+     */
+    public void evictAll() {
+        byName.invalidateAll();
+        byId.invalidateAll();
     }
 }
@@ -0,0 +1,204 @@
+package com.amit.smartreconciliation.service;
+
+import com.amit.smartreconciliation.dto.response.ReconciliationPurgeJobResponse;
+import com.amit.smartreconciliation.entity.Reconciliation;
+import com.amit.smartreconciliation.entity.ReconciliationPurgeJob;
+import com.amit.smartreconciliation.enums.PurgeJobStatus;
+import com.amit.smartreconciliation.enums.ReconciliationStatus;
+import com.amit.smartreconciliation.event.ReconciliationsDeletedEvent;
+import com.amit.smartreconciliation.exception.ResourceNotFoundException;
+import com.amit.smartreconciliation.repository.ReconciliationPurgeJobRepository;
+import com.amit.smartreconciliation.repository.ReconciliationPurger;
+import com.amit.smartreconciliation.repository.ReconciliationRepository;
+import com.amit.smartreconciliation.security.SecurityUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongConsumer;
+
+/**
+ * Deletes reconciliations in the background. A bulk delete records a purge job and returns it at
+ * once; a single worker thread then purges the listed reconciliations one after another through
+ * {@link ReconciliationPurger} and saves the job's progress after every committed batch. Jobs
+ * left pending or running by a shutdown are resumed at the next startup, skipping the
+ * reconciliations they had already processed.
+ */
+@Service
+public class ReconciliationPurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliationPurgeService.class);
+
+    private final ReconciliationPurgeJobRepository jobRepository;
+    private final ReconciliationRepository reconciliationRepository;
+    private final ReconciliationPurger purger;
+    private final OrganizationService organizationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private ExecutorService executor;
+
+    public ReconciliationPurgeService(ReconciliationPurgeJobRepository jobRepository,
+                                      ReconciliationRepository reconciliationRepository,
+                                      ReconciliationPurger purger,
+                                      OrganizationService organizationService,
+                                      ApplicationEventPublisher eventPublisher) {
+        this.jobRepository = jobRepository;
+        this.reconciliationRepository = reconciliationRepository;
+        this.purger = purger;
+        this.organizationService = organizationService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reconciliation-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // A purge cut short here is resumed at the next startup
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        List<ReconciliationPurgeJob> interrupted =
+                jobRepository.findByStatusInOrderByIdAsc(EnumSet.of(PurgeJobStatus.PENDING, PurgeJobStatus.RUNNING));
+        for (ReconciliationPurgeJob job : interrupted) {
+            log.info("Resuming reconciliation purge job {}", job.getId());
+            executor.execute(() -> run(job.getId()));
+        }
+    }
+
+    /**
+     * Records a purge job for the given reconciliations in the caller's organization and queues
+     * it. Returns before anything is deleted.
+     */
+    public ReconciliationPurgeJobResponse submit(List<Long> reconciliationIds) {
+        ReconciliationPurgeJob job = ReconciliationPurgeJob.builder()
+                .organization(organizationService.getById(resolveCurrentOrgId()))
+                .reconciliationIds(new ArrayList<>(reconciliationIds))
+                .status(PurgeJobStatus.PENDING)
+                .build();
+        ReconciliationPurgeJob saved = jobRepository.save(job);
+        executor.execute(() -> run(saved.getId()));
+        log.info("Queued purge job {} for {} reconciliation(s)", saved.getId(), reconciliationIds.size());
+        return ReconciliationPurgeJobResponse.fromEntity(saved);
+    }
+
+    public ReconciliationPurgeJobResponse getJob(Long jobId) {
+        ReconciliationPurgeJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("ReconciliationPurgeJob", jobId));
+        Long jobOrgId = job.getOrganization() != null ? job.getOrganization().getId() : null;
+        if (jobOrgId != null && !jobOrgId.equals(resolveCurrentOrgId())) {
+            throw new AccessDeniedException("You do not have access to this purge job.");
+        }
+        return ReconciliationPurgeJobResponse.fromEntity(job);
+    }
+
+    /**
+     * Deletes one reconciliation right away, in batches, and returns the number of exceptions
+     * removed with it.
+     */
+    public long purgeNow(Reconciliation reconciliation) {
+        long deleted = purge(reconciliation, batch -> {});
+        Long orgId = reconciliation.getOrganization() != null ? reconciliation.getOrganization().getId() : null;
+        eventPublisher.publishEvent(new ReconciliationsDeletedEvent(orgId, List.of(reconciliation.getId())));
+        return deleted;
+    }
+
+    /**
+     * Works through one job on the purge thread. Failures of single reconciliations are recorded
+     * and skipped; anything else fails the job.
+     */
+    void run(Long jobId) {
+        ReconciliationPurgeJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == PurgeJobStatus.COMPLETED || job.getStatus() == PurgeJobStatus.FAILED) {
+            return;
+        }
+        Long orgId = job.getOrganization().getId();
+        List<Long> deletedIds = new ArrayList<>();
+        try {
+            job.setStatus(PurgeJobStatus.RUNNING);
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(LocalDateTime.now());
+            }
+            jobRepository.save(job);
+
+            List<Long> ids = job.getReconciliationIds();
+            int processed = job.getDeletedReconciliations() + job.getFailedReconciliations();
+            for (Long id : ids.subList(Math.min(processed, ids.size()), ids.size())) {
+                job.setCurrentReconciliationId(id);
+                try {
+                    purgeOwned(id, orgId, batch -> {
+                        job.setDeletedExceptions(job.getDeletedExceptions() + batch);
+                        jobRepository.save(job);
+                    });
+                    job.setDeletedReconciliations(job.getDeletedReconciliations() + 1);
+                    deletedIds.add(id);
+                    log.info("Purged reconciliation {} (job {})", id, jobId);
+                } catch (Exception e) {
+                    job.setFailedReconciliations(job.getFailedReconciliations() + 1);
+                    job.getErrors().add(String.format("Failed to delete ID %d: %s", id, e.getMessage()));
+                    log.error("Failed to purge reconciliation {} (job {}): {}", id, jobId, e.getMessage());
+                }
+                jobRepository.save(job);
+            }
+            job.setStatus(PurgeJobStatus.COMPLETED);
+        } catch (Exception e) {
+            log.error("Purge job {} failed: {}", jobId, e.getMessage(), e);
+            job.setStatus(PurgeJobStatus.FAILED);
+            job.getErrors().add("Purge job failed: " + e.getMessage());
+        }
+        job.setCurrentReconciliationId(null);
+        job.setCompletedAt(LocalDateTime.now());
+        jobRepository.save(job);
+        if (!deletedIds.isEmpty()) {
+            eventPublisher.publishEvent(new ReconciliationsDeletedEvent(orgId, deletedIds));
+        }
+    }
+
+    private void purgeOwned(Long reconciliationId, Long orgId, LongConsumer onExceptionsDeleted) {
+        Reconciliation reconciliation = reconciliationRepository.findById(reconciliationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reconciliation", reconciliationId));
+        Long reconciliationOrgId = reconciliation.getOrganization() != null
+                ? reconciliation.getOrganization().getId()
+                : null;
+        if (reconciliationOrgId != null && !reconciliationOrgId.equals(orgId)) {
+            throw new AccessDeniedException("You do not have access to this reconciliation.");
+        }
+        purge(reconciliation, onExceptionsDeleted);
+    }
+
+    private long purge(Reconciliation reconciliation, LongConsumer onExceptionsDeleted) {
+        // A running attempt would keep writing exceptions for the deleted run
+        if (reconciliation.getStatus() == ReconciliationStatus.IN_PROGRESS) {
+            throw new IllegalStateException("Cannot delete a reconciliation that is in progress");
+        }
+        return purger.purge(reconciliation.getId(), onExceptionsDeleted);
+    }
+
+    private Long resolveCurrentOrgId() {
+        try {
+            return SecurityUtils.getCurrentOrgId();
+        } catch (RuntimeException ex) {
+            return organizationService.getDefaultOrganization().getId();
+        }
+    }
+}
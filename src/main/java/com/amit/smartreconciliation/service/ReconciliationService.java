@@ -2,19 +2,28 @@ package com.amit.smartreconciliation.service;
 
 import com.amit.smartreconciliation.dto.request.ReconciliationRequest;
 import com.amit.smartreconciliation.dto.request.ReconciliationDomainDetectionRequest;
+import com.amit.smartreconciliation.dto.response.CursorPage;
 import com.amit.smartreconciliation.dto.response.DomainDetectionResponse;
+import com.amit.smartreconciliation.dto.response.ReconciliationPurgeJobResponse;
 import com.amit.smartreconciliation.dto.response.ReconciliationResponse;
 import com.amit.smartreconciliation.dto.response.SchemaResponse;
 import com.amit.smartreconciliation.entity.*;
 import com.amit.smartreconciliation.enums.*;
+import com.amit.smartreconciliation.event.ReconciliationFinishedEvent;
 import com.amit.smartreconciliation.exception.ResourceNotFoundException;
 import com.amit.smartreconciliation.exception.FileProcessingException;
+import com.amit.smartreconciliation.repository.ReconciliationExceptionBulkWriter;
 import com.amit.smartreconciliation.repository.ReconciliationExceptionRepository;
 import com.amit.smartreconciliation.repository.ReconciliationRepository;
+import com.amit.smartreconciliation.repository.ReconciliationRowStore;
+import com.amit.smartreconciliation.repository.TrendRollupRepository;
 import com.amit.smartreconciliation.security.SecurityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.scheduling.annotation.Async;
@@ -33,32 +42,53 @@ public class ReconciliationService {
 
     private static final int AI_SUGGESTION_BATCH_SIZE = 10;
     private static final int AI_SUGGESTION_MAX_EXCEPTIONS = 50;
+    private static final int MAX_SCROLL_SIZE = 500;
+    private static final String SCROLL_ORDER = "createdAt,desc";
 
     private final ReconciliationRepository reconciliationRepository;
     private final ReconciliationExceptionRepository exceptionRepository;
+    private final ReconciliationExceptionBulkWriter exceptionBulkWriter;
     private final OrganizationService organizationService;
     private final FileUploadService fileUploadService;
     private final RuleService ruleService;
     private final FileParserService fileParserService;
     private final AiService aiService;
     private final LegacyReconciliationAdapterService legacyAdapter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TrendRollupRepository trendRepository;
+    private final ReconciliationRowStore rowStore;
+    private final ReconciliationPurgeService purgeService;
+
+    // One exception per mismatching record pair, listing its field diffs, instead of one per field
+    @Value("${app.reconciliation.pair-exceptions:false}")
+    private boolean pairExceptions;
 
     public ReconciliationService(ReconciliationRepository reconciliationRepository,
                                 ReconciliationExceptionRepository exceptionRepository,
+                                ReconciliationExceptionBulkWriter exceptionBulkWriter,
                                 OrganizationService organizationService,
                                 FileUploadService fileUploadService,
                                 RuleService ruleService,
                                 FileParserService fileParserService,
                                 AiService aiService,
-                                LegacyReconciliationAdapterService legacyAdapter) {
+                                LegacyReconciliationAdapterService legacyAdapter,
+                                ApplicationEventPublisher eventPublisher,
+                                TrendRollupRepository trendRepository,
+                                ReconciliationRowStore rowStore,
+                                ReconciliationPurgeService purgeService) {
         this.reconciliationRepository = reconciliationRepository;
         this.exceptionRepository = exceptionRepository;
+        this.exceptionBulkWriter = exceptionBulkWriter;
         this.organizationService = organizationService;
         this.fileUploadService = fileUploadService;
         this.ruleService = ruleService;
         this.fileParserService = fileParserService;
         this.aiService = aiService;
         this.legacyAdapter = legacyAdapter;
+        this.eventPublisher = eventPublisher;
+        this.trendRepository = trendRepository;
+        this.rowStore = rowStore;
+        this.purgeService = purgeService;
     }
 
     @Transactional
@@ -68,10 +98,10 @@ public class ReconciliationService {
         UploadedFile targetFile = fileUploadService.getEntityById(request.getTargetFileId());
         RuleSet ruleSet = ruleService.getEntityById(request.getRuleSetId());
 
-        if (!fileUploadService.existsOnDisk(sourceFile)) {
+        if (sourceFile.isMissing()) {
             throw new FileProcessingException("Source file missing from disk: " + sourceFile.getOriginalFilename());
         }
-        if (!fileUploadService.existsOnDisk(targetFile)) {
+        if (targetFile.isMissing()) {
             throw new FileProcessingException("Target file missing from disk: " + targetFile.getOriginalFilename());
         }
         KnowledgeDomain domain = resolveDomain(request, sourceFile, targetFile);
@@ -138,20 +168,20 @@ public class ReconciliationService {
                         reconciliationId, adapterEx.getMessage());
             }
 
-            FileParserService.ParseResult sourceData = fileParserService.parseFile(
-                    Paths.get(reconciliation.getSourceFile().getFilePath()));
+            FileParserService.ParseResult sourceData = parseUploadedFile(reconciliation.getSourceFile());
             reconciliation.setProgress(20);
             reconciliation.setTotalSourceRecords(sourceData.getRowCount());
             reconciliationRepository.save(reconciliation);
 
-            FileParserService.ParseResult targetData = fileParserService.parseFile(
-                    Paths.get(reconciliation.getTargetFile().getFilePath()));
+            FileParserService.ParseResult targetData = parseUploadedFile(reconciliation.getTargetFile());
             reconciliation.setProgress(40);
             reconciliation.setTotalTargetRecords(targetData.getRowCount());
             reconciliationRepository.save(reconciliation);
 
+            // The cached copy skips reloading the mappings and rules when the rule set is unchanged
+            RuleSet ruleSet = ruleService.getEntityById(reconciliation.getRuleSet().getId());
             ReconciliationResult result = performReconciliation(
-                    reconciliation, sourceData, targetData, reconciliation.getRuleSet());
+                    reconciliation, sourceData, targetData, ruleSet);
 
             reconciliation.setProgress(90);
             reconciliation.setMatchedRecords(result.matchedCount);
@@ -170,15 +200,20 @@ public class ReconciliationService {
             reconciliation.setStatistics(stats);
             reconciliationRepository.save(reconciliation);
 
-            // Save all exceptions
-            List<ReconciliationException> savedExceptions = new ArrayList<>();
+            // Save all exceptions in committed chunks, replacing rows left by a failed earlier
+            // attempt. Only the exceptions that get AI suggestions are updated later and need ids.
             for (ReconciliationException exception : result.exceptions) {
                 exception.setReconciliation(reconciliation);
                 if (exception.getDomain() == null) {
                     exception.setDomain(reconciliation.getDomain());
                 }
-                savedExceptions.add(exceptionRepository.save(exception));
             }
+            exceptionBulkWriter.deleteByReconciliationId(reconciliationId);
+            rowStore.deleteByReconciliationId(reconciliationId);
+            storeReferencedRows(reconciliationId, RecordSide.SOURCE, sourceData, result.exceptions);
+            storeReferencedRows(reconciliationId, RecordSide.TARGET, targetData, result.exceptions);
+            exceptionBulkWriter.write(reconciliationId, result.exceptions, AI_SUGGESTION_MAX_EXCEPTIONS);
+            List<ReconciliationException> savedExceptions = result.exceptions;
 
             // Populate AI suggestions for up to the first AI_SUGGESTION_MAX_EXCEPTIONS exceptions
             populateAiSuggestions(savedExceptions, reconciliation.getName());
@@ -188,7 +223,7 @@ public class ReconciliationService {
                     .filter(e -> e.getType() == ExceptionType.MISSING_TARGET || e.getType() == ExceptionType.MISSING_SOURCE)
                     .count();
             if (unmatchedCount > 0 && unmatchedCount <= 200) {
-                runAiSecondPass(savedExceptions, reconciliation);
+                runAiSecondPass(savedExceptions, reconciliation, ruleSet);
             }
 
             reconciliation.setStatus(ReconciliationStatus.COMPLETED);
@@ -198,6 +233,7 @@ public class ReconciliationService {
 
             log.info("Reconciliation completed: {} (matched: {}, exceptions: {})",
                     reconciliationId, result.matchedCount, result.exceptions.size());
+            recordFinished(reconciliation);
 
             try {
                 legacyAdapter.notifyExecutionCompleted(reconciliationId);
@@ -212,6 +248,7 @@ public class ReconciliationService {
             reconciliation.setErrorMessage(e.getMessage());
             reconciliation.setCompletedAt(LocalDateTime.now());
             reconciliationRepository.save(reconciliation);
+            recordFinished(reconciliation);
 
             try {
                 legacyAdapter.notifyExecutionFailed(reconciliationId, e.getMessage());
@@ -222,6 +259,25 @@ public class ReconciliationService {
         }
     }
 
+    private void recordFinished(Reconciliation reconciliation) {
+        trendRepository.recordRunFinished(reconciliation);
+        Long orgId = reconciliation.getOrganization() != null ? reconciliation.getOrganization().getId() : null;
+        eventPublisher.publishEvent(new ReconciliationFinishedEvent(
+                reconciliation.getId(), orgId, reconciliation.getStatus()));
+    }
+
+    /**
+     * Parses a reconciliation input, reading only its selected sheets when it was derived from
+     * some sheets of a workbook.
+     */
+    private FileParserService.ParseResult parseUploadedFile(UploadedFile file) {
+        List<String> selectedSheets = file.getSelectedSheets();
+        if (selectedSheets != null && !selectedSheets.isEmpty()) {
+            return fileParserService.parseFile(Paths.get(file.getFilePath()), selectedSheets);
+        }
+        return fileParserService.parseFile(Paths.get(file.getFilePath()));
+    }
+
     private ReconciliationResult performReconciliation(
             Reconciliation reconciliation,
             FileParserService.ParseResult sourceData,
@@ -236,8 +292,10 @@ public class ReconciliationService {
             throw new IllegalStateException("Rule set must have at least one key field");
         }
 
-        Map<String, List<Map<String, Object>>> sourceByKey = indexByKey(sourceData, keyMappings, true);
-        Map<String, List<Map<String, Object>>> targetByKey = indexByKey(targetData, keyMappings, false);
+        Map<Map<String, Object>, Integer> sourceOrdinals = new IdentityHashMap<>();
+        Map<Map<String, Object>, Integer> targetOrdinals = new IdentityHashMap<>();
+        Map<String, List<Map<String, Object>>> sourceByKey = indexByKey(sourceData, keyMappings, true, sourceOrdinals);
+        Map<String, List<Map<String, Object>>> targetByKey = indexByKey(targetData, keyMappings, false, targetOrdinals);
 
         List<ReconciliationException> exceptions = new ArrayList<>();
         int matchedCount = 0;
@@ -272,7 +330,8 @@ public class ReconciliationService {
                                 compareRecords(sourceRecord, targetRecord, ruleSet, reconciliation.getDomain());
 
                         // A record pair found by key is always "matched" — field discrepancies
-                        // are reported as VALUE_MISMATCH exceptions but do not make the record unmatched
+                        // are reported as VALUE_MISMATCH exceptions (one per field, or one per pair
+                        // with app.reconciliation.pair-exceptions) but do not make the record unmatched
                         matchedCount++;
                         exceptions.addAll(fieldExceptions);
                     } else {
@@ -323,6 +382,16 @@ public class ReconciliationService {
             }
         }
 
+        // Exceptions reference their rows by position, so each row is stored once in the row store
+        for (ReconciliationException exception : exceptions) {
+            if (exception.getSourceData() != null) {
+                exception.setSourceRow(sourceOrdinals.get(exception.getSourceData()));
+            }
+            if (exception.getTargetData() != null) {
+                exception.setTargetRow(targetOrdinals.get(exception.getTargetData()));
+            }
+        }
+
         // Unmatched = records with no key counterpart in the other file
         long missingTargetCount = exceptions.stream()
                 .filter(e -> e.getType() == ExceptionType.MISSING_TARGET).count();
@@ -341,12 +410,26 @@ public class ReconciliationService {
             FileParserService.ParseResult data,
             List<FieldMapping> keyMappings,
             boolean isSource) {
+        return indexByKey(data, keyMappings, isSource, new IdentityHashMap<>());
+    }
+
+    /**
+     * Groups the rows by key. {@code ordinals} receives the position of every record built, by
+     * identity, so exceptions can later point at the row they came from.
+     */
+    private Map<String, List<Map<String, Object>>> indexByKey(
+            FileParserService.ParseResult data,
+            List<FieldMapping> keyMappings,
+            boolean isSource,
+            Map<Map<String, Object>, Integer> ordinals) {
 
         Map<String, List<Map<String, Object>>> indexed = new HashMap<>();
         List<String> headers = data.headers();
 
+        int ordinal = 0;
         for (List<Object> row : data.rows()) {
             Map<String, Object> record = new HashMap<>();
+            ordinals.put(record, ordinal++);
             for (int i = 0; i < headers.size() && i < row.size(); i++) {
                 record.put(headers.get(i), row.get(i));
             }
@@ -424,9 +507,46 @@ public class ReconciliationService {
             }
         }
 
+        if (pairExceptions && !exceptions.isEmpty()) {
+            return List.of(toPairException(exceptions));
+        }
         return exceptions;
     }
 
+    /**
+     * Folds the per-field exceptions of one record pair into a single exception listing every
+     * differing field. The most severe field supplies the type, severity and headline values.
+     */
+    private static ReconciliationException toPairException(List<ReconciliationException> fieldExceptions) {
+        ReconciliationException primary = fieldExceptions.get(0);
+        List<FieldDiff> diffs = new ArrayList<>(fieldExceptions.size());
+        for (ReconciliationException exception : fieldExceptions) {
+            if (exception.getSeverity().compareTo(primary.getSeverity()) > 0) {
+                primary = exception;
+            }
+            diffs.add(new FieldDiff(exception.getFieldName(), exception.getSourceValue(),
+                    exception.getTargetValue(), exception.getSeverity()));
+        }
+        String description = diffs.size() == 1
+                ? primary.getDescription()
+                : String.format("Value mismatch for %d fields: %s", diffs.size(),
+                        diffs.stream().map(FieldDiff::field).collect(Collectors.joining(", ")));
+
+        return ReconciliationException.builder()
+                .type(primary.getType())
+                .severity(primary.getSeverity())
+                .status(ExceptionStatus.OPEN)
+                .domain(primary.getDomain())
+                .description(description)
+                .fieldName(primary.getFieldName())
+                .sourceValue(primary.getSourceValue())
+                .targetValue(primary.getTargetValue())
+                .sourceData(primary.getSourceData())
+                .targetData(primary.getTargetData())
+                .fieldDiffs(diffs)
+                .build();
+    }
+
     private boolean compareValues(Object sourceValue, Object targetValue, MatchingRule rule) {
         if (sourceValue == null && targetValue == null) return true;
         if (sourceValue == null || targetValue == null) return false;
@@ -512,7 +632,7 @@ public class ReconciliationService {
     }
 
     private Reconciliation getOrgScopedReconciliation(Long id) {
-        Reconciliation reconciliation = reconciliationRepository.findById(id)
+        Reconciliation reconciliation = reconciliationRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reconciliation", id));
         Long currentOrgId = resolveCurrentOrgId();
         Long reconciliationOrgId = reconciliation.getOrganization() != null
@@ -530,7 +650,7 @@ public class ReconciliationService {
     }
 
     public List<ReconciliationResponse> getAll() {
-        return reconciliationRepository.findByOrganizationIdOrderByCreatedAtDesc(resolveCurrentOrgId())
+        return reconciliationRepository.findResponsesByOrganizationId(resolveCurrentOrgId())
                 .stream()
                 .map(ReconciliationResponse::fromEntity)
                 .collect(Collectors.toList());
@@ -541,6 +661,31 @@ public class ReconciliationService {
                 .map(ReconciliationResponse::fromEntity);
     }
 
+    /**
+     * Newest-first keyset listing of the organization's reconciliations. Each page seeks past the
+     * {@code (createdAt, id)} of the previous page's last row instead of skipping an offset.
+     */
+    public CursorPage<ReconciliationResponse> scroll(String cursor, int size, boolean includeTotal) {
+        Long orgId = resolveCurrentOrgId();
+        KeysetCursor after = KeysetCursor.decode(cursor, SCROLL_ORDER);
+        int limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        // One extra row tells whether another page follows
+        Pageable window = PageRequest.of(0, limit + 1);
+        List<Reconciliation> rows = after == null
+                ? reconciliationRepository.findFirstPageByOrganizationId(orgId, window)
+                : reconciliationRepository.findPageByOrganizationIdAfter(orgId, after.getSortKey(), after.getId(), window);
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            Reconciliation last = rows.get(limit - 1);
+            nextCursor = KeysetCursor.of(SCROLL_ORDER, last.getCreatedAt(), last.getId()).encode();
+        }
+        Long estimatedTotal = includeTotal ? reconciliationRepository.countByOrganizationId(orgId) : null;
+        return new CursorPage<>(rows.stream().map(ReconciliationResponse::fromEntity).toList(),
+                limit, nextCursor, estimatedTotal);
+    }
+
     public ReconciliationResponse getStatus(Long id) {
         return getById(id);
     }
@@ -560,47 +705,42 @@ public class ReconciliationService {
         }
     }
 
-    @Transactional
+    /**
+     * Deletes one reconciliation and its exceptions in batches before returning.
+     */
     public void delete(Long id) {
         Reconciliation reconciliation = reconciliationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reconciliation", id));
 
-        reconciliationRepository.delete(reconciliation);
+        purgeService.purgeNow(reconciliation);
         log.info("Deleted reconciliation: {}", id);
     }
 
-    @Transactional
-    public Map<String, Object> deleteAll(List<Long> ids) {
-        int successCount = 0;
-        int failedCount = 0;
-        List<String> errors = new ArrayList<>();
+    /**
+     * Queues the reconciliations for deletion by a background purge job and returns the job,
+     * whose progress can be polled.
+     */
+    public ReconciliationPurgeJobResponse deleteAll(List<Long> ids) {
+        return purgeService.submit(ids);
+    }
 
-        for (Long id : ids) {
-            try {
-                Reconciliation reconciliation = reconciliationRepository.findById(id)
-                        .orElseThrow(() -> new ResourceNotFoundException("Reconciliation", id));
-                reconciliationRepository.delete(reconciliation);
-                successCount++;
-                log.info("Bulk deleted reconciliation: {}", id);
-            } catch (Exception e) {
-                failedCount++;
-                errors.add(String.format("Failed to delete ID %d: %s", id, e.getMessage()));
-                log.error("Failed to bulk delete reconciliation: {} - {}", id, e.getMessage());
+    /**
+     * Saves each input row referenced by at least one exception once, in its parsed form.
+     */
+    private void storeReferencedRows(Long reconciliationId, RecordSide side, FileParserService.ParseResult data,
+                                     List<ReconciliationException> exceptions) {
+        SortedMap<Integer, List<Object>> rows = new TreeMap<>();
+        for (ReconciliationException exception : exceptions) {
+            Integer ordinal = side == RecordSide.SOURCE ? exception.getSourceRow() : exception.getTargetRow();
+            if (ordinal != null) {
+                rows.putIfAbsent(ordinal, data.rows().get(ordinal));
             }
         }
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("totalRequested", ids.size());
-        result.put("successCount", successCount);
-        result.put("failedCount", failedCount);
-        if (!errors.isEmpty()) {
-            result.put("errors", errors);
-        }
-
-        return result;
+        rowStore.write(reconciliationId, side, data.headers(), rows);
     }
 
-    private void runAiSecondPass(List<ReconciliationException> savedExceptions, Reconciliation reconciliation) {
+    private void runAiSecondPass(List<ReconciliationException> savedExceptions, Reconciliation reconciliation,
+                                 RuleSet ruleSet) {
         List<Map<String, Object>> unmatchedSources = savedExceptions.stream()
                 .filter(e -> e.getType() == ExceptionType.MISSING_TARGET && e.getSourceData() != null)
                 .map(ReconciliationException::getSourceData)
@@ -617,8 +757,9 @@ public class ReconciliationService {
                 unmatchedSources.size(), unmatchedTargets.size());
 
         List<AiService.PotentialMatchSuggestion> suggestions = aiService.suggestPotentialMatches(
-                unmatchedSources, unmatchedTargets, reconciliation.getRuleSet().getFieldMappings());
+                unmatchedSources, unmatchedTargets, ruleSet.getFieldMappings());
 
+        List<ReconciliationException> potentialMatches = new ArrayList<>();
         for (AiService.PotentialMatchSuggestion suggestion : suggestions) {
             ReconciliationException potentialMatch = ReconciliationException.builder()
                     .type(ExceptionType.POTENTIAL_MATCH)
@@ -632,8 +773,10 @@ public class ReconciliationService {
                     .build();
             potentialMatch.setAiSuggestion(String.format("%.0f%% confidence — %s",
                     suggestion.confidence() * 100, suggestion.reasoning()));
-            exceptionRepository.save(potentialMatch);
+            potentialMatches.add(potentialMatch);
         }
+        // Through the bulk writer so the exception_stats rollup counts them too
+        exceptionBulkWriter.write(reconciliation.getId(), potentialMatches, 0);
 
         if (!suggestions.isEmpty()) {
             log.info("AI second-pass found {} potential matches for reconciliation {}",
@@ -658,7 +801,7 @@ public class ReconciliationService {
                             exception.getDomain()
                     );
                     exception.setAiSuggestion(suggestion);
-                    exceptionRepository.save(exception);
+                    exceptionRepository.updateAiSuggestion(exception.getId(), suggestion, LocalDateTime.now());
                 } catch (Exception e) {
                     log.warn("AI suggestion failed for exception {}: {}", exception.getId(), e.getMessage());
                 }
@@ -0,0 +1,39 @@
+package com.amit.smartreconciliation.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Builds the bounded caches behind organization, rule set and schema lookups. The time to live
+ * is read when an entry is written, so it can come from a field injected after construction.
+ */
+final class ReferenceDataCaches {
+
+    private ReferenceDataCaches() {}
+
+    static <K, V> Cache<K, V> build(long maximumSize, LongSupplier ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<K, V>() {
+                    @Override
+                    public long expireAfterCreate(K key, V value, long currentTime) {
+                        return TimeUnit.SECONDS.toNanos(Math.max(ttlSeconds.getAsLong(), 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+}
@@ -0,0 +1,397 @@
+package com.amit.smartreconciliation.service;
+
+import com.amit.smartreconciliation.config.FileStorageConfig;
+import com.amit.smartreconciliation.exception.FileProcessingException;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.csv.QuoteMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * On-disk row index used to serve file previews page by page.
+ *
+ * The index records the byte offset of every {@code stride}-th data row, so any page is read by
+ * seeking to the nearest indexed row and parsing at most {@code stride} rows past it. CSV blobs
+ * are indexed in place, by offset into their decoded content: plain blobs are seeked, compressed
+ * ones (including CSVs compressed at rest) are decompressed up to the offset instead of copied.
+ * Workbooks and sheet selections have no CSV to point into and are spooled once at ingest into a
+ * normalized CSV, up to {@code app.file.preview-spool-max-bytes}; rows past that cap are counted
+ * but not previewable.
+ *
+ * Layout under the upload directory: {@code index/<fileId>.idx} and, when spooled,
+ * {@code index/<fileId>.rows}. The index file is a fixed header, the offsets as longs, then the
+ * column headers, so reading one offset is a single positioned read.
+ */
+@Service
+public class RowIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(RowIndexService.class);
+
+    private static final String INDEX_DIR = "index";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String SPOOL_SUFFIX = ".rows";
+    private static final int MAGIC = 0x52494458;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 8 + 1 + 4;
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    /** Format of the uploaded CSV blobs, without the header handling of the ingest parser. */
+    private static final CSVFormat SOURCE_FORMAT = CSVFormat.DEFAULT.builder()
+            .setIgnoreEmptyLines(true)
+            .setTrim(true)
+            .build();
+
+    /** Spool format; quoting every non-null value keeps nulls and empty strings apart. */
+    private static final CSVFormat SPOOL_FORMAT = CSVFormat.DEFAULT.builder()
+            .setIgnoreEmptyLines(false)
+            .setQuoteMode(QuoteMode.ALL_NON_NULL)
+            .setNullString("")
+            .build();
+
+    private final FileStorageConfig fileStorageConfig;
+    private final FileParserService fileParserService;
+
+    @Value("${app.file.row-index-stride:1000}")
+    private int stride = 1000;
+
+    @Value("${app.file.preview-spool-max-bytes:1073741824}")
+    private long maxSpoolBytes = 1073741824L;
+
+    public RowIndexService(FileStorageConfig fileStorageConfig, FileParserService fileParserService) {
+        this.fileStorageConfig = fileStorageConfig;
+        this.fileParserService = fileParserService;
+    }
+
+    RowIndexService(FileStorageConfig fileStorageConfig, FileParserService fileParserService,
+                    int stride, long maxSpoolBytes) {
+        this(fileStorageConfig, fileParserService);
+        this.stride = stride;
+        this.maxSpoolBytes = maxSpoolBytes;
+    }
+
+    public Builder newBuilder() {
+        return new Builder(stride, maxSpoolBytes, indexDir());
+    }
+
+    /**
+     * Writes the index of a file and moves its spool, if any, next to it. Replaces an existing index.
+     */
+    public void publish(Long fileId, Builder builder) {
+        try {
+            builder.finish();
+            Files.createDirectories(indexDir());
+            if (builder.spoolPath != null) {
+                move(builder.spoolPath, spoolPath(fileId));
+            } else {
+                Files.deleteIfExists(spoolPath(fileId));
+            }
+
+            Path tmp = indexDir().resolve(UUID.randomUUID() + INDEX_SUFFIX + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp), IO_BUFFER_SIZE))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(builder.stride);
+                out.writeLong(builder.indexedRows);
+                out.writeBoolean(builder.spoolPath != null);
+                out.writeInt(builder.offsetCount);
+                for (int i = 0; i < builder.offsetCount; i++) {
+                    out.writeLong(builder.offsets[i]);
+                }
+                out.writeInt(builder.headers.size());
+                for (String header : builder.headers) {
+                    out.writeUTF(header != null ? header : "");
+                }
+            }
+            move(tmp, indexPath(fileId));
+        } catch (IOException e) {
+            builder.discard();
+            throw new FileProcessingException("Failed to write preview index: " + e.getMessage(), e);
+        }
+    }
+
+    public boolean exists(Long fileId) {
+        return Files.exists(indexPath(fileId));
+    }
+
+    /**
+     * Reads {@code rows} data rows starting at the zero-based row {@code offset}. {@code source}
+     * is the file's blob, used when the index was built in place. The page's total is the number
+     * of previewable rows, which falls short of the file's row count when the spool was capped.
+     */
+    public Page readPage(Long fileId, Path source, long offset, int rows) {
+        try (RandomAccessFile index = new RandomAccessFile(indexPath(fileId).toFile(), "r")) {
+            if (index.readInt() != MAGIC || index.readInt() != VERSION) {
+                throw new FileProcessingException("Preview index of file " + fileId + " is unreadable");
+            }
+            int indexStride = index.readInt();
+            long rowCount = index.readLong();
+            boolean spooled = index.readBoolean();
+            int offsetCount = index.readInt();
+
+            index.seek(HEADER_BYTES + 8L * offsetCount);
+            int headerCount = index.readInt();
+            List<String> headers = new ArrayList<>(headerCount);
+            for (int i = 0; i < headerCount; i++) {
+                headers.add(index.readUTF());
+            }
+            if (offset >= rowCount || rows <= 0) {
+                return new Page(headers, List.of(), rowCount);
+            }
+
+            int block = (int) (offset / indexStride);
+            index.seek(HEADER_BYTES + 8L * block);
+            long start = index.readLong();
+
+            InputStream data = spooled ? openSpool(fileId, start) : fileParserService.openAt(source, start);
+            return new Page(headers, readRows(data, offset % indexStride, rows, headers.size(),
+                    spooled ? SPOOL_FORMAT : SOURCE_FORMAT), rowCount);
+        } catch (NoSuchFileException | FileNotFoundException e) {
+            throw new FileProcessingException("No preview index available for file " + fileId);
+        } catch (IOException e) {
+            throw new FileProcessingException("Failed to read preview: " + e.getMessage(), e);
+        }
+    }
+
+    private InputStream openSpool(Long fileId, long start) throws IOException {
+        FileChannel channel = FileChannel.open(spoolPath(fileId), StandardOpenOption.READ);
+        channel.position(start);
+        return Channels.newInputStream(channel);
+    }
+
+    private List<List<Object>> readRows(InputStream data, long skip, int rows, int width,
+                                        CSVFormat format) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(data, StandardCharsets.UTF_8), IO_BUFFER_SIZE);
+        try (CSVParser parser = format.parse(reader)) {
+            Iterator<CSVRecord> records = parser.iterator();
+            for (long i = 0; i < skip && records.hasNext(); i++) {
+                records.next();
+            }
+            List<List<Object>> page = new ArrayList<>(rows);
+            while (page.size() < rows && records.hasNext()) {
+                CSVRecord record = records.next();
+                List<Object> row = new ArrayList<>(width);
+                for (int i = 0; i < width; i++) {
+                    row.add(i < record.size() ? record.get(i) : null);
+                }
+                page.add(row);
+            }
+            return page;
+        }
+    }
+
+    /**
+     * Gives {@code targetId} the index of {@code sourceId}, e.g. for a duplicate upload. Files are
+     * hard-linked where the file system allows it. Does nothing if the source has no index.
+     */
+    public void copy(Long sourceId, Long targetId) {
+        try {
+            if (Files.exists(spoolPath(sourceId))) {
+                link(spoolPath(sourceId), spoolPath(targetId));
+            }
+            if (Files.exists(indexPath(sourceId))) {
+                link(indexPath(sourceId), indexPath(targetId));
+            }
+        } catch (IOException e) {
+            log.warn("Failed to copy preview index of file {} to file {}: {}", sourceId, targetId, e.getMessage());
+        }
+    }
+
+    public void delete(Long fileId) {
+        try {
+            Files.deleteIfExists(indexPath(fileId));
+            Files.deleteIfExists(spoolPath(fileId));
+        } catch (IOException e) {
+            log.warn("Failed to delete preview index of file {}: {}", fileId, e.getMessage());
+        }
+    }
+
+    private void link(Path source, Path target) throws IOException {
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, source);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path indexPath(Long fileId) {
+        return indexDir().resolve(fileId + INDEX_SUFFIX);
+    }
+
+    private Path spoolPath(Long fileId) {
+        return indexDir().resolve(fileId + SPOOL_SUFFIX);
+    }
+
+    private Path indexDir() {
+        return Paths.get(fileStorageConfig.getUploadDir()).toAbsolutePath().normalize().resolve(INDEX_DIR);
+    }
+
+    public record Page(List<String> headers, List<List<Object>> rows, long totalRows) {}
+
+    /**
+     * Collects the index of one file while it is being streamed. Rows are indexed in place when
+     * the parser reports byte offsets for them via {@link #offset}; otherwise they are spooled
+     * until the spool reaches its cap.
+     */
+    public static final class Builder {
+        private final int stride;
+        private final long maxSpoolBytes;
+        private final Path dir;
+        private List<String> headers = List.of();
+        private long[] offsets = new long[64];
+        private int offsetCount;
+        private long rowCount;
+        private long indexedRows;
+        private long nextOffset = -1;
+        private boolean inPlace;
+
+        private Path spoolPath;
+        private OutputStream spool;
+        private CSVPrinter printer;
+        private final StringBuilder line = new StringBuilder();
+        private long position;
+
+        Builder(int stride, long maxSpoolBytes, Path dir) {
+            this.stride = Math.max(1, stride);
+            this.maxSpoolBytes = maxSpoolBytes;
+            this.dir = dir;
+        }
+
+        public void headers(List<String> headers) {
+            this.headers = headers.stream().map(h -> h != null ? h : "").toList();
+        }
+
+        /** Byte offset in the source of the row passed to the next {@link #row} call. */
+        public void offset(long offset) {
+            nextOffset = offset;
+        }
+
+        public void row(List<Object> values) {
+            if (rowCount == 0) {
+                inPlace = nextOffset >= 0;
+            }
+            long rowOffset;
+            if (inPlace) {
+                if (nextOffset < 0) {
+                    throw new IllegalStateException("Row " + rowCount + " has no source offset");
+                }
+                rowOffset = nextOffset;
+                nextOffset = -1;
+            } else if (position >= maxSpoolBytes) {
+                rowCount++;
+                return;
+            } else {
+                rowOffset = position;
+                writeSpooled(values);
+            }
+            if (indexedRows % stride == 0) {
+                if (offsetCount == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsetCount * 2);
+                }
+                offsets[offsetCount++] = rowOffset;
+            }
+            indexedRows++;
+            rowCount++;
+        }
+
+        /**
+         * Appends the rows of another spooled builder, reordering its columns to this builder's
+         * headers by name. The other builder is discarded.
+         */
+        public void append(Builder other) {
+            try {
+                other.finish();
+                if (other.spoolPath == null) {
+                    return;
+                }
+                if (headers.isEmpty()) {
+                    headers = other.headers;
+                }
+                int[] columnIndex = new int[headers.size()];
+                for (int i = 0; i < headers.size(); i++) {
+                    columnIndex[i] = other.headers.indexOf(headers.get(i));
+                }
+                try (Reader reader = Files.newBufferedReader(other.spoolPath, StandardCharsets.UTF_8);
+                     CSVParser parser = SPOOL_FORMAT.parse(reader)) {
+                    for (CSVRecord record : parser) {
+                        List<Object> aligned = new ArrayList<>(columnIndex.length);
+                        for (int index : columnIndex) {
+                            aligned.add(index >= 0 && index < record.size() ? record.get(index) : null);
+                        }
+                        row(aligned);
+                    }
+                }
+            } catch (IOException e) {
+                throw new FileProcessingException("Failed to combine preview rows: " + e.getMessage(), e);
+            } finally {
+                other.discard();
+            }
+        }
+
+        private void writeSpooled(List<Object> values) {
+            try {
+                if (spool == null) {
+                    Files.createDirectories(dir);
+                    spoolPath = dir.resolve(UUID.randomUUID() + SPOOL_SUFFIX + ".tmp");
+                    spool = new BufferedOutputStream(Files.newOutputStream(spoolPath), IO_BUFFER_SIZE);
+                    printer = new CSVPrinter(line, SPOOL_FORMAT);
+                }
+                line.setLength(0);
+                printer.printRecord(values);
+                byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                spool.write(bytes);
+                position += bytes.length;
+            } catch (IOException e) {
+                throw new FileProcessingException("Failed to spool preview rows: " + e.getMessage(), e);
+            }
+        }
+
+        void finish() throws IOException {
+            if (spool != null) {
+                spool.close();
+                spool = null;
+            }
+        }
+
+        /** Drops the spool of a builder that will not be published. */
+        public void discard() {
+            try {
+                finish();
+                if (spoolPath != null) {
+                    Files.deleteIfExists(spoolPath);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to discard preview spool {}: {}", spoolPath, e.getMessage());
+            }
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+    }
+}
@@ -12,8 +12,11 @@ import com.amit.smartreconciliation.exception.ResourceNotFoundException;
 import com.amit.smartreconciliation.repository.FieldMappingRepository;
 import com.amit.smartreconciliation.repository.MatchingRuleRepository;
 import com.amit.smartreconciliation.repository.RuleSetRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,12 +28,20 @@ import java.util.stream.Collectors;
 public class RuleService {
 
     private static final Logger log = LoggerFactory.getLogger(RuleService.class);
+    private static final int MAX_CACHED_RULE_SETS = 500;
 
     private final RuleSetRepository ruleSetRepository;
     private final FieldMappingRepository fieldMappingRepository;
     private final MatchingRuleRepository matchingRuleRepository;
     private final OrganizationService organizationService;
 
+    @Value("${app.cache.reference-data-ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    // Detached rule sets with their mappings and rules loaded; shared between runs, never modified
+    private final Cache<Long, RuleSet> ruleSets =
+            ReferenceDataCaches.build(MAX_CACHED_RULE_SETS, () -> cacheTtlSeconds);
+
     public RuleService(RuleSetRepository ruleSetRepository,
                        FieldMappingRepository fieldMappingRepository,
                        MatchingRuleRepository matchingRuleRepository,
@@ -112,9 +123,37 @@ public class RuleService {
         return RuleSetResponse.fromEntity(ruleSet);
     }
 
+    /**
+     * Returns the rule set with its field mappings and matching rules loaded. A cached copy is
+     * served while its version still matches the database, which costs one single-column query;
+     * any edit bumps the version, so runs never see stale rules. Callers must treat the returned
+     * rule set as read-only.
+     */
+    @Transactional(readOnly = true)
     public RuleSet getEntityById(Long id) {
-        return ruleSetRepository.findById(id)
+        if (cacheTtlSeconds <= 0) {
+            return loadRuleSet(id);
+        }
+        Integer version = ruleSetRepository.findVersionById(id).orElse(null);
+        if (version == null) {
+            ruleSets.invalidate(id);
+            throw new ResourceNotFoundException("RuleSet", id);
+        }
+        RuleSet cached = ruleSets.getIfPresent(id);
+        if (cached != null && version.equals(cached.getVersion())) {
+            return cached;
+        }
+        RuleSet ruleSet = loadRuleSet(id);
+        ruleSets.put(id, ruleSet);
+        return ruleSet;
+    }
+
+    private RuleSet loadRuleSet(Long id) {
+        RuleSet ruleSet = ruleSetRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("RuleSet", id));
+        Hibernate.initialize(ruleSet.getFieldMappings());
+        Hibernate.initialize(ruleSet.getMatchingRules());
+        return ruleSet;
     }
 
     public List<RuleSetResponse> getAll() {
@@ -152,6 +191,7 @@ public class RuleService {
         }
 
         RuleSet saved = ruleSetRepository.save(ruleSet);
+        ruleSets.invalidate(id);
         log.info("Updated rule set: {} (version: {})", saved.getId(), saved.getVersion());
         return RuleSetResponse.fromEntity(saved);
     }
@@ -161,6 +201,7 @@ public class RuleService {
         RuleSet ruleSet = ruleSetRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("RuleSet", id));
         ruleSetRepository.delete(ruleSet);
+        ruleSets.invalidate(id);
         log.info("Deleted rule set: {}", id);
     }
 
@@ -229,6 +270,7 @@ public class RuleService {
         ruleSet.setVersion(ruleSet.getVersion() + 1);
 
         RuleSet saved = ruleSetRepository.save(ruleSet);
+        ruleSets.invalidate(ruleSetId);
         return RuleSetResponse.fromEntity(saved);
     }
 
@@ -242,6 +284,7 @@ public class RuleService {
         ruleSet.setVersion(ruleSet.getVersion() + 1);
 
         RuleSet saved = ruleSetRepository.save(ruleSet);
+        ruleSets.invalidate(ruleSetId);
         return RuleSetResponse.fromEntity(saved);
     }
 
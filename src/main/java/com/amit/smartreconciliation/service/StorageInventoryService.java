@@ -0,0 +1,246 @@
+package com.amit.smartreconciliation.service;
+
+import com.amit.smartreconciliation.config.FileStorageConfig;
+import com.amit.smartreconciliation.repository.UploadedFileRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Keeps the {@code missing} flag of uploaded files in step with the upload directory, so listings
+ * and reconciliation setup read presence from the database instead of statting every file.
+ *
+ * A {@link WatchService} on the upload directory and the blob store flips the flag as soon as a
+ * stored file is deleted or put back. Watch events are not delivered for changes made through
+ * other hosts of a network mount and are dropped on overflow, so a periodic sweep also stats
+ * every distinct stored path in batches and corrects the flag wherever it drifted.
+ */
+@Service
+public class StorageInventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageInventoryService.class);
+
+    private static final String BLOB_DIR = "blobs";
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    private final FileStorageConfig fileStorageConfig;
+    private final UploadedFileRepository uploadedFileRepository;
+
+    @Value("${app.file.inventory.watch-enabled:true}")
+    private boolean watchEnabled = true;
+
+    private final Map<WatchKey, Path> watchedDirs = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private WatchService watchService;
+    private Thread watcher;
+
+    public StorageInventoryService(FileStorageConfig fileStorageConfig,
+                                   UploadedFileRepository uploadedFileRepository) {
+        this.fileStorageConfig = fileStorageConfig;
+        this.uploadedFileRepository = uploadedFileRepository;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!watchEnabled) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            register(root());
+            Path blobs = root().resolve(BLOB_DIR);
+            if (Files.isDirectory(blobs)) {
+                registerTree(blobs);
+            }
+        } catch (IOException e) {
+            log.warn("Storage watch unavailable, relying on periodic sweeps: {}", e.getMessage());
+            stop();
+            return;
+        }
+        watcher = new Thread(this::watchLoop, "storage-inventory-watch");
+        watcher.setDaemon(true);
+        watcher.start();
+        log.info("Storage inventory watching {} director(ies) under {}", watchedDirs.size(), root());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (watcher != null) {
+            watcher.interrupt();
+            watcher = null;
+        }
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Failed to close storage watch: {}", e.getMessage());
+            }
+            watchService = null;
+        }
+        watchedDirs.clear();
+    }
+
+    /**
+     * Stats every distinct stored path and updates the flag of the rows whose state changed.
+     * Paths are read in keyset order so the sweep never holds more than one batch in memory.
+     */
+    @Scheduled(initialDelayString = "${app.file.inventory.initial-delay-ms:60000}",
+            fixedDelayString = "${app.file.inventory.sweep-interval-ms:900000}")
+    public void sweep() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int checked = 0;
+            int flagged = 0;
+            int restored = 0;
+            String after = "";
+            List<String> paths;
+            do {
+                paths = uploadedFileRepository.findFilePathsAfter(after, PageRequest.of(0, SWEEP_BATCH_SIZE));
+                List<String> present = new ArrayList<>();
+                List<String> absent = new ArrayList<>();
+                for (String path : paths) {
+                    (exists(path) ? present : absent).add(path);
+                }
+                if (!absent.isEmpty()) {
+                    flagged += uploadedFileRepository.updateMissingByFilePathIn(absent, true);
+                }
+                if (!present.isEmpty()) {
+                    restored += uploadedFileRepository.updateMissingByFilePathIn(present, false);
+                }
+                checked += paths.size();
+                if (!paths.isEmpty()) {
+                    after = paths.get(paths.size() - 1);
+                }
+            } while (paths.size() == SWEEP_BATCH_SIZE);
+
+            if (flagged > 0 || restored > 0) {
+                log.info("Storage sweep checked {} path(s): {} file(s) flagged missing, {} restored",
+                        checked, flagged, restored);
+            } else {
+                log.debug("Storage sweep checked {} path(s), no changes", checked);
+            }
+        } catch (RuntimeException e) {
+            log.error("Storage sweep failed: {}", e.getMessage(), e);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private void watchLoop() {
+        WatchService service = watchService;
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = service.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            Path dir = watchedDirs.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    log.info("Storage watch overflowed, running a full sweep");
+                    sweep();
+                } else if (dir != null) {
+                    try {
+                        onEvent(event.kind(), dir.resolve((Path) event.context()));
+                    } catch (IOException | RuntimeException e) {
+                        log.warn("Failed to apply storage event {} for {}: {}",
+                                event.kind().name(), event.context(), e.getMessage());
+                    }
+                }
+            }
+            if (!key.reset()) {
+                watchedDirs.remove(key);
+            }
+        }
+    }
+
+    private void onEvent(WatchEvent.Kind<?> kind, Path path) throws IOException {
+        if (kind == ENTRY_CREATE && Files.isDirectory(path)) {
+            if (path.startsWith(root().resolve(BLOB_DIR))) {
+                registerTree(path);
+            }
+            return;
+        }
+        boolean missing = kind == ENTRY_DELETE;
+        int updated = uploadedFileRepository.updateMissingByFilePathIn(storedForms(path), missing);
+        if (updated > 0) {
+            log.info("{} file(s) stored at {} marked {}", updated, path, missing ? "missing" : "present");
+        }
+    }
+
+    /**
+     * Watch events report paths under the normalized root, but files uploaded before blobs were
+     * normalized recorded the upload directory as configured (e.g. {@code /app/./uploads/...}),
+     * so both spellings are matched.
+     */
+    private List<String> storedForms(Path path) {
+        Path root = root();
+        Path configuredRoot = configuredRoot();
+        if (configuredRoot.equals(root) || !path.startsWith(root)) {
+            return List.of(path.toString());
+        }
+        return List.of(path.toString(), configuredRoot.resolve(root.relativize(path)).toString());
+    }
+
+    private void registerTree(Path start) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                register(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void register(Path dir) throws IOException {
+        watchedDirs.put(dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE), dir);
+    }
+
+    private static boolean exists(String path) {
+        try {
+            return Files.exists(Paths.get(path));
+        } catch (InvalidPathException e) {
+            return false;
+        }
+    }
+
+    private Path root() {
+        return configuredRoot().normalize();
+    }
+
+    private Path configuredRoot() {
+        return Paths.get(fileStorageConfig.getUploadDir()).toAbsolutePath();
+    }
+}
@@ -0,0 +1,123 @@
+package com.amit.smartreconciliation.service;
+
+import com.amit.smartreconciliation.exception.FileProcessingException;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Identifies a streamed upload from its leading bytes, so the body can be checked against its
+ * declared name before anything is written and given a content type when the client sent none.
+ */
+final class UploadFormatSniffer {
+
+    static final int SNIFF_LENGTH = 512;
+
+    private static final String[] GZIP_EXTENSIONS = {".gz", ".gzip"};
+    private static final String[] ZSTD_EXTENSIONS = {".zst", ".zstd"};
+    private static final String[] ZIP_EXTENSIONS = {".zip", ".xlsx"};
+    private static final String[] OLE2_EXTENSIONS = {".xls"};
+    private static final String[] TEXT_EXTENSIONS = {".csv", ".json"};
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            ".csv", "text/csv",
+            ".json", "application/json",
+            ".xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+            ".xls", "application/vnd.ms-excel",
+            ".zip", "application/zip",
+            ".gz", "application/gzip",
+            ".gzip", "application/gzip",
+            ".zst", "application/zstd",
+            ".zstd", "application/zstd");
+
+    private UploadFormatSniffer() {}
+
+    /**
+     * Returns the name to store the upload under. Compressed and binary bodies must carry the
+     * matching extension; text bodies without one get {@code .json} or {@code .csv} appended
+     * depending on their first character, so the parser can pick them up.
+     */
+    static String resolveFilename(String filename, byte[] head) {
+        if (head.length == 0) {
+            throw new FileProcessingException("File is empty: " + filename);
+        }
+        String name = filename.toLowerCase(Locale.ROOT);
+        if (FileParserService.isGzip(head)) {
+            requireExtension(filename, name, GZIP_EXTENSIONS);
+        } else if (FileParserService.isZstd(head)) {
+            requireExtension(filename, name, ZSTD_EXTENSIONS);
+        } else if (FileParserService.isZip(head)) {
+            requireExtension(filename, name, ZIP_EXTENSIONS);
+        } else if (isOle2(head)) {
+            requireExtension(filename, name, OLE2_EXTENSIONS);
+        } else if (isText(head)) {
+            if (hasExtension(name, TEXT_EXTENSIONS)) {
+                return filename;
+            }
+            if (CONTENT_TYPES.keySet().stream().anyMatch(name::endsWith)) {
+                throw mismatch(filename);
+            }
+            return filename + (looksLikeJson(head) ? ".json" : ".csv");
+        } else {
+            throw new FileProcessingException("Unsupported file type: " + filename);
+        }
+        return filename;
+    }
+
+    /**
+     * Content type implied by the extension of a name returned by {@link #resolveFilename}.
+     */
+    static String contentType(String filename) {
+        String name = filename.toLowerCase(Locale.ROOT);
+        return CONTENT_TYPES.entrySet().stream()
+                .filter(entry -> name.endsWith(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse("application/octet-stream");
+    }
+
+    private static void requireExtension(String filename, String name, String[] extensions) {
+        if (!hasExtension(name, extensions)) {
+            throw mismatch(filename);
+        }
+    }
+
+    private static boolean hasExtension(String name, String[] extensions) {
+        for (String extension : extensions) {
+            if (name.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static FileProcessingException mismatch(String filename) {
+        return new FileProcessingException("Upload content does not match its file type: " + filename);
+    }
+
+    private static boolean isOle2(byte[] head) {
+        return head.length >= 4 && (head[0] & 0xFF) == 0xD0 && (head[1] & 0xFF) == 0xCF
+                && (head[2] & 0xFF) == 0x11 && (head[3] & 0xFF) == 0xE0;
+    }
+
+    private static boolean isText(byte[] head) {
+        for (byte b : head) {
+            if (b == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean looksLikeJson(byte[] head) {
+        int i = 0;
+        // Skip a UTF-8 byte order mark
+        if (head.length >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+            i = 3;
+        }
+        while (i < head.length && Character.isWhitespace(head[i])) {
+            i++;
+        }
+        return i < head.length && (head[i] == '{' || head[i] == '[');
+    }
+}
@@ -0,0 +1,250 @@
+package com.amit.smartreconciliation.service.profiling;
+
+import com.amit.smartreconciliation.dto.response.SchemaResponse;
+
+import java.util.*;
+
+/**
+ * Accumulates the profile of a single column one value at a time in bounded memory.
+ *
+ * Distinct values are tracked exactly until {@link #EXACT_DISTINCT_LIMIT} is reached and by a
+ * {@link HyperLogLog} sketch afterwards. Samples are a uniform reservoir over the whole column
+ * rather than the first few rows.
+ *
+ * Type sniffing can be sampled: the first {@code typeSampleThreshold} values are always
+ * classified, after which only every {@code typeSampleStride}-th value is. The dominant type is
+ * then reported with the lower bound of its 95% Wilson score interval as a confidence.
+ */
+public class ColumnProfiler {
+
+    static final int EXACT_DISTINCT_LIMIT = 1024;
+    static final int SAMPLE_SIZE = 5;
+
+    private static final Set<String> NUMERIC_TYPES = Set.of("integer", "number", "currency", "percentage");
+
+    private final String name;
+    private final TypeSniffer sniffer;
+    private final int typeSampleThreshold;
+    private final int typeSampleStride;
+    private final HyperLogLog sketch = new HyperLogLog();
+    private final SplittableRandom random;
+
+    private Set<String> exactDistinct = new HashSet<>();
+    private final List<String> samples = new ArrayList<>(SAMPLE_SIZE);
+    private final Map<String, Integer> typeCounts = new LinkedHashMap<>();
+
+    private int nullCount;
+    private long seen;
+    private long sniffed;
+    private String lastType = "text";
+    private Double numericMin;
+    private Double numericMax;
+    private String textMin;
+    private String textMax;
+
+    public ColumnProfiler(String name) {
+        this(name, Integer.MAX_VALUE, 1);
+    }
+
+    public ColumnProfiler(String name, int typeSampleThreshold, int typeSampleStride) {
+        this.name = name;
+        this.sniffer = new TypeSniffer();
+        this.typeSampleThreshold = typeSampleThreshold;
+        this.typeSampleStride = Math.max(1, typeSampleStride);
+        this.random = new SplittableRandom(name != null ? name.hashCode() : 0);
+    }
+
+    public void accept(Object value) {
+        if (value == null) {
+            nullCount++;
+            return;
+        }
+        String text = value.toString().trim();
+        if (text.isEmpty()) {
+            nullCount++;
+            return;
+        }
+
+        seen++;
+        trackDistinct(text);
+        sample(value.toString());
+
+        String type = lastType;
+        if (seen <= typeSampleThreshold || (seen - typeSampleThreshold) % typeSampleStride == 0) {
+            type = sniffer.detect(value);
+            typeCounts.merge(type, 1, Integer::sum);
+            sniffed++;
+            lastType = type;
+        }
+
+        if (textMin == null || text.compareTo(textMin) < 0) textMin = text;
+        if (textMax == null || text.compareTo(textMax) > 0) textMax = text;
+
+        if (NUMERIC_TYPES.contains(type)) {
+            Double number = toDouble(value, text);
+            if (number != null) {
+                if (numericMin == null || number < numericMin) numericMin = number;
+                if (numericMax == null || number > numericMax) numericMax = number;
+            }
+        }
+    }
+
+    /**
+     * Folds the profile of the same column from another input (another sheet, say) into this
+     * one, as if both inputs had been read in sequence. Samples are redrawn from both
+     * reservoirs in proportion to the number of values each has seen.
+     */
+    public void merge(ColumnProfiler other) {
+        nullCount += other.nullCount;
+        other.typeCounts.forEach((type, count) -> typeCounts.merge(type, count, Integer::sum));
+
+        sketch.merge(other.sketch);
+        if (exactDistinct != null && other.exactDistinct != null) {
+            exactDistinct.addAll(other.exactDistinct);
+            if (exactDistinct.size() > EXACT_DISTINCT_LIMIT) {
+                exactDistinct = null;
+            }
+        } else {
+            exactDistinct = null;
+        }
+
+        mergeSamples(other);
+        seen += other.seen;
+        sniffed += other.sniffed;
+
+        if (other.textMin != null && (textMin == null || other.textMin.compareTo(textMin) < 0)) textMin = other.textMin;
+        if (other.textMax != null && (textMax == null || other.textMax.compareTo(textMax) > 0)) textMax = other.textMax;
+        if (other.numericMin != null && (numericMin == null || other.numericMin < numericMin)) numericMin = other.numericMin;
+        if (other.numericMax != null && (numericMax == null || other.numericMax > numericMax)) numericMax = other.numericMax;
+    }
+
+    private void mergeSamples(ColumnProfiler other) {
+        List<String> mine = new ArrayList<>(samples);
+        List<String> theirs = new ArrayList<>(other.samples);
+        long mineWeight = seen;
+        long theirsWeight = other.seen;
+        samples.clear();
+        while (samples.size() < SAMPLE_SIZE && (!mine.isEmpty() || !theirs.isEmpty())) {
+            boolean takeMine = theirs.isEmpty()
+                    || (!mine.isEmpty() && random.nextLong(mineWeight + theirsWeight) < mineWeight);
+            List<String> source = takeMine ? mine : theirs;
+            samples.add(source.remove(random.nextInt(source.size())));
+        }
+    }
+
+    private void trackDistinct(String text) {
+        sketch.add(text);
+        if (exactDistinct != null) {
+            exactDistinct.add(text);
+            if (exactDistinct.size() > EXACT_DISTINCT_LIMIT) {
+                exactDistinct = null;
+            }
+        }
+    }
+
+    private void sample(String value) {
+        if (samples.size() < SAMPLE_SIZE) {
+            samples.add(value);
+            return;
+        }
+        long slot = random.nextLong(seen);
+        if (slot < SAMPLE_SIZE) {
+            samples.set((int) slot, value);
+        }
+    }
+
+    private Double toDouble(Object value, String text) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        StringBuilder cleaned = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c >= '0' && c <= '9') || c == '.' || c == '-') {
+                cleaned.append(c);
+            }
+        }
+        String candidate = cleaned.toString();
+        return TypeSniffer.isNumber(candidate) ? Double.parseDouble(candidate) : null;
+    }
+
+    public String getName() { return name; }
+
+    public int getNullCount() { return nullCount; }
+
+    public int getUniqueCount() {
+        if (exactDistinct != null) {
+            return exactDistinct.size();
+        }
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(sketch.estimate(), EXACT_DISTINCT_LIMIT));
+    }
+
+    public boolean isUniqueCountExact() { return exactDistinct != null; }
+
+    public String getDominantType() {
+        return typeCounts.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse("text");
+    }
+
+    public Map<String, Integer> getTypeCounts() { return Collections.unmodifiableMap(typeCounts); }
+
+    public boolean isTypeSampled() { return sniffed < seen; }
+
+    /**
+     * Lower bound of the 95% Wilson score interval for the share of sniffed values that have the
+     * dominant type. Close to 1.0 means the column is homogeneous; 0.0 means nothing was sniffed.
+     */
+    public double getTypeConfidence() {
+        if (sniffed == 0) {
+            return 0.0;
+        }
+        int dominant = typeCounts.getOrDefault(getDominantType(), 0);
+        double n = sniffed;
+        double p = dominant / n;
+        double z = 1.96;
+        double z2 = z * z;
+        double centre = p + z2 / (2 * n);
+        double margin = z * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n));
+        double lower = (centre - margin) / (1 + z2 / n);
+        return Math.round(Math.max(0.0, lower) * 10000) / 10000.0;
+    }
+
+    public List<String> getSampleValues() { return List.copyOf(samples); }
+
+    public String getMinValue() {
+        if (NUMERIC_TYPES.contains(getDominantType()) && numericMin != null) {
+            return formatNumber(numericMin);
+        }
+        return textMin;
+    }
+
+    public String getMaxValue() {
+        if (NUMERIC_TYPES.contains(getDominantType()) && numericMax != null) {
+            return formatNumber(numericMax);
+        }
+        return textMax;
+    }
+
+    private String formatNumber(double number) {
+        if (number == Math.rint(number) && !Double.isInfinite(number) && Math.abs(number) < 1e15) {
+            return String.valueOf((long) number);
+        }
+        return String.valueOf(number);
+    }
+
+    public SchemaResponse.ColumnSchema toColumnSchema() {
+        return SchemaResponse.ColumnSchema.builder()
+                .name(name)
+                .detectedType(getDominantType())
+                .nullCount(nullCount)
+                .uniqueCount(getUniqueCount())
+                .sampleValues(getSampleValues())
+                .typeCounts(new LinkedHashMap<>(typeCounts))
+                .minValue(getMinValue())
+                .maxValue(getMaxValue())
+                .typeConfidence(getTypeConfidence())
+                .build();
+    }
+}
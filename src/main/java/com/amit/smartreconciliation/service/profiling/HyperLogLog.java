@@ -0,0 +1,96 @@
+package com.amit.smartreconciliation.service.profiling;
+
+/**
+ * Fixed-size HyperLogLog cardinality sketch.
+ *
+ * With the default precision of 12 the sketch uses 4 KB of registers and estimates
+ * distinct counts with a standard error of roughly 1.6%, regardless of input size.
+ */
+public class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 12;
+
+    private final int precision;
+    private final int registerCount;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("HyperLogLog precision must be between 4 and 18");
+        }
+        this.precision = precision;
+        this.registerCount = 1 << precision;
+        this.registers = new byte[registerCount];
+    }
+
+    public void add(String value) {
+        addHash(hash64(value));
+    }
+
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        long remaining = hash << precision;
+        int rank = remaining == 0 ? (64 - precision + 1) : Long.numberOfLeadingZeros(remaining) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * Folds another sketch of the same precision into this one; the result estimates the
+     * cardinality of the union of both inputs.
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog sketches of different precision");
+        }
+        for (int i = 0; i < registerCount; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        double sum = 0.0;
+        int zeroRegisters = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeroRegisters++;
+            }
+        }
+
+        double m = registerCount;
+        double alpha = 0.7213 / (1.0 + 1.079 / m);
+        double raw = alpha * m * m / sum;
+
+        // Linear counting is far more accurate while many registers are still empty
+        if (raw <= 2.5 * m && zeroRegisters > 0) {
+            return Math.round(m * Math.log(m / zeroRegisters));
+        }
+        return Math.round(raw);
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units followed by the MurmurHash3 finalizer,
+     * which spreads the low-entropy FNV output evenly across all bits.
+     */
+    static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53e88c3L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
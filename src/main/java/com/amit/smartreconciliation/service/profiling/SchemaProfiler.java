@@ -0,0 +1,92 @@
+package com.amit.smartreconciliation.service.profiling;
+
+import com.amit.smartreconciliation.dto.response.SchemaResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Profiles every column of a tabular input in a single pass over its rows.
+ *
+ * Rows are consumed one at a time and never retained, so memory stays proportional to
+ * the number of columns rather than the number of rows.
+ */
+public class SchemaProfiler {
+
+    private final List<ColumnProfiler> columns;
+    private int rowCount;
+
+    public SchemaProfiler(List<String> headers) {
+        this(headers, Integer.MAX_VALUE, 1);
+    }
+
+    public SchemaProfiler(List<String> headers, int typeSampleThreshold, int typeSampleStride) {
+        this.columns = new ArrayList<>(headers.size());
+        for (String header : headers) {
+            columns.add(new ColumnProfiler(header, typeSampleThreshold, typeSampleStride));
+        }
+    }
+
+    public void accept(List<Object> row) {
+        rowCount++;
+        int width = Math.min(row.size(), columns.size());
+        for (int i = 0; i < width; i++) {
+            columns.get(i).accept(row.get(i));
+        }
+    }
+
+    /**
+     * Folds another profiler into this one. Columns are matched by name; columns that only the
+     * other input has are ignored, since the headers of this input define the schema.
+     */
+    public void merge(SchemaProfiler other) {
+        rowCount += other.rowCount;
+        for (ColumnProfiler column : other.columns) {
+            for (ColumnProfiler mine : columns) {
+                if (Objects.equals(mine.getName(), column.getName())) {
+                    mine.merge(column);
+                    break;
+                }
+            }
+        }
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public List<ColumnProfiler> getColumns() {
+        return columns;
+    }
+
+    public List<SchemaResponse.ColumnSchema> toColumnSchemas() {
+        List<SchemaResponse.ColumnSchema> schemas = new ArrayList<>(columns.size());
+        for (ColumnProfiler column : columns) {
+            schemas.add(column.toColumnSchema());
+        }
+        return schemas;
+    }
+
+    public List<Map<String, Object>> toSchemaMap() {
+        List<Map<String, Object>> schema = new ArrayList<>(columns.size());
+        for (ColumnProfiler column : columns) {
+            Map<String, Object> columnMap = new HashMap<>();
+            columnMap.put("name", column.getName());
+            columnMap.put("detectedType", column.getDominantType());
+            columnMap.put("nullCount", column.getNullCount());
+            columnMap.put("uniqueCount", column.getUniqueCount());
+            columnMap.put("uniqueCountExact", column.isUniqueCountExact());
+            columnMap.put("sampleValues", column.getSampleValues());
+            columnMap.put("typeCounts", new HashMap<>(column.getTypeCounts()));
+            columnMap.put("minValue", column.getMinValue());
+            columnMap.put("maxValue", column.getMaxValue());
+            columnMap.put("typeConfidence", column.getTypeConfidence());
+            columnMap.put("typeSampled", column.isTypeSampled());
+            schema.add(columnMap);
+        }
+        return schema;
+    }
+}
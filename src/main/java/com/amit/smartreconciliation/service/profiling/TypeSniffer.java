@@ -0,0 +1,239 @@
+package com.amit.smartreconciliation.service.profiling;
+
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Classifies cell values into the schema types used by {@code SchemaDetectionService}
+ * ("currency", "percentage", "integer", "number", "date", "email", "boolean", "text").
+ *
+ * The classification is equivalent to the former regex cascade but never throws: a single
+ * character-class scan rules out impossible types up front, numeric shapes are matched by hand
+ * and dates go through {@link DateTimeFormatter#parseUnresolved} with a {@link ParsePosition}.
+ * One instance is meant to be used per column so the date format that matched last is tried
+ * first on the next value.
+ */
+public class TypeSniffer {
+
+    private static final List<DateTimeFormatter> DATE_FORMATTERS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+            DateTimeFormatter.ofPattern("MM/dd/yyyy", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("yyyy/MM/dd", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("MM-dd-yyyy", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("dd-MM-yyyy", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("MMM dd, yyyy", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.ENGLISH)
+    );
+
+    private static final int MIN_DATE_LENGTH = 8;
+    private static final int MAX_DATE_LENGTH = 32;
+
+    private int winningDateFormat = -1;
+
+    public String detect(Object value) {
+        if (value == null) return "null";
+
+        if (value instanceof Number) {
+            if (value instanceof Double || value instanceof Float) {
+                return "number";
+            }
+            return "integer";
+        }
+
+        if (value instanceof LocalDate || value instanceof LocalDateTime) {
+            return "date";
+        }
+
+        if (value instanceof Boolean) {
+            return "boolean";
+        }
+
+        String s = value.toString().trim();
+        if (s.isEmpty()) {
+            return "null";
+        }
+
+        int digits = 0;
+        int letters = 0;
+        boolean hasAt = false;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') digits++;
+            else if (Character.isLetter(c)) letters++;
+            else if (c == '@') hasAt = true;
+        }
+
+        if (digits > 0 && letters == 0) {
+            if (isCurrency(s)) return "currency";
+            if (isPercentage(s)) return "percentage";
+            if (isInteger(s)) return "integer";
+            if (isNumber(s)) return "number";
+        }
+
+        if (digits >= 4 && !hasAt && s.length() >= MIN_DATE_LENGTH && s.length() <= MAX_DATE_LENGTH
+                && isDate(s)) {
+            return "date";
+        }
+
+        if (hasAt && isEmail(s)) {
+            return "email";
+        }
+
+        if (digits == 0 && (s.equalsIgnoreCase("true") || s.equalsIgnoreCase("false")
+                || s.equalsIgnoreCase("yes") || s.equalsIgnoreCase("no"))) {
+            return "boolean";
+        }
+
+        return "text";
+    }
+
+    // ^[$€£¥]?-?\d{1,3}(,\d{3})*(\.\d{2})?$
+    static boolean isCurrency(String s) {
+        int i = 0;
+        int n = s.length();
+        if (i < n && isCurrencySymbol(s.charAt(i))) i++;
+        if (i < n && s.charAt(i) == '-') i++;
+
+        int lead = countDigits(s, i);
+        if (lead < 1 || lead > 3) return false;
+        i += lead;
+
+        while (i < n && s.charAt(i) == ',') {
+            if (countDigits(s, i + 1) != 3) return false;
+            i += 4;
+        }
+
+        if (i < n && s.charAt(i) == '.') {
+            if (countDigits(s, i + 1) != 2) return false;
+            i += 3;
+        }
+        return i == n;
+    }
+
+    // ^-?\d+(\.\d+)?%$
+    static boolean isPercentage(String s) {
+        int n = s.length();
+        return n > 1 && s.charAt(n - 1) == '%' && isNumber(s.substring(0, n - 1));
+    }
+
+    // ^-?\d+$
+    static boolean isInteger(String s) {
+        int i = s.startsWith("-") ? 1 : 0;
+        int run = countDigits(s, i);
+        return run > 0 && i + run == s.length();
+    }
+
+    // ^-?\d+(\.\d+)?$
+    static boolean isNumber(String s) {
+        int i = s.startsWith("-") ? 1 : 0;
+        int run = countDigits(s, i);
+        if (run == 0) return false;
+        i += run;
+        if (i == s.length()) return true;
+        if (s.charAt(i) != '.') return false;
+        int fraction = countDigits(s, i + 1);
+        return fraction > 0 && i + 1 + fraction == s.length();
+    }
+
+    // ^[A-Za-z0-9+_.-]+@(.+)$
+    static boolean isEmail(String s) {
+        int at = s.indexOf('@');
+        if (at <= 0 || at == s.length() - 1) return false;
+        for (int i = 0; i < at; i++) {
+            char c = s.charAt(i);
+            boolean allowed = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '+' || c == '_' || c == '.' || c == '-';
+            if (!allowed) return false;
+        }
+        for (int i = at + 1; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') return false;
+        }
+        return true;
+    }
+
+    boolean isDate(String s) {
+        if (winningDateFormat >= 0 && parsesAsDate(s, DATE_FORMATTERS.get(winningDateFormat))) {
+            return true;
+        }
+        for (int i = 0; i < DATE_FORMATTERS.size(); i++) {
+            if (i != winningDateFormat && parsesAsDate(s, DATE_FORMATTERS.get(i))) {
+                winningDateFormat = i;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean parsesAsDate(String s, DateTimeFormatter formatter) {
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor parsed = formatter.parseUnresolved(s, position);
+        if (parsed == null || position.getErrorIndex() >= 0 || position.getIndex() != s.length()) {
+            return false;
+        }
+        return hasValidDateFields(parsed);
+    }
+
+    /**
+     * Validates the unresolved fields without going through the resolver, which would report
+     * an impossible date such as 2024-02-30 by throwing.
+     */
+    private static boolean hasValidDateFields(TemporalAccessor parsed) {
+        long year;
+        if (parsed.isSupported(ChronoField.YEAR)) {
+            year = parsed.getLong(ChronoField.YEAR);
+        } else if (parsed.isSupported(ChronoField.YEAR_OF_ERA)) {
+            year = parsed.getLong(ChronoField.YEAR_OF_ERA);
+        } else {
+            return false;
+        }
+        if (!parsed.isSupported(ChronoField.MONTH_OF_YEAR) || !parsed.isSupported(ChronoField.DAY_OF_MONTH)) {
+            return false;
+        }
+        long month = parsed.getLong(ChronoField.MONTH_OF_YEAR);
+        long day = parsed.getLong(ChronoField.DAY_OF_MONTH);
+        if (!ChronoField.YEAR.range().isValidValue(year) || month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        if (day > lengthOfMonth((int) year, (int) month)) {
+            return false;
+        }
+
+        ChronoField[] timeFields = {ChronoField.HOUR_OF_DAY, ChronoField.MINUTE_OF_HOUR,
+                ChronoField.SECOND_OF_MINUTE, ChronoField.NANO_OF_SECOND};
+        for (ChronoField field : timeFields) {
+            if (parsed.isSupported(field) && !field.range().isValidValue(parsed.getLong(field))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isCurrencySymbol(char c) {
+        return c == '$' || c == '€' || c == '£' || c == '¥';
+    }
+
+    private static int countDigits(String s, int from) {
+        int i = from;
+        while (i < s.length() && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+            i++;
+        }
+        return i - from;
+    }
+}
@@ -2,8 +2,8 @@ package com.amit.smartreconciliation.service.tool;
 
 import com.amit.smartreconciliation.dto.response.SchemaResponse;
 import com.amit.smartreconciliation.dto.response.tool.FileSummaryResponse;
-import com.amit.smartreconciliation.entity.UploadedFile;
 import com.amit.smartreconciliation.enums.FileStatus;
+import com.amit.smartreconciliation.repository.SearchPatterns;
 import com.amit.smartreconciliation.repository.UploadedFileRepository;
 import com.amit.smartreconciliation.service.FileUploadService;
 import com.amit.smartreconciliation.service.OrganizationService;
@@ -11,10 +11,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * 🛠️ FILE TOOLS (Agentic AI)
@@ -47,34 +49,21 @@ public class FileTools {
         log.info("🤖 Tool Call: listFiles(status={}, searchTerm={}, limit={})", status, searchTerm, limit);
 
         Long orgId = organizationService.getDefaultOrganization().getId();
-        List<UploadedFile> files = fileRepository.findByOrganizationId(orgId);
 
         // Apply status filter
+        Set<FileStatus> statuses = EnumSet.allOf(FileStatus.class);
         if (status != null && !status.isBlank()) {
             try {
-                FileStatus statusEnum = FileStatus.valueOf(status.toUpperCase());
-                files = files.stream()
-                        .filter(f -> f.getStatus() == statusEnum)
-                        .collect(Collectors.toList());
+                statuses = EnumSet.of(FileStatus.valueOf(status.toUpperCase()));
             } catch (IllegalArgumentException e) {
                 log.warn("Invalid file status filter: {}", status);
             }
         }
 
-        // Apply search filter
-        if (searchTerm != null && !searchTerm.isBlank()) {
-            String searchLower = searchTerm.toLowerCase();
-            files = files.stream()
-                    .filter(f -> f.getOriginalFilename().toLowerCase().contains(searchLower))
-                    .collect(Collectors.toList());
-        }
-
-        // Apply limit
+        // Filters, order and limit run in one projection query
         int maxResults = (limit != null && limit > 0 && limit <= 100) ? limit : 20;
-        return files.stream()
-                .limit(maxResults)
-                .map(FileSummaryResponse::fromEntity)
-                .collect(Collectors.toList());
+        return fileRepository.findSummaries(orgId, statuses, SearchPatterns.contains(searchTerm),
+                PageRequest.of(0, maxResults));
     }
 
     @Tool(description = "Retrieves the detected schema of a file including column names, data types, and sample values. Use this when the user asks about file structure, columns, or data types.")
@@ -3,19 +3,21 @@ package com.amit.smartreconciliation.service.tool;
 import com.amit.smartreconciliation.dto.response.ReconciliationResponse;
 import com.amit.smartreconciliation.dto.response.tool.ReconciliationDetailsResponse;
 import com.amit.smartreconciliation.dto.response.tool.ReconciliationSummaryResponse;
-import com.amit.smartreconciliation.entity.Reconciliation;
 import com.amit.smartreconciliation.enums.ReconciliationStatus;
 import com.amit.smartreconciliation.repository.ReconciliationRepository;
+import com.amit.smartreconciliation.repository.SearchPatterns;
 import com.amit.smartreconciliation.service.OrganizationService;
 import com.amit.smartreconciliation.service.ReconciliationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * 🛠️ RECONCILIATION TOOLS (Agentic AI)
@@ -50,7 +52,7 @@ public class ReconciliationTools {
             throw new IllegalArgumentException("Reconciliation ID is required");
         }
 
-        return reconciliationRepository.findById(reconciliationId)
+        return reconciliationRepository.findResponseById(reconciliationId)
                 .map(ReconciliationDetailsResponse::fromEntity)
                 .orElseThrow(() -> new IllegalArgumentException("Reconciliation not found with ID: " + reconciliationId));
     }
@@ -64,35 +66,21 @@ public class ReconciliationTools {
         log.info("🤖 Tool Call: listReconciliations(status={}, searchTerm={}, limit={})", status, searchTerm, limit);
 
         Long orgId = organizationService.getDefaultOrganization().getId();
-        List<Reconciliation> reconciliations = reconciliationRepository.findByOrganizationIdOrderByCreatedAtDesc(orgId);
 
         // Apply status filter
+        Set<ReconciliationStatus> statuses = EnumSet.allOf(ReconciliationStatus.class);
         if (status != null && !status.isBlank()) {
             try {
-                ReconciliationStatus statusEnum = ReconciliationStatus.valueOf(status.toUpperCase());
-                reconciliations = reconciliations.stream()
-                        .filter(r -> r.getStatus() == statusEnum)
-                        .collect(Collectors.toList());
+                statuses = EnumSet.of(ReconciliationStatus.valueOf(status.toUpperCase()));
             } catch (IllegalArgumentException e) {
                 log.warn("Invalid status filter: {}", status);
             }
         }
 
-        // Apply search filter
-        if (searchTerm != null && !searchTerm.isBlank()) {
-            String searchLower = searchTerm.toLowerCase();
-            reconciliations = reconciliations.stream()
-                    .filter(r -> r.getName().toLowerCase().contains(searchLower) ||
-                                (r.getDescription() != null && r.getDescription().toLowerCase().contains(searchLower)))
-                    .collect(Collectors.toList());
-        }
-
-        // Apply limit
+        // Filters, order and limit run in one projection query
         int maxResults = (limit != null && limit > 0 && limit <= 50) ? limit : 10;
-        return reconciliations.stream()
-                .limit(maxResults)
-                .map(ReconciliationSummaryResponse::fromEntity)
-                .collect(Collectors.toList());
+        return reconciliationRepository.findSummaries(orgId, statuses, SearchPatterns.contains(searchTerm),
+                PageRequest.of(0, maxResults));
     }
 
     @Tool(description = "Gets the current status and progress of a reconciliation. Use this when the user asks if a reconciliation is complete, what the progress is, or the current state.")
@@ -0,0 +1,6 @@
+-- V10: Multi-sheet workbook ingestion
+-- sheets holds one summary per worksheet (name, index, row/column counts, detected schema).
+-- selected_sheets restricts a file to some of its sheets; several names are read as one input.
+
+ALTER TABLE uploaded_files ADD COLUMN sheets JSONB;
+ALTER TABLE uploaded_files ADD COLUMN selected_sheets JSONB;
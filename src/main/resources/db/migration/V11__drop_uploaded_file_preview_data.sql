@@ -0,0 +1,5 @@
+-- V11: File previews are served from an on-disk row index
+-- The first rows no longer live in the uploaded_files row; pages are read from the blob
+-- (or its normalized spool) through index/<file id>.idx under the upload directory.
+
+ALTER TABLE uploaded_files DROP COLUMN preview_data;
@@ -0,0 +1,5 @@
+-- V12: Storage inventory
+-- missing is maintained by the storage inventory (file watcher plus periodic sweep) so listings
+-- and reconciliation setup no longer stat the upload directory per file.
+
+ALTER TABLE uploaded_files ADD COLUMN missing BOOLEAN NOT NULL DEFAULT FALSE;
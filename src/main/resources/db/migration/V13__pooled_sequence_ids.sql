@@ -0,0 +1,30 @@
+-- V13: Pooled sequence ids for high-volume tables
+-- IDENTITY ids need an insert round trip per row and rule out JDBC batching. These tables now
+-- draw ids from sequences stepping by 100; Hibernate's pooled-lo optimizer hands out a block of
+-- 100 ids per nextval. Each sequence starts above the current maximum id and stays the column
+-- default, so inserts that omit the id still get a unique value.
+
+ALTER TABLE reconciliation_exceptions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE reconciliation_exceptions_seq INCREMENT BY 100 OWNED BY reconciliation_exceptions.id;
+SELECT setval('reconciliation_exceptions_seq', COALESCE((SELECT MAX(id) FROM reconciliation_exceptions), 0) + 1, false);
+ALTER TABLE reconciliation_exceptions ALTER COLUMN id SET DEFAULT nextval('reconciliation_exceptions_seq');
+
+ALTER TABLE chat_messages ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE chat_messages_seq INCREMENT BY 100 OWNED BY chat_messages.id;
+SELECT setval('chat_messages_seq', COALESCE((SELECT MAX(id) FROM chat_messages), 0) + 1, false);
+ALTER TABLE chat_messages ALTER COLUMN id SET DEFAULT nextval('chat_messages_seq');
+
+ALTER TABLE reconciliation_steps ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE reconciliation_steps_seq INCREMENT BY 100 OWNED BY reconciliation_steps.id;
+SELECT setval('reconciliation_steps_seq', COALESCE((SELECT MAX(id) FROM reconciliation_steps), 0) + 1, false);
+ALTER TABLE reconciliation_steps ALTER COLUMN id SET DEFAULT nextval('reconciliation_steps_seq');
+
+ALTER TABLE reconciliation_runs ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE reconciliation_runs_seq INCREMENT BY 100 OWNED BY reconciliation_runs.id;
+SELECT setval('reconciliation_runs_seq', COALESCE((SELECT MAX(id) FROM reconciliation_runs), 0) + 1, false);
+ALTER TABLE reconciliation_runs ALTER COLUMN id SET DEFAULT nextval('reconciliation_runs_seq');
+
+ALTER TABLE reconciliation_step_runs ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE reconciliation_step_runs_seq INCREMENT BY 100 OWNED BY reconciliation_step_runs.id;
+SELECT setval('reconciliation_step_runs_seq', COALESCE((SELECT MAX(id) FROM reconciliation_step_runs), 0) + 1, false);
+ALTER TABLE reconciliation_step_runs ALTER COLUMN id SET DEFAULT nextval('reconciliation_step_runs_seq');
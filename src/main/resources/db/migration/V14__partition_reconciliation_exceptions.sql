@@ -0,0 +1,81 @@
+-- V14: Monthly partitions and composite indexes for reconciliation_exceptions
+-- Every read filters by reconciliation_id and then status, type or severity, and the org-wide
+-- listing joins reconciliations on organization_id and created_at. The table had no index on any
+-- of them. It is rebuilt as a range-partitioned table on created_at, one partition per month, so
+-- old runs can be removed with DROP TABLE on a partition instead of a 100M-row DELETE. The
+-- partition key must be part of the primary key, which becomes (id, created_at); ids still come
+-- from reconciliation_exceptions_seq and stay unique on their own. ExceptionPartitionService
+-- creates partitions ahead of time; the default partition only catches rows outside that range.
+
+ALTER TABLE reconciliation_exceptions RENAME TO reconciliation_exceptions_old;
+ALTER TABLE reconciliation_exceptions_old RENAME CONSTRAINT reconciliation_exceptions_pkey TO reconciliation_exceptions_old_pkey;
+ALTER SEQUENCE reconciliation_exceptions_seq OWNED BY NONE;
+
+CREATE TABLE reconciliation_exceptions (
+    id BIGINT NOT NULL DEFAULT nextval('reconciliation_exceptions_seq'),
+    type VARCHAR(255) NOT NULL,
+    severity VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    domain VARCHAR(50) NOT NULL DEFAULT 'GENERAL',
+    description TEXT,
+    field_name VARCHAR(255),
+    source_value TEXT,
+    target_value TEXT,
+    source_data JSONB,
+    target_data JSONB,
+    ai_suggestion TEXT,
+    resolution TEXT,
+    resolved_by VARCHAR(255),
+    resolved_at TIMESTAMP(6) WITHOUT TIME ZONE,
+    acknowledged_at TIMESTAMP(6) WITHOUT TIME ZONE,
+    reviewed_at TIMESTAMP(6) WITHOUT TIME ZONE,
+    ignored_at TIMESTAMP(6) WITHOUT TIME ZONE,
+    reconciliation_id BIGINT NOT NULL REFERENCES reconciliations(id),
+    created_at TIMESTAMP(6) WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP(6) WITHOUT TIME ZONE
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE reconciliation_exceptions_seq OWNED BY reconciliation_exceptions.id;
+
+CREATE TABLE reconciliation_exceptions_default PARTITION OF reconciliation_exceptions DEFAULT;
+
+-- One partition per month from the oldest existing row up to three months ahead
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE(
+            (SELECT MIN(COALESCE(created_at, updated_at)) FROM reconciliation_exceptions_old), now()));
+    last_month DATE := date_trunc('month', now() + INTERVAL '3 months');
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF reconciliation_exceptions FOR VALUES FROM (%L) TO (%L)',
+                'reconciliation_exceptions_p' || to_char(month_start, 'YYYYMM'),
+                month_start, month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO reconciliation_exceptions (
+    id, type, severity, status, domain, description, field_name, source_value, target_value,
+    source_data, target_data, ai_suggestion, resolution, resolved_by, resolved_at, acknowledged_at,
+    reviewed_at, ignored_at, reconciliation_id, created_at, updated_at)
+SELECT id, type, severity, status, domain, description, field_name, source_value, target_value,
+       source_data, target_data, ai_suggestion, resolution, resolved_by, resolved_at, acknowledged_at,
+       reviewed_at, ignored_at, reconciliation_id, COALESCE(created_at, updated_at, now()), updated_at
+FROM reconciliation_exceptions_old;
+
+DROP TABLE reconciliation_exceptions_old;
+
+-- Indexes on the parent are created on every partition, including ones added later
+ALTER TABLE reconciliation_exceptions ADD PRIMARY KEY (id, created_at);
+
+-- Per-reconciliation listing, paging in id order and status counts (dashboard, run summaries)
+CREATE INDEX idx_reconciliation_exceptions_recon_status ON reconciliation_exceptions(reconciliation_id, status, id);
+CREATE INDEX idx_reconciliation_exceptions_recon_type ON reconciliation_exceptions(reconciliation_id, type, id);
+CREATE INDEX idx_reconciliation_exceptions_recon_severity ON reconciliation_exceptions(reconciliation_id, severity, id);
+
+-- Filters across reconciliations (exception queue) and the domain filter from V6
+CREATE INDEX idx_reconciliation_exceptions_status_type_severity ON reconciliation_exceptions(status, type, severity);
+CREATE INDEX idx_reconciliation_exceptions_domain ON reconciliation_exceptions(domain);
+
+-- ReconciliationExceptionSpec joins on the organization and filters on the reconciliation's date
+CREATE INDEX idx_reconciliations_org_created ON reconciliations(organization_id, created_at);
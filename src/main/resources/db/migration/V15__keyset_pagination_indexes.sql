@@ -0,0 +1,8 @@
+-- V15: Indexes in keyset order for cursor pagination
+-- Exception listings across runs page by (created_at, id) and reconciliation listings by
+-- (organization_id, created_at, id); each page seeks into these instead of skipping an offset.
+
+CREATE INDEX idx_reconciliation_exceptions_created_id ON reconciliation_exceptions(created_at, id);
+
+DROP INDEX IF EXISTS idx_reconciliations_org_created;
+CREATE INDEX idx_reconciliations_org_created_id ON reconciliations(organization_id, created_at, id);
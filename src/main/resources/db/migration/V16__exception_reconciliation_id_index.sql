@@ -0,0 +1,6 @@
+-- V16: Id-ordered index per reconciliation
+-- Exports and the per-run cursor listing read one reconciliation's exceptions in id order. The
+-- V14 indexes put status, type or severity before id, so without a filter on one of those the
+-- rows had to be sorted first.
+
+CREATE INDEX idx_reconciliation_exceptions_recon_id ON reconciliation_exceptions(reconciliation_id, id);
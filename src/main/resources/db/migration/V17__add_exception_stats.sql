@@ -0,0 +1,20 @@
+-- V17: Exception count rollup
+-- One row per (reconciliation, type, severity, status) holding the number of exceptions in that
+-- bucket. The bulk writer and the status-transition paths adjust it in the same transaction as
+-- the exception rows, so dashboard and per-status counts read a handful of rollup rows instead
+-- of counting the exceptions themselves. Deleting a reconciliation removes its rows.
+
+CREATE TABLE exception_stats (
+    reconciliation_id BIGINT NOT NULL REFERENCES reconciliations(id) ON DELETE CASCADE,
+    type VARCHAR(255) NOT NULL,
+    severity VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    exception_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (reconciliation_id, type, severity, status)
+);
+
+INSERT INTO exception_stats (reconciliation_id, type, severity, status, exception_count)
+SELECT reconciliation_id, type, severity, status, count(*)
+FROM reconciliation_exceptions
+GROUP BY reconciliation_id, type, severity, status;
@@ -0,0 +1,51 @@
+-- V18: Dashboard trend rollups
+-- Hourly and daily buckets per organization and reconciliation domain: runs finished, source
+-- records and matches of completed runs, exceptions opened (by created_at) and resolved (by
+-- resolved_at) with their summed resolution time. Run completion, the exception bulk writer and
+-- the status-transition paths add deltas in the same transaction as the rows they change, so
+-- trend queries read at most one row per bucket instead of scanning runs and exceptions.
+-- Buckets are kept when runs are deleted or exception partitions dropped.
+
+CREATE TABLE trend_rollups (
+    organization_id BIGINT NOT NULL REFERENCES organizations(id) ON DELETE CASCADE,
+    domain VARCHAR(255) NOT NULL,
+    granularity VARCHAR(16) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    runs_completed BIGINT NOT NULL DEFAULT 0,
+    runs_failed BIGINT NOT NULL DEFAULT 0,
+    source_records BIGINT NOT NULL DEFAULT 0,
+    matched_records BIGINT NOT NULL DEFAULT 0,
+    exceptions_opened BIGINT NOT NULL DEFAULT 0,
+    exceptions_resolved BIGINT NOT NULL DEFAULT 0,
+    resolution_seconds DOUBLE PRECISION NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (organization_id, granularity, bucket_start, domain)
+);
+
+INSERT INTO trend_rollups (organization_id, domain, granularity, bucket_start, runs_completed, runs_failed,
+                           source_records, matched_records, exceptions_opened, exceptions_resolved,
+                           resolution_seconds)
+SELECT d.organization_id, d.domain, g.granularity, date_trunc(lower(g.granularity), d.at),
+       sum(d.runs_completed), sum(d.runs_failed), sum(d.source_records), sum(d.matched_records),
+       sum(d.exceptions_opened), sum(d.exceptions_resolved), coalesce(sum(d.resolution_seconds), 0)
+FROM (
+    SELECT r.organization_id, r.domain, r.completed_at AS at,
+           CASE WHEN r.status = 'COMPLETED' THEN 1 ELSE 0 END AS runs_completed,
+           CASE WHEN r.status = 'FAILED' THEN 1 ELSE 0 END AS runs_failed,
+           CASE WHEN r.status = 'COMPLETED' THEN coalesce(r.total_source_records, 0) ELSE 0 END AS source_records,
+           CASE WHEN r.status = 'COMPLETED' THEN coalesce(r.matched_records, 0) ELSE 0 END AS matched_records,
+           0 AS exceptions_opened, 0 AS exceptions_resolved, 0::DOUBLE PRECISION AS resolution_seconds
+    FROM reconciliations r
+    WHERE r.status IN ('COMPLETED', 'FAILED')
+    UNION ALL
+    SELECT r.organization_id, r.domain, e.created_at, 0, 0, 0, 0, 1, 0, 0
+    FROM reconciliation_exceptions e JOIN reconciliations r ON r.id = e.reconciliation_id
+    UNION ALL
+    SELECT r.organization_id, r.domain, e.resolved_at, 0, 0, 0, 0, 0, 1,
+           extract(epoch FROM e.resolved_at - e.created_at)
+    FROM reconciliation_exceptions e JOIN reconciliations r ON r.id = e.reconciliation_id
+    WHERE e.status = 'RESOLVED'
+) d
+CROSS JOIN (VALUES ('HOUR'), ('DAY')) g(granularity)
+WHERE d.at IS NOT NULL
+GROUP BY d.organization_id, d.domain, g.granularity, date_trunc(lower(g.granularity), d.at);
@@ -0,0 +1,29 @@
+-- V19: Row store for reconciliation exceptions
+-- Exceptions used to copy both input rows into source_data/target_data, so a pair with five
+-- differing fields stored the same two rows five times, column names included. A run now saves
+-- every input row its exceptions refer to once: the header list once per input in
+-- reconciliation_row_sets, each row as a JSON array of values in header order in
+-- reconciliation_rows. Exceptions keep the field diff (field_name, source_value, target_value)
+-- and the row ordinals; the full rows are resolved when an exception is read. Rows written before
+-- this migration keep their JSON copies, which are still read when present.
+
+CREATE TABLE reconciliation_row_sets (
+    reconciliation_id BIGINT NOT NULL REFERENCES reconciliations(id) ON DELETE CASCADE,
+    side VARCHAR(10) NOT NULL,
+    headers JSONB NOT NULL,
+    PRIMARY KEY (reconciliation_id, side)
+);
+
+CREATE TABLE reconciliation_rows (
+    reconciliation_id BIGINT NOT NULL,
+    side VARCHAR(10) NOT NULL,
+    row_ordinal INTEGER NOT NULL,
+    row_values JSONB NOT NULL,
+    PRIMARY KEY (reconciliation_id, side, row_ordinal),
+    FOREIGN KEY (reconciliation_id, side)
+        REFERENCES reconciliation_row_sets(reconciliation_id, side) ON DELETE CASCADE
+);
+
+-- Zero-based position of the row among the data rows of the source and target input
+ALTER TABLE reconciliation_exceptions ADD COLUMN source_row INTEGER;
+ALTER TABLE reconciliation_exceptions ADD COLUMN target_row INTEGER;
@@ -0,0 +1,6 @@
+-- V20: Pair-level exceptions
+-- A matched pair with several mismatching fields used to produce one exception per field, each
+-- repeating the pair. It now produces one exception per mismatching record pair, and field_diffs
+-- lists every differing field with its source and target value.
+
+ALTER TABLE reconciliation_exceptions ADD COLUMN field_diffs JSONB;
@@ -0,0 +1,23 @@
+-- V21: Background deletion of reconciliations
+-- A purge job deletes the listed reconciliations one by one, their exceptions in bounded batches,
+-- and records its progress so the bulk delete request can return at once.
+
+CREATE TABLE reconciliation_purge_jobs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    organization_id BIGINT NOT NULL REFERENCES organizations(id),
+    reconciliation_ids JSONB NOT NULL,
+    status VARCHAR(50) NOT NULL DEFAULT 'PENDING',
+    total_reconciliations INTEGER NOT NULL,
+    deleted_reconciliations INTEGER NOT NULL DEFAULT 0,
+    failed_reconciliations INTEGER NOT NULL DEFAULT 0,
+    deleted_exceptions BIGINT NOT NULL DEFAULT 0,
+    current_reconciliation_id BIGINT,
+    errors JSONB NOT NULL DEFAULT '[]'::jsonb,
+    started_at TIMESTAMP(6) WITHOUT TIME ZONE,
+    completed_at TIMESTAMP(6) WITHOUT TIME ZONE,
+    created_at TIMESTAMP(6) WITHOUT TIME ZONE,
+    updated_at TIMESTAMP(6) WITHOUT TIME ZONE
+);
+
+CREATE INDEX idx_purge_jobs_org_id ON reconciliation_purge_jobs(organization_id);
+CREATE INDEX idx_purge_jobs_status ON reconciliation_purge_jobs(status);
@@ -0,0 +1,9 @@
+-- V22: Upload sessions no longer pin their file
+-- A completed chunked upload keeps a reference to the uploaded file it produced. Deleting that
+-- file now clears the reference instead of failing the foreign key check at commit.
+
+ALTER TABLE upload_sessions DROP CONSTRAINT IF EXISTS upload_sessions_uploaded_file_id_fkey;
+
+ALTER TABLE upload_sessions
+    ADD CONSTRAINT upload_sessions_uploaded_file_id_fkey
+    FOREIGN KEY (uploaded_file_id) REFERENCES uploaded_files(id) ON DELETE SET NULL;
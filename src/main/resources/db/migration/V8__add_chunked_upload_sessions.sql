@@ -0,0 +1,31 @@
+-- V8: Chunked, resumable uploads
+-- upload_sessions tracks an in-flight upload whose chunks are written straight into a
+-- pre-allocated part file; uploaded_files records the SHA-256 computed while receiving them.
+
+CREATE TABLE upload_sessions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    upload_id VARCHAR(64) NOT NULL UNIQUE,
+    original_filename VARCHAR(255) NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    total_size BIGINT NOT NULL,
+    chunk_size INTEGER NOT NULL,
+    total_chunks INTEGER NOT NULL,
+    received_chunks JSONB NOT NULL DEFAULT '[]'::jsonb,
+    stored_filename VARCHAR(255) NOT NULL,
+    part_path VARCHAR(1024) NOT NULL,
+    expected_sha256 VARCHAR(64),
+    sha256 VARCHAR(64),
+    status VARCHAR(50) NOT NULL DEFAULT 'ACTIVE',
+    error_message TEXT,
+    uploaded_file_id BIGINT REFERENCES uploaded_files(id),
+    organization_id BIGINT NOT NULL REFERENCES organizations(id),
+    expires_at TIMESTAMP(6) WITHOUT TIME ZONE,
+    created_at TIMESTAMP(6) WITHOUT TIME ZONE,
+    updated_at TIMESTAMP(6) WITHOUT TIME ZONE
+);
+
+CREATE INDEX idx_upload_sessions_org_id ON upload_sessions(organization_id);
+CREATE INDEX idx_upload_sessions_status ON upload_sessions(status);
+
+ALTER TABLE uploaded_files
+    ADD COLUMN content_hash VARCHAR(64);
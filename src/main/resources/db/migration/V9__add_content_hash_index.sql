@@ -0,0 +1,5 @@
+-- V9: Content-addressed upload storage
+-- Uploads are stored once per SHA-256; duplicates are found by content hash.
+
+CREATE INDEX idx_uploaded_files_content_hash ON uploaded_files(content_hash);
+CREATE INDEX idx_uploaded_files_file_path ON uploaded_files(file_path);
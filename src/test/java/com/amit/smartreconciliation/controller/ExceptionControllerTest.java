@@ -2,6 +2,7 @@ package com.amit.smartreconciliation.controller;
 
 import com.amit.smartreconciliation.dto.request.AutoResolveExceptionsRequest;
 import com.amit.smartreconciliation.dto.response.AutoResolveExceptionsResponse;
+import com.amit.smartreconciliation.dto.response.CursorPage;
 import com.amit.smartreconciliation.dto.response.ExceptionRunSummaryResponse;
 import com.amit.smartreconciliation.dto.request.BulkExceptionRequest;
 import com.amit.smartreconciliation.dto.request.ExceptionUpdateRequest;
@@ -9,9 +10,13 @@ import com.amit.smartreconciliation.dto.response.ReconciliationExceptionResponse
 import com.amit.smartreconciliation.enums.ExceptionSeverity;
 import com.amit.smartreconciliation.enums.ExceptionStatus;
 import com.amit.smartreconciliation.enums.ExceptionType;
+import com.amit.smartreconciliation.enums.ExportFormat;
+import com.amit.smartreconciliation.exception.InvalidCursorException;
 import com.amit.smartreconciliation.security.JwtService;
 import com.amit.smartreconciliation.security.UserDetailsServiceImpl;
+import com.amit.smartreconciliation.service.ExceptionExportService;
 import com.amit.smartreconciliation.service.ExceptionService;
+import com.amit.smartreconciliation.service.ReconciliationPurgeService;
 import com.amit.smartreconciliation.service.ReconciliationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -26,6 +31,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -33,6 +40,8 @@ import java.util.Map;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
@@ -40,6 +49,8 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -47,7 +58,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Integration tests for ExceptionController
  * Module: Exception Management
  * Test Level: Integration Test
- * Total Test Cases: 7
+ * Total Test Cases: 13
  */
 @WebMvcTest(controllers = {ExceptionController.class, ReconciliationController.class})
 @AutoConfigureMockMvc(addFilters = false)
@@ -63,9 +74,15 @@ class ExceptionControllerTest {
     @MockBean
     private ExceptionService exceptionService;
 
+    @MockBean
+    private ExceptionExportService exceptionExportService;
+
     @MockBean
     private ReconciliationService reconciliationService;
 
+    @MockBean
+    private ReconciliationPurgeService purgeService;
+
     @MockBean
     private JwtService jwtService;
 
@@ -325,6 +342,84 @@ class ExceptionControllerTest {
                 .andExpect(jsonPath("$.data.updatedIds", hasSize(4)));
     }
 
+    @Test
+    @DisplayName("TC-EC-011: GET /api/v1/exceptions/scroll - Keyset Page with Next Cursor")
+    void testScrollExceptions() throws Exception {
+        // Given
+        CursorPage<ReconciliationExceptionResponse> page = new CursorPage<>(
+                List.of(buildExceptionResponse(41L, ExceptionType.VALUE_MISMATCH, ExceptionSeverity.HIGH, ExceptionStatus.OPEN)),
+                1, "next-cursor", 250L);
+        when(exceptionService.scroll(isNull(), isNull(), isNull(), eq(ExceptionStatus.OPEN), isNull(), isNull(),
+                eq("createdAt"), eq("desc"), eq("abc"), eq(1), eq(true)))
+                .thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/exceptions/scroll")
+                .param("status", "OPEN")
+                .param("cursor", "abc")
+                .param("size", "1")
+                .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.content", hasSize(1)))
+                .andExpect(jsonPath("$.data.content[0].id").value(41))
+                .andExpect(jsonPath("$.data.hasMore").value(true))
+                .andExpect(jsonPath("$.data.nextCursor").value("next-cursor"))
+                .andExpect(jsonPath("$.data.estimatedTotal").value(250))
+                .andExpect(jsonPath("$.data.totalElements").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("TC-EC-012: GET /api/v1/reconciliations/{id}/exceptions/scroll - Id Order and Bad Cursor")
+    void testScrollReconciliationExceptions() throws Exception {
+        // Given
+        when(exceptionService.scroll(eq(123L), isNull(), isNull(), isNull(), isNull(), isNull(),
+                eq("id"), eq("asc"), isNull(), eq(20), eq(false)))
+                .thenReturn(new CursorPage<>(List.of(), 20, null, null));
+        when(exceptionService.scroll(eq(123L), any(), any(), any(), any(), any(),
+                any(), any(), eq("garbage"), anyInt(), anyBoolean()))
+                .thenThrow(new InvalidCursorException("Invalid cursor"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/reconciliations/123/exceptions/scroll"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", hasSize(0)))
+                .andExpect(jsonPath("$.data.hasMore").value(false))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/reconciliations/123/exceptions/scroll")
+                .param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    @Test
+    @DisplayName("TC-EC-013: GET /api/v1/exceptions/export - Streams an Attachment")
+    void testExportExceptions() throws Exception {
+        // Given
+        when(exceptionExportService.prepare(55L, ExportFormat.NDJSON, true))
+                .thenReturn("reconciliation-55-exceptions.ndjson.gz");
+        when(exceptionExportService.isGzipped(ExportFormat.NDJSON, true)).thenReturn(true);
+        when(exceptionExportService.export(eq(55L), eq(ExportFormat.NDJSON), eq(true), any()))
+                .thenAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(3);
+                    out.write("exported".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/exceptions/export")
+                .param("reconciliationId", "55")
+                .param("format", "NDJSON")
+                .param("gzip", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/gzip"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"reconciliation-55-exceptions.ndjson.gz\""))
+                .andExpect(content().string("exported"));
+    }
+
     private ReconciliationExceptionResponse buildExceptionResponse(Long id,
                                                                    ExceptionType type,
                                                                    ExceptionSeverity severity,
@@ -1,12 +1,19 @@
 package com.amit.smartreconciliation.controller;
 
+import com.amit.smartreconciliation.dto.request.ChunkedUploadInitRequest;
+import com.amit.smartreconciliation.dto.request.SheetSelectionRequest;
 import com.amit.smartreconciliation.dto.response.FilePreviewResponse;
 import com.amit.smartreconciliation.dto.response.SchemaResponse;
+import com.amit.smartreconciliation.dto.response.UploadSessionResponse;
 import com.amit.smartreconciliation.dto.response.UploadedFileResponse;
+import com.amit.smartreconciliation.entity.UploadSession;
 import com.amit.smartreconciliation.entity.UploadedFile;
 import com.amit.smartreconciliation.enums.FileStatus;
+import com.amit.smartreconciliation.enums.SheetMode;
+import com.amit.smartreconciliation.enums.UploadSessionStatus;
 import com.amit.smartreconciliation.exception.FileProcessingException;
 import com.amit.smartreconciliation.exception.ResourceNotFoundException;
+import com.amit.smartreconciliation.service.ChunkedUploadService;
 import com.amit.smartreconciliation.service.FileUploadService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,7 +33,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -35,7 +44,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -69,6 +80,9 @@ class FileControllerTest {
     @MockBean
     private FileUploadService fileUploadService;
 
+    @MockBean
+    private ChunkedUploadService chunkedUploadService;
+
     private UploadedFileResponse sampleFileResponse;
 
     @BeforeEach
@@ -302,6 +316,42 @@ class FileControllerTest {
 
             verify(fileUploadService, times(1)).uploadFile(any());
         }
+
+        @Test
+        @DisplayName("TC-FC-051: POST /api/v1/files/upload/stream - Raw Body Handed Over as a Stream")
+        void testUploadStream() throws Exception {
+            // Given
+            byte[] body = "id,name\n1,John\n".getBytes();
+            when(fileUploadService.uploadStream(eq("ledger.csv"), eq("text/csv"), eq((long) body.length), any()))
+                    .thenAnswer(invocation -> {
+                        byte[] received = invocation.getArgument(3, InputStream.class).readAllBytes();
+                        assertThat(received).isEqualTo(body);
+                        return sampleFileResponse;
+                    });
+
+            // When & Then
+            mockMvc.perform(post("/api/v1/files/upload/stream")
+                    .param("filename", "ledger.csv")
+                    .contentType("text/csv")
+                    .content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.message").value("File uploaded successfully"));
+
+            verify(fileUploadService, never()).uploadFile(any());
+        }
+
+        @Test
+        @DisplayName("TC-FC-052: POST /api/v1/files/upload/stream - Multipart Body Is Not Accepted")
+        void testUploadStreamRejectsMultipart() throws Exception {
+            // When & Then
+            mockMvc.perform(multipart("/api/v1/files/upload/stream")
+                    .file(new MockMultipartFile("file", "ledger.csv", "text/csv", "id\n1".getBytes()))
+                    .param("filename", "ledger.csv"))
+                    .andExpect(status().isUnsupportedMediaType());
+
+            verify(fileUploadService, never()).uploadStream(any(), any(), anyLong(), any());
+        }
     }
 
     // ==================== Multiple Files Upload Tests ====================
@@ -342,8 +392,7 @@ class FileControllerTest {
                     "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", FileStatus.UPLOADED)
             );
 
-            when(fileUploadService.uploadFile(any()))
-                .thenReturn(responses.get(0), responses.get(1), responses.get(2));
+            when(fileUploadService.uploadFiles(anyList())).thenReturn(responses);
 
             // When & Then
             mockMvc.perform(multipart("/api/v1/files/upload")
@@ -361,11 +410,12 @@ class FileControllerTest {
                     .andExpect(jsonPath("$.data[2].id").value(3))
                     .andExpect(jsonPath("$.data[2].originalFilename").value("file3.xlsx"));
 
-            // Verify service called 3 times with ArgumentCaptor
-            ArgumentCaptor<MultipartFile> captor = ArgumentCaptor.forClass(MultipartFile.class);
-            verify(fileUploadService, times(3)).uploadFile(captor.capture());
+            // Verify all files handed to the service in one call with ArgumentCaptor
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<MultipartFile>> captor = ArgumentCaptor.forClass(List.class);
+            verify(fileUploadService, times(1)).uploadFiles(captor.capture());
 
-            List<MultipartFile> capturedFiles = captor.getAllValues();
+            List<MultipartFile> capturedFiles = captor.getValue();
             assertThat(capturedFiles).hasSize(3);
             assertThat(capturedFiles.get(0).getOriginalFilename()).isEqualTo("file1.csv");
             assertThat(capturedFiles.get(1).getOriginalFilename()).isEqualTo("file2.csv");
@@ -384,7 +434,7 @@ class FileControllerTest {
             );
 
             UploadedFileResponse response = createTestFileResponse(1L, "single.csv", "text/csv", FileStatus.UPLOADED);
-            when(fileUploadService.uploadFile(any())).thenReturn(response);
+            when(fileUploadService.uploadFiles(anyList())).thenReturn(List.of(response));
 
             // When & Then
             mockMvc.perform(multipart("/api/v1/files/upload")
@@ -394,7 +444,7 @@ class FileControllerTest {
                     .andExpect(jsonPath("$.data", hasSize(1)))
                     .andExpect(jsonPath("$.data[0].originalFilename").value("single.csv"));
 
-            verify(fileUploadService, times(1)).uploadFile(any());
+            verify(fileUploadService, times(1)).uploadFiles(anyList());
         }
 
         @Test
@@ -415,7 +465,7 @@ class FileControllerTest {
                 "id,name\n1,Test".getBytes()
             );
 
-            when(fileUploadService.uploadFile(any()))
+            when(fileUploadService.uploadFiles(anyList()))
                 .thenThrow(new FileProcessingException("Unsupported file type: pdf"));
 
             // When & Then
@@ -426,7 +476,7 @@ class FileControllerTest {
                     .andExpect(jsonPath("$.success").value(false))
                     .andExpect(jsonPath("$.message").value("Unsupported file type: pdf"));
 
-            verify(fileUploadService, times(1)).uploadFile(any());
+            verify(fileUploadService, times(1)).uploadFiles(anyList());
         }
     }
 
@@ -518,7 +568,7 @@ class FileControllerTest {
                     .previewRows(100)
                     .build();
 
-            when(fileUploadService.getPreview(1L, 100)).thenReturn(previewResponse);
+            when(fileUploadService.getPreview(1L, 0L, 100)).thenReturn(previewResponse);
 
             // When & Then
             mockMvc.perform(get("/api/v1/files/1/preview"))
@@ -534,7 +584,7 @@ class FileControllerTest {
 
             ArgumentCaptor<Long> idCaptor = ArgumentCaptor.forClass(Long.class);
             ArgumentCaptor<Integer> rowsCaptor = ArgumentCaptor.forClass(Integer.class);
-            verify(fileUploadService, times(1)).getPreview(idCaptor.capture(), rowsCaptor.capture());
+            verify(fileUploadService, times(1)).getPreview(idCaptor.capture(), eq(0L), rowsCaptor.capture());
 
             assertThat(idCaptor.getValue()).isEqualTo(1L);
             assertThat(rowsCaptor.getValue()).isEqualTo(100);
@@ -553,7 +603,7 @@ class FileControllerTest {
                     .previewRows(50)
                     .build();
 
-            when(fileUploadService.getPreview(1L, 50)).thenReturn(previewResponse);
+            when(fileUploadService.getPreview(1L, 0L, 50)).thenReturn(previewResponse);
 
             // When & Then
             mockMvc.perform(get("/api/v1/files/1/preview")
@@ -563,7 +613,34 @@ class FileControllerTest {
                     .andExpect(jsonPath("$.data.previewRows").value(50))
                     .andExpect(jsonPath("$.data.rows", hasSize(50)));
 
-            verify(fileUploadService, times(1)).getPreview(1L, 50);
+            verify(fileUploadService, times(1)).getPreview(1L, 0L, 50);
+        }
+
+        @Test
+        @DisplayName("TC-FC-050: GET /api/v1/files/{id}/preview - Page Beyond First Rows")
+        void testGetFilePreviewWithOffset() throws Exception {
+            // Given
+            FilePreviewResponse previewResponse = FilePreviewResponse.builder()
+                    .fileId(1L)
+                    .filename("test.csv")
+                    .headers(List.of("id", "name", "amount"))
+                    .rows(createSampleRows(50))
+                    .offset(5000L)
+                    .totalRows(10000)
+                    .previewRows(50)
+                    .build();
+
+            when(fileUploadService.getPreview(1L, 5000L, 50)).thenReturn(previewResponse);
+
+            // When & Then
+            mockMvc.perform(get("/api/v1/files/1/preview")
+                    .param("offset", "5000")
+                    .param("rows", "50"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.offset").value(5000))
+                    .andExpect(jsonPath("$.data.rows", hasSize(50)));
+
+            verify(fileUploadService).getPreview(1L, 5000L, 50);
         }
 
         @ParameterizedTest
@@ -580,7 +657,7 @@ class FileControllerTest {
                     .previewRows(rowCount)
                     .build();
 
-            when(fileUploadService.getPreview(1L, rowCount)).thenReturn(previewResponse);
+            when(fileUploadService.getPreview(1L, 0L, rowCount)).thenReturn(previewResponse);
 
             // When & Then
             mockMvc.perform(get("/api/v1/files/1/preview")
@@ -588,7 +665,7 @@ class FileControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.data.previewRows").value(rowCount));
 
-            verify(fileUploadService).getPreview(1L, rowCount);
+            verify(fileUploadService).getPreview(1L, 0L, rowCount);
         }
 
         @Test
@@ -604,7 +681,7 @@ class FileControllerTest {
                     .previewRows(500) // Service caps at actual total
                     .build();
 
-            when(fileUploadService.getPreview(1L, 10000)).thenReturn(previewResponse);
+            when(fileUploadService.getPreview(1L, 0L, 10000)).thenReturn(previewResponse);
 
             // When & Then
             mockMvc.perform(get("/api/v1/files/1/preview")
@@ -613,14 +690,14 @@ class FileControllerTest {
                     .andExpect(jsonPath("$.data.previewRows").value(500))
                     .andExpect(jsonPath("$.data.totalRows").value(500));
 
-            verify(fileUploadService, times(1)).getPreview(1L, 10000);
+            verify(fileUploadService, times(1)).getPreview(1L, 0L, 10000);
         }
 
         @Test
         @DisplayName("TC-FC-037: Preview with Negative Row Count")
         void testPreviewWithNegativeRowCount() throws Exception {
             // Given
-            when(fileUploadService.getPreview(1L, -10))
+            when(fileUploadService.getPreview(1L, 0L, -10))
                 .thenThrow(new FileProcessingException("Row count must be positive"));
 
             // When & Then
@@ -630,14 +707,14 @@ class FileControllerTest {
                     .andExpect(jsonPath("$.success").value(false))
                     .andExpect(jsonPath("$.message").value("Row count must be positive"));
 
-            verify(fileUploadService, times(1)).getPreview(1L, -10);
+            verify(fileUploadService, times(1)).getPreview(1L, 0L, -10);
         }
 
         @Test
         @DisplayName("TC-FC-038: Preview with Zero Row Count")
         void testPreviewWithZeroRowCount() throws Exception {
             // Given
-            when(fileUploadService.getPreview(1L, 0))
+            when(fileUploadService.getPreview(1L, 0L, 0))
                 .thenThrow(new FileProcessingException("Row count must be positive"));
 
             // When & Then
@@ -646,7 +723,7 @@ class FileControllerTest {
                     .andExpect(status().isBadRequest())
                     .andExpect(jsonPath("$.success").value(false));
 
-            verify(fileUploadService, times(1)).getPreview(1L, 0);
+            verify(fileUploadService, times(1)).getPreview(1L, 0L, 0);
         }
 
         @Test
@@ -853,6 +930,157 @@ class FileControllerTest {
         return rows;
     }
 
+    // ==================== Chunked Upload Endpoint Tests ====================
+
+    @Nested
+    @DisplayName("Chunked Upload Endpoint Tests")
+    class ChunkedUploadTests {
+
+        @Test
+        @DisplayName("TC-FC-043: POST /api/v1/files/uploads - Start Chunked Upload")
+        void testInitChunkedUpload() throws Exception {
+            // Given
+            ChunkedUploadInitRequest request = new ChunkedUploadInitRequest();
+            request.setFilename("large.csv");
+            request.setContentType("text/csv");
+            request.setTotalSize(20_000_000L);
+            request.setChunkSize(8_388_608);
+
+            when(chunkedUploadService.initUpload(any(ChunkedUploadInitRequest.class)))
+                    .thenReturn(createSessionResponse(UploadSessionStatus.ACTIVE, List.of()));
+
+            // When & Then
+            mockMvc.perform(post("/api/v1/files/uploads")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data.uploadId").value("upload-1"))
+                    .andExpect(jsonPath("$.data.totalChunks").value(3))
+                    .andExpect(jsonPath("$.data.missingChunks", hasSize(3)));
+        }
+
+        @Test
+        @DisplayName("TC-FC-044: POST /api/v1/files/uploads - Missing Total Size Returns 400")
+        void testInitChunkedUploadValidation() throws Exception {
+            // Given
+            ChunkedUploadInitRequest request = new ChunkedUploadInitRequest();
+            request.setFilename("large.csv");
+
+            // When & Then
+            mockMvc.perform(post("/api/v1/files/uploads")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+
+            verify(chunkedUploadService, never()).initUpload(any());
+        }
+
+        @Test
+        @DisplayName("TC-FC-045: PUT /api/v1/files/uploads/{id}/chunks/{index} - Upload Chunk Body")
+        void testUploadChunk() throws Exception {
+            // Given
+            byte[] chunk = "id,name\n1,John\n".getBytes();
+            when(chunkedUploadService.putChunk(eq("upload-1"), eq(1), any()))
+                    .thenAnswer(invocation -> {
+                        byte[] received = invocation.getArgument(2, InputStream.class).readAllBytes();
+                        assertThat(received).isEqualTo(chunk);
+                        return createSessionResponse(UploadSessionStatus.ACTIVE, List.of(1));
+                    });
+
+            // When & Then
+            mockMvc.perform(put("/api/v1/files/uploads/upload-1/chunks/1")
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .content(chunk))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.receivedChunkCount").value(1))
+                    .andExpect(jsonPath("$.data.missingChunks", contains(0, 2)));
+        }
+
+        @Test
+        @DisplayName("TC-FC-046: POST /api/v1/files/uploads/{id}/complete - Missing Chunks Returns 400")
+        void testCompleteWithMissingChunks() throws Exception {
+            // Given
+            when(chunkedUploadService.completeUpload("upload-1"))
+                    .thenThrow(new FileProcessingException("Upload is missing 2 chunk(s)"));
+
+            // When & Then
+            mockMvc.perform(post("/api/v1/files/uploads/upload-1/complete"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+
+        @Test
+        @DisplayName("TC-FC-047: DELETE /api/v1/files/uploads/{id} - Abort Upload")
+        void testAbortUpload() throws Exception {
+            // When & Then
+            mockMvc.perform(delete("/api/v1/files/uploads/upload-1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Upload aborted"));
+
+            verify(chunkedUploadService).abortUpload("upload-1");
+        }
+    }
+
+    // ==================== Sheet Selection Endpoint Tests ====================
+
+    @Nested
+    @DisplayName("Sheet Selection Endpoint Tests")
+    class SheetSelectionTests {
+
+        @Test
+        @DisplayName("TC-FC-048: POST /api/v1/files/{id}/sheets - Derive One File Per Sheet")
+        void testSelectSheetsSeparate() throws Exception {
+            // Given
+            SheetSelectionRequest request = new SheetSelectionRequest();
+            request.setSheets(List.of("January", "February"));
+            request.setMode(SheetMode.SEPARATE);
+
+            when(fileUploadService.selectSheets(eq(1L), anyList(), eq(SheetMode.SEPARATE)))
+                    .thenReturn(List.of(
+                            createFileResponse(2L, "ledger.xlsx [January]", FileStatus.UPLOADED),
+                            createFileResponse(3L, "ledger.xlsx [February]", FileStatus.UPLOADED)));
+
+            // When & Then
+            mockMvc.perform(post("/api/v1/files/1/sheets")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data", hasSize(2)))
+                    .andExpect(jsonPath("$.data[1].originalFilename").value("ledger.xlsx [February]"));
+
+            verify(fileUploadService).selectSheets(1L, List.of("January", "February"), SheetMode.SEPARATE);
+        }
+
+        @Test
+        @DisplayName("TC-FC-049: POST /api/v1/files/{id}/sheets - Empty Selection Returns 400")
+        void testSelectSheetsValidation() throws Exception {
+            // Given
+            SheetSelectionRequest request = new SheetSelectionRequest();
+            request.setSheets(List.of());
+
+            // When & Then
+            mockMvc.perform(post("/api/v1/files/1/sheets")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+
+            verify(fileUploadService, never()).selectSheets(any(), any(), any());
+        }
+    }
+
+    private UploadSessionResponse createSessionResponse(UploadSessionStatus status, List<Integer> received) {
+        UploadSession session = UploadSession.builder()
+                .uploadId("upload-1")
+                .originalFilename("large.csv")
+                .totalSize(20_000_000L)
+                .chunkSize(8_388_608)
+                .totalChunks(3)
+                .status(status)
+                .build();
+        session.setReceivedChunks(new ArrayList<>(received));
+        return UploadSessionResponse.fromEntity(session);
+    }
+
     private UploadedFileResponse createFileResponse(Long id, String filename, FileStatus status) {
         UploadedFile file = UploadedFile.builder()
                 .originalFilename(filename)
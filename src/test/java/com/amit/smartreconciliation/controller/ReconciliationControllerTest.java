@@ -2,14 +2,17 @@ package com.amit.smartreconciliation.controller;
 
 import com.amit.smartreconciliation.dto.request.ReconciliationRequest;
 import com.amit.smartreconciliation.dto.response.ReconciliationExceptionResponse;
+import com.amit.smartreconciliation.dto.response.ReconciliationPurgeJobResponse;
 import com.amit.smartreconciliation.dto.response.ReconciliationResponse;
 import com.amit.smartreconciliation.entity.Reconciliation;
 import com.amit.smartreconciliation.entity.ReconciliationException;
+import com.amit.smartreconciliation.entity.ReconciliationPurgeJob;
 import com.amit.smartreconciliation.enums.ExceptionSeverity;
 import com.amit.smartreconciliation.enums.ExceptionStatus;
 import com.amit.smartreconciliation.enums.ExceptionType;
 import com.amit.smartreconciliation.enums.ReconciliationStatus;
 import com.amit.smartreconciliation.service.ExceptionService;
+import com.amit.smartreconciliation.service.ReconciliationPurgeService;
 import com.amit.smartreconciliation.service.ReconciliationService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -32,6 +35,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -50,6 +54,9 @@ class ReconciliationControllerTest {
     @MockBean
     private ExceptionService exceptionService;
 
+    @MockBean
+    private ReconciliationPurgeService purgeService;
+
     @Test
     @DisplayName("TC-RC-001: POST /api/v1/reconciliations - Create Reconciliation")
     void testTcRc001_createReconciliation_returnsCreated() throws Exception {
@@ -329,4 +336,27 @@ class ReconciliationControllerTest {
                 .andExpect(jsonPath("$.data.status").value("IN_PROGRESS"))
                 .andExpect(jsonPath("$.data.progress").value(40));
     }
+
+    @Test
+    @DisplayName("TC-RC-009: DELETE /api/v1/reconciliations/bulk - Returns the Queued Purge Job")
+    void testTcRc009_bulkDelete_returnsAccepted() throws Exception {
+        // Given
+        ReconciliationPurgeJob job = ReconciliationPurgeJob.builder()
+                .reconciliationIds(List.of(1L, 2L, 3L))
+                .build();
+        job.setId(42L);
+        when(reconciliationService.deleteAll(List.of(1L, 2L, 3L)))
+                .thenReturn(ReconciliationPurgeJobResponse.fromEntity(job));
+
+        // When & Then
+        mockMvc.perform(delete("/api/v1/reconciliations/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2, 3]"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.jobId").value(42))
+                .andExpect(jsonPath("$.data.status").value("PENDING"))
+                .andExpect(jsonPath("$.data.totalRequested").value(3))
+                .andExpect(jsonPath("$.data.successCount").value(0));
+    }
 }
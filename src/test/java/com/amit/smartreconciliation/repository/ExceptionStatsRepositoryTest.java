@@ -0,0 +1,135 @@
+package com.amit.smartreconciliation.repository;
+
+import com.amit.smartreconciliation.entity.Organization;
+import com.amit.smartreconciliation.entity.Reconciliation;
+import com.amit.smartreconciliation.entity.ReconciliationException;
+import com.amit.smartreconciliation.enums.ExceptionSeverity;
+import com.amit.smartreconciliation.enums.ExceptionStatus;
+import com.amit.smartreconciliation.enums.ExceptionType;
+import com.amit.smartreconciliation.enums.KnowledgeDomain;
+import com.amit.smartreconciliation.enums.ReconciliationStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ExceptionStatsRepository.class, TrendRollupRepository.class, ReconciliationExceptionBulkWriter.class,
+        ReconciliationExceptionTransitionWriter.class, JacksonAutoConfiguration.class})
+@Testcontainers
+// The writers commit in their own transactions, so the test must not hold its rows uncommitted
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("ExceptionStatsRepository Tests")
+class ExceptionStatsRepositoryTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void registerDataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private ExceptionStatsRepository statsRepository;
+
+    @Autowired
+    private ReconciliationExceptionBulkWriter bulkWriter;
+
+    @Autowired
+    private ReconciliationExceptionTransitionWriter transitionWriter;
+
+    @Autowired
+    private ReconciliationRepository reconciliationRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Test
+    @DisplayName("TC-ESR-001: Rollup Follows Bulk Inserts and Status Transitions")
+    void testRollupFollowsWrites() {
+        // Given
+        Reconciliation reconciliation = reconciliationRepository.saveAndFlush(buildReconciliation("Stats-1"));
+        List<ReconciliationException> exceptions = new ArrayList<>(List.of(
+                buildException(ExceptionType.VALUE_MISMATCH),
+                buildException(ExceptionType.VALUE_MISMATCH),
+                buildException(ExceptionType.MISSING_TARGET)));
+        bulkWriter.write(reconciliation.getId(), exceptions, exceptions.size());
+
+        // When
+        transitionWriter.updateStatus(List.of(exceptions.get(0).getId()), ExceptionStatus.RESOLVED, "Fixed", null);
+
+        // Then
+        Map<ExceptionStatus, Long> counts = statsRepository.countByStatus(reconciliation.getId());
+        assertThat(counts).containsEntry(ExceptionStatus.OPEN, 2L)
+                .containsEntry(ExceptionStatus.RESOLVED, 1L)
+                .containsEntry(ExceptionStatus.IGNORED, 0L);
+        assertThat(statsRepository.findByOrganizationId(reconciliation.getOrganization().getId()))
+                .containsExactlyInAnyOrder(
+                        new ExceptionStatsRepository.StatCount(
+                                ExceptionType.VALUE_MISMATCH, ExceptionSeverity.HIGH, ExceptionStatus.OPEN, 1),
+                        new ExceptionStatsRepository.StatCount(
+                                ExceptionType.VALUE_MISMATCH, ExceptionSeverity.HIGH, ExceptionStatus.RESOLVED, 1),
+                        new ExceptionStatsRepository.StatCount(
+                                ExceptionType.MISSING_TARGET, ExceptionSeverity.HIGH, ExceptionStatus.OPEN, 1));
+    }
+
+    @Test
+    @DisplayName("TC-ESR-002: Replacing a Failed Attempt Clears Its Counts")
+    void testDeleteClearsCounts() {
+        // Given
+        Reconciliation reconciliation = reconciliationRepository.saveAndFlush(buildReconciliation("Stats-2"));
+        bulkWriter.write(reconciliation.getId(), new ArrayList<>(List.of(buildException(ExceptionType.DUPLICATE))), 0);
+
+        // When
+        bulkWriter.deleteByReconciliationId(reconciliation.getId());
+
+        // Then
+        assertThat(statsRepository.countByStatus(reconciliation.getId())).containsEntry(ExceptionStatus.OPEN, 0L);
+    }
+
+    private Reconciliation buildReconciliation(String name) {
+        Organization organization = Organization.builder()
+                .name(name + "-org")
+                .description("Test org")
+                .active(true)
+                .build();
+        organization = organizationRepository.saveAndFlush(organization);
+
+        Reconciliation reconciliation = new Reconciliation();
+        reconciliation.setName(name);
+        reconciliation.setStatus(ReconciliationStatus.IN_PROGRESS);
+        reconciliation.setOrganization(organization);
+        return reconciliation;
+    }
+
+    private ReconciliationException buildException(ExceptionType type) {
+        ReconciliationException exception = new ReconciliationException();
+        exception.setType(type);
+        exception.setSeverity(ExceptionSeverity.HIGH);
+        exception.setStatus(ExceptionStatus.OPEN);
+        exception.setDomain(KnowledgeDomain.GENERAL);
+        exception.setDescription("Exception for stats test");
+        return exception;
+    }
+}
@@ -0,0 +1,141 @@
+package com.amit.smartreconciliation.repository;
+
+import com.amit.smartreconciliation.entity.Organization;
+import com.amit.smartreconciliation.entity.Reconciliation;
+import com.amit.smartreconciliation.entity.ReconciliationException;
+import com.amit.smartreconciliation.enums.ExceptionSeverity;
+import com.amit.smartreconciliation.enums.ExceptionStatus;
+import com.amit.smartreconciliation.enums.ExceptionType;
+import com.amit.smartreconciliation.enums.KnowledgeDomain;
+import com.amit.smartreconciliation.enums.ReconciliationStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.reconciliation.exception-chunk-size=4"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReconciliationExceptionBulkWriter.class, ExceptionStatsRepository.class, TrendRollupRepository.class,
+        JacksonAutoConfiguration.class})
+@Testcontainers
+// Chunks commit in their own transactions, so the test must not hold the reconciliation row uncommitted
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("ReconciliationExceptionBulkWriter Tests")
+class ReconciliationExceptionBulkWriterTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void registerDataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private ReconciliationExceptionBulkWriter bulkWriter;
+
+    @Autowired
+    private ReconciliationExceptionRepository exceptionRepository;
+
+    @Autowired
+    private ReconciliationRepository reconciliationRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Test
+    @DisplayName("TC-REBW-001: Chunked Insert Writes Every Row and Assigns Requested Ids in Order")
+    void testChunkedInsertAssignsRequestedIds() {
+        // Given
+        Reconciliation reconciliation = reconciliationRepository.saveAndFlush(buildReconciliation("Bulk-1"));
+        List<ReconciliationException> exceptions = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            exceptions.add(buildException(i));
+        }
+
+        // When
+        int written = bulkWriter.write(reconciliation.getId(), exceptions, 5);
+
+        // Then
+        assertThat(written).isEqualTo(10);
+        assertThat(exceptions.subList(0, 5)).allMatch(e -> e.getId() != null);
+        assertThat(exceptions.subList(5, 10)).allMatch(e -> e.getId() == null);
+
+        List<ReconciliationException> stored = exceptionRepository.findByReconciliationId(reconciliation.getId());
+        assertThat(stored).hasSize(10);
+        for (ReconciliationException withId : exceptions.subList(0, 5)) {
+            ReconciliationException row = exceptionRepository.findById(withId.getId()).orElseThrow();
+            assertThat(row.getSourceValue()).isEqualTo(withId.getSourceValue());
+            assertThat(row.getSourceData()).isEqualTo(withId.getSourceData());
+            assertThat(row.getTargetData()).isNull();
+            assertThat(row.getDomain()).isEqualTo(KnowledgeDomain.GENERAL);
+            assertThat(row.getCreatedAt()).isNotNull();
+        }
+    }
+
+    @Test
+    @DisplayName("TC-REBW-002: Delete Clears Rows of an Earlier Attempt Only")
+    void testDeleteByReconciliationId() {
+        // Given
+        Reconciliation first = reconciliationRepository.saveAndFlush(buildReconciliation("Bulk-2a"));
+        Reconciliation second = reconciliationRepository.saveAndFlush(buildReconciliation("Bulk-2b"));
+        bulkWriter.write(first.getId(), new ArrayList<>(List.of(buildException(1), buildException(2))), 0);
+        bulkWriter.write(second.getId(), new ArrayList<>(List.of(buildException(3))), 0);
+
+        // When
+        int deleted = bulkWriter.deleteByReconciliationId(first.getId());
+
+        // Then
+        assertThat(deleted).isEqualTo(2);
+        assertThat(exceptionRepository.findByReconciliationId(first.getId())).isEmpty();
+        assertThat(exceptionRepository.findByReconciliationId(second.getId())).hasSize(1);
+    }
+
+    private Reconciliation buildReconciliation(String name) {
+        Organization organization = Organization.builder()
+                .name(name + "-org")
+                .description("Test org")
+                .active(true)
+                .build();
+        organization = organizationRepository.saveAndFlush(organization);
+
+        Reconciliation reconciliation = new Reconciliation();
+        reconciliation.setName(name);
+        reconciliation.setStatus(ReconciliationStatus.IN_PROGRESS);
+        reconciliation.setOrganization(organization);
+        return reconciliation;
+    }
+
+    private ReconciliationException buildException(int index) {
+        ReconciliationException exception = new ReconciliationException();
+        exception.setType(ExceptionType.MISSING_TARGET);
+        exception.setSeverity(ExceptionSeverity.HIGH);
+        exception.setStatus(ExceptionStatus.OPEN);
+        exception.setDomain(KnowledgeDomain.GENERAL);
+        exception.setDescription("Record missing in target");
+        exception.setSourceValue("key-" + index);
+        exception.setSourceData(Map.of("id", "key-" + index, "amount", 100 + index));
+        return exception;
+    }
+}
@@ -0,0 +1,150 @@
+package com.amit.smartreconciliation.repository;
+
+import com.amit.smartreconciliation.entity.Organization;
+import com.amit.smartreconciliation.entity.Reconciliation;
+import com.amit.smartreconciliation.entity.ReconciliationException;
+import com.amit.smartreconciliation.enums.ExceptionSeverity;
+import com.amit.smartreconciliation.enums.ExceptionStatus;
+import com.amit.smartreconciliation.enums.ExceptionType;
+import com.amit.smartreconciliation.enums.KnowledgeDomain;
+import com.amit.smartreconciliation.enums.ReconciliationStatus;
+import com.amit.smartreconciliation.enums.RecordSide;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.export.fetch-size=2"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReconciliationExceptionExportReader.class, ReconciliationExceptionBulkWriter.class,
+        ExceptionStatsRepository.class, TrendRollupRepository.class, ReconciliationRowStore.class,
+        JacksonAutoConfiguration.class})
+@Testcontainers
+// Rows are written in their own transactions and read in another, so the test holds none open
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("ReconciliationExceptionExportReader Tests")
+class ReconciliationExceptionExportReaderTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void registerDataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private ReconciliationExceptionExportReader exportReader;
+
+    @Autowired
+    private ReconciliationExceptionBulkWriter bulkWriter;
+
+    @Autowired
+    private ReconciliationRowStore rowStore;
+
+    @Autowired
+    private ReconciliationRepository reconciliationRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Test
+    @DisplayName("TC-REER-001: Reads Every Row of One Reconciliation in Id Order Across Fetches")
+    void testReadStreamsRowsInIdOrder() throws Exception {
+        // Given
+        Reconciliation reconciliation = reconciliationRepository.saveAndFlush(buildReconciliation("Export-1"));
+        Reconciliation other = reconciliationRepository.saveAndFlush(buildReconciliation("Export-2"));
+        List<ReconciliationException> exceptions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            exceptions.add(buildException(i));
+        }
+        bulkWriter.write(reconciliation.getId(), exceptions, exceptions.size());
+        bulkWriter.write(other.getId(), new ArrayList<>(List.of(buildException(99))), 0);
+        List<String[]> read = new ArrayList<>();
+
+        // When
+        long count = exportReader.read(reconciliation.getId(), row -> read.add(row.clone()));
+
+        // Then
+        assertThat(count).isEqualTo(5);
+        assertThat(read).extracting(row -> Long.parseLong(row[0]))
+                .containsExactlyElementsOf(exceptions.stream().map(ReconciliationException::getId).toList());
+        String[] first = read.get(0);
+        assertThat(first[1]).isEqualTo("MISSING_TARGET");
+        assertThat(first[6]).isEqualTo("key-0");
+        assertThat(first[13]).contains("T");
+        assertThat(first[ReconciliationExceptionExportReader.SOURCE_DATA]).contains("\"id\"").contains("key-0");
+        assertThat(first[ReconciliationExceptionExportReader.TARGET_DATA]).isNull();
+    }
+
+    @Test
+    @DisplayName("TC-REER-002: Rows Kept in the Row Store Are Exported as JSON Objects")
+    void testReadResolvesStoredRows() throws Exception {
+        // Given
+        Reconciliation reconciliation = reconciliationRepository.saveAndFlush(buildReconciliation("Export-3"));
+        rowStore.write(reconciliation.getId(), RecordSide.SOURCE, List.of("id", "amount"),
+                new TreeMap<>(Map.of(7, List.<Object>of("key-7", 107))));
+        ReconciliationException exception = buildException(7);
+        exception.setSourceRow(7);
+        bulkWriter.write(reconciliation.getId(), new ArrayList<>(List.of(exception)), 1);
+        List<String[]> read = new ArrayList<>();
+
+        // When
+        exportReader.read(reconciliation.getId(), row -> read.add(row.clone()));
+
+        // Then
+        assertThat(read).hasSize(1);
+        assertThat(read.get(0)[ReconciliationExceptionExportReader.SOURCE_DATA])
+                .contains("\"id\": \"key-7\"").contains("\"amount\": 107");
+        assertThat(read.get(0)[ReconciliationExceptionExportReader.TARGET_DATA]).isNull();
+    }
+
+    private Reconciliation buildReconciliation(String name) {
+        Organization organization = Organization.builder()
+                .name(name + "-org")
+                .description("Test org")
+                .active(true)
+                .build();
+        organization = organizationRepository.saveAndFlush(organization);
+
+        Reconciliation reconciliation = new Reconciliation();
+        reconciliation.setName(name);
+        reconciliation.setStatus(ReconciliationStatus.IN_PROGRESS);
+        reconciliation.setOrganization(organization);
+        return reconciliation;
+    }
+
+    private ReconciliationException buildException(int index) {
+        ReconciliationException exception = new ReconciliationException();
+        exception.setType(ExceptionType.MISSING_TARGET);
+        exception.setSeverity(ExceptionSeverity.HIGH);
+        exception.setStatus(ExceptionStatus.OPEN);
+        exception.setDomain(KnowledgeDomain.GENERAL);
+        exception.setDescription("Record missing in target");
+        exception.setSourceValue("key-" + index);
+        exception.setSourceData(Map.of("id", "key-" + index, "amount", 100 + index));
+        return exception;
+    }
+}
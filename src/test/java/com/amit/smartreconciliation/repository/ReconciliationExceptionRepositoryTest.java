@@ -1,5 +1,6 @@
 package com.amit.smartreconciliation.repository;
 
+import com.amit.smartreconciliation.dto.response.ExceptionRunSummaryResponse;
 import com.amit.smartreconciliation.entity.Organization;
 import com.amit.smartreconciliation.entity.Reconciliation;
 import com.amit.smartreconciliation.entity.ReconciliationException;
@@ -19,6 +20,8 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
@@ -123,6 +126,36 @@ class ReconciliationExceptionRepositoryTest {
         assertThat(page.getContent()).hasSize(2);
     }
 
+    @Test
+    @DisplayName("TC-RER-004: Run Summary Aggregates Counts per Reconciliation")
+    void testSummarizeByReconciliation() {
+        // Given
+        Reconciliation reconciliation = reconciliationRepository.saveAndFlush(buildReconciliation("Recon-4"));
+        ReconciliationException criticalOpen = buildException(reconciliation, ExceptionType.VALUE_MISMATCH,
+                ExceptionSeverity.CRITICAL, ExceptionStatus.OPEN);
+        criticalOpen.setAiSuggestion("Use source amount");
+        exceptionRepository.saveAndFlush(criticalOpen);
+        exceptionRepository.saveAndFlush(buildException(reconciliation, ExceptionType.MISSING_TARGET,
+                ExceptionSeverity.HIGH, ExceptionStatus.OPEN));
+        exceptionRepository.saveAndFlush(buildException(reconciliation, ExceptionType.DUPLICATE,
+                ExceptionSeverity.LOW, ExceptionStatus.IN_REVIEW));
+
+        // When
+        List<ExceptionRunSummaryResponse> summaries = exceptionRepository.summarizeByReconciliation(
+                reconciliation.getOrganization().getId(), null, null, null, null, null);
+
+        // Then
+        assertThat(summaries).hasSize(1);
+        ExceptionRunSummaryResponse summary = summaries.get(0);
+        assertThat(summary.getReconciliationId()).isEqualTo(reconciliation.getId());
+        assertThat(summary.getReconciliationName()).isEqualTo("Recon-4");
+        assertThat(summary.getOpenCount()).isEqualTo(2L);
+        assertThat(summary.getInReviewCount()).isEqualTo(1L);
+        assertThat(summary.getCriticalOpenCount()).isEqualTo(1L);
+        assertThat(summary.getAiActionableCount()).isEqualTo(1L);
+        assertThat(summary.getTotalInScope()).isEqualTo(3L);
+    }
+
     private Reconciliation buildReconciliation(String name) {
         Organization organization = Organization.builder()
                 .name(name + "-org")
@@ -0,0 +1,159 @@
+package com.amit.smartreconciliation.repository;
+
+import com.amit.smartreconciliation.entity.Organization;
+import com.amit.smartreconciliation.entity.Reconciliation;
+import com.amit.smartreconciliation.entity.ReconciliationException;
+import com.amit.smartreconciliation.enums.ExceptionSeverity;
+import com.amit.smartreconciliation.enums.ExceptionStatus;
+import com.amit.smartreconciliation.enums.ExceptionType;
+import com.amit.smartreconciliation.enums.KnowledgeDomain;
+import com.amit.smartreconciliation.enums.ReconciliationStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.reconciliation.exception-transition-chunk-size=3"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ReconciliationExceptionTransitionWriter.class)
+@Testcontainers
+// Chunks commit in their own transactions, so the test must not hold its rows uncommitted
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("ReconciliationExceptionTransitionWriter Tests")
+class ReconciliationExceptionTransitionWriterTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void registerDataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private ReconciliationExceptionTransitionWriter transitionWriter;
+
+    @Autowired
+    private ReconciliationExceptionRepository exceptionRepository;
+
+    @Autowired
+    private ReconciliationRepository reconciliationRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Test
+    @DisplayName("TC-RETW-001: Auto Resolve Updates Eligible Rows of Permitted Types Across Chunks")
+    void testAutoResolveAcrossChunks() {
+        // Given
+        Reconciliation reconciliation = reconciliationRepository.saveAndFlush(buildReconciliation("Transition-1"));
+        List<ReconciliationException> rows = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            rows.add(buildException(reconciliation, ExceptionType.VALUE_MISMATCH, ExceptionStatus.OPEN, "Use source"));
+        }
+        rows.add(buildException(reconciliation, ExceptionType.VALUE_MISMATCH, ExceptionStatus.OPEN, "  "));
+        rows.add(buildException(reconciliation, ExceptionType.VALUE_MISMATCH, ExceptionStatus.IN_REVIEW, "Use source"));
+        rows.add(buildException(reconciliation, ExceptionType.DUPLICATE, ExceptionStatus.OPEN, "Merge"));
+        exceptionRepository.saveAllAndFlush(rows);
+        ReconciliationExceptionTransitionWriter.Filter filter = new ReconciliationExceptionTransitionWriter.Filter(
+                reconciliation.getOrganization().getId(), reconciliation.getId(), null, null, null, null, null);
+
+        // When
+        List<ReconciliationExceptionTransitionWriter.AutoResolveTally> tallies = transitionWriter.tallyAutoResolve(filter);
+        List<Long> resolved = transitionWriter.autoResolve(
+                filter, EnumSet.of(ExceptionType.VALUE_MISMATCH), "Resolved from AI", "System");
+
+        // Then
+        assertThat(tallies).hasSize(2);
+        ReconciliationExceptionTransitionWriter.AutoResolveTally mismatch = tallies.stream()
+                .filter(t -> t.getType() == ExceptionType.VALUE_MISMATCH).findFirst().orElseThrow();
+        assertThat(mismatch.getTotal()).isEqualTo(9);
+        assertThat(mismatch.getNotOpen()).isEqualTo(1);
+        assertThat(mismatch.getMissingAiSuggestion()).isEqualTo(1);
+        assertThat(mismatch.getResolvable()).isEqualTo(7);
+
+        assertThat(resolved).hasSize(7);
+        ReconciliationException first = exceptionRepository.findById(resolved.get(0)).orElseThrow();
+        assertThat(first.getStatus()).isEqualTo(ExceptionStatus.RESOLVED);
+        assertThat(first.getResolution()).isEqualTo("Resolved from AI");
+        assertThat(first.getResolvedBy()).isEqualTo("System");
+        assertThat(first.getResolvedAt()).isNotNull();
+        assertThat(exceptionRepository.countByReconciliationIdAndStatus(reconciliation.getId(), ExceptionStatus.OPEN))
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("TC-RETW-002: Status Update by Id Stamps the Status Time and Reports Existing Ids Only")
+    void testUpdateStatusById() {
+        // Given
+        Reconciliation reconciliation = reconciliationRepository.saveAndFlush(buildReconciliation("Transition-2"));
+        List<ReconciliationException> rows = exceptionRepository.saveAllAndFlush(List.of(
+                buildException(reconciliation, ExceptionType.MISSING_TARGET, ExceptionStatus.OPEN, null),
+                buildException(reconciliation, ExceptionType.FORMAT_ERROR, ExceptionStatus.OPEN, null)));
+        List<Long> ids = List.of(rows.get(0).getId(), rows.get(1).getId(), -1L);
+
+        // When
+        List<ExceptionType> types = transitionWriter.findTypes(ids);
+        long outside = transitionWriter.countOutsideOrganization(ids, reconciliation.getOrganization().getId() + 1);
+        List<Long> updated = transitionWriter.updateStatus(ids, ExceptionStatus.ACKNOWLEDGED, null, "analyst");
+
+        // Then
+        assertThat(types).containsExactlyInAnyOrder(ExceptionType.MISSING_TARGET, ExceptionType.FORMAT_ERROR);
+        assertThat(outside).isEqualTo(2);
+        assertThat(updated).containsExactlyInAnyOrder(rows.get(0).getId(), rows.get(1).getId());
+        ReconciliationException stored = exceptionRepository.findById(rows.get(0).getId()).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(ExceptionStatus.ACKNOWLEDGED);
+        assertThat(stored.getAcknowledgedAt()).isNotNull();
+        assertThat(stored.getResolvedBy()).isEqualTo("analyst");
+    }
+
+    private Reconciliation buildReconciliation(String name) {
+        Organization organization = Organization.builder()
+                .name(name + "-org")
+                .description("Test org")
+                .active(true)
+                .build();
+        organization = organizationRepository.saveAndFlush(organization);
+
+        Reconciliation reconciliation = new Reconciliation();
+        reconciliation.setName(name);
+        reconciliation.setStatus(ReconciliationStatus.COMPLETED);
+        reconciliation.setOrganization(organization);
+        return reconciliation;
+    }
+
+    private ReconciliationException buildException(Reconciliation reconciliation, ExceptionType type,
+                                                   ExceptionStatus status, String aiSuggestion) {
+        ReconciliationException exception = new ReconciliationException();
+        exception.setReconciliation(reconciliation);
+        exception.setType(type);
+        exception.setSeverity(ExceptionSeverity.HIGH);
+        exception.setStatus(status);
+        exception.setDomain(KnowledgeDomain.GENERAL);
+        exception.setDescription("Exception for transition test");
+        exception.setAiSuggestion(aiSuggestion);
+        exception.setSourceData(Map.of("id", "A1"));
+        return exception;
+    }
+}
@@ -0,0 +1,146 @@
+package com.amit.smartreconciliation.repository;
+
+import com.amit.smartreconciliation.entity.Organization;
+import com.amit.smartreconciliation.entity.Reconciliation;
+import com.amit.smartreconciliation.entity.ReconciliationException;
+import com.amit.smartreconciliation.enums.ExceptionSeverity;
+import com.amit.smartreconciliation.enums.ExceptionStatus;
+import com.amit.smartreconciliation.enums.ExceptionType;
+import com.amit.smartreconciliation.enums.KnowledgeDomain;
+import com.amit.smartreconciliation.enums.ReconciliationStatus;
+import com.amit.smartreconciliation.enums.RecordSide;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.reconciliation.purge-batch-size=2"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReconciliationPurger.class, ReconciliationExceptionBulkWriter.class, ReconciliationRowStore.class,
+        ExceptionStatsRepository.class, TrendRollupRepository.class, JacksonAutoConfiguration.class})
+@Testcontainers
+// The purger commits each batch in its own transaction, so the test must not hold its rows uncommitted
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("ReconciliationPurger Tests")
+class ReconciliationPurgerTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void registerDataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private ReconciliationPurger purger;
+
+    @Autowired
+    private ReconciliationExceptionBulkWriter bulkWriter;
+
+    @Autowired
+    private ReconciliationRowStore rowStore;
+
+    @Autowired
+    private ReconciliationRepository reconciliationRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("TC-RPG-001: Purge Deletes Exceptions in Bounded Batches, Then the Reconciliation")
+    void testPurgeDeletesInBatches() {
+        // Given
+        Reconciliation reconciliation = reconciliationRepository.saveAndFlush(buildReconciliation("Purge-1"));
+        Reconciliation kept = reconciliationRepository.saveAndFlush(buildReconciliation("Purge-2"));
+        List<ReconciliationException> exceptions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            exceptions.add(buildException());
+        }
+        bulkWriter.write(reconciliation.getId(), exceptions, 0);
+        bulkWriter.write(kept.getId(), new ArrayList<>(List.of(buildException())), 0);
+        rowStore.write(reconciliation.getId(), RecordSide.SOURCE, List.of("id"),
+                new TreeMap<>(Map.of(0, List.<Object>of("A-1"), 1, List.<Object>of("A-2"), 2, List.<Object>of("A-3"))));
+        List<Long> batches = new ArrayList<>();
+
+        // When
+        long deleted = purger.purge(reconciliation.getId(), batches::add);
+
+        // Then
+        assertThat(deleted).isEqualTo(5);
+        assertThat(batches).containsExactly(2L, 2L, 1L);
+        assertThat(reconciliationRepository.existsById(reconciliation.getId())).isFalse();
+        assertThat(count("reconciliation_rows", reconciliation.getId())).isZero();
+        assertThat(count("exception_stats", reconciliation.getId())).isZero();
+        assertThat(count("reconciliation_exceptions", kept.getId())).isEqualTo(1);
+        assertThat(reconciliationRepository.existsById(kept.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("TC-RPG-002: Purging a Reconciliation That Is Already Gone Is a No-Op")
+    void testPurgeMissingReconciliation() {
+        // When
+        long deleted = purger.purge(Long.MAX_VALUE, batch -> {});
+
+        // Then
+        assertThat(deleted).isZero();
+    }
+
+    private long count(String table, Long reconciliationId) {
+        Long rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE reconciliation_id = ?", Long.class, reconciliationId);
+        return rows != null ? rows : 0;
+    }
+
+    private Reconciliation buildReconciliation(String name) {
+        Organization organization = Organization.builder()
+                .name(name + "-org")
+                .description("Test org")
+                .active(true)
+                .build();
+        organization = organizationRepository.saveAndFlush(organization);
+
+        Reconciliation reconciliation = new Reconciliation();
+        reconciliation.setName(name);
+        reconciliation.setStatus(ReconciliationStatus.COMPLETED);
+        reconciliation.setDomain(KnowledgeDomain.GENERAL);
+        reconciliation.setOrganization(organization);
+        return reconciliation;
+    }
+
+    private ReconciliationException buildException() {
+        ReconciliationException exception = new ReconciliationException();
+        exception.setType(ExceptionType.MISSING_TARGET);
+        exception.setSeverity(ExceptionSeverity.HIGH);
+        exception.setStatus(ExceptionStatus.OPEN);
+        exception.setDomain(KnowledgeDomain.GENERAL);
+        exception.setDescription("Record missing in target");
+        return exception;
+    }
+}
@@ -0,0 +1,128 @@
+package com.amit.smartreconciliation.repository;
+
+import com.amit.smartreconciliation.entity.Organization;
+import com.amit.smartreconciliation.entity.Reconciliation;
+import com.amit.smartreconciliation.entity.ReconciliationException;
+import com.amit.smartreconciliation.enums.ReconciliationStatus;
+import com.amit.smartreconciliation.enums.RecordSide;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReconciliationRowStore.class, JacksonAutoConfiguration.class})
+@Testcontainers
+// The store commits in its own transactions, so the test must not hold its rows uncommitted
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("ReconciliationRowStore Tests")
+class ReconciliationRowStoreTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void registerDataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private ReconciliationRowStore rowStore;
+
+    @Autowired
+    private ReconciliationRepository reconciliationRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Test
+    @DisplayName("TC-RRS-001: Stored Rows Are Read Back as Column Maps Only Where No Copy Exists")
+    void testWriteAndFindRows() {
+        // Given
+        Reconciliation reconciliation = reconciliationRepository.saveAndFlush(buildReconciliation("Rows-1"));
+        int written = rowStore.write(reconciliation.getId(), RecordSide.SOURCE, List.of("id", "amount", "memo"),
+                new TreeMap<>(Map.of(
+                        0, Arrays.<Object>asList("A-1", "100.00", null),
+                        5, Arrays.<Object>asList("A-6", "600.00", "late"))));
+        rowStore.write(reconciliation.getId(), RecordSide.TARGET, List.of("ref", "value"),
+                new TreeMap<>(Map.of(2, List.<Object>of("A-1", "99.00"))));
+        ReconciliationException mismatch = buildException(reconciliation, 0, 2);
+        ReconciliationException copied = buildException(reconciliation, 5, null);
+        copied.setSourceData(Map.of("id", "A-6"));
+
+        // When
+        Map<ReconciliationRowStore.RowRef, Map<String, Object>> rows = rowStore.findRows(List.of(mismatch, copied));
+
+        // Then
+        assertThat(written).isEqualTo(2);
+        assertThat(rows).hasSize(2);
+        Map<String, Object> source = rows.get(new ReconciliationRowStore.RowRef(
+                reconciliation.getId(), RecordSide.SOURCE, 0));
+        assertThat(source).containsEntry("id", "A-1").containsEntry("amount", "100.00").containsKey("memo");
+        assertThat(source.get("memo")).isNull();
+        assertThat(rows.get(new ReconciliationRowStore.RowRef(reconciliation.getId(), RecordSide.TARGET, 2)))
+                .containsExactly(Map.entry("ref", "A-1"), Map.entry("value", "99.00"));
+    }
+
+    @Test
+    @DisplayName("TC-RRS-002: Deleting a Reconciliation's Rows Removes Both Inputs")
+    void testDeleteByReconciliationId() {
+        // Given
+        Reconciliation reconciliation = reconciliationRepository.saveAndFlush(buildReconciliation("Rows-2"));
+        rowStore.write(reconciliation.getId(), RecordSide.SOURCE, List.of("id"),
+                new TreeMap<>(Map.of(0, List.<Object>of("A-1"))));
+        rowStore.write(reconciliation.getId(), RecordSide.TARGET, List.of("id"),
+                new TreeMap<>(Map.of(0, List.<Object>of("A-1"))));
+
+        // When
+        int deleted = rowStore.deleteByReconciliationId(reconciliation.getId());
+
+        // Then
+        assertThat(deleted).isEqualTo(2);
+        assertThat(rowStore.findRows(List.of(buildException(reconciliation, 0, 0)))).isEmpty();
+    }
+
+    private Reconciliation buildReconciliation(String name) {
+        Organization organization = Organization.builder()
+                .name(name + "-org")
+                .description("Test org")
+                .active(true)
+                .build();
+        organization = organizationRepository.saveAndFlush(organization);
+
+        Reconciliation reconciliation = new Reconciliation();
+        reconciliation.setName(name);
+        reconciliation.setStatus(ReconciliationStatus.IN_PROGRESS);
+        reconciliation.setOrganization(organization);
+        return reconciliation;
+    }
+
+    private ReconciliationException buildException(Reconciliation reconciliation, Integer sourceRow, Integer targetRow) {
+        ReconciliationException exception = new ReconciliationException();
+        exception.setReconciliation(reconciliation);
+        exception.setSourceRow(sourceRow);
+        exception.setTargetRow(targetRow);
+        return exception;
+    }
+}
@@ -0,0 +1,180 @@
+package com.amit.smartreconciliation.repository;
+
+import com.amit.smartreconciliation.dto.response.ReconciliationResponse;
+import com.amit.smartreconciliation.dto.response.tool.FileSummaryResponse;
+import com.amit.smartreconciliation.dto.response.tool.ReconciliationDetailsResponse;
+import com.amit.smartreconciliation.dto.response.tool.ReconciliationSummaryResponse;
+import com.amit.smartreconciliation.entity.Organization;
+import com.amit.smartreconciliation.entity.Reconciliation;
+import com.amit.smartreconciliation.entity.RuleSet;
+import com.amit.smartreconciliation.entity.UploadedFile;
+import com.amit.smartreconciliation.enums.FileStatus;
+import com.amit.smartreconciliation.enums.ReconciliationStatus;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the queries behind the reconciliation and file listings of the controllers and AI tools:
+ * mapping a page to responses must cost one statement however many rows it holds.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@DisplayName("Response Query Statement Count Tests")
+class ResponseQueryStatementCountTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void registerDataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReconciliationRepository reconciliationRepository;
+
+    @Autowired
+    private UploadedFileRepository fileRepository;
+
+    private Organization organization;
+    private Long firstReconciliationId;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        organization = entityManager.persist(Organization.builder()
+                .name("statement-count-org")
+                .description("Test org")
+                .active(true)
+                .build());
+        for (int i = 0; i < 3; i++) {
+            Reconciliation reconciliation = new Reconciliation();
+            reconciliation.setName("Run " + i);
+            reconciliation.setStatus(i == 0 ? ReconciliationStatus.COMPLETED : ReconciliationStatus.PENDING);
+            reconciliation.setSourceFile(entityManager.persist(buildFile("source-" + i + ".csv")));
+            reconciliation.setTargetFile(entityManager.persist(buildFile("target-" + i + ".csv")));
+            reconciliation.setRuleSet(entityManager.persist(RuleSet.builder()
+                    .name("Rules " + i)
+                    .organization(organization)
+                    .build()));
+            reconciliation.setOrganization(organization);
+            reconciliation = entityManager.persist(reconciliation);
+            if (i == 0) {
+                firstReconciliationId = reconciliation.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("TC-RQC-001: Paged Reconciliation List Maps to Responses in One Statement")
+    void testPagedListStatementCount() {
+        // When
+        List<ReconciliationResponse> responses = reconciliationRepository
+                .findByOrganizationId(organization.getId(), PageRequest.of(0, 20))
+                .map(ReconciliationResponse::fromEntity)
+                .getContent();
+
+        // Then
+        assertThat(responses).hasSize(3).allSatisfy(r -> {
+            assertThat(r.getSourceFileName()).startsWith("source-");
+            assertThat(r.getTargetFileName()).startsWith("target-");
+            assertThat(r.getRuleSetName()).startsWith("Rules ");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("TC-RQC-002: Full and Keyset Reconciliation Lists Map to Responses in One Statement Each")
+    void testUnpagedAndKeysetListStatementCount() {
+        // When
+        List<ReconciliationResponse> all = reconciliationRepository.findResponsesByOrganizationId(organization.getId())
+                .stream().map(ReconciliationResponse::fromEntity).toList();
+        long afterFullList = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        List<ReconciliationResponse> firstPage = reconciliationRepository
+                .findFirstPageByOrganizationId(organization.getId(), PageRequest.of(0, 2))
+                .stream().map(ReconciliationResponse::fromEntity).toList();
+
+        // Then
+        assertThat(all).hasSize(3);
+        assertThat(firstPage).hasSize(2).allSatisfy(r -> assertThat(r.getRuleSetName()).isNotNull());
+        assertThat(afterFullList).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("TC-RQC-003: Reconciliation Detail Maps to Responses in One Statement")
+    void testDetailStatementCount() {
+        // When
+        Reconciliation reconciliation = reconciliationRepository.findResponseById(firstReconciliationId).orElseThrow();
+        ReconciliationResponse response = ReconciliationResponse.fromEntity(reconciliation);
+        ReconciliationDetailsResponse details = ReconciliationDetailsResponse.fromEntity(reconciliation);
+
+        // Then
+        assertThat(response.getSourceFileName()).isEqualTo("source-0.csv");
+        assertThat(details).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("TC-RQC-004: AI Tool Summaries Filter and Limit in One Projection Query")
+    void testToolSummaryStatementCount() {
+        // When
+        List<ReconciliationSummaryResponse> pending = reconciliationRepository.findSummaries(organization.getId(),
+                EnumSet.of(ReconciliationStatus.PENDING), SearchPatterns.contains("RUN"), PageRequest.of(0, 10));
+        List<ReconciliationSummaryResponse> literal = reconciliationRepository.findSummaries(organization.getId(),
+                EnumSet.allOf(ReconciliationStatus.class), SearchPatterns.contains("run_%"), PageRequest.of(0, 10));
+        List<FileSummaryResponse> files = fileRepository.findSummaries(organization.getId(),
+                EnumSet.allOf(FileStatus.class), SearchPatterns.contains("source"), PageRequest.of(0, 2));
+
+        // Then
+        assertThat(pending).hasSize(2).extracting(ReconciliationSummaryResponse::status).containsOnly("PENDING");
+        assertThat(literal).isEmpty();
+        assertThat(files).hasSize(2).allSatisfy(f -> assertThat(f.originalFilename()).startsWith("source-"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    private UploadedFile buildFile(String name) {
+        return UploadedFile.builder()
+                .originalFilename(name)
+                .storedFilename(name)
+                .contentType("text/csv")
+                .fileSize(100L)
+                .status(FileStatus.PROCESSED)
+                .organization(organization)
+                .build();
+    }
+}
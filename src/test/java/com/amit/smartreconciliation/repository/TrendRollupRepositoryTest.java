@@ -0,0 +1,145 @@
+package com.amit.smartreconciliation.repository;
+
+import com.amit.smartreconciliation.dto.response.DashboardTrendPointResponse;
+import com.amit.smartreconciliation.entity.Organization;
+import com.amit.smartreconciliation.entity.Reconciliation;
+import com.amit.smartreconciliation.entity.ReconciliationException;
+import com.amit.smartreconciliation.enums.ExceptionSeverity;
+import com.amit.smartreconciliation.enums.ExceptionStatus;
+import com.amit.smartreconciliation.enums.ExceptionType;
+import com.amit.smartreconciliation.enums.KnowledgeDomain;
+import com.amit.smartreconciliation.enums.ReconciliationStatus;
+import com.amit.smartreconciliation.enums.TrendGranularity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TrendRollupRepository.class, ExceptionStatsRepository.class, ReconciliationExceptionBulkWriter.class,
+        ReconciliationExceptionTransitionWriter.class, JacksonAutoConfiguration.class})
+@Testcontainers
+// The writers commit in their own transactions, so the test must not hold its rows uncommitted
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("TrendRollupRepository Tests")
+class TrendRollupRepositoryTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void registerDataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private TrendRollupRepository trendRepository;
+
+    @Autowired
+    private ReconciliationExceptionBulkWriter bulkWriter;
+
+    @Autowired
+    private ReconciliationExceptionTransitionWriter transitionWriter;
+
+    @Autowired
+    private ReconciliationRepository reconciliationRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Test
+    @DisplayName("TC-TRR-001: Rollups Follow Run Completion, Inserts and Resolutions")
+    void testRollupsFollowWrites() {
+        // Given
+        Reconciliation reconciliation = reconciliationRepository.saveAndFlush(buildReconciliation("Trend-1"));
+        List<ReconciliationException> exceptions = new ArrayList<>(List.of(
+                buildException(), buildException(), buildException()));
+        bulkWriter.write(reconciliation.getId(), exceptions, exceptions.size());
+        reconciliation.setStatus(ReconciliationStatus.COMPLETED);
+        reconciliation.setCompletedAt(LocalDateTime.now());
+        reconciliation.setTotalSourceRecords(100);
+        reconciliation.setMatchedRecords(97);
+        trendRepository.recordRunFinished(reconciliation);
+
+        // When
+        transitionWriter.updateStatus(List.of(exceptions.get(0).getId()), ExceptionStatus.RESOLVED, "Fixed", null);
+
+        // Then
+        LocalDateTime today = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+        List<DashboardTrendPointResponse> points = trendRepository.findTrend(reconciliation.getOrganization().getId(),
+                TrendGranularity.DAY, KnowledgeDomain.BANKING, today.minusDays(1), today.plusDays(1));
+        assertThat(points).hasSize(1);
+        DashboardTrendPointResponse point = points.get(0);
+        assertThat(point.getBucketStart()).isEqualTo(today);
+        assertThat(point.getRunsCompleted()).isEqualTo(1L);
+        assertThat(point.getMatchRate()).isCloseTo(97.0, within(0.001));
+        assertThat(point.getExceptionsOpened()).isEqualTo(3L);
+        assertThat(point.getExceptionsResolved()).isEqualTo(1L);
+        assertThat(point.getMeanResolutionSeconds()).isGreaterThanOrEqualTo(0.0);
+    }
+
+    @Test
+    @DisplayName("TC-TRR-002: Replacing a Failed Attempt Takes Back Its Opened Exceptions")
+    void testDeleteTakesBackOpened() {
+        // Given
+        Reconciliation reconciliation = reconciliationRepository.saveAndFlush(buildReconciliation("Trend-2"));
+        bulkWriter.write(reconciliation.getId(), new ArrayList<>(List.of(buildException(), buildException())), 0);
+
+        // When
+        bulkWriter.deleteByReconciliationId(reconciliation.getId());
+
+        // Then
+        LocalDateTime hour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        List<DashboardTrendPointResponse> points = trendRepository.findTrend(reconciliation.getOrganization().getId(),
+                TrendGranularity.HOUR, null, hour.minusHours(1), hour.plusHours(1));
+        assertThat(points).allSatisfy(point -> assertThat(point.getExceptionsOpened()).isZero());
+    }
+
+    private Reconciliation buildReconciliation(String name) {
+        Organization organization = Organization.builder()
+                .name(name + "-org")
+                .description("Test org")
+                .active(true)
+                .build();
+        organization = organizationRepository.saveAndFlush(organization);
+
+        Reconciliation reconciliation = new Reconciliation();
+        reconciliation.setName(name);
+        reconciliation.setStatus(ReconciliationStatus.IN_PROGRESS);
+        reconciliation.setDomain(KnowledgeDomain.BANKING);
+        reconciliation.setOrganization(organization);
+        return reconciliation;
+    }
+
+    private ReconciliationException buildException() {
+        ReconciliationException exception = new ReconciliationException();
+        exception.setType(ExceptionType.VALUE_MISMATCH);
+        exception.setSeverity(ExceptionSeverity.HIGH);
+        exception.setStatus(ExceptionStatus.OPEN);
+        exception.setDomain(KnowledgeDomain.BANKING);
+        exception.setDescription("Exception for trend test");
+        return exception;
+    }
+}
@@ -0,0 +1,297 @@
+package com.amit.smartreconciliation.service;
+
+import com.amit.smartreconciliation.config.FileStorageConfig;
+import com.amit.smartreconciliation.dto.request.ChunkedUploadInitRequest;
+import com.amit.smartreconciliation.dto.response.UploadSessionResponse;
+import com.amit.smartreconciliation.entity.Organization;
+import com.amit.smartreconciliation.entity.UploadSession;
+import com.amit.smartreconciliation.entity.UploadedFile;
+import com.amit.smartreconciliation.enums.FileStatus;
+import com.amit.smartreconciliation.enums.UploadSessionStatus;
+import com.amit.smartreconciliation.exception.FileProcessingException;
+import com.amit.smartreconciliation.repository.UploadSessionRepository;
+import com.amit.smartreconciliation.repository.UploadedFileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ChunkedUploadService
+ * Module: File Management
+ * Test Level: Unit Test
+ * Total Test Cases: 8
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChunkedUploadService Unit Tests")
+class ChunkedUploadServiceTest {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    @Mock
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Mock
+    private UploadedFileRepository uploadedFileRepository;
+
+    @Mock
+    private OrganizationService organizationService;
+
+    @Mock
+    private FileStorageConfig fileStorageConfig;
+
+    @Mock
+    private FileUploadService fileUploadService;
+
+    @Mock
+    private ContentStoreService contentStoreService;
+
+    @InjectMocks
+    private ChunkedUploadService chunkedUploadService;
+
+    @TempDir
+    Path tempDir;
+
+    private UploadSession storedSession;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Organization organization = Organization.builder()
+                .id(1L)
+                .name("Test Organization")
+                .build();
+        content = new byte[CHUNK_SIZE * 2 + 100];
+        new Random(42).nextBytes(content);
+
+        lenient().when(organizationService.getDefaultOrganization()).thenReturn(organization);
+        lenient().when(fileStorageConfig.getUploadDir()).thenReturn(tempDir.toString());
+        lenient().when(contentStoreService.adopt(any(Path.class), anyString(), anyString(), anyLong()))
+                .thenAnswer(invocation -> new ContentStoreService(fileStorageConfig).adopt(
+                        invocation.getArgument(0), invocation.getArgument(1),
+                        invocation.getArgument(2), invocation.getArgument(3)));
+
+        // Behave like the database: one session row, atomic chunk marks and status transitions
+        lenient().when(uploadSessionRepository.save(any(UploadSession.class))).thenAnswer(invocation -> {
+            storedSession = invocation.getArgument(0);
+            return storedSession;
+        });
+        lenient().when(uploadSessionRepository.findByUploadId(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(storedSession));
+        lenient().when(uploadSessionRepository.markChunkReceived(anyString(), anyInt())).thenAnswer(invocation -> {
+            int index = invocation.getArgument(1);
+            if (storedSession.getReceivedChunks().contains(index)) {
+                return 0;
+            }
+            storedSession.getReceivedChunks().add(index);
+            return 1;
+        });
+        lenient().when(uploadSessionRepository.transitionStatus(anyString(), anyString(), anyString())).thenAnswer(invocation -> {
+            if (!storedSession.getStatus().name().equals(invocation.getArgument(1))) {
+                return 0;
+            }
+            storedSession.setStatus(UploadSessionStatus.valueOf(invocation.getArgument(2)));
+            return 1;
+        });
+        lenient().when(uploadedFileRepository.save(any(UploadedFile.class))).thenAnswer(invocation -> {
+            UploadedFile file = invocation.getArgument(0);
+            file.setId(10L);
+            return file;
+        });
+    }
+
+    @Test
+    @DisplayName("TC-CUS-001: Init Pre-allocates Part File and Splits Into Chunks")
+    void testInitAllocatesPartFile() throws Exception {
+        // When
+        UploadSessionResponse response = chunkedUploadService.initUpload(initRequest(null));
+
+        // Then
+        assertThat(response.getTotalChunks()).isEqualTo(3);
+        assertThat(response.getMissingChunks()).containsExactly(0, 1, 2);
+        assertThat(response.getStatus()).isEqualTo(UploadSessionStatus.ACTIVE);
+        assertThat(Files.size(Paths.get(storedSession.getPartPath()))).isEqualTo(content.length);
+    }
+
+    @Test
+    @DisplayName("TC-CUS-002: Out-of-Order Chunks Assemble, Hash and Start Processing")
+    void testOutOfOrderChunksComplete() throws Exception {
+        // Given
+        String expectedHash = sha256(content);
+        chunkedUploadService.initUpload(initRequest(expectedHash));
+        Path partPath = Paths.get(storedSession.getPartPath());
+
+        // When
+        chunkedUploadService.putChunk(storedSession.getUploadId(), 2, chunk(2));
+        chunkedUploadService.putChunk(storedSession.getUploadId(), 0, chunk(0));
+        UploadSessionResponse response = chunkedUploadService.putChunk(storedSession.getUploadId(), 1, chunk(1));
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(UploadSessionStatus.COMPLETED);
+        assertThat(response.getSha256()).isEqualTo(expectedHash);
+        assertThat(response.getFileId()).isEqualTo(10L);
+
+        ArgumentCaptor<UploadedFile> fileCaptor = ArgumentCaptor.forClass(UploadedFile.class);
+        verify(uploadedFileRepository).save(fileCaptor.capture());
+        UploadedFile saved = fileCaptor.getValue();
+        assertThat(saved.getStatus()).isEqualTo(FileStatus.UPLOADED);
+        assertThat(saved.getContentHash()).isEqualTo(expectedHash);
+        assertThat(Files.readAllBytes(Paths.get(saved.getFilePath()))).isEqualTo(content);
+        assertThat(partPath).doesNotExist();
+        verify(fileUploadService).enqueueProcessing(saved);
+    }
+
+    @Test
+    @DisplayName("TC-CUS-003: Checksum Mismatch Fails the Upload")
+    void testChecksumMismatch() {
+        // Given
+        chunkedUploadService.initUpload(initRequest("0".repeat(64)));
+        String uploadId = storedSession.getUploadId();
+        chunkedUploadService.putChunk(uploadId, 0, chunk(0));
+        chunkedUploadService.putChunk(uploadId, 1, chunk(1));
+
+        // When & Then
+        assertThatThrownBy(() -> chunkedUploadService.putChunk(uploadId, 2, chunk(2)))
+                .isInstanceOf(FileProcessingException.class)
+                .hasMessageContaining("Checksum mismatch");
+        assertThat(storedSession.getStatus()).isEqualTo(UploadSessionStatus.FAILED);
+        verify(uploadedFileRepository, never()).save(any());
+        verify(fileUploadService, never()).enqueueProcessing(any());
+    }
+
+    @Test
+    @DisplayName("TC-CUS-004: Short Chunk Is Rejected and Not Marked Received")
+    void testShortChunkRejected() {
+        // Given
+        chunkedUploadService.initUpload(initRequest(null));
+        ByteArrayInputStream shortChunk = new ByteArrayInputStream(Arrays.copyOf(content, 100));
+
+        // When & Then
+        assertThatThrownBy(() -> chunkedUploadService.putChunk(storedSession.getUploadId(), 0, shortChunk))
+                .isInstanceOf(FileProcessingException.class)
+                .hasMessageContaining("shorter");
+        assertThat(storedSession.getReceivedChunks()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("TC-CUS-005: Complete With Missing Chunks Throws")
+    void testCompleteWithMissingChunks() {
+        // Given
+        chunkedUploadService.initUpload(initRequest(null));
+        chunkedUploadService.putChunk(storedSession.getUploadId(), 1, chunk(1));
+
+        // When & Then
+        assertThatThrownBy(() -> chunkedUploadService.completeUpload(storedSession.getUploadId()))
+                .isInstanceOf(FileProcessingException.class)
+                .hasMessageContaining("missing 2 chunk");
+        assertThat(storedSession.getStatus()).isEqualTo(UploadSessionStatus.ACTIVE);
+    }
+
+    @Test
+    @DisplayName("TC-CUS-006: Abort Deletes the Part File")
+    void testAbortDeletesPartFile() {
+        // Given
+        chunkedUploadService.initUpload(initRequest(null));
+        Path partPath = Paths.get(storedSession.getPartPath());
+
+        // When
+        chunkedUploadService.abortUpload(storedSession.getUploadId());
+
+        // Then
+        assertThat(storedSession.getStatus()).isEqualTo(UploadSessionStatus.ABORTED);
+        assertThat(partPath).doesNotExist();
+        assertThatThrownBy(() -> chunkedUploadService.putChunk(storedSession.getUploadId(), 0, chunk(0)))
+                .isInstanceOf(FileProcessingException.class);
+    }
+
+    @Test
+    @DisplayName("TC-CUS-007: Expired Sessions Are Reaped With Their Part Files")
+    void testReapExpiredSessions() {
+        // Given
+        chunkedUploadService.initUpload(initRequest(null));
+        chunkedUploadService.putChunk(storedSession.getUploadId(), 0, chunk(0));
+        Path partPath = Paths.get(storedSession.getPartPath());
+        storedSession.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        when(uploadSessionRepository.findByStatusInAndExpiresAtBefore(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(List.of(storedSession));
+
+        // When
+        chunkedUploadService.reapExpiredSessions();
+
+        // Then
+        assertThat(storedSession.getStatus()).isEqualTo(UploadSessionStatus.ABORTED);
+        assertThat(partPath).doesNotExist();
+        verify(uploadSessionRepository).delete(storedSession);
+        Map<?, ?> hashStates = (Map<?, ?>) ReflectionTestUtils.getField(chunkedUploadService, "hashStates");
+        assertThat(hashStates).isEmpty();
+    }
+
+    @Test
+    @DisplayName("TC-CUS-008: Completed and Crashed Completing Sessions Are Reaped After Retention")
+    void testReapRetainedSessions() {
+        // Given - a finished session, and one a crash left completing with its part file
+        chunkedUploadService.initUpload(initRequest(null));
+        UploadSession crashed = storedSession;
+        Path partPath = Paths.get(crashed.getPartPath());
+        crashed.setStatus(UploadSessionStatus.COMPLETING);
+        UploadSession completed = UploadSession.builder()
+                .uploadId("done")
+                .partPath(tempDir.resolve("done.part").toString())
+                .status(UploadSessionStatus.COMPLETED)
+                .build();
+        when(uploadSessionRepository.findByStatusInAndUpdatedAtBefore(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(List.of(completed, crashed));
+
+        // When
+        chunkedUploadService.reapExpiredSessions();
+
+        // Then
+        assertThat(crashed.getStatus()).isEqualTo(UploadSessionStatus.FAILED);
+        assertThat(partPath).doesNotExist();
+        verify(uploadSessionRepository).delete(completed);
+        verify(uploadSessionRepository).delete(crashed);
+    }
+
+    private ChunkedUploadInitRequest initRequest(String sha256) {
+        ChunkedUploadInitRequest request = new ChunkedUploadInitRequest();
+        request.setFilename("large.csv");
+        request.setContentType("text/csv");
+        request.setTotalSize((long) content.length);
+        request.setChunkSize(CHUNK_SIZE);
+        request.setSha256(sha256);
+        return request;
+    }
+
+    private ByteArrayInputStream chunk(int index) {
+        int from = index * CHUNK_SIZE;
+        int to = Math.min(content.length, from + CHUNK_SIZE);
+        return new ByteArrayInputStream(Arrays.copyOfRange(content, from, to));
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
@@ -1,17 +1,21 @@
 package com.amit.smartreconciliation.service;
 
 import com.amit.smartreconciliation.dto.response.DashboardMetricsResponse;
+import com.amit.smartreconciliation.dto.response.DashboardTrendPointResponse;
 import com.amit.smartreconciliation.entity.Organization;
 import com.amit.smartreconciliation.entity.Reconciliation;
-import com.amit.smartreconciliation.entity.ReconciliationException;
 import com.amit.smartreconciliation.entity.UploadedFile;
 import com.amit.smartreconciliation.enums.ExceptionSeverity;
 import com.amit.smartreconciliation.enums.ExceptionStatus;
 import com.amit.smartreconciliation.enums.ExceptionType;
+import com.amit.smartreconciliation.enums.KnowledgeDomain;
 import com.amit.smartreconciliation.enums.ReconciliationStatus;
-import com.amit.smartreconciliation.repository.ReconciliationExceptionRepository;
+import com.amit.smartreconciliation.enums.TrendGranularity;
+import com.amit.smartreconciliation.event.ExceptionsTransitionedEvent;
+import com.amit.smartreconciliation.repository.ExceptionStatsRepository;
 import com.amit.smartreconciliation.repository.ReconciliationRepository;
 import com.amit.smartreconciliation.repository.RuleSetRepository;
+import com.amit.smartreconciliation.repository.TrendRollupRepository;
 import com.amit.smartreconciliation.repository.UploadedFileRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,20 +24,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for DashboardService
  * Module: Dashboard & Analytics
  * Test Level: Unit Test
- * Total Test Cases: 3
+ * Total Test Cases: 5
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("DashboardService Unit Tests")
@@ -43,7 +48,7 @@ class DashboardServiceTest {
     private ReconciliationRepository reconciliationRepository;
 
     @Mock
-    private ReconciliationExceptionRepository exceptionRepository;
+    private ExceptionStatsRepository statsRepository;
 
     @Mock
     private UploadedFileRepository fileRepository;
@@ -54,6 +59,9 @@ class DashboardServiceTest {
     @Mock
     private OrganizationService organizationService;
 
+    @Mock
+    private TrendRollupRepository trendRepository;
+
     @InjectMocks
     private DashboardService dashboardService;
 
@@ -83,12 +91,11 @@ class DashboardServiceTest {
         when(ruleSetRepository.findByOrganizationId(organization.getId()))
                 .thenReturn(List.of(new com.amit.smartreconciliation.entity.RuleSet()));
 
-        for (Reconciliation rec : reconciliations) {
-            when(exceptionRepository.countByReconciliationIdAndStatus(rec.getId(), ExceptionStatus.OPEN)).thenReturn(2L);
-            when(exceptionRepository.countByReconciliationIdAndStatus(rec.getId(), ExceptionStatus.RESOLVED)).thenReturn(1L);
-            when(exceptionRepository.findByReconciliationId(rec.getId()))
-                    .thenReturn(List.of(buildException(ExceptionType.VALUE_MISMATCH, ExceptionSeverity.HIGH)));
-        }
+        when(statsRepository.findByOrganizationId(organization.getId())).thenReturn(List.of(
+                new ExceptionStatsRepository.StatCount(
+                        ExceptionType.VALUE_MISMATCH, ExceptionSeverity.HIGH, ExceptionStatus.OPEN, 6),
+                new ExceptionStatsRepository.StatCount(
+                        ExceptionType.DUPLICATE, ExceptionSeverity.LOW, ExceptionStatus.RESOLVED, 3)));
 
         when(reconciliationRepository.findByOrganizationIdOrderByCreatedAtDesc(organization.getId()))
                 .thenReturn(reconciliations);
@@ -106,8 +113,8 @@ class DashboardServiceTest {
         assertThat(response.getResolvedExceptions()).isEqualTo(3);
         assertThat(response.getTotalFilesUploaded()).isEqualTo(2);
         assertThat(response.getTotalRuleSets()).isEqualTo(1);
-        assertThat(response.getExceptionsByType()).containsEntry("VALUE_MISMATCH", 3);
-        assertThat(response.getExceptionsBySeverity()).containsEntry("HIGH", 3);
+        assertThat(response.getExceptionsByType()).containsEntry("VALUE_MISMATCH", 6).containsEntry("DUPLICATE", 3);
+        assertThat(response.getExceptionsBySeverity()).containsEntry("HIGH", 6).containsEntry("LOW", 3);
     }
 
     @Test
@@ -124,9 +131,7 @@ class DashboardServiceTest {
                 .thenReturn(reconciliations);
         when(fileRepository.findByOrganizationId(organization.getId())).thenReturn(List.of());
         when(ruleSetRepository.findByOrganizationId(organization.getId())).thenReturn(List.of());
-        when(exceptionRepository.findByReconciliationId(anyLong())).thenReturn(List.of());
-        when(exceptionRepository.countByReconciliationIdAndStatus(anyLong(), org.mockito.ArgumentMatchers.<ExceptionStatus>any()))
-                .thenReturn(0L);
+        when(statsRepository.findByOrganizationId(organization.getId())).thenReturn(List.of());
 
         // When
         DashboardMetricsResponse response = dashboardService.getMetrics();
@@ -148,8 +153,7 @@ class DashboardServiceTest {
                 .thenReturn(reconciliations);
         when(fileRepository.findByOrganizationId(organization.getId())).thenReturn(List.of());
         when(ruleSetRepository.findByOrganizationId(organization.getId())).thenReturn(List.of());
-        when(exceptionRepository.findByReconciliationId(anyLong())).thenReturn(List.of());
-        when(exceptionRepository.countByReconciliationIdAndStatus(anyLong(), any())).thenReturn(0L);
+        when(statsRepository.findByOrganizationId(organization.getId())).thenReturn(List.of());
 
         // When
         DashboardMetricsResponse response = dashboardService.getMetrics();
@@ -162,6 +166,64 @@ class DashboardServiceTest {
                 .containsExactly("Recon 1", "Recon 2");
     }
 
+    @Test
+    @DisplayName("TC-DS-004: Serve Metrics from Snapshot Until an Event Invalidates It")
+    void testMetricsSnapshotInvalidatedByEvent() {
+        // Given
+        ReflectionTestUtils.setField(dashboardService, "maxStalenessSeconds", 60L);
+        when(reconciliationRepository.findByOrganizationId(organization.getId()))
+                .thenReturn(List.of(buildReconciliation(1L, ReconciliationStatus.COMPLETED, 90.0, 1)));
+        when(reconciliationRepository.findByOrganizationIdOrderByCreatedAtDesc(organization.getId()))
+                .thenReturn(List.of());
+        when(fileRepository.findByOrganizationId(organization.getId())).thenReturn(List.of());
+        when(ruleSetRepository.findByOrganizationId(organization.getId())).thenReturn(List.of());
+        when(statsRepository.findByOrganizationId(organization.getId()))
+                .thenReturn(List.of(new ExceptionStatsRepository.StatCount(
+                        ExceptionType.VALUE_MISMATCH, ExceptionSeverity.HIGH, ExceptionStatus.OPEN, 1)))
+                .thenReturn(List.of(new ExceptionStatsRepository.StatCount(
+                        ExceptionType.VALUE_MISMATCH, ExceptionSeverity.HIGH, ExceptionStatus.RESOLVED, 1)));
+
+        // When
+        DashboardMetricsResponse first = dashboardService.getMetrics();
+        DashboardMetricsResponse cached = dashboardService.getMetrics();
+        dashboardService.onExceptionsTransitioned(
+                new ExceptionsTransitionedEvent(organization.getId(), ExceptionStatus.RESOLVED, 1));
+        DashboardMetricsResponse refreshed = dashboardService.getMetrics();
+
+        // Then
+        assertThat(cached).isSameAs(first);
+        assertThat(first.getOpenExceptions()).isEqualTo(1);
+        assertThat(refreshed.getOpenExceptions()).isZero();
+        assertThat(refreshed.getResolvedExceptions()).isEqualTo(1);
+        verify(statsRepository, times(2)).findByOrganizationId(organization.getId());
+    }
+
+    @Test
+    @DisplayName("TC-DS-005: Trend Reads Rollups and Fills Empty Buckets")
+    void testTrendFillsEmptyBuckets() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2026, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 3, 3, 15, 30);
+        when(trendRepository.findTrend(organization.getId(), TrendGranularity.DAY, KnowledgeDomain.BANKING,
+                from, LocalDateTime.of(2026, 3, 4, 0, 0)))
+                .thenReturn(List.of(new DashboardTrendPointResponse(
+                        LocalDateTime.of(2026, 3, 2, 0, 0), 2, 0, 200, 150, 40, 10, 600)));
+
+        // When
+        List<DashboardTrendPointResponse> points =
+                dashboardService.getTrend(TrendGranularity.DAY, KnowledgeDomain.BANKING, from, to);
+
+        // Then
+        assertThat(points).extracting(DashboardTrendPointResponse::getBucketStart).containsExactly(
+                LocalDateTime.of(2026, 3, 1, 0, 0),
+                LocalDateTime.of(2026, 3, 2, 0, 0),
+                LocalDateTime.of(2026, 3, 3, 0, 0));
+        assertThat(points.get(0).getExceptionsOpened()).isZero();
+        assertThat(points.get(0).getMatchRate()).isNull();
+        assertThat(points.get(1).getMatchRate()).isEqualTo(75.0);
+        assertThat(points.get(1).getMeanResolutionSeconds()).isEqualTo(60.0);
+    }
+
     private Reconciliation buildReconciliation(Long id, ReconciliationStatus status, double matchRate, int exceptionCount) {
         Reconciliation reconciliation = new Reconciliation();
         reconciliation.setId(id);
@@ -180,12 +242,4 @@ class DashboardServiceTest {
         reconciliation.setExceptionCount(2);
         return reconciliation;
     }
-
-    private ReconciliationException buildException(ExceptionType type, ExceptionSeverity severity) {
-        ReconciliationException exception = new ReconciliationException();
-        exception.setType(type);
-        exception.setSeverity(severity);
-        exception.setStatus(ExceptionStatus.OPEN);
-        return exception;
-    }
 }
@@ -0,0 +1,160 @@
+package com.amit.smartreconciliation.service;
+
+import com.amit.smartreconciliation.entity.Reconciliation;
+import com.amit.smartreconciliation.enums.ExportFormat;
+import com.amit.smartreconciliation.exception.ResourceNotFoundException;
+import com.amit.smartreconciliation.repository.ReconciliationExceptionExportReader;
+import com.amit.smartreconciliation.repository.ReconciliationRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ExceptionExportService
+ * Module: Exception Management
+ * Test Level: Unit Test
+ * Total Test Cases: 4
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExceptionExportService Unit Tests")
+class ExceptionExportServiceTest {
+
+    @Mock
+    private ReconciliationExceptionExportReader exportReader;
+
+    @Mock
+    private ReconciliationRepository reconciliationRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ExceptionExportService exceptionExportService;
+
+    @BeforeEach
+    void setUp() {
+        exceptionExportService = new ExceptionExportService(exportReader, reconciliationRepository, objectMapper);
+    }
+
+    @Test
+    @DisplayName("TC-EES-001: CSV Export Is Gzipped on the Fly with a Header Row")
+    void testCsvExportGzipped() throws Exception {
+        // Given
+        stubRows(
+                row("1", "VALUE_MISMATCH", "amount, gross", "{\"id\": \"A1\"}"),
+                row("2", "MISSING_TARGET", null, null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long written = exceptionExportService.export(9L, ExportFormat.CSV, true, out);
+
+        // Then
+        assertThat(written).isEqualTo(2);
+        String csv = new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        String[] lines = csv.split("\r\n");
+        assertThat(lines[0]).startsWith("id,type,severity,status,domain,fieldName");
+        assertThat(lines[1]).startsWith("1,VALUE_MISMATCH,").contains("\"amount, gross\"");
+        assertThat(lines[2]).startsWith("2,MISSING_TARGET,");
+        assertThat(lines).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("TC-EES-002: NDJSON Export Writes One Object per Line with Data as JSON")
+    void testNdjsonExport() throws Exception {
+        // Given
+        stubRows(
+                row("1", "VALUE_MISMATCH", "amount", "{\"id\": \"A1\", \"amount\": 10}"),
+                row("2", "MISSING_TARGET", null, null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exceptionExportService.export(9L, ExportFormat.NDJSON, false, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(1L);
+        assertThat(first.get("fieldName").asText()).isEqualTo("amount");
+        assertThat(first.get("sourceData").get("amount").asInt()).isEqualTo(10);
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertThat(second.get("sourceData").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("TC-EES-003: XLSX Export Is a Readable Workbook and Ignores Gzip")
+    void testXlsxExport() throws Exception {
+        // Given
+        stubRows(row("1", "VALUE_MISMATCH", "amount", null));
+        Reconciliation reconciliation = new Reconciliation();
+        reconciliation.setId(9L);
+        when(reconciliationRepository.findById(9L)).thenReturn(Optional.of(reconciliation));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exceptionExportService.export(9L, ExportFormat.XLSX, true, out);
+
+        // Then
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("id");
+            assertThat(sheet.getRow(1).getCell(1).getStringCellValue()).isEqualTo("VALUE_MISMATCH");
+            assertThat(sheet.getRow(1).getCell(5).getStringCellValue()).isEqualTo("amount");
+            assertThat(sheet.getLastRowNum()).isEqualTo(1);
+        }
+        assertThat(exceptionExportService.prepare(9L, ExportFormat.XLSX, true))
+                .isEqualTo("reconciliation-9-exceptions.xlsx");
+    }
+
+    @Test
+    @DisplayName("TC-EES-004: Export of an Unknown Reconciliation Is Refused Before Writing")
+    void testPrepareUnknownReconciliation() {
+        // Given
+        when(reconciliationRepository.findById(404L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> exceptionExportService.prepare(404L, ExportFormat.CSV, false))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private void stubRows(String[]... rows) throws Exception {
+        when(exportReader.read(eq(9L), any())).thenAnswer(invocation -> {
+            ReconciliationExceptionExportReader.RowHandler handler = invocation.getArgument(1);
+            for (String[] row : rows) {
+                handler.handle(row);
+            }
+            return (long) rows.length;
+        });
+    }
+
+    private String[] row(String id, String type, String fieldName, String sourceData) {
+        String[] row = new String[ReconciliationExceptionExportReader.COLUMNS.size()];
+        row[0] = id;
+        row[1] = type;
+        row[2] = "HIGH";
+        row[3] = "OPEN";
+        row[4] = "GENERAL";
+        row[5] = fieldName;
+        row[13] = "2026-03-01T12:00";
+        row[ReconciliationExceptionExportReader.SOURCE_DATA] = sourceData;
+        return row;
+    }
+}
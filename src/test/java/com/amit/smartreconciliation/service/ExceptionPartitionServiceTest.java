@@ -0,0 +1,92 @@
+package com.amit.smartreconciliation.service;
+
+import com.amit.smartreconciliation.repository.ExceptionStatsRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ExceptionPartitionService
+ * Module: Exception Management
+ * Test Level: Unit Test
+ * Total Test Cases: 3
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExceptionPartitionService Unit Tests")
+class ExceptionPartitionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ExceptionStatsRepository statsRepository;
+
+    @InjectMocks
+    private ExceptionPartitionService exceptionPartitionService;
+
+    @Test
+    @DisplayName("TC-EPS-001: Creates Only the Missing Monthly Partitions")
+    void testCreatesMissingPartitions() {
+        // Given
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any()))
+                .thenReturn(List.of("reconciliation_exceptions_default", "reconciliation_exceptions_p202611"));
+
+        // When
+        int created = exceptionPartitionService.createPartitions(YearMonth.of(2026, 11), YearMonth.of(2027, 1));
+
+        // Then
+        assertThat(created).isEqualTo(2);
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS reconciliation_exceptions_p202612"
+                + " PARTITION OF reconciliation_exceptions FOR VALUES FROM ('2026-12-01') TO ('2027-01-01')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS reconciliation_exceptions_p202701"
+                + " PARTITION OF reconciliation_exceptions FOR VALUES FROM ('2027-01-01') TO ('2027-02-01')");
+        verify(jdbcTemplate, never()).execute(contains("p202611"));
+    }
+
+    @Test
+    @DisplayName("TC-EPS-002: Drops Partitions Older Than the Cutoff and Keeps the Default")
+    void testDropsOldPartitions() {
+        // Given
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any()))
+                .thenReturn(List.of("reconciliation_exceptions_default", "reconciliation_exceptions_p202603",
+                        "reconciliation_exceptions_p202604", "reconciliation_exceptions_p202605"));
+        when(jdbcTemplate.queryForList(startsWith("SELECT DISTINCT reconciliation_id"), eq(Long.class)))
+                .thenReturn(List.of(7L));
+
+        // When
+        int dropped = exceptionPartitionService.dropPartitionsBefore(YearMonth.of(2026, 5));
+
+        // Then
+        assertThat(dropped).isEqualTo(2);
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS reconciliation_exceptions_p202603");
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS reconciliation_exceptions_p202604");
+        verify(jdbcTemplate, never()).execute(contains("p202605"));
+        verify(jdbcTemplate, never()).execute(contains("_default"));
+        verify(statsRepository, times(2)).rebuild(7L);
+    }
+
+    @Test
+    @DisplayName("TC-EPS-003: Maintenance Is Skipped When the Table Is Not Partitioned")
+    void testSkipsUnpartitionedTable() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any())).thenReturn(0);
+
+        // When
+        exceptionPartitionService.maintain();
+
+        // Then
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class), any());
+    }
+}
@@ -4,13 +4,24 @@ import com.amit.smartreconciliation.dto.request.BulkExceptionRequest;
 import com.amit.smartreconciliation.dto.request.AutoResolveExceptionsRequest;
 import com.amit.smartreconciliation.dto.request.ExceptionUpdateRequest;
 import com.amit.smartreconciliation.dto.response.AutoResolveExceptionsResponse;
+import com.amit.smartreconciliation.dto.response.CursorPage;
+import com.amit.smartreconciliation.dto.response.ExceptionRunSummaryResponse;
 import com.amit.smartreconciliation.dto.response.ReconciliationExceptionResponse;
+import com.amit.smartreconciliation.entity.FieldDiff;
 import com.amit.smartreconciliation.entity.Reconciliation;
 import com.amit.smartreconciliation.entity.ReconciliationException;
 import com.amit.smartreconciliation.enums.ExceptionSeverity;
 import com.amit.smartreconciliation.enums.ExceptionStatus;
 import com.amit.smartreconciliation.enums.ExceptionType;
+import com.amit.smartreconciliation.enums.RecordSide;
+import com.amit.smartreconciliation.event.ExceptionsTransitionedEvent;
+import com.amit.smartreconciliation.exception.InvalidCursorException;
+import com.amit.smartreconciliation.repository.ExceptionStatsRepository;
 import com.amit.smartreconciliation.repository.ReconciliationExceptionRepository;
+import com.amit.smartreconciliation.repository.ReconciliationExceptionTransitionWriter;
+import com.amit.smartreconciliation.repository.ReconciliationRepository;
+import com.amit.smartreconciliation.repository.ReconciliationRowStore;
+import com.amit.smartreconciliation.repository.TrendRollupRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,11 +29,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.access.AccessDeniedException;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -34,8 +47,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,7 +58,7 @@ import static org.mockito.Mockito.when;
  * Unit tests for ExceptionService
  * Module: Exception Management
  * Test Level: Unit Test
- * Total Test Cases: 18
+ * Total Test Cases: 27
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("ExceptionService Unit Tests")
@@ -52,12 +67,30 @@ class ExceptionServiceTest {
     @Mock
     private ReconciliationExceptionRepository exceptionRepository;
 
+    @Mock
+    private ReconciliationRepository reconciliationRepository;
+
     @Mock
     private AiService aiService;
 
     @Mock
     private ExceptionPermissionService permissionService;
 
+    @Mock
+    private ReconciliationExceptionTransitionWriter transitionWriter;
+
+    @Mock
+    private ExceptionStatsRepository statsRepository;
+
+    @Mock
+    private TrendRollupRepository trendRepository;
+
+    @Mock
+    private ReconciliationRowStore rowStore;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ExceptionService exceptionService;
 
@@ -224,6 +257,9 @@ class ExceptionServiceTest {
         assertThat(response.getResolution()).isEqualTo("Corrected in source system");
         assertThat(response.getResolvedBy()).isEqualTo("user-456");
         assertThat(response.getResolvedAt()).isNotNull();
+        verify(statsRepository).move(123L, ExceptionType.VALUE_MISMATCH, ExceptionSeverity.MEDIUM,
+                ExceptionStatus.OPEN, ExceptionStatus.RESOLVED);
+        verify(eventPublisher).publishEvent(new ExceptionsTransitionedEvent(null, ExceptionStatus.RESOLVED, 1));
     }
 
     @Test
@@ -266,13 +302,16 @@ class ExceptionServiceTest {
     @DisplayName("TC-ES-011: Bulk Update Multiple Exceptions")
     void testBulkUpdateMultipleExceptions() {
         // Given
-        List<ReconciliationException> exceptions = List.of(
+        List<Long> ids = List.of(11L, 12L, 13L);
+        List<ReconciliationException> updated = List.of(
                 buildExceptionWithId(11L),
                 buildExceptionWithId(12L),
                 buildExceptionWithId(13L)
         );
-        when(exceptionRepository.findAllById(List.of(11L, 12L, 13L))).thenReturn(exceptions);
-        when(exceptionRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        updated.forEach(e -> e.setStatus(ExceptionStatus.ACKNOWLEDGED));
+        when(transitionWriter.findTypes(ids)).thenReturn(List.of(ExceptionType.VALUE_MISMATCH));
+        when(transitionWriter.updateStatus(ids, ExceptionStatus.ACKNOWLEDGED, null, null)).thenReturn(ids);
+        when(exceptionRepository.findAllById(ids)).thenReturn(updated);
 
         BulkExceptionRequest request = new BulkExceptionRequest();
         request.setExceptionIds(List.of(11L, 12L, 13L));
@@ -290,12 +329,15 @@ class ExceptionServiceTest {
     @DisplayName("TC-ES-012: Bulk Update with Partial Failure")
     void testBulkUpdateWithPartialFailure() {
         // Given
-        List<ReconciliationException> exceptions = List.of(
+        List<ReconciliationException> updated = List.of(
                 buildExceptionWithId(111L),
                 buildExceptionWithId(222L)
         );
-        when(exceptionRepository.findAllById(List.of(111L, 222L, 999L))).thenReturn(exceptions);
-        when(exceptionRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        updated.forEach(e -> e.setStatus(ExceptionStatus.ACKNOWLEDGED));
+        when(transitionWriter.findTypes(List.of(111L, 222L, 999L))).thenReturn(List.of(ExceptionType.VALUE_MISMATCH));
+        when(transitionWriter.updateStatus(List.of(111L, 222L, 999L), ExceptionStatus.ACKNOWLEDGED, null, null))
+                .thenReturn(List.of(111L, 222L));
+        when(exceptionRepository.findAllById(List.of(111L, 222L))).thenReturn(updated);
 
         BulkExceptionRequest request = new BulkExceptionRequest();
         request.setExceptionIds(List.of(111L, 222L, 999L));
@@ -354,11 +396,12 @@ class ExceptionServiceTest {
     @DisplayName("TC-ES-015: Count Exceptions by Status")
     void testCountExceptionsByStatus() {
         // Given
-        when(exceptionRepository.countByReconciliationIdAndStatus(888L, ExceptionStatus.OPEN)).thenReturn(15L);
-        when(exceptionRepository.countByReconciliationIdAndStatus(888L, ExceptionStatus.RESOLVED)).thenReturn(10L);
-        when(exceptionRepository.countByReconciliationIdAndStatus(888L, ExceptionStatus.ACKNOWLEDGED)).thenReturn(5L);
-        when(exceptionRepository.countByReconciliationIdAndStatus(888L, ExceptionStatus.IN_REVIEW)).thenReturn(0L);
-        when(exceptionRepository.countByReconciliationIdAndStatus(888L, ExceptionStatus.IGNORED)).thenReturn(0L);
+        when(statsRepository.countByStatus(888L)).thenReturn(Map.of(
+                ExceptionStatus.OPEN, 15L,
+                ExceptionStatus.RESOLVED, 10L,
+                ExceptionStatus.ACKNOWLEDGED, 5L,
+                ExceptionStatus.IN_REVIEW, 0L,
+                ExceptionStatus.IGNORED, 0L));
 
         // When
         Map<ExceptionStatus, Long> counts = exceptionService.countByStatus(888L);
@@ -447,21 +490,11 @@ class ExceptionServiceTest {
     @DisplayName("TC-ES-020: Auto Resolve Open Exceptions with AI Suggestions")
     void testAutoResolveOpenExceptionsWithAiSuggestions() {
         // Given
-        ReconciliationException withSuggestion = buildExceptionWithId(201L);
-        withSuggestion.setStatus(ExceptionStatus.OPEN);
-        withSuggestion.setAiSuggestion("Use source amount");
-
-        ReconciliationException withoutSuggestion = buildExceptionWithId(202L);
-        withoutSuggestion.setStatus(ExceptionStatus.OPEN);
-        withoutSuggestion.setAiSuggestion(null);
-
-        ReconciliationException notOpen = buildExceptionWithId(203L);
-        notOpen.setStatus(ExceptionStatus.IN_REVIEW);
-        notOpen.setAiSuggestion("Not eligible due to status");
-
-        when(exceptionRepository.findAll(any(Specification.class)))
-                .thenReturn(List.of(withSuggestion, withoutSuggestion, notOpen));
-        when(exceptionRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(transitionWriter.tallyAutoResolve(any())).thenReturn(List.of(
+                new ReconciliationExceptionTransitionWriter.AutoResolveTally(ExceptionType.VALUE_MISMATCH, 2, 0, 1, 1),
+                new ReconciliationExceptionTransitionWriter.AutoResolveTally(ExceptionType.MISSING_TARGET, 1, 1, 0, 0)));
+        when(transitionWriter.autoResolve(any(), any(), eq("Resolved from AI"), eq("System")))
+                .thenReturn(List.of(201L));
 
         AutoResolveExceptionsRequest request = new AutoResolveExceptionsRequest();
         request.setReconciliationId(123L);
@@ -477,6 +510,111 @@ class ExceptionServiceTest {
         assertThat(response.getUpdatedCount()).isEqualTo(1);
         assertThat(response.getSkippedCount()).isEqualTo(2);
         assertThat(response.getUpdatedIds()).containsExactly(201L);
+        assertThat(response.getSkippedReasonCounts())
+                .containsEntry("not_open", 1L)
+                .containsEntry("missing_ai_suggestion", 1L);
+        verify(exceptionRepository, never()).findAll(any(Specification.class));
+    }
+
+    @Test
+    @DisplayName("TC-ES-024: Auto Resolve Is Refused When a Resolvable Type Is Not Permitted")
+    void testAutoResolveRefusedForForbiddenType() {
+        // Given
+        when(permissionService.canAction(any(), eq(ExceptionType.DUPLICATE))).thenReturn(false);
+        when(transitionWriter.tallyAutoResolve(any())).thenReturn(List.of(
+                new ReconciliationExceptionTransitionWriter.AutoResolveTally(ExceptionType.DUPLICATE, 5, 0, 0, 5)));
+
+        AutoResolveExceptionsRequest request = new AutoResolveExceptionsRequest();
+        request.setReconciliationId(123L);
+
+        // When & Then
+        assertThatThrownBy(() -> exceptionService.bulkAutoResolve(request))
+                .isInstanceOf(AccessDeniedException.class)
+                .hasMessageContaining("DUPLICATE");
+        verify(transitionWriter, never()).autoResolve(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("TC-ES-025: Run Summaries Come from One Aggregate Query and Are Cached")
+    void testRunSummariesFromAggregateQuery() {
+        // Given
+        ExceptionRunSummaryResponse summary = new ExceptionRunSummaryResponse(
+                123L, "recon-123", null, null, 4L, 1L, 2L, 3L, 6L);
+        when(exceptionRepository.summarizeByReconciliation(any(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of(summary));
+
+        // When
+        List<ExceptionRunSummaryResponse> first = exceptionService.getRunSummaries(
+                null, null, null, LocalDate.of(2026, 2, 20), null);
+        List<ExceptionRunSummaryResponse> second = exceptionService.getRunSummaries(
+                null, null, null, LocalDate.of(2026, 2, 20), null);
+
+        // Then
+        assertThat(first).hasSize(1);
+        assertThat(first.get(0).getCriticalOpenCount()).isEqualTo(2L);
+        assertThat(second).isSameAs(first);
+        verify(exceptionRepository, times(1)).summarizeByReconciliation(
+                null, null, null, null, LocalDate.of(2026, 2, 20).atStartOfDay(), null);
+        verify(exceptionRepository, never()).findAll(any(Specification.class));
+    }
+
+    @Test
+    @DisplayName("TC-ES-021: Scroll Returns a Cursor Only When More Rows Follow")
+    void testScrollReturnsNextCursor() {
+        // Given
+        List<ReconciliationException> rows = List.of(
+                buildExceptionWithId(301L), buildExceptionWithId(302L), buildExceptionWithId(303L));
+        when(exceptionRepository.findBy(any(Specification.class), any())).thenReturn(rows);
+
+        // When
+        CursorPage<ReconciliationExceptionResponse> page = exceptionService.scroll(
+                123L, null, null, null, null, null, "id", "asc", null, 2, false);
+
+        // Then
+        assertThat(page.getContent()).extracting(ReconciliationExceptionResponse::getId)
+                .containsExactly(301L, 302L);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getEstimatedTotal()).isNull();
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor(), "id,asc");
+        assertThat(next.getId()).isEqualTo(302L);
+        assertThat(next.getSortKey()).isNull();
+        verify(exceptionRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @DisplayName("TC-ES-022: Scroll Rejects a Cursor Issued for Another Sort Order")
+    void testScrollRejectsForeignCursor() {
+        // Given
+        String cursor = KeysetCursor.of("id,asc", null, 302L).encode();
+
+        // When & Then
+        assertThatThrownBy(() -> exceptionService.scroll(
+                123L, null, null, null, null, null, "createdAt", "desc", cursor, 20, false))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> exceptionService.scroll(
+                123L, null, null, null, null, null, "createdAt", "desc", "not-a-cursor", 20, false))
+                .isInstanceOf(InvalidCursorException.class);
+        verify(exceptionRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    @DisplayName("TC-ES-023: Scroll Estimates an Unfiltered Run Total from the Stored Count")
+    void testScrollEstimatedTotalFromStoredCount() {
+        // Given
+        reconciliation.setExceptionCount(4200);
+        when(reconciliationRepository.findById(123L)).thenReturn(Optional.of(reconciliation));
+        when(exceptionRepository.findBy(any(Specification.class), any()))
+                .thenReturn(List.of(buildExceptionWithId(301L)));
+
+        // When
+        CursorPage<ReconciliationExceptionResponse> page = exceptionService.scroll(
+                123L, null, null, null, null, null, "id", "asc", null, 20, true);
+
+        // Then
+        assertThat(page.getEstimatedTotal()).isEqualTo(4200L);
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        verify(exceptionRepository, never()).count(any(Specification.class));
     }
 
     private List<ReconciliationException> buildExceptions(int count, ExceptionStatus status) {
@@ -511,6 +649,55 @@ class ExceptionServiceTest {
         return exceptions;
     }
 
+    @Test
+    @DisplayName("TC-ES-026: Rows Referenced by an Exception Are Resolved from the Row Store")
+    void testRowsResolvedFromRowStore() {
+        // Given
+        ReconciliationException exception = buildException(ExceptionStatus.OPEN);
+        exception.setSourceRow(4);
+        exception.setTargetRow(7);
+        when(exceptionRepository.findById(1L)).thenReturn(Optional.of(exception));
+        Map<String, Object> sourceRow = Map.of("id", "A-1", "amount", "100.00");
+        when(rowStore.findRows(List.of(exception))).thenReturn(Map.of(
+                new ReconciliationRowStore.RowRef(reconciliation.getId(), RecordSide.SOURCE, 4), sourceRow));
+
+        // When
+        ReconciliationExceptionResponse response = exceptionService.getById(1L);
+
+        // Then
+        assertThat(response.getSourceRow()).isEqualTo(4);
+        assertThat(response.getSourceData()).isEqualTo(sourceRow);
+        assertThat(response.getTargetRow()).isEqualTo(7);
+        assertThat(response.getTargetData()).isNull();
+    }
+
+    @Test
+    @DisplayName("TC-ES-027: Field View Splits a Pair-Level Exception into One Entry per Field")
+    void testFieldViewSplitsPairException() {
+        // Given
+        ReconciliationException exception = buildException(ExceptionStatus.OPEN);
+        exception.setSeverity(ExceptionSeverity.CRITICAL);
+        exception.setFieldDiffs(List.of(
+                new FieldDiff("id", null, "A-1", ExceptionSeverity.CRITICAL),
+                new FieldDiff("amount", "100.00", "99.00", ExceptionSeverity.MEDIUM)));
+        when(exceptionRepository.findById(1L)).thenReturn(Optional.of(exception));
+
+        // When
+        List<ReconciliationExceptionResponse> view = exceptionService.getFieldView(1L);
+
+        // Then
+        assertThat(view).hasSize(2);
+        assertThat(view).extracting(ReconciliationExceptionResponse::getFieldName).containsExactly("id", "amount");
+        assertThat(view).extracting(ReconciliationExceptionResponse::getSeverity)
+                .containsExactly(ExceptionSeverity.CRITICAL, ExceptionSeverity.MEDIUM);
+        assertThat(view.get(1).getSourceValue()).isEqualTo("100.00");
+        assertThat(view.get(1).getTargetValue()).isEqualTo("99.00");
+        assertThat(view).allSatisfy(r -> {
+            assertThat(r.getId()).isEqualTo(exception.getId());
+            assertThat(r.getFieldDiffs()).isNull();
+        });
+    }
+
     private ReconciliationException buildException(ExceptionStatus status) {
         ReconciliationException exception = new ReconciliationException();
         exception.setId(1L);
@@ -0,0 +1,183 @@
+package com.amit.smartreconciliation.service;
+
+import com.amit.smartreconciliation.exception.FileProcessingException;
+import com.amit.smartreconciliation.exception.IngestCapacityException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for FileIngestService
+ * Module: File Management
+ * Test Level: Unit Test
+ * Total Test Cases: 5
+ */
+@DisplayName("FileIngestService Unit Tests")
+class FileIngestServiceTest {
+
+    private FileIngestService fileIngestService;
+
+    @BeforeEach
+    void setUp() {
+        fileIngestService = new FileIngestService(4, 2, 5, 2);
+        fileIngestService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fileIngestService.shutdown();
+    }
+
+    @Test
+    @DisplayName("TC-FIS-001: Per-Organization Concurrency Cap Is Respected")
+    void testPerOrganizationCap() throws Exception {
+        // Given
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(4);
+
+        // When
+        for (long fileId = 1; fileId <= 4; fileId++) {
+            fileIngestService.submit(1L, fileId, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+        Thread.sleep(200);
+        int runningWhileBlocked = running.get();
+        release.countDown();
+
+        // Then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(runningWhileBlocked).isEqualTo(2);
+        assertThat(maxRunning.get()).isEqualTo(2);
+        // A file leaves the pending count just after its task returned
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (fileIngestService.getPendingCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(fileIngestService.getPendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("TC-FIS-002: Other Organizations Are Not Blocked by a Full Lane")
+    void testOtherOrganizationProceeds() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherOrgRan = new CountDownLatch(1);
+        for (long fileId = 1; fileId <= 3; fileId++) {
+            fileIngestService.submit(1L, fileId, () -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        // When
+        fileIngestService.submit(2L, 10L, otherOrgRan::countDown);
+
+        // Then
+        assertThat(otherOrgRan.await(2, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("TC-FIS-003: Admission Rejected When Queue Capacity Reached")
+    void testCapacityRejection() {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        for (long fileId = 1; fileId <= 4; fileId++) {
+            fileIngestService.submit(1L, fileId, () -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        // When & Then
+        assertThatCode(() -> fileIngestService.reserve(1).close()).doesNotThrowAnyException();
+        assertThatThrownBy(() -> fileIngestService.reserve(2))
+            .isInstanceOf(IngestCapacityException.class);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("TC-FIS-004: Store Tasks Run Concurrently and Failures Propagate")
+    void testStoreAll() {
+        // Given
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Supplier<String> first = () -> awaitBoth(bothStarted, "a");
+        Supplier<String> second = () -> awaitBoth(bothStarted, "b");
+
+        // When
+        List<String> results = fileIngestService.storeAll(List.of(first, second));
+
+        // Then
+        assertThat(results).containsExactly("a", "b");
+        assertThatThrownBy(() -> fileIngestService.storeAll(List.<Supplier<String>>of(
+                () -> "ok",
+                () -> { throw new FileProcessingException("disk full"); })))
+            .isInstanceOf(FileProcessingException.class)
+            .hasMessage("disk full");
+    }
+
+    @Test
+    @DisplayName("TC-FIS-005: Reserved Slots Count Toward Capacity Until Released")
+    void testReservationHoldsSlots() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        FileIngestService.Reservation reservation = fileIngestService.reserve(3);
+
+        // When
+        reservation.submit(1L, 1L, () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+
+        // Then - the queued file used a reserved slot rather than a new one
+        assertThat(fileIngestService.getPendingCount()).isEqualTo(3);
+        assertThatThrownBy(() -> fileIngestService.reserve(3))
+            .isInstanceOf(IngestCapacityException.class);
+        reservation.close();
+        assertThat(fileIngestService.getPendingCount()).isEqualTo(1);
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private String awaitBoth(CountDownLatch latch, String value) {
+        latch.countDown();
+        try {
+            if (!latch.await(2, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("store tasks did not run concurrently");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
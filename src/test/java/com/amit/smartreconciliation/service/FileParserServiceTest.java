@@ -1,17 +1,33 @@
 package com.amit.smartreconciliation.service;
 
 import com.amit.smartreconciliation.exception.FileProcessingException;
+import com.amit.smartreconciliation.service.profiling.SchemaProfiler;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import com.github.luben.zstd.ZstdOutputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -19,7 +35,7 @@ import static org.assertj.core.api.Assertions.*;
  * Unit tests for FileParserService
  * Module: File Management
  * Test Level: Unit Test
- * Total Test Cases: 8
+ * Total Test Cases: 18
  */
 @DisplayName("FileParserService Unit Tests")
 class FileParserServiceTest {
@@ -219,8 +235,324 @@ class FileParserServiceTest {
         // The parser detects structural issues in CSV files
     }
 
+    // ==================== Streaming Tests ====================
+
+    @Test
+    @DisplayName("TC-FPS-009: Stream CSV File Row by Row")
+    void testStreamCsvFile() {
+        // Given
+        Path csvPath = Paths.get("src/test/resources/testdata/source_data_exact_match.csv");
+        List<String> headers = new ArrayList<>();
+        List<List<Object>> rows = new ArrayList<>();
+
+        // When
+        int rowCount = fileParserService.streamFile(csvPath, new FileParserService.RowHandler() {
+            @Override
+            public void onHeaders(List<String> h) {
+                headers.addAll(h);
+            }
+
+            @Override
+            public void onRow(List<Object> row) {
+                rows.add(row);
+            }
+        });
+
+        // Then
+        FileParserService.ParseResult batch = fileParserService.parseFile(csvPath);
+        assertThat(rowCount).isEqualTo(batch.getRowCount());
+        assertThat(headers).isEqualTo(batch.headers());
+        assertThat(rows).isEqualTo(batch.rows());
+    }
+
+    @Test
+    @DisplayName("TC-FPS-010: Stream XLSX File with Sparse Cells")
+    void testStreamXlsxFile(@TempDir Path tempDir) throws IOException {
+        // Given
+        Path xlsxPath = tempDir.resolve("streamed.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook();
+             OutputStream out = Files.newOutputStream(xlsxPath)) {
+            Sheet sheet = workbook.createSheet("data");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("id");
+            header.createCell(1).setCellValue("name");
+            header.createCell(2).setCellValue("amount");
+            Row first = sheet.createRow(1);
+            first.createCell(0).setCellValue(1);
+            first.createCell(2).setCellValue(150.5);
+            Row second = sheet.createRow(2);
+            second.createCell(0).setCellValue(2);
+            second.createCell(1).setCellValue("Jane");
+            workbook.write(out);
+        }
+        List<String> headers = new ArrayList<>();
+        List<List<Object>> rows = new ArrayList<>();
+
+        // When
+        int rowCount = fileParserService.streamFile(xlsxPath, new FileParserService.RowHandler() {
+            @Override
+            public void onHeaders(List<String> h) {
+                headers.addAll(h);
+            }
+
+            @Override
+            public void onRow(List<Object> row) {
+                rows.add(row);
+            }
+        });
+
+        // Then
+        assertThat(rowCount).isEqualTo(2);
+        assertThat(headers).containsExactly("id", "name", "amount");
+        assertThat(rows.get(0)).containsExactly(1.0, null, 150.5);
+        assertThat(rows.get(1)).containsExactly(2.0, "Jane", null);
+    }
+
+    // ==================== Compressed Input Tests ====================
+
+    @Test
+    @DisplayName("TC-FPS-011: Parse Gzipped CSV Detected by Magic Bytes")
+    void testParseGzippedCsv(@TempDir Path tempDir) throws IOException {
+        // Given
+        Path csvPath = Paths.get("src/test/resources/testdata/source_data_exact_match.csv");
+        Path gzPath = tempDir.resolve("drop.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzPath))) {
+            Files.copy(csvPath, out);
+        }
+
+        // When
+        FileParserService.ParseResult result = fileParserService.parseFile(gzPath);
+
+        // Then
+        FileParserService.ParseResult plain = fileParserService.parseFile(csvPath);
+        assertThat(result.headers()).isEqualTo(plain.headers());
+        assertThat(result.rows()).isEqualTo(plain.rows());
+    }
+
+    @Test
+    @DisplayName("TC-FPS-012: Stream CSV From Zip Archive Entry")
+    void testStreamZippedCsv(@TempDir Path tempDir) throws IOException {
+        // Given
+        Path zipPath = tempDir.resolve("provider_drop.zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(zipPath))) {
+            zip.putNextEntry(new ZipEntry("exports/"));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("exports/ledger.csv"));
+            zip.write("id,amount\n1,10.00\n2,20.00\n".getBytes());
+            zip.closeEntry();
+        }
+        List<List<Object>> rows = new ArrayList<>();
+
+        // When
+        int rowCount = fileParserService.streamFile(zipPath, new FileParserService.RowHandler() {
+            @Override
+            public void onHeaders(List<String> headers) {
+                assertThat(headers).containsExactly("id", "amount");
+            }
+
+            @Override
+            public void onRow(List<Object> row) {
+                rows.add(row);
+            }
+        });
+
+        // Then
+        assertThat(rowCount).isEqualTo(2);
+        assertThat(rows.get(1)).containsExactly("2", "20.00");
+    }
+
+    @Test
+    @DisplayName("TC-FPS-013: Parse Zstd-Compressed CSV Regardless of File Name")
+    void testParseZstdCsv(@TempDir Path tempDir) throws IOException {
+        // Given
+        Path zstPath = tempDir.resolve("abc123.csv.zst");
+        try (OutputStream out = new ZstdOutputStream(Files.newOutputStream(zstPath))) {
+            out.write("id,amount\n1,10.00\n".getBytes());
+        }
+
+        // When
+        FileParserService.ParseResult result = fileParserService.parseFile(zstPath);
+
+        // Then
+        assertThat(result.headers()).containsExactly("id", "amount");
+        assertThat(result.getRowCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("TC-FPS-018: Streamed Workbook Dates Are Typed and Profiled as Dates")
+    void testStreamXlsxDates(@TempDir Path tempDir) throws IOException {
+        // Given
+        Path xlsxPath = tempDir.resolve("dated.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook();
+             OutputStream out = Files.newOutputStream(xlsxPath)) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("m/d/yy"));
+            Sheet sheet = workbook.createSheet("data");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("date");
+            header.createCell(1).setCellValue("amount");
+            for (int i = 1; i <= 3; i++) {
+                Row row = sheet.createRow(i);
+                Cell date = row.createCell(0);
+                date.setCellValue(LocalDateTime.of(2024, 1, 14 + i, 0, 0));
+                date.setCellStyle(dateStyle);
+                row.createCell(1).setCellValue(2024);
+            }
+            workbook.write(out);
+        }
+        List<List<Object>> rows = new ArrayList<>();
+        SchemaProfiler[] profiler = new SchemaProfiler[1];
+
+        // When
+        fileParserService.streamFile(xlsxPath, new FileParserService.RowHandler() {
+            @Override
+            public void onHeaders(List<String> headers) {
+                profiler[0] = new SchemaDetectionService().newProfiler(headers);
+            }
+
+            @Override
+            public void onRow(List<Object> row) {
+                rows.add(row);
+                profiler[0].accept(row);
+            }
+        });
+
+        // Then
+        assertThat(rows.get(0)).containsExactly(LocalDateTime.of(2024, 1, 15, 0, 0), 2024.0);
+        assertThat(profiler[0].toSchemaMap().get(0)).containsEntry("detectedType", "date");
+    }
+
+    // ==================== Multi-Sheet Tests ====================
+
+    @Test
+    @DisplayName("TC-FPS-014: List and Stream Individual Sheets of a Workbook")
+    void testListAndStreamSheets(@TempDir Path tempDir) throws IOException {
+        // Given
+        Path xlsxPath = createTwoSheetWorkbook(tempDir.resolve("ledger.xlsx"));
+        List<List<Object>> februaryRows = new ArrayList<>();
+
+        // When
+        List<String> sheets = fileParserService.listSheets(xlsxPath);
+        int rowCount = fileParserService.streamSheet(xlsxPath, "February", new FileParserService.RowHandler() {
+            @Override
+            public void onHeaders(List<String> headers) {
+                assertThat(headers).containsExactly("amount", "id");
+            }
+
+            @Override
+            public void onRow(List<Object> row) {
+                februaryRows.add(row);
+            }
+        });
+
+        // Then
+        assertThat(fileParserService.isWorkbook(xlsxPath)).isTrue();
+        assertThat(sheets).containsExactly("January", "February");
+        assertThat(rowCount).isEqualTo(2);
+        assertThat(februaryRows.get(0)).containsExactly(30.0, 3.0);
+        assertThatThrownBy(() -> fileParserService.streamSheet(xlsxPath, "March", new FileParserService.RowHandler() {
+            @Override
+            public void onHeaders(List<String> headers) {}
+
+            @Override
+            public void onRow(List<Object> row) {}
+        }))
+            .isInstanceOf(FileProcessingException.class)
+            .hasMessageContaining("Sheet not found");
+    }
+
+    @Test
+    @DisplayName("TC-FPS-015: Parse Selected Sheets as One Input Aligned by Header")
+    void testParseCombinedSheets(@TempDir Path tempDir) throws IOException {
+        // Given
+        Path xlsxPath = createTwoSheetWorkbook(tempDir.resolve("ledger.xlsx"));
+
+        // When
+        FileParserService.ParseResult firstOnly = fileParserService.parseFile(xlsxPath);
+        FileParserService.ParseResult combined = fileParserService.parseFile(xlsxPath, List.of("January", "February"));
+
+        // Then
+        assertThat(firstOnly.getRowCount()).isEqualTo(1);
+        assertThat(combined.headers()).containsExactly("id", "amount");
+        assertThat(combined.getRowCount()).isEqualTo(3);
+        assertThat(combined.rows().get(1)).containsExactly(3.0, 30.0);
+    }
+
+    // ==================== Decompression Limit Tests ====================
+
+    @Test
+    @DisplayName("TC-FPS-016: Reject Compressed Input Larger Than the Decompressed Size Cap")
+    void testRejectOversizedDecompression(@TempDir Path tempDir) throws IOException {
+        // Given
+        ReflectionTestUtils.setField(fileParserService, "maxDecompressedSize", 1024L);
+        Path gzPath = tempDir.resolve("big.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzPath))) {
+            out.write("id,amount\n".getBytes());
+            for (int i = 0; i < 1000; i++) {
+                out.write((i + ",10.00\n").getBytes());
+            }
+        }
+
+        // When / Then
+        assertThatThrownBy(() -> fileParserService.parseFile(gzPath))
+                .isInstanceOf(FileProcessingException.class)
+                .hasMessageContaining("exceeds the maximum of 1024 bytes");
+    }
+
+    @Test
+    @DisplayName("TC-FPS-017: Reject Compressed Input Past the Compression Ratio Bound")
+    void testRejectDecompressionBomb(@TempDir Path tempDir) throws IOException {
+        // Given - 80 MB of zeros gzip to well under 1 MB
+        Path gzPath = tempDir.resolve("bomb.csv.gz");
+        byte[] zeros = new byte[1024 * 1024];
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzPath))) {
+            out.write("id\n".getBytes());
+            for (int i = 0; i < 80; i++) {
+                out.write(zeros);
+            }
+        }
+
+        // When / Then
+        assertThatThrownBy(() -> fileParserService.streamFile(gzPath, new FileParserService.RowHandler() {
+            @Override
+            public void onHeaders(List<String> headers) {}
+
+            @Override
+            public void onRow(List<Object> row) {}
+        }))
+                .isInstanceOf(FileProcessingException.class)
+                .hasMessageContaining("times its compressed size");
+    }
+
     // ==================== Helper Methods ====================
 
+    private Path createTwoSheetWorkbook(Path path) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook();
+             OutputStream out = Files.newOutputStream(path)) {
+            Sheet january = workbook.createSheet("January");
+            Row janHeader = january.createRow(0);
+            janHeader.createCell(0).setCellValue("id");
+            janHeader.createCell(1).setCellValue("amount");
+            Row janRow = january.createRow(1);
+            janRow.createCell(0).setCellValue(1);
+            janRow.createCell(1).setCellValue(10);
+
+            // Same columns in a different order
+            Sheet february = workbook.createSheet("February");
+            Row febHeader = february.createRow(0);
+            febHeader.createCell(0).setCellValue("amount");
+            febHeader.createCell(1).setCellValue("id");
+            Row febFirst = february.createRow(1);
+            febFirst.createCell(0).setCellValue(30);
+            febFirst.createCell(1).setCellValue(3);
+            Row febSecond = february.createRow(2);
+            febSecond.createCell(0).setCellValue(40);
+            febSecond.createCell(1).setCellValue(4);
+            workbook.write(out);
+        }
+        return path;
+    }
+
     private byte[] createMockExcelContent() {
         // Create a minimal valid Excel file structure
         // For real testing, you would use Apache POI to create actual Excel content
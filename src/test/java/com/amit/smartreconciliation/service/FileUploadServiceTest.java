@@ -7,7 +7,10 @@ import com.amit.smartreconciliation.dto.response.UploadedFileResponse;
 import com.amit.smartreconciliation.entity.Organization;
 import com.amit.smartreconciliation.entity.UploadedFile;
 import com.amit.smartreconciliation.enums.FileStatus;
+import com.amit.smartreconciliation.enums.SheetMode;
 import com.amit.smartreconciliation.exception.FileProcessingException;
+import com.amit.smartreconciliation.exception.PreviewNotReadyException;
+import com.amit.smartreconciliation.exception.IngestCapacityException;
 import com.amit.smartreconciliation.exception.ResourceNotFoundException;
 import com.amit.smartreconciliation.repository.UploadedFileRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,21 +22,35 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for FileUploadService
  * Module: File Management
  * Test Level: Unit Test
- * Total Test Cases: 15
+ * Total Test Cases: 29
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("FileUploadService Unit Tests")
@@ -54,6 +71,18 @@ class FileUploadServiceTest {
     @Mock
     private SchemaDetectionService schemaDetectionService;
 
+    @Mock
+    private ContentStoreService contentStoreService;
+
+    @Mock
+    private FileIngestService fileIngestService;
+
+    @Mock
+    private RowIndexService rowIndexService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private FileUploadService fileUploadService;
 
@@ -61,9 +90,12 @@ class FileUploadServiceTest {
     Path tempDir;
 
     private Organization testOrganization;
+    private RowIndexService realRowIndex;
+
+    private ContentStoreService realContentStore;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws Exception {
         testOrganization = Organization.builder()
                 .id(1L)
                 .name("Test Organization")
@@ -71,6 +103,42 @@ class FileUploadServiceTest {
 
         lenient().when(organizationService.getDefaultOrganization()).thenReturn(testOrganization);
         lenient().when(fileStorageConfig.getUploadDir()).thenReturn(tempDir.toString());
+        realContentStore = new ContentStoreService(fileStorageConfig);
+        lenient().when(contentStoreService.store(any(), any())).thenAnswer(invocation ->
+            realContentStore.store(invocation.getArgument(0), invocation.getArgument(1)));
+        lenient().doAnswer(invocation -> {
+            realContentStore.unpin(invocation.getArgument(0));
+            return null;
+        }).when(contentStoreService).unpin(any());
+        lenient().when(contentStoreService.pin(any())).thenAnswer(invocation ->
+            realContentStore.pin(invocation.getArgument(0)));
+        lenient().when(contentStoreService.deleteIfUnreferenced(any(), any())).thenAnswer(invocation ->
+            realContentStore.deleteIfUnreferenced(invocation.getArgument(0), invocation.getArgument(1)));
+        // Run the ingest pipeline inline so processing is observable in the test thread
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return null;
+        }).when(fileIngestService).submit(any(), any(), any());
+        lenient().when(fileIngestService.storeAll(anyList())).thenAnswer(invocation ->
+            invocation.<List<Supplier<Object>>>getArgument(0).stream()
+                .map(Supplier::get)
+                .toList());
+        lenient().when(fileIngestService.parseAll(anyList())).thenAnswer(invocation ->
+            invocation.<List<Supplier<Object>>>getArgument(0).stream()
+                .map(Supplier::get)
+                .toList());
+        // Keep preview indexes on disk under the temp upload directory
+        realRowIndex = new RowIndexService(fileStorageConfig, new FileParserService());
+        lenient().when(rowIndexService.newBuilder()).thenAnswer(invocation -> realRowIndex.newBuilder());
+        lenient().doAnswer(invocation -> {
+            realRowIndex.publish(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(rowIndexService).publish(any(), any());
+        lenient().when(rowIndexService.exists(any())).thenAnswer(invocation ->
+            realRowIndex.exists(invocation.getArgument(0)));
+        lenient().when(rowIndexService.readPage(any(), any(), anyLong(), anyInt())).thenAnswer(invocation ->
+            realRowIndex.readPage(invocation.getArgument(0), invocation.getArgument(1),
+                invocation.getArgument(2), invocation.getArgument(3)));
     }
 
     // ==================== File Upload Tests ====================
@@ -104,10 +172,11 @@ class FileUploadServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getId()).isEqualTo(1L);
         assertThat(response.getOriginalFilename()).isEqualTo("source_data.csv");
-        // Status should be UPLOADED after file is saved to disk
-        // Note: In test environment, async processing may run immediately and fail due to missing file
-        assertThat(response.getStatus()).isIn(FileStatus.UPLOADED, FileStatus.UPLOADING, FileStatus.PROCESSING, FileStatus.FAILED);
+        // The ingest pipeline runs inline here, so the stored file is streamed and processed
+        // before the response is built
+        assertThat(response.getStatus()).isEqualTo(FileStatus.PROCESSED);
 
+        verify(fileParserService).streamFile(any(Path.class), any());
         verify(uploadedFileRepository, atLeast(1)).save(any(UploadedFile.class));
     }
 
@@ -191,22 +260,16 @@ class FileUploadServiceTest {
         when(uploadedFileRepository.findById(1L)).thenReturn(Optional.of(uploadedFile));
         when(uploadedFileRepository.save(any(UploadedFile.class))).thenReturn(uploadedFile);
 
-        FileParserService.ParseResult parseResult = new FileParserService.ParseResult(
+        stubStreamedFile(
             List.of("id", "name", "amount"),
             List.of(
                 Arrays.asList("1", "John", "100"),
                 Arrays.asList("2", "Jane", "200")
             )
         );
-        when(fileParserService.parseFile(any(Path.class))).thenReturn(parseResult);
-
-        List<Map<String, Object>> schema = List.of(
-            Map.of("name", "id", "detectedType", "integer", "nullCount", 0, "uniqueCount", 2, "sampleValues", List.of("1", "2"))
-        );
-        when(schemaDetectionService.detectSchemaAsMap(any(), any())).thenReturn(schema);
 
         // When
-        fileUploadService.processFileAsync(1L);
+        fileUploadService.processFile(1L);
 
         // Then
         ArgumentCaptor<UploadedFile> captor = ArgumentCaptor.forClass(UploadedFile.class);
@@ -230,11 +293,11 @@ class FileUploadServiceTest {
 
         when(uploadedFileRepository.findById(1L)).thenReturn(Optional.of(uploadedFile));
         when(uploadedFileRepository.save(any(UploadedFile.class))).thenReturn(uploadedFile);
-        when(fileParserService.parseFile(any(Path.class)))
+        when(fileParserService.streamFile(any(Path.class), any()))
             .thenThrow(new FileProcessingException("Parse error"));
 
         // When
-        fileUploadService.processFileAsync(1L);
+        fileUploadService.processFile(1L);
 
         // Then
         ArgumentCaptor<UploadedFile> captor = ArgumentCaptor.forClass(UploadedFile.class);
@@ -256,19 +319,13 @@ class FileUploadServiceTest {
 
         when(uploadedFileRepository.findById(1L)).thenReturn(Optional.of(uploadedFile));
 
-        FileParserService.ParseResult parseResult = new FileParserService.ParseResult(
+        stubStreamedFile(
             List.of("id", "name", "amount"),
             List.of(
                 Arrays.asList("1", "John", "100"),
                 Arrays.asList("2", "Jane", "200")
             )
         );
-        when(fileParserService.parseFile(any(Path.class))).thenReturn(parseResult);
-
-        List<Map<String, Object>> schema = List.of(
-            Map.of("name", "id", "detectedType", "integer", "nullCount", 0, "uniqueCount", 2, "sampleValues", List.of("1", "2"))
-        );
-        when(schemaDetectionService.detectSchemaAsMap(any(), any())).thenReturn(schema);
 
         List<FileStatus> statuses = new ArrayList<>();
         when(uploadedFileRepository.save(any(UploadedFile.class))).thenAnswer(invocation -> {
@@ -278,7 +335,7 @@ class FileUploadServiceTest {
         });
 
         // When
-        fileUploadService.processFileAsync(1L);
+        fileUploadService.processFile(1L);
 
         // Then
         assertThat(statuses).containsSequence(FileStatus.PROCESSING, FileStatus.PROCESSED);
@@ -321,6 +378,60 @@ class FileUploadServiceTest {
         assertThat(preview.getTotalRows()).isEqualTo(10);
     }
 
+    @Test
+    @DisplayName("TC-FUS-022: Preview Seeks to Any Page Through Row Index")
+    void testPreviewSeeksToAnyPage() {
+        // Given
+        UploadedFile file = createProcessedFileWithRows(1L, 10000);
+
+        when(uploadedFileRepository.findById(1L)).thenReturn(Optional.of(file));
+
+        // When
+        FilePreviewResponse lastPage = fileUploadService.getPreview(1L, 9990, 100);
+
+        // Then
+        assertThat(lastPage.getOffset()).isEqualTo(9990L);
+        assertThat(lastPage.getPreviewRows()).isEqualTo(10);
+        assertThat(lastPage.getRows().get(0)).containsExactly("9991", "User9991", "100.00");
+        assertThat(lastPage.getTotalRows()).isEqualTo(10000);
+        assertThatThrownBy(() -> fileUploadService.getPreview(1L, 0, 0))
+            .isInstanceOf(FileProcessingException.class)
+            .hasMessage("Row count must be positive");
+    }
+
+    @Test
+    @DisplayName("TC-FUS-027: Missing Preview Index Is Rebuilt on the Ingest Pipeline")
+    void testMissingPreviewIndexRebuiltInBackground() throws Exception {
+        // Given
+        Path csv = tempDir.resolve("legacy.csv");
+        Files.writeString(csv, "id,amount\n1,10.00\n2,20.00\n");
+        UploadedFile file = createMockUploadedFile(1L, "legacy.csv", FileStatus.PROCESSED);
+        file.setFilePath(csv.toString());
+        file.setRowCount(2);
+
+        when(uploadedFileRepository.findById(1L)).thenReturn(Optional.of(file));
+        when(fileParserService.streamFile(any(Path.class), any())).thenAnswer(invocation -> {
+            FileParserService.RowHandler handler = invocation.getArgument(1);
+            handler.onHeaders(List.of("id", "amount"));
+            handler.onRowOffset(10);
+            handler.onRow(List.of("1", "10.00"));
+            handler.onRowOffset(18);
+            handler.onRow(List.of("2", "20.00"));
+            return 2;
+        });
+        when(schemaDetectionService.newProfiler(any()))
+            .thenAnswer(invocation -> new SchemaDetectionService().newProfiler(invocation.getArgument(0)));
+
+        // When / Then - the request is answered as retryable while the index is queued
+        assertThatThrownBy(() -> fileUploadService.getPreview(1L, 0, 10))
+            .isInstanceOf(PreviewNotReadyException.class);
+        verify(fileIngestService).submit(eq(testOrganization.getId()), eq(1L), any());
+
+        FilePreviewResponse preview = fileUploadService.getPreview(1L, 1, 10);
+        assertThat(preview.getRows()).containsExactly(List.of("2", "20.00"));
+        assertThat(preview.getPreviewableRows()).isEqualTo(2L);
+    }
+
     // ==================== Schema Retrieval Tests ====================
 
     @Test
@@ -389,6 +500,58 @@ class FileUploadServiceTest {
         assertThat(column.getUniqueCount()).isEqualTo(5);
     }
 
+    @Test
+    @DisplayName("TC-FUS-025: Schema Served from Cache Until the File Changes")
+    void testSchemaCachedUntilFileChanges() {
+        // Given
+        ReflectionTestUtils.setField(fileUploadService, "cacheTtlSeconds", 300L);
+        UploadedFile file = createProcessedFileWithSchema(1L);
+        LocalDateTime processedAt = LocalDateTime.of(2024, 1, 15, 10, 0);
+        ReflectionTestUtils.setField(file, "updatedAt", processedAt);
+        when(uploadedFileRepository.findSchemaVersionById(1L))
+            .thenReturn(Optional.of(schemaVersion(processedAt)))
+            .thenReturn(Optional.of(schemaVersion(processedAt)))
+            .thenReturn(Optional.of(schemaVersion(processedAt.plusMinutes(5))));
+        when(uploadedFileRepository.findById(1L)).thenReturn(Optional.of(file));
+
+        // When
+        SchemaResponse first = fileUploadService.getSchema(1L);
+        SchemaResponse second = fileUploadService.getSchema(1L);
+        ReflectionTestUtils.setField(file, "updatedAt", processedAt.plusMinutes(5));
+        SchemaResponse afterChange = fileUploadService.getSchema(1L);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(afterChange).isNotSameAs(first);
+        assertThat(afterChange.getColumns()).hasSize(4);
+        verify(uploadedFileRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("TC-FUS-026: Startup Resubmits Interrupted Ingests and Fails Unstored Uploads")
+    void testResumeInterruptedIngests() {
+        // Given
+        UploadedFile uploaded = createMockUploadedFile(1L, "queued.csv", FileStatus.UPLOADED);
+        uploaded.setFilePath(tempDir.resolve("queued.csv").toString());
+        UploadedFile processing = createMockUploadedFile(2L, "running.csv", FileStatus.PROCESSING);
+        processing.setFilePath(tempDir.resolve("running.csv").toString());
+        UploadedFile uploading = createMockUploadedFile(3L, "partial.csv", FileStatus.UPLOADING);
+        when(uploadedFileRepository.findByStatusInOrderByIdAsc(anyCollection()))
+            .thenReturn(List.of(uploaded, processing, uploading));
+        doNothing().when(fileIngestService).submit(any(), any(), any());
+
+        // When
+        fileUploadService.resumeInterruptedIngests();
+
+        // Then
+        verify(fileIngestService).submit(eq(1L), eq(1L), any());
+        verify(fileIngestService).submit(eq(1L), eq(2L), any());
+        verify(fileIngestService, never()).submit(any(), eq(3L), any());
+        assertThat(uploading.getStatus()).isEqualTo(FileStatus.FAILED);
+        verify(uploadedFileRepository).save(uploading);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
     // ==================== File Status Tracking Tests ====================
 
     @Test
@@ -450,6 +613,311 @@ class FileUploadServiceTest {
         verify(uploadedFileRepository).delete(file);
     }
 
+    @Test
+    @DisplayName("TC-FUS-017: Delete Keeps Blob Shared With Another Upload")
+    void testDeleteKeepsSharedBlob() throws Exception {
+        // Given
+        Path blob = Files.writeString(tempDir.resolve("shared.csv"), "id\n1");
+        UploadedFile file = createMockUploadedFile(1L, "test.csv", FileStatus.PROCESSED);
+        file.setFilePath(blob.toString());
+
+        when(uploadedFileRepository.findById(1L)).thenReturn(Optional.of(file));
+        when(uploadedFileRepository.existsByFilePathAndIdNot(blob.toString(), 1L)).thenReturn(true);
+
+        // When
+        fileUploadService.deleteFile(1L);
+
+        // Then
+        verify(uploadedFileRepository).delete(file);
+        assertThat(blob).exists();
+    }
+
+    @Test
+    @DisplayName("TC-FUS-028: Delete Removes the Blob Only After Commit")
+    void testDeleteRemovesBlobAfterCommit() throws Exception {
+        // Given
+        Path blob = Files.writeString(tempDir.resolve("own.csv"), "id\n1");
+        UploadedFile file = createMockUploadedFile(1L, "test.csv", FileStatus.PROCESSED);
+        file.setFilePath(blob.toString());
+
+        when(uploadedFileRepository.findById(1L)).thenReturn(Optional.of(file));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            fileUploadService.deleteFile(1L);
+
+            // Then - nothing is removed while the transaction could still roll back
+            verify(uploadedFileRepository).delete(file);
+            assertThat(blob).exists();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(blob).doesNotExist();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("TC-FUS-029: Delete Keeps a Blob a Duplicate Upload Is Still Saving")
+    void testDeleteKeepsBlobPinnedByInFlightUpload() throws Exception {
+        // Given - another upload deduplicated onto the blob but has not saved its row yet
+        ContentStoreService.StoredBlob first = realContentStore.store(
+            new ByteArrayInputStream("id\n1".getBytes()), "data.csv");
+        realContentStore.unpin(first.path());
+        ContentStoreService.StoredBlob duplicate = realContentStore.store(
+            new ByteArrayInputStream("id\n1".getBytes()), "copy.csv");
+        UploadedFile file = createMockUploadedFile(1L, "data.csv", FileStatus.PROCESSED);
+        file.setFilePath(first.path().toString());
+
+        when(uploadedFileRepository.findById(1L)).thenReturn(Optional.of(file));
+
+        // When
+        fileUploadService.deleteFile(1L);
+
+        // Then
+        assertThat(duplicate.existing()).isTrue();
+        assertThat(first.path()).exists();
+        realContentStore.unpin(duplicate.path());
+        assertThat(realContentStore.deleteIfUnreferenced(first.path(), () -> false)).isTrue();
+    }
+
+    // ==================== Deduplication Tests ====================
+
+    @Test
+    @DisplayName("TC-FUS-016: Duplicate Upload Stores One Blob and Reuses Profile")
+    void testDuplicateUploadReusesProfile() throws Exception {
+        // Given
+        byte[] content = "id,name,amount\n1,John,100.00".getBytes();
+        MockMultipartFile first = new MockMultipartFile("file", "march.csv", "text/csv", content);
+        MockMultipartFile second = new MockMultipartFile("file", "march_copy.csv", "text/csv", content);
+
+        Map<Long, UploadedFile> rows = new HashMap<>();
+        when(uploadedFileRepository.save(any(UploadedFile.class))).thenAnswer(invocation -> {
+            UploadedFile file = invocation.getArgument(0);
+            if (file.getId() == null) {
+                file.setId(rows.size() + 1L);
+            }
+            rows.put(file.getId(), file);
+            return file;
+        });
+        when(uploadedFileRepository.findById(anyLong()))
+            .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<Long>getArgument(0))));
+        when(uploadedFileRepository.findByContentHashAndFilePathAndStatusAndIdNot(
+                any(), any(), eq(FileStatus.PROCESSED), anyLong()))
+            .thenAnswer(invocation -> rows.values().stream()
+                .filter(f -> f.getStatus() == FileStatus.PROCESSED)
+                .filter(f -> Objects.equals(f.getContentHash(), invocation.getArgument(0)))
+                .filter(f -> Objects.equals(f.getFilePath(), invocation.getArgument(1)))
+                .filter(f -> !f.getId().equals(invocation.getArgument(3)))
+                .toList());
+        stubStreamedFile(List.of("id", "name", "amount"), List.of(List.of("1", "John", "100.00")));
+
+        // When
+        UploadedFileResponse firstResponse = fileUploadService.uploadFile(first);
+        UploadedFileResponse secondResponse = fileUploadService.uploadFile(second);
+
+        // Then
+        UploadedFile firstFile = rows.get(firstResponse.getId());
+        UploadedFile secondFile = rows.get(secondResponse.getId());
+        assertThat(secondFile.getId()).isNotEqualTo(firstFile.getId());
+        assertThat(secondFile.getFilePath()).isEqualTo(firstFile.getFilePath());
+        assertThat(Files.readAllBytes(Path.of(firstFile.getFilePath()))).isEqualTo(content);
+        assertThat(secondResponse.getContentHash()).isEqualTo(firstResponse.getContentHash());
+
+        assertThat(secondFile.getStatus()).isEqualTo(FileStatus.PROCESSED);
+        assertThat(secondFile.getRowCount()).isEqualTo(1);
+        assertThat(secondFile.getColumnCount()).isEqualTo(3);
+        assertThat(secondFile.getDetectedSchema()).isEqualTo(firstFile.getDetectedSchema());
+        verify(fileParserService, times(1)).streamFile(any(Path.class), any());
+    }
+
+    // ==================== Ingest Pipeline Tests ====================
+
+    @Test
+    @DisplayName("TC-FUS-018: Multi-File Upload Stores Through Pipeline and Queues Processing")
+    void testUploadFilesQueuesProcessing() {
+        // Given
+        List<MultipartFile> files = List.of(
+            new MockMultipartFile("files", "a.csv", "text/csv", "id\n1".getBytes()),
+            new MockMultipartFile("files", "b.csv", "text/csv", "id\n2".getBytes())
+        );
+        Map<Long, UploadedFile> rows = new HashMap<>();
+        when(uploadedFileRepository.save(any(UploadedFile.class))).thenAnswer(invocation -> {
+            UploadedFile file = invocation.getArgument(0);
+            if (file.getId() == null) {
+                file.setId(rows.size() + 1L);
+            }
+            rows.put(file.getId(), file);
+            return file;
+        });
+        doNothing().when(fileIngestService).submit(any(), any(), any());
+
+        // When
+        List<UploadedFileResponse> responses = fileUploadService.uploadFiles(files);
+
+        // Then
+        assertThat(responses).extracting(UploadedFileResponse::getOriginalFilename)
+            .containsExactly("a.csv", "b.csv");
+        assertThat(responses).allMatch(r -> r.getStatus() == FileStatus.UPLOADED);
+        verify(fileIngestService).reserve(2);
+        verify(fileIngestService).storeAll(anyList());
+        verify(fileIngestService).submit(eq(1L), eq(1L), any());
+        verify(fileIngestService).submit(eq(1L), eq(2L), any());
+        verify(fileParserService, never()).streamFile(any(Path.class), any());
+    }
+
+    @Test
+    @DisplayName("TC-FUS-019: Upload Rejected Before Storing When Pipeline Is Full")
+    void testUploadRejectedWhenPipelineFull() {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "a.csv", "text/csv", "id\n1".getBytes());
+        when(fileIngestService.reserve(1))
+            .thenThrow(new IngestCapacityException("File ingest queue is full"));
+
+        // When & Then
+        assertThatThrownBy(() -> fileUploadService.uploadFile(file))
+            .isInstanceOf(IngestCapacityException.class);
+        verify(uploadedFileRepository, never()).save(any());
+    }
+
+    // ==================== Streaming Upload Tests ====================
+
+    @Test
+    @DisplayName("TC-FUS-023: Streamed Body Is Stored Once, Hashed and Typed by Sniffing")
+    void testUploadStreamStoresSniffedBody() throws Exception {
+        // Given
+        byte[] body = "id,name,amount\n1,John,100.00\n".getBytes();
+        when(uploadedFileRepository.save(any(UploadedFile.class))).thenAnswer(invocation -> {
+            UploadedFile file = invocation.getArgument(0);
+            file.setId(1L);
+            return file;
+        });
+        doNothing().when(fileIngestService).submit(any(), any(), any());
+
+        // When
+        UploadedFileResponse response = fileUploadService.uploadStream(
+            "exports/ledger", null, -1, new ByteArrayInputStream(body));
+
+        // Then
+        String expectedHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        assertThat(response.getOriginalFilename()).isEqualTo("ledger.csv");
+        assertThat(response.getContentType()).isEqualTo("text/csv");
+        assertThat(response.getFileSize()).isEqualTo((long) body.length);
+        assertThat(response.getContentHash()).isEqualTo(expectedHash);
+        assertThat(response.getStatus()).isEqualTo(FileStatus.UPLOADED);
+        try (var staged = Files.list(tempDir.resolve("tmp"))) {
+            assertThat(staged).isEmpty();
+        }
+        verify(fileIngestService).reserve(1);
+        verify(fileIngestService).submit(eq(1L), eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("TC-FUS-024: Streamed Body Rejected on Type Mismatch or Size Limit")
+    void testUploadStreamRejectsMismatchAndOversize() {
+        // Given
+        byte[] zip = {'P', 'K', 3, 4, 0, 0, 0, 0};
+        ReflectionTestUtils.setField(fileUploadService, "maxUploadSize", 1024L);
+
+        // When & Then
+        assertThatThrownBy(() -> fileUploadService.uploadStream(
+                "ledger.csv", "text/csv", zip.length, new ByteArrayInputStream(zip)))
+            .isInstanceOf(FileProcessingException.class)
+            .hasMessageContaining("does not match");
+        assertThatThrownBy(() -> fileUploadService.uploadStream(
+                "ledger.csv", "text/csv", 1025, new ByteArrayInputStream("id\n1\n".getBytes())))
+            .isInstanceOf(FileProcessingException.class)
+            .hasMessageContaining("maximum upload size");
+        verify(uploadedFileRepository, never()).save(any());
+
+        // A body that lies about its length is cut off while streaming
+        when(uploadedFileRepository.save(any(UploadedFile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        assertThatThrownBy(() -> fileUploadService.uploadStream(
+                "ledger.csv", "text/csv", -1, new ByteArrayInputStream("id\n1\n".repeat(300).getBytes())))
+            .isInstanceOf(FileProcessingException.class)
+            .hasMessageContaining("maximum upload size");
+        ArgumentCaptor<UploadedFile> captor = ArgumentCaptor.forClass(UploadedFile.class);
+        verify(uploadedFileRepository, times(2)).save(captor.capture());
+        assertThat(captor.getValue().getStatus()).isEqualTo(FileStatus.FAILED);
+        verify(fileIngestService, never()).submit(any(), any(), any());
+    }
+
+    // ==================== Multi-Sheet Tests ====================
+
+    @Test
+    @DisplayName("TC-FUS-020: Workbook Processing Profiles Every Sheet")
+    void testWorkbookProfilesEverySheet() {
+        // Given
+        UploadedFile workbook = createMockUploadedFile(1L, "ledger.xlsx", FileStatus.UPLOADED);
+        workbook.setFilePath(tempDir.resolve("ledger.xlsx").toString());
+        when(uploadedFileRepository.findById(1L)).thenReturn(Optional.of(workbook));
+        when(uploadedFileRepository.save(any(UploadedFile.class))).thenReturn(workbook);
+        stubWorkbook(Map.of(
+            "January", List.of(List.of("1", "10.00")),
+            "February", List.of(List.of("2", "20.00"), List.of("3", "30.00"))));
+
+        // When
+        fileUploadService.processFile(1L);
+
+        // Then
+        assertThat(workbook.getStatus()).isEqualTo(FileStatus.PROCESSED);
+        assertThat(workbook.getSheets()).extracting(sheet -> sheet.get("name"))
+            .containsExactly("January", "February");
+        assertThat(workbook.getSheets()).extracting(sheet -> sheet.get("rowCount"))
+            .containsExactly(1, 2);
+        assertThat(workbook.getRowCount()).isEqualTo(1);
+        verify(fileIngestService).parseAll(anyList());
+        verify(fileParserService, never()).streamFile(any(Path.class), any());
+    }
+
+    @Test
+    @DisplayName("TC-FUS-021: Selecting Sheets Derives Combined and Separate Files")
+    void testSelectSheetsDerivesFiles() throws Exception {
+        // Given
+        UploadedFile workbook = createMockUploadedFile(1L, "ledger.xlsx", FileStatus.PROCESSED);
+        workbook.setFilePath(Files.createFile(tempDir.resolve("ledger.xlsx")).toString());
+        workbook.setSheets(List.of(Map.of("name", "January"), Map.of("name", "February")));
+        Map<Long, UploadedFile> rows = new HashMap<>();
+        rows.put(1L, workbook);
+        when(uploadedFileRepository.findById(anyLong()))
+            .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<Long>getArgument(0))));
+        when(uploadedFileRepository.save(any(UploadedFile.class))).thenAnswer(invocation -> {
+            UploadedFile file = invocation.getArgument(0);
+            if (file.getId() == null) {
+                file.setId(rows.size() + 1L);
+            }
+            rows.put(file.getId(), file);
+            return file;
+        });
+        stubWorkbook(Map.of(
+            "January", List.of(List.of("1", "10.00")),
+            "February", List.of(List.of("2", "20.00"), List.of("3", "30.00"))));
+
+        // When
+        List<UploadedFileResponse> combined = fileUploadService.selectSheets(
+            1L, List.of("January", "February"), SheetMode.COMBINED);
+        List<UploadedFileResponse> separate = fileUploadService.selectSheets(
+            1L, List.of("January", "February"), SheetMode.SEPARATE);
+
+        // Then
+        assertThat(combined).hasSize(1);
+        UploadedFile combinedFile = rows.get(combined.get(0).getId());
+        assertThat(combinedFile.getFilePath()).isEqualTo(workbook.getFilePath());
+        assertThat(combinedFile.getSelectedSheets()).containsExactly("January", "February");
+        assertThat(combinedFile.getStatus()).isEqualTo(FileStatus.PROCESSED);
+        assertThat(combinedFile.getRowCount()).isEqualTo(3);
+        FilePreviewResponse secondPage = fileUploadService.getPreview(combinedFile.getId(), 2, 10);
+        assertThat(secondPage.getHeaders()).containsExactly("id", "amount");
+        assertThat(secondPage.getRows()).containsExactly(List.of("3", "30.00"));
+
+        assertThat(separate).extracting(UploadedFileResponse::getSelectedSheets)
+            .containsExactly(List.of("January"), List.of("February"));
+        assertThat(rows.get(separate.get(1).getId()).getRowCount()).isEqualTo(2);
+        assertThatThrownBy(() -> fileUploadService.selectSheets(1L, List.of("March"), SheetMode.COMBINED))
+            .isInstanceOf(FileProcessingException.class)
+            .hasMessageContaining("Sheet not found");
+    }
+
     // ==================== Error Handling Tests ====================
 
     @Test
@@ -475,6 +943,35 @@ class FileUploadServiceTest {
 
     // ==================== Helper Methods ====================
 
+    private void stubStreamedFile(List<String> headers, List<List<Object>> rows) {
+        when(fileParserService.streamFile(any(Path.class), any())).thenAnswer(invocation -> {
+            FileParserService.RowHandler handler = invocation.getArgument(1);
+            handler.onHeaders(headers);
+            rows.forEach(handler::onRow);
+            return rows.size();
+        });
+        when(schemaDetectionService.newProfiler(any()))
+            .thenAnswer(invocation -> new SchemaDetectionService().newProfiler(invocation.getArgument(0)));
+    }
+
+
+    private void stubWorkbook(Map<String, List<List<Object>>> sheets) {
+        List<String> names = sheets.keySet().stream()
+            .sorted(Comparator.comparing((String name) -> !name.equals("January")))
+            .toList();
+        when(fileParserService.isWorkbook(any(Path.class))).thenReturn(true);
+        when(fileParserService.listSheets(any(Path.class))).thenReturn(names);
+        when(fileParserService.streamSheet(any(Path.class), anyString(), any())).thenAnswer(invocation -> {
+            List<List<Object>> rows = sheets.get(invocation.<String>getArgument(1));
+            FileParserService.RowHandler handler = invocation.getArgument(2);
+            handler.onHeaders(List.of("id", "amount"));
+            rows.forEach(handler::onRow);
+            return rows.size();
+        });
+        when(schemaDetectionService.newProfiler(any()))
+            .thenAnswer(invocation -> new SchemaDetectionService().newProfiler(invocation.getArgument(0)));
+    }
+
     private UploadedFile createMockUploadedFile(Long id, String filename, FileStatus status) {
         UploadedFile file = UploadedFile.builder()
                 .originalFilename(filename)
@@ -491,19 +988,30 @@ class FileUploadServiceTest {
     private UploadedFile createProcessedFileWithRows(Long id, int rowCount) {
         UploadedFile file = createMockUploadedFile(id, "test.csv", FileStatus.PROCESSED);
         file.setRowCount(rowCount);
+        file.setFilePath(tempDir.resolve("test.csv").toString());
 
-        List<List<Object>> previewData = new ArrayList<>();
-        previewData.add(List.of("id", "name", "amount"));
-
-        int previewSize = Math.min(100, rowCount);
-        for (int i = 0; i < previewSize; i++) {
-            previewData.add(Arrays.asList(String.valueOf(i + 1), "User" + (i + 1), "100.00"));
+        RowIndexService.Builder index = realRowIndex.newBuilder();
+        index.headers(List.of("id", "name", "amount"));
+        for (int i = 0; i < rowCount; i++) {
+            index.row(Arrays.asList(String.valueOf(i + 1), "User" + (i + 1), "100.00"));
         }
-
-        file.setPreviewData(previewData);
+        realRowIndex.publish(id, index);
         return file;
     }
 
+    private UploadedFileRepository.SchemaVersion schemaVersion(LocalDateTime updatedAt) {
+        return new UploadedFileRepository.SchemaVersion() {
+            @Override
+            public Long getOrganizationId() { return testOrganization.getId(); }
+
+            @Override
+            public FileStatus getStatus() { return FileStatus.PROCESSED; }
+
+            @Override
+            public LocalDateTime getUpdatedAt() { return updatedAt; }
+        };
+    }
+
     private UploadedFile createProcessedFileWithSchema(Long id) {
         UploadedFile file = createMockUploadedFile(id, "test.csv", FileStatus.PROCESSED);
 
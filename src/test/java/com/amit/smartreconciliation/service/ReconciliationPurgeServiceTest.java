@@ -0,0 +1,170 @@
+package com.amit.smartreconciliation.service;
+
+import com.amit.smartreconciliation.dto.response.ReconciliationPurgeJobResponse;
+import com.amit.smartreconciliation.entity.Organization;
+import com.amit.smartreconciliation.entity.Reconciliation;
+import com.amit.smartreconciliation.entity.ReconciliationPurgeJob;
+import com.amit.smartreconciliation.enums.PurgeJobStatus;
+import com.amit.smartreconciliation.enums.ReconciliationStatus;
+import com.amit.smartreconciliation.event.ReconciliationsDeletedEvent;
+import com.amit.smartreconciliation.repository.ReconciliationPurgeJobRepository;
+import com.amit.smartreconciliation.repository.ReconciliationPurger;
+import com.amit.smartreconciliation.repository.ReconciliationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReconciliationPurgeService
+ * Module: Reconciliation Management
+ * Test Level: Unit Test
+ * Total Test Cases: 3
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReconciliationPurgeService Unit Tests")
+class ReconciliationPurgeServiceTest {
+
+    @Mock
+    private ReconciliationPurgeJobRepository jobRepository;
+
+    @Mock
+    private ReconciliationRepository reconciliationRepository;
+
+    @Mock
+    private ReconciliationPurger purger;
+
+    @Mock
+    private OrganizationService organizationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ExecutorService executor;
+
+    @InjectMocks
+    private ReconciliationPurgeService purgeService;
+
+    private Organization organization;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(purgeService, "executor", executor);
+        organization = Organization.builder().id(10L).name("Org").active(true).build();
+    }
+
+    @Test
+    @DisplayName("TC-RPS-001: Bulk Delete Records a Pending Job and Returns Before Purging")
+    void testSubmitQueuesJob() {
+        // Given
+        when(organizationService.getDefaultOrganization()).thenReturn(organization);
+        when(organizationService.getById(10L)).thenReturn(organization);
+        when(jobRepository.save(any(ReconciliationPurgeJob.class))).thenAnswer(invocation -> {
+            ReconciliationPurgeJob job = invocation.getArgument(0);
+            job.setId(7L);
+            return job;
+        });
+
+        // When
+        ReconciliationPurgeJobResponse response = purgeService.submit(List.of(1L, 2L));
+
+        // Then
+        assertThat(response.getJobId()).isEqualTo(7L);
+        assertThat(response.getStatus()).isEqualTo(PurgeJobStatus.PENDING);
+        assertThat(response.getTotalRequested()).isEqualTo(2);
+        verify(executor).execute(any(Runnable.class));
+        verify(purger, never()).purge(any(), any());
+    }
+
+    @Test
+    @DisplayName("TC-RPS-002: Job Purges Owned Reconciliations and Records the Ones It Cannot Delete")
+    void testRunPurgesAndRecordsFailures() {
+        // Given
+        ReconciliationPurgeJob job = buildJob(List.of(1L, 2L, 3L, 4L));
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job));
+        when(reconciliationRepository.findById(1L)).thenReturn(Optional.of(buildReconciliation(1L, 10L, ReconciliationStatus.COMPLETED)));
+        when(reconciliationRepository.findById(2L)).thenReturn(Optional.empty());
+        when(reconciliationRepository.findById(3L)).thenReturn(Optional.of(buildReconciliation(3L, 99L, ReconciliationStatus.COMPLETED)));
+        when(reconciliationRepository.findById(4L)).thenReturn(Optional.of(buildReconciliation(4L, 10L, ReconciliationStatus.IN_PROGRESS)));
+        when(purger.purge(eq(1L), any())).thenAnswer(invocation -> {
+            LongConsumer onExceptionsDeleted = invocation.getArgument(1);
+            onExceptionsDeleted.accept(5000);
+            onExceptionsDeleted.accept(120);
+            return 5120L;
+        });
+
+        // When
+        purgeService.run(7L);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(PurgeJobStatus.COMPLETED);
+        assertThat(job.getDeletedReconciliations()).isEqualTo(1);
+        assertThat(job.getFailedReconciliations()).isEqualTo(3);
+        assertThat(job.getDeletedExceptions()).isEqualTo(5120L);
+        assertThat(job.getErrors()).hasSize(3)
+                .anySatisfy(error -> assertThat(error).startsWith("Failed to delete ID 2"))
+                .anySatisfy(error -> assertThat(error).contains("in progress"));
+        assertThat(job.getCurrentReconciliationId()).isNull();
+        assertThat(job.getCompletedAt()).isNotNull();
+        verify(purger, never()).purge(eq(3L), any());
+        verify(purger, never()).purge(eq(4L), any());
+        verify(eventPublisher).publishEvent(new ReconciliationsDeletedEvent(10L, List.of(1L)));
+    }
+
+    @Test
+    @DisplayName("TC-RPS-003: Resumed Job Skips the Reconciliations It Already Processed")
+    void testRunResumesInterruptedJob() {
+        // Given
+        ReconciliationPurgeJob job = buildJob(List.of(1L, 2L));
+        job.setStatus(PurgeJobStatus.RUNNING);
+        job.setDeletedReconciliations(1);
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job));
+        when(reconciliationRepository.findById(2L)).thenReturn(Optional.of(buildReconciliation(2L, 10L, ReconciliationStatus.FAILED)));
+        when(purger.purge(eq(2L), any())).thenReturn(0L);
+
+        // When
+        purgeService.run(7L);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(PurgeJobStatus.COMPLETED);
+        assertThat(job.getDeletedReconciliations()).isEqualTo(2);
+        verify(reconciliationRepository, never()).findById(1L);
+        verify(purger, never()).purge(eq(1L), any());
+    }
+
+    private ReconciliationPurgeJob buildJob(List<Long> ids) {
+        ReconciliationPurgeJob job = ReconciliationPurgeJob.builder()
+                .organization(organization)
+                .reconciliationIds(ids)
+                .status(PurgeJobStatus.PENDING)
+                .build();
+        job.setId(7L);
+        return job;
+    }
+
+    private Reconciliation buildReconciliation(Long id, Long organizationId, ReconciliationStatus status) {
+        Reconciliation reconciliation = new Reconciliation();
+        reconciliation.setId(id);
+        reconciliation.setStatus(status);
+        reconciliation.setOrganization(Organization.builder().id(organizationId).name("Org " + organizationId).build());
+        return reconciliation;
+    }
+}
@@ -1,7 +1,10 @@
 package com.amit.smartreconciliation.service;
 
 import com.amit.smartreconciliation.dto.request.ReconciliationRequest;
+import com.amit.smartreconciliation.dto.response.CursorPage;
+import com.amit.smartreconciliation.dto.response.ReconciliationPurgeJobResponse;
 import com.amit.smartreconciliation.dto.response.ReconciliationResponse;
+import com.amit.smartreconciliation.entity.FieldDiff;
 import com.amit.smartreconciliation.entity.FieldMapping;
 import com.amit.smartreconciliation.entity.MatchingRule;
 import com.amit.smartreconciliation.entity.Organization;
@@ -12,10 +15,14 @@ import com.amit.smartreconciliation.entity.UploadedFile;
 import com.amit.smartreconciliation.enums.ExceptionSeverity;
 import com.amit.smartreconciliation.enums.ExceptionType;
 import com.amit.smartreconciliation.enums.MatchType;
+import com.amit.smartreconciliation.enums.RecordSide;
 import com.amit.smartreconciliation.enums.ReconciliationStatus;
 import com.amit.smartreconciliation.exception.FileProcessingException;
+import com.amit.smartreconciliation.repository.ReconciliationExceptionBulkWriter;
 import com.amit.smartreconciliation.repository.ReconciliationExceptionRepository;
 import com.amit.smartreconciliation.repository.ReconciliationRepository;
+import com.amit.smartreconciliation.repository.ReconciliationRowStore;
+import com.amit.smartreconciliation.repository.TrendRollupRepository;
 import com.amit.smartreconciliation.service.AiService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -24,6 +31,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
@@ -33,12 +41,17 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.SortedMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.within;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -58,6 +71,9 @@ class ReconciliationServiceTest {
     @Mock
     private ReconciliationExceptionRepository exceptionRepository;
 
+    @Mock
+    private ReconciliationExceptionBulkWriter exceptionBulkWriter;
+
     @Mock
     private OrganizationService organizationService;
 
@@ -76,6 +92,18 @@ class ReconciliationServiceTest {
     @Mock
     private LegacyReconciliationAdapterService legacyAdapter;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TrendRollupRepository trendRepository;
+
+    @Mock
+    private ReconciliationRowStore rowStore;
+
+    @Mock
+    private ReconciliationPurgeService purgeService;
+
     private ReconciliationService reconciliationService;
 
     @BeforeEach
@@ -83,16 +111,18 @@ class ReconciliationServiceTest {
         reconciliationService = org.mockito.Mockito.spy(new ReconciliationService(
                 reconciliationRepository,
                 exceptionRepository,
+                exceptionBulkWriter,
                 organizationService,
                 fileUploadService,
                 ruleService,
                 fileParserService,
                 aiService,
-                legacyAdapter
+                legacyAdapter,
+                eventPublisher,
+                trendRepository,
+                rowStore,
+                purgeService
         ));
-
-        // Default: files exist on disk for all tests unless overridden
-        org.mockito.Mockito.lenient().when(fileUploadService.existsOnDisk(any())).thenReturn(true);
     }
 
     @Test
@@ -704,6 +734,7 @@ class ReconciliationServiceTest {
         // Given
         Reconciliation reconciliation = buildReconciliationForAsync();
         when(reconciliationRepository.findById(1L)).thenReturn(Optional.of(reconciliation));
+        stubRuleSetLookup(reconciliation);
 
         FileParserService.ParseResult source = buildParseResult(
                 List.of("id"), List.of(List.of(1), List.of(2)));
@@ -796,6 +827,7 @@ class ReconciliationServiceTest {
                 List.of(buildMatchingRule("id", "id", MatchType.EXACT))
         ));
         when(reconciliationRepository.findById(1L)).thenReturn(Optional.of(reconciliation));
+        stubRuleSetLookup(reconciliation);
 
         FileParserService.ParseResult source = buildParseResult(List.of("id"), List.of(List.of(1)));
         FileParserService.ParseResult target = buildParseResult(List.of("id"), List.of(List.of(1)));
@@ -826,6 +858,7 @@ class ReconciliationServiceTest {
         // Given
         Reconciliation reconciliation = buildReconciliationForAsync();
         when(reconciliationRepository.findById(1L)).thenReturn(Optional.of(reconciliation));
+        stubRuleSetLookup(reconciliation);
 
         FileParserService.ParseResult source = buildParseResult(
                 List.of("id"), List.of(List.of(1), List.of(2)));
@@ -858,6 +891,34 @@ class ReconciliationServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("TC-RS-034: Scroll Seeks Past the Cursor Instead of Skipping Rows")
+    void testTcRs034_scrollSeeksPastCursor() {
+        // Given
+        Organization organization = Organization.builder().id(7L).name("org-7").active(true).build();
+        when(organizationService.getDefaultOrganization()).thenReturn(organization);
+        LocalDateTime base = LocalDateTime.of(2026, 3, 1, 12, 0);
+        List<Reconciliation> firstWindow = List.of(
+                buildScrolledReconciliation(30L, base.plusMinutes(3)),
+                buildScrolledReconciliation(29L, base.plusMinutes(2)),
+                buildScrolledReconciliation(28L, base.plusMinutes(1)));
+        when(reconciliationRepository.findFirstPageByOrganizationId(eq(7L), any()))
+                .thenReturn(firstWindow);
+        when(reconciliationRepository.findPageByOrganizationIdAfter(eq(7L), eq(base.plusMinutes(2)), eq(29L), any()))
+                .thenReturn(List.of(buildScrolledReconciliation(28L, base.plusMinutes(1))));
+
+        // When
+        CursorPage<ReconciliationResponse> first = reconciliationService.scroll(null, 2, false);
+        CursorPage<ReconciliationResponse> second = reconciliationService.scroll(first.getNextCursor(), 2, false);
+
+        // Then
+        assertThat(first.getContent()).extracting(ReconciliationResponse::getId).containsExactly(30L, 29L);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(second.getContent()).extracting(ReconciliationResponse::getId).containsExactly(28L);
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+    }
+
     @Test
     @DisplayName("TC-RS-033: Cancellation Sets Status to CANCELLED")
     void testTcRs033_cancellationSetsStatusCancelled() {
@@ -910,6 +971,7 @@ class ReconciliationServiceTest {
         // Given
         Reconciliation reconciliation = buildReconciliationForAsync();
         when(reconciliationRepository.findById(1L)).thenReturn(Optional.of(reconciliation));
+        stubRuleSetLookup(reconciliation);
 
         FileParserService.ParseResult source = buildParseResult(
                 List.of("id"), List.of(List.of(1), List.of(2)));
@@ -936,6 +998,125 @@ class ReconciliationServiceTest {
         assertThat(progressUpdates).contains(20, 40, 90, 100);
     }
 
+    @Test
+    @DisplayName("TC-RS-035: Exceptions Reference Stored Rows Instead of Copying Them")
+    void testTcRs035_exceptionsReferenceStoredRows() {
+        // Given
+        Reconciliation reconciliation = buildReconciliationForAsync();
+        reconciliation.setRuleSet(buildRuleSet(
+                List.of(buildMapping("id", "id", true),
+                        buildMapping("name", "name", false),
+                        buildMapping("amount", "amount", false)),
+                List.of(buildMatchingRule("id", "id", MatchType.EXACT))
+        ));
+        when(reconciliationRepository.findById(1L)).thenReturn(Optional.of(reconciliation));
+        stubRuleSetLookup(reconciliation);
+
+        List<String> headers = List.of("id", "name", "amount");
+        FileParserService.ParseResult source = buildParseResult(
+                headers, List.of(List.of(1, "Acme", 10), List.of(2, "Beta", 20)));
+        FileParserService.ParseResult target = buildParseResult(
+                headers, List.of(List.of(2, "Beta", 20), List.of(1, "Acme Ltd", 11)));
+        when(fileParserService.parseFile(any(java.nio.file.Path.class)))
+                .thenReturn(source)
+                .thenReturn(target);
+        when(reconciliationRepository.save(any(Reconciliation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(aiService.getExceptionSuggestion(any(), any(), any(), any(), any(), any())).thenReturn("Check the source");
+
+        // When
+        reconciliationService.executeReconciliationAsync(1L);
+
+        // Then
+        ArgumentCaptor<List<ReconciliationException>> exceptionsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(exceptionBulkWriter).write(eq(1L), exceptionsCaptor.capture(), anyInt());
+        assertThat(exceptionsCaptor.getValue()).hasSize(2).allSatisfy(exception -> {
+            assertThat(exception.getSourceRow()).isEqualTo(0);
+            assertThat(exception.getTargetRow()).isEqualTo(1);
+        });
+        // Suggestions are set in place, so the row copies are never merged back into the exceptions
+        verify(exceptionRepository, times(2)).updateAiSuggestion(any(), eq("Check the source"), any(LocalDateTime.class));
+        verify(exceptionRepository, never()).save(any(ReconciliationException.class));
+
+        ArgumentCaptor<SortedMap<Integer, List<Object>>> sourceRows = ArgumentCaptor.forClass(SortedMap.class);
+        ArgumentCaptor<SortedMap<Integer, List<Object>>> targetRows = ArgumentCaptor.forClass(SortedMap.class);
+        verify(rowStore).write(eq(1L), eq(RecordSide.SOURCE), eq(headers), sourceRows.capture());
+        verify(rowStore).write(eq(1L), eq(RecordSide.TARGET), eq(headers), targetRows.capture());
+        assertThat(sourceRows.getValue()).containsOnlyKeys(0).containsEntry(0, List.of(1, "Acme", 10));
+        assertThat(targetRows.getValue()).containsOnlyKeys(1).containsEntry(1, List.of(1, "Acme Ltd", 11));
+    }
+
+    @Test
+    @DisplayName("TC-RS-036: Pair Mode Reports One Exception per Record Pair with Its Field Diffs")
+    void testTcRs036_pairModeGroupsFieldDiffs() {
+        // Given
+        ReflectionTestUtils.setField(reconciliationService, "pairExceptions", true);
+        Reconciliation reconciliation = buildReconciliationForAsync();
+        reconciliation.setRuleSet(buildRuleSet(
+                List.of(buildMapping("id", "id", true),
+                        buildMapping("name", "name", false),
+                        buildMapping("amount", "amount", false)),
+                List.of(buildMatchingRule("id", "id", MatchType.EXACT))
+        ));
+        when(reconciliationRepository.findById(1L)).thenReturn(Optional.of(reconciliation));
+        stubRuleSetLookup(reconciliation);
+
+        List<String> headers = List.of("id", "name", "amount");
+        FileParserService.ParseResult source = buildParseResult(
+                headers, List.of(List.of(1, "Acme", 10), List.of(2, "Beta", 20)));
+        FileParserService.ParseResult target = buildParseResult(
+                headers, List.of(List.of(2, "Beta", 20), List.of(1, "Acme Ltd", 11)));
+        when(fileParserService.parseFile(any(java.nio.file.Path.class)))
+                .thenReturn(source)
+                .thenReturn(target);
+        when(reconciliationRepository.save(any(Reconciliation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        reconciliationService.executeReconciliationAsync(1L);
+
+        // Then
+        ArgumentCaptor<List<ReconciliationException>> exceptionsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(exceptionBulkWriter).write(eq(1L), exceptionsCaptor.capture(), anyInt());
+        assertThat(exceptionsCaptor.getValue()).hasSize(1);
+        ReconciliationException exception = exceptionsCaptor.getValue().get(0);
+        assertThat(exception.getType()).isEqualTo(ExceptionType.VALUE_MISMATCH);
+        assertThat(exception.getSeverity()).isEqualTo(ExceptionSeverity.MEDIUM);
+        assertThat(exception.getFieldName()).isEqualTo("name");
+        assertThat(exception.getSourceRow()).isEqualTo(0);
+        assertThat(exception.getTargetRow()).isEqualTo(1);
+        assertThat(exception.getFieldDiffs()).containsExactly(
+                new FieldDiff("name", "Acme", "Acme Ltd", ExceptionSeverity.MEDIUM),
+                new FieldDiff("amount", "10", "11", ExceptionSeverity.MEDIUM));
+        assertThat(reconciliation.getMatchedRecords()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("TC-RS-037: Single Delete Purges Right Away and Bulk Delete Queues a Purge Job")
+    void testTcRs037_deleteGoesThroughPurge() {
+        // Given
+        Reconciliation reconciliation = buildReconciliationForAsync();
+        when(reconciliationRepository.findById(1L)).thenReturn(Optional.of(reconciliation));
+        ReconciliationPurgeJobResponse queued = new ReconciliationPurgeJobResponse();
+        when(purgeService.submit(List.of(1L, 2L))).thenReturn(queued);
+
+        // When
+        reconciliationService.delete(1L);
+        ReconciliationPurgeJobResponse response = reconciliationService.deleteAll(List.of(1L, 2L));
+
+        // Then
+        verify(purgeService).purgeNow(reconciliation);
+        verify(reconciliationRepository, never()).delete(any(Reconciliation.class));
+        assertThat(response).isSameAs(queued);
+    }
+
+    private Reconciliation buildScrolledReconciliation(Long id, LocalDateTime createdAt) {
+        Reconciliation reconciliation = new Reconciliation();
+        reconciliation.setId(id);
+        reconciliation.setName("recon-" + id);
+        reconciliation.setStatus(ReconciliationStatus.COMPLETED);
+        ReflectionTestUtils.setField(reconciliation, "createdAt", createdAt);
+        return reconciliation;
+    }
+
     private MatchingRule buildRule(MatchType matchType, Double tolerance, Double fuzzyThreshold) {
         MatchingRule rule = new MatchingRule();
         rule.setMatchType(matchType);
@@ -1015,6 +1196,10 @@ class ReconciliationServiceTest {
         return reconciliation;
     }
 
+    private void stubRuleSetLookup(Reconciliation reconciliation) {
+        when(ruleService.getEntityById(any())).thenReturn(reconciliation.getRuleSet());
+    }
+
     private int getMatchedCount(Object result) {
         Integer value = ReflectionTestUtils.invokeMethod(result, "matchedCount");
         return value != null ? value : 0;
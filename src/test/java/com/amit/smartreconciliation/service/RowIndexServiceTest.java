@@ -0,0 +1,209 @@
+package com.amit.smartreconciliation.service;
+
+import com.amit.smartreconciliation.config.FileStorageConfig;
+import com.amit.smartreconciliation.exception.FileProcessingException;
+import com.github.luben.zstd.ZstdOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RowIndexService
+ * Module: File Management
+ * Test Level: Unit Test
+ * Total Test Cases: 5
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RowIndexService Unit Tests")
+class RowIndexServiceTest {
+
+    private static final int STRIDE = 3;
+
+    @Mock
+    private FileStorageConfig fileStorageConfig;
+
+    @TempDir
+    Path tempDir;
+
+    private RowIndexService rowIndexService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(fileStorageConfig.getUploadDir()).thenReturn(tempDir.toString());
+        rowIndexService = new RowIndexService(fileStorageConfig, new FileParserService(), STRIDE, Long.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("TC-RIS-001: In-Place CSV Index Serves Every Page Like a Full Parse")
+    void testInPlaceIndexMatchesFullParse() throws Exception {
+        // Given - quoted line breaks, escaped quotes, CRLF, blank lines and multi-byte text
+        Path csv = tempDir.resolve("ledger.csv");
+        Files.writeString(csv, "id,name,note\r\n"
+                + "1,Zoë,\"first\nline\"\r\n"
+                + "2,Ana,\"say \"\"hi\"\"\"\r\n"
+                + "\r\n"
+                + "3,Bo,plain\r\n"
+                + "4,Çelik,\"a,b\"\n"
+                + "5,Dee,\n"
+                + "6,Eve,\"multi\r\nline\"\n"
+                + "7,Fay,last", StandardCharsets.UTF_8);
+        FileParserService parser = new FileParserService();
+        FileParserService.ParseResult full = parser.parseFile(csv);
+        RowIndexService.Builder index = rowIndexService.newBuilder();
+
+        // When
+        parser.streamFile(csv, new FileParserService.RowHandler() {
+            @Override
+            public void onHeaders(List<String> headers) {
+                index.headers(headers);
+            }
+
+            @Override
+            public void onRowOffset(long offset) {
+                index.offset(offset);
+            }
+
+            @Override
+            public void onRow(List<Object> row) {
+                index.row(row);
+            }
+        });
+        rowIndexService.publish(1L, index);
+
+        // Then
+        assertThat(tempDir.resolve("index/1.rows")).doesNotExist();
+        for (int offset = 0; offset < full.getRowCount(); offset++) {
+            RowIndexService.Page page = rowIndexService.readPage(1L, csv, offset, 2);
+            assertThat(page.headers()).containsExactly("id", "name", "note");
+            assertThat(page.rows()).isEqualTo(full.rows().subList(offset, Math.min(offset + 2, full.getRowCount())));
+        }
+        assertThat(rowIndexService.readPage(1L, csv, 7, 5).rows()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("TC-RIS-002: Spooled Rows Keep Nulls Apart From Empty Strings")
+    void testSpooledRows() {
+        // Given
+        RowIndexService.Builder index = rowIndexService.newBuilder();
+        index.headers(List.of("id", "amount"));
+        List<List<Object>> rows = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            rows.add(Arrays.asList(String.valueOf(i), i % 2 == 0 ? null : ""));
+        }
+        rows.forEach(index::row);
+
+        // When
+        rowIndexService.publish(2L, index);
+        RowIndexService.Page page = rowIndexService.readPage(2L, null, 4, 3);
+
+        // Then
+        assertThat(page.totalRows()).isEqualTo(10);
+        assertThat(page.rows()).isEqualTo(rows.subList(4, 7));
+        assertThat(page.rows().get(0)).containsExactly("5", "");
+        assertThat(page.rows().get(1)).containsExactly("6", null);
+    }
+
+    @Test
+    @DisplayName("TC-RIS-003: Appended Rows Follow First Headers; Copy and Delete Indexes")
+    void testAppendCopyAndDelete() {
+        // Given
+        RowIndexService.Builder first = rowIndexService.newBuilder();
+        first.headers(List.of("id", "amount"));
+        first.row(List.of("1", "10"));
+        RowIndexService.Builder second = rowIndexService.newBuilder();
+        second.headers(List.of("amount", "id", "extra"));
+        second.row(List.of("20", "2", "x"));
+        second.row(List.of("30", "3", "y"));
+
+        // When
+        first.append(second);
+        rowIndexService.publish(3L, first);
+        rowIndexService.copy(3L, 4L);
+
+        // Then
+        assertThat(rowIndexService.readPage(4L, null, 0, 10).rows())
+                .containsExactly(List.of("1", "10"), List.of("2", "20"), List.of("3", "30"));
+        rowIndexService.delete(3L);
+        assertThat(rowIndexService.exists(3L)).isFalse();
+        assertThat(rowIndexService.readPage(4L, null, 2, 1).rows()).containsExactly(List.of("3", "30"));
+        assertThatThrownBy(() -> rowIndexService.readPage(3L, null, 0, 1))
+                .isInstanceOf(FileProcessingException.class)
+                .hasMessageContaining("No preview index");
+    }
+
+    @Test
+    @DisplayName("TC-RIS-004: Compressed CSV Is Indexed In Place Without a Spooled Copy")
+    void testCompressedCsvIndexedInPlace() throws Exception {
+        // Given
+        Path zst = tempDir.resolve("ledger.csv.zst");
+        try (OutputStream out = new ZstdOutputStream(Files.newOutputStream(zst))) {
+            out.write("id,amount\n".getBytes(StandardCharsets.UTF_8));
+            for (int i = 1; i <= 10; i++) {
+                out.write((i + ",\"" + i + "0\"\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        RowIndexService.Builder index = rowIndexService.newBuilder();
+
+        // When
+        new FileParserService().streamFile(zst, new FileParserService.RowHandler() {
+            @Override
+            public void onHeaders(List<String> headers) {
+                index.headers(headers);
+            }
+
+            @Override
+            public void onRowOffset(long offset) {
+                index.offset(offset);
+            }
+
+            @Override
+            public void onRow(List<Object> row) {
+                index.row(row);
+            }
+        });
+        rowIndexService.publish(5L, index);
+
+        // Then
+        assertThat(tempDir.resolve("index/5.rows")).doesNotExist();
+        RowIndexService.Page page = rowIndexService.readPage(5L, zst, 7, 5);
+        assertThat(page.totalRows()).isEqualTo(10);
+        assertThat(page.rows()).containsExactly(List.of("8", "80"), List.of("9", "90"), List.of("10", "100"));
+    }
+
+    @Test
+    @DisplayName("TC-RIS-005: Spool Stops at Its Cap and Later Rows Are Not Previewable")
+    void testSpoolCap() {
+        // Given - every spooled row below is 10 bytes
+        RowIndexService capped = new RowIndexService(fileStorageConfig, new FileParserService(), STRIDE, 20);
+        RowIndexService.Builder index = capped.newBuilder();
+        index.headers(List.of("id", "amount"));
+        for (int i = 1; i <= 5; i++) {
+            index.row(List.of(String.valueOf(i), i + "0"));
+        }
+
+        // When
+        capped.publish(6L, index);
+        RowIndexService.Page page = capped.readPage(6L, null, 0, 10);
+
+        // Then
+        assertThat(index.getRowCount()).isEqualTo(5);
+        assertThat(page.totalRows()).isEqualTo(2);
+        assertThat(page.rows()).containsExactly(List.of("1", "10"), List.of("2", "20"));
+        assertThat(capped.readPage(6L, null, 3, 1).rows()).isEmpty();
+    }
+}
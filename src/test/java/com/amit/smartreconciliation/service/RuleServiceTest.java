@@ -20,6 +20,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -28,6 +29,8 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,7 +38,7 @@ import static org.mockito.Mockito.when;
  * Unit tests for RuleService
  * Module: Rule Management
  * Test Level: Unit Test
- * Total Test Cases: 15
+ * Total Test Cases: 16
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("RuleService Unit Tests")
@@ -64,7 +67,7 @@ class RuleServiceTest {
                 .id(10L)
                 .name("Test Org")
                 .build();
-        when(organizationService.getDefaultOrganization()).thenReturn(organization);
+        lenient().when(organizationService.getDefaultOrganization()).thenReturn(organization);
     }
 
     @Test
@@ -372,6 +375,31 @@ class RuleServiceTest {
     }
 
     @Test
+    @DisplayName("TC-RUS-016: Cached Rule Set Reloaded When Its Version Changes")
+    void testCachedRuleSetReloadedOnVersionChange() {
+        // Given
+        ReflectionTestUtils.setField(ruleService, "cacheTtlSeconds", 300L);
+        RuleSet version1 = buildRuleSetWithVersion(1);
+        RuleSet version2 = buildRuleSetWithVersion(2);
+        when(ruleSetRepository.findVersionById(1L))
+                .thenReturn(Optional.of(1))
+                .thenReturn(Optional.of(1))
+                .thenReturn(Optional.of(2));
+        when(ruleSetRepository.findById(1L))
+                .thenReturn(Optional.of(version1))
+                .thenReturn(Optional.of(version2));
+
+        // When
+        RuleSet first = ruleService.getEntityById(1L);
+        RuleSet cached = ruleService.getEntityById(1L);
+        RuleSet reloaded = ruleService.getEntityById(1L);
+
+        // Then
+        assertThat(cached).isSameAs(first);
+        assertThat(reloaded).isSameAs(version2);
+        verify(ruleSetRepository, times(2)).findById(1L);
+    }
+
     private void stubRuleSetSave() {
         when(ruleSetRepository.save(any(RuleSet.class))).thenAnswer(invocation -> {
             RuleSet saved = invocation.getArgument(0);
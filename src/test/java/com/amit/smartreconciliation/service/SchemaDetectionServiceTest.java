@@ -1,6 +1,7 @@
 package com.amit.smartreconciliation.service;
 
 import com.amit.smartreconciliation.dto.response.SchemaResponse;
+import com.amit.smartreconciliation.service.profiling.SchemaProfiler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,7 +16,7 @@ import static org.assertj.core.api.Assertions.*;
  * Unit tests for SchemaDetectionService
  * Module: File Management
  * Test Level: Unit Test
- * Total Test Cases: 13
+ * Total Test Cases: 19
  */
 @DisplayName("SchemaDetectionService Unit Tests")
 class SchemaDetectionServiceTest {
@@ -333,4 +334,135 @@ class SchemaDetectionServiceTest {
         assertThat(schema.getFilename()).isEqualTo("test.csv");
         assertThat(schema.getTotalRows()).isEqualTo(3);
     }
+
+    // ==================== Streaming Profiler Tests ====================
+
+    @Test
+    @DisplayName("TC-SDS-014: Streaming Profiler Estimates High Cardinality Without Retaining Values")
+    void testStreamingProfilerHighCardinality() {
+        // Given
+        SchemaProfiler profiler = schemaDetectionService.newProfiler(List.of("reference"));
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            profiler.accept(List.of("REF-" + i));
+        }
+
+        // Then
+        Map<String, Object> column = profiler.toSchemaMap().get(0);
+        assertThat(profiler.getRowCount()).isEqualTo(100_000);
+        assertThat((Integer) column.get("uniqueCount")).isBetween(95_000, 105_000);
+        assertThat(column.get("uniqueCountExact")).isEqualTo(false);
+        assertThat((List<?>) column.get("sampleValues")).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("TC-SDS-015: Streaming Profiler Reports Exact Counts, Type Histogram and Min/Max")
+    void testStreamingProfilerExactStatistics() {
+        // Given
+        SchemaProfiler profiler = schemaDetectionService.newProfiler(List.of("amount", "note"));
+
+        // When
+        profiler.accept(Arrays.asList("1500", "b"));
+        profiler.accept(Arrays.asList("-20", null));
+        profiler.accept(Arrays.asList("1500", "a"));
+        profiler.accept(Arrays.asList("300.125", ""));
+
+        // Then
+        SchemaResponse.ColumnSchema amount = profiler.toColumnSchemas().get(0);
+        assertThat(amount.getUniqueCount()).isEqualTo(3);
+        assertThat(amount.getNullCount()).isZero();
+        assertThat(amount.getMinValue()).isEqualTo("-20");
+        assertThat(amount.getMaxValue()).isEqualTo("1500");
+        assertThat(amount.getTypeCounts().values().stream().mapToInt(Integer::intValue).sum()).isEqualTo(4);
+
+        SchemaResponse.ColumnSchema note = profiler.toColumnSchemas().get(1);
+        assertThat(note.getNullCount()).isEqualTo(2);
+        assertThat(note.getMinValue()).isEqualTo("a");
+        assertThat(note.getMaxValue()).isEqualTo("b");
+    }
+
+    @Test
+    @DisplayName("TC-SDS-016: Streaming Profiler Matches Batch Schema Detection")
+    void testStreamingProfilerMatchesBatchDetection() {
+        // Given
+        List<String> headers = Arrays.asList("id", "date");
+        List<List<Object>> rows = Arrays.asList(
+            Arrays.asList("1", "2024-01-15"),
+            Arrays.asList("2", "2024-01-16"),
+            Arrays.asList("3", null)
+        );
+
+        // When
+        SchemaProfiler profiler = schemaDetectionService.newProfiler(headers);
+        rows.forEach(profiler::accept);
+        List<Map<String, Object>> batch = schemaDetectionService.detectSchemaAsMap(headers, rows);
+
+        // Then
+        assertThat(profiler.toSchemaMap()).isEqualTo(batch);
+    }
+
+    // ==================== Type Sniffing Tests ====================
+
+    @Test
+    @DisplayName("TC-SDS-017: Reject Impossible Calendar Dates Without Throwing")
+    void testRejectImpossibleDates() {
+        // Given
+        List<String> headers = List.of("valueDate");
+        List<List<Object>> rows = Arrays.asList(
+            List.of("2024-02-30"),
+            List.of("2023-02-29"),
+            List.of("2024-13-01")
+        );
+
+        // When
+        List<Map<String, Object>> schema = schemaDetectionService.detectSchemaAsMap(headers, rows);
+
+        // Then
+        assertThat(schema.get(0).get("detectedType")).isEqualTo("text");
+    }
+
+    @Test
+    @DisplayName("TC-SDS-018: Detect Mixed Date Formats and Leap Days")
+    void testDetectMixedDateFormats() {
+        // Given
+        List<String> headers = List.of("postedOn");
+        List<List<Object>> rows = Arrays.asList(
+            List.of("2024-02-29"),
+            List.of("12/31/2024"),
+            List.of("Jan 05, 2024"),
+            List.of("05 Jan 2024"),
+            List.of("2024-01-15T10:30:00")
+        );
+
+        // When
+        List<Map<String, Object>> schema = schemaDetectionService.detectSchemaAsMap(headers, rows);
+
+        // Then
+        Map<String, Object> column = schema.get(0);
+        assertThat(column.get("detectedType")).isEqualTo("date");
+        assertThat((Double) column.get("typeConfidence")).isGreaterThan(0.5);
+    }
+
+    @Test
+    @DisplayName("TC-SDS-019: Sampled Type Sniffing Reports Confidence")
+    void testSampledTypeSniffing() {
+        // Given
+        SchemaProfiler profiler = new SchemaProfiler(List.of("amount"), 100, 10);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            profiler.accept(List.of(String.valueOf(10_000 + i)));
+        }
+
+        // Then
+        Map<String, Object> column = profiler.toSchemaMap().get(0);
+        assertThat(column.get("detectedType")).isEqualTo("integer");
+        assertThat(column.get("typeSampled")).isEqualTo(true);
+        Map<?, ?> typeCounts = (Map<?, ?>) column.get("typeCounts");
+        assertThat(typeCounts.get("integer")).isEqualTo(1090);
+        assertThat((Double) column.get("typeConfidence")).isGreaterThan(0.99);
+        assertThat(column.get("minValue")).isEqualTo("10000");
+        assertThat(column.get("maxValue")).isEqualTo("19999");
+    }
 }
@@ -0,0 +1,108 @@
+package com.amit.smartreconciliation.service;
+
+import com.amit.smartreconciliation.config.FileStorageConfig;
+import com.amit.smartreconciliation.repository.UploadedFileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StorageInventoryService
+ * Module: File Management
+ * Test Level: Unit Test
+ * Total Test Cases: 3
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StorageInventoryService Unit Tests")
+class StorageInventoryServiceTest {
+
+    @Mock
+    private FileStorageConfig fileStorageConfig;
+
+    @Mock
+    private UploadedFileRepository uploadedFileRepository;
+
+    @InjectMocks
+    private StorageInventoryService storageInventoryService;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(fileStorageConfig.getUploadDir()).thenReturn(tempDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        storageInventoryService.stop();
+    }
+
+    @Test
+    @DisplayName("TC-SIS-001: Sweep Flags Missing Files and Clears Restored Ones")
+    void testSweepUpdatesMissingFlags() throws Exception {
+        // Given
+        Path present = Files.writeString(tempDir.resolve("present.csv"), "id\n1\n");
+        String gone = tempDir.resolve("gone.csv").toString();
+        when(uploadedFileRepository.findFilePathsAfter(eq(""), any(Pageable.class)))
+                .thenReturn(List.of(gone, present.toString()));
+
+        // When
+        storageInventoryService.sweep();
+
+        // Then
+        verify(uploadedFileRepository).updateMissingByFilePathIn(List.of(gone), true);
+        verify(uploadedFileRepository).updateMissingByFilePathIn(List.of(present.toString()), false);
+        verify(uploadedFileRepository, times(1)).findFilePathsAfter(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("TC-SIS-002: Watcher Flags a Deleted Blob Without a Sweep")
+    void testWatcherFlagsDeletedBlob() throws Exception {
+        // Given
+        Path blobDir = Files.createDirectories(tempDir.resolve("blobs").resolve("ab"));
+        Path blob = Files.writeString(blobDir.resolve("ab12.csv"), "id\n1\n");
+        storageInventoryService.start();
+
+        // When
+        Files.delete(blob);
+
+        // Then
+        verify(uploadedFileRepository, timeout(10_000))
+                .updateMissingByFilePathIn(List.of(blob.toAbsolutePath().normalize().toString()), true);
+        verify(uploadedFileRepository, never()).findFilePathsAfter(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("TC-SIS-003: Watcher Matches Files Stored Under an Unnormalized Upload Dir")
+    void testWatcherMatchesUnnormalizedStoredPath() throws Exception {
+        // Given - a relative upload dir containing ./, as legacy rows recorded it
+        String relativeDir = "./" + Paths.get("").toAbsolutePath().relativize(tempDir);
+        when(fileStorageConfig.getUploadDir()).thenReturn(relativeDir);
+        Path file = Files.writeString(tempDir.resolve("legacy.csv"), "id\n1\n");
+        String storedPath = Paths.get(relativeDir).toAbsolutePath().resolve("legacy.csv").toString();
+        storageInventoryService.start();
+
+        // When
+        Files.delete(file);
+
+        // Then
+        verify(uploadedFileRepository, timeout(10_000)).updateMissingByFilePathIn(
+                List.of(file.toAbsolutePath().normalize().toString(), storedPath), true);
+    }
+}